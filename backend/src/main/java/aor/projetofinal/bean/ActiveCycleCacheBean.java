@@ -0,0 +1,114 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.dao.EvaluationCycleDao;
+import aor.projetofinal.entity.EvaluationCycleEntity;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application-wide holder of the ID and end date of the active evaluation cycle.
+ *
+ * There is at most one active cycle and it changes a few times a year, while "is there an active
+ * cycle, and which one?" is asked by most evaluation and user management requests. The holder is
+ * updated when a cycle is created or closed (after the commit); it is also reloaded from the database
+ * every TTL_MILLIS, so changes made outside the application are picked up eventually.
+ */
+@ApplicationScoped
+public class ActiveCycleCacheBean {
+
+    private static final Logger logger = LogManager.getLogger(ActiveCycleCacheBean.class);
+
+    // Maximum age of the holder before it is read again from the database, in milliseconds
+    static final long TTL_MILLIS = 600_000;
+
+    /**
+     * The active cycle, as far as the hot checks need it.
+     */
+    public record ActiveCycle(Long id, LocalDateTime endDate) {}
+
+    // cycle is null when there is no active cycle
+    private record Snapshot(ActiveCycle cycle, long expiresAt) {}
+
+    @Inject
+    private EvaluationCycleDao evaluationCycleDao;
+
+    private volatile Snapshot snapshot;
+
+    // Incremented on every change, so a reload that raced with a change does not overwrite it
+    private long generation;
+
+    /**
+     * Returns the active cycle, reading it from the database only if the holder is empty or expired.
+     *
+     * @return The active cycle, or null if there is none.
+     */
+    public ActiveCycle get() {
+        Snapshot current = snapshot;
+        if (current == null || System.currentTimeMillis() >= current.expiresAt()) {
+            current = reload();
+        }
+        return current.cycle();
+    }
+
+    /**
+     * Records that a cycle was opened.
+     *
+     * @param cycleId The ID of the new active cycle.
+     * @param endDate Its end date.
+     */
+    public synchronized void cycleOpened(Long cycleId, LocalDateTime endDate) {
+        generation++;
+        snapshot = new Snapshot(new ActiveCycle(cycleId, endDate), System.currentTimeMillis() + TTL_MILLIS);
+        logger.info("User: {} | IP: {} - Active cycle set to ID {}.",
+                RequestContext.getAuthor(), RequestContext.getIp(), cycleId);
+    }
+
+    /**
+     * Records that a cycle was closed. Nothing changes if another cycle is the active one.
+     *
+     * @param cycleId The ID of the closed cycle.
+     */
+    public synchronized void cycleClosed(Long cycleId) {
+        Snapshot current = snapshot;
+        if (current != null && current.cycle() != null && !current.cycle().id().equals(cycleId)) {
+            return;
+        }
+        generation++;
+        snapshot = new Snapshot(null, System.currentTimeMillis() + TTL_MILLIS);
+        logger.info("User: {} | IP: {} - Active cycle ID {} cleared.",
+                RequestContext.getAuthor(), RequestContext.getIp(), cycleId);
+    }
+
+    /**
+     * Drops the holder, so the next request reads the active cycle from the database.
+     */
+    public synchronized void evict() {
+        generation++;
+        snapshot = null;
+    }
+
+    private Snapshot reload() {
+        long startedAt;
+        synchronized (this) {
+            startedAt = generation;
+        }
+
+        EvaluationCycleEntity cycle = evaluationCycleDao.findActiveCycle();
+        Snapshot loaded = new Snapshot(cycle != null ? new ActiveCycle(cycle.getId(), cycle.getEndDate()) : null,
+                System.currentTimeMillis() + TTL_MILLIS);
+
+        synchronized (this) {
+            // a cycle was opened or closed while we were reading: its update is more recent than ours
+            if (generation != startedAt && snapshot != null) {
+                return snapshot;
+            }
+            snapshot = loaded;
+            return loaded;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.context.RequestContext;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Queue of side effects (notifications, emails, cache evictions) that may only happen
+ * once the current transaction has committed.
+ *
+ * Tasks registered inside a transaction are kept with it and dropped if it rolls back. After a
+ * successful commit, cache invalidations run first, synchronously on the committing thread in
+ * afterCompletion, so no request served after the commit returns can read or re-cache the old values;
+ * the slow side effects are then handed in order to the managed executor, so the request only waits
+ * for its database writes and evictions. A task registered twice with the same key in one transaction
+ * runs once, so a batch of transitions can ask for the same eviction many times.
+ * Outside a transaction, invalidations run straight away and other tasks are handed to the executor.
+ */
+@ApplicationScoped
+public class AfterCommitQueueBean {
+
+    private static final Logger logger = LogManager.getLogger(AfterCommitQueueBean.class);
+
+    // Key of the per-transaction task maps in the transaction registry
+    private static final String QUEUE_KEY = AfterCommitQueueBean.class.getName();
+
+    @Resource
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    @Resource(lookup = "java:comp/DefaultManagedExecutorService")
+    private ExecutorService executor;
+
+    // The invalidations and the slow side effects registered by one transaction
+    private record Pending(Map<String, Runnable> invalidations, Map<String, Runnable> tasks) {}
+
+    /**
+     * Runs a slow side effect (notification, email, archiving) on the managed executor after the
+     * current transaction commits.
+     * Tasks must not rely on the caller's persistence context: entities they touch are detached by then,
+     * so they should capture IDs and plain values, and go through other beans for any database work.
+     *
+     * @param key  Identifies the task; later tasks with the same key in the same transaction are ignored.
+     * @param task The side effect to run.
+     */
+    public void enqueue(String key, Runnable task) {
+        register(key, task, false);
+    }
+
+    /**
+     * Runs a cache invalidation (eviction, active cycle update) synchronously as soon as the current
+     * transaction commits, before the slow side effects. It must be cheap and must not touch the database.
+     *
+     * @param key  Identifies the task; later tasks with the same key in the same transaction are ignored.
+     * @param task The invalidation to run.
+     */
+    public void invalidate(String key, Runnable task) {
+        register(key, task, true);
+    }
+
+    private void register(String key, Runnable task, boolean synchronous) {
+        if (transactionRegistry.getTransactionStatus() == Status.STATUS_NO_TRANSACTION) {
+            if (synchronous) {
+                runQuietly(key, task);
+            } else {
+                Map<String, Runnable> tasks = new LinkedHashMap<>();
+                tasks.put(key, task);
+                dispatch(tasks);
+            }
+            return;
+        }
+
+        Pending pending = (Pending) transactionRegistry.getResource(QUEUE_KEY);
+        if (pending == null) {
+            Pending queued = new Pending(new LinkedHashMap<>(), new LinkedHashMap<>());
+            transactionRegistry.putResource(QUEUE_KEY, queued);
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        queued.invalidations().forEach(AfterCommitQueueBean.this::runQuietly);
+                        if (!queued.tasks().isEmpty()) {
+                            dispatch(queued.tasks());
+                        }
+                    } else {
+                        logger.info("User: {} | IP: {} - Transaction rolled back, {} side effects discarded.",
+                                RequestContext.getAuthor(), RequestContext.getIp(),
+                                queued.invalidations().size() + queued.tasks().size());
+                    }
+                }
+            });
+            pending = queued;
+        }
+        (synchronous ? pending.invalidations() : pending.tasks()).putIfAbsent(key, task);
+    }
+
+    /**
+     * Runs the tasks of one transaction, in order, on a single executor thread.
+     * Falls back to the calling thread if the executor refuses the work.
+     */
+    void dispatch(Map<String, Runnable> tasks) {
+        String author = RequestContext.getAuthor();
+        String ip = RequestContext.getIp();
+
+        try {
+            executor.execute(() -> {
+                RequestContext.setAuthor(author);
+                RequestContext.setIp(ip);
+                try {
+                    tasks.forEach(this::runQuietly);
+                } finally {
+                    RequestContext.clear();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("User: {} | IP: {} - Executor busy, running {} side effects on the request thread.",
+                    author, ip, tasks.size());
+            tasks.forEach(this::runQuietly);
+        }
+    }
+
+    private void runQuietly(String key, Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            // A failed side effect must not stop the others; the data change is already committed
+            logger.error("User: {} | IP: {} - Side effect '{}' failed after commit.",
+                    RequestContext.getAuthor(), RequestContext.getIp(), key, e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.dto.CycleAnalyticsDto;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Application-wide cache of the analytics of closed evaluation cycles.
+ *
+ * Once a cycle is closed (active = false) its evaluations can no longer change,
+ * so its analytics are computed once and kept for the lifetime of the application.
+ * Analytics of the active cycle are never stored here.
+ */
+@ApplicationScoped
+public class CycleAnalyticsCacheBean {
+
+    private final Map<Long, CycleAnalyticsDto> closedCycles = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached analytics of a closed cycle, or null if not computed yet.
+     *
+     * @param cycleId the cycle ID
+     * @return the cached analytics, or null
+     */
+    public CycleAnalyticsDto get(Long cycleId) {
+        return closedCycles.get(cycleId);
+    }
+
+    /**
+     * Stores the analytics of a cycle if (and only if) the cycle is closed.
+     *
+     * @param analytics the computed analytics
+     */
+    public void putIfClosed(CycleAnalyticsDto analytics) {
+        if (analytics.isClosed()) {
+            closedCycles.putIfAbsent(analytics.getCycleId(), analytics);
+        }
+    }
+}
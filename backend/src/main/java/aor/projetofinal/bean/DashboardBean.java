@@ -1,53 +1,146 @@
 package aor.projetofinal.bean;
 
+import aor.projetofinal.context.RequestContext;
+import jakarta.annotation.Resource;
 import jakarta.ejb.Stateless;
 import jakarta.inject.Inject;
-import java.util.List;
-import aor.projetofinal.bean.*;
+import aor.projetofinal.dao.DashboardDao;
 import aor.projetofinal.dto.DashboardDto;
 import aor.projetofinal.entity.UserEntity;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
 
 /**
- * Bean for aggregating dashboard summary data from multiple sources.
- * Fills the DashboardDto for the authenticated user.
+ * Bean for aggregating dashboard summary data.
+ * Fills the DashboardDto for the authenticated user by loading the user, manager and admin
+ * sections concurrently on the container's managed executor, serving recent results
+ * from the DashboardCacheBean when available.
  */
 @Stateless
 public class DashboardBean {
 
-    @Inject private UserBean userBean;
-    @Inject private CourseBean courseBean;
-    @Inject private EvaluationBean evaluationBean;
+    private static final Logger logger = LogManager.getLogger(DashboardBean.class);
+
+    // Maximum time to wait for all sections before answering with partial results
+    static final long DEADLINE_MILLIS = 2_000;
+
+    @Inject private DashboardDao dashboardDao;
+    @Inject private DashboardCacheBean dashboardCacheBean;
+
+    @Resource(lookup = "java:comp/DefaultManagedExecutorService")
+    private ExecutorService executor;
+
+    /**
+     * A dashboard section: how to load it and how to copy its fields into the final DTO.
+     */
+    private record Section(String name, Callable<DashboardDto> loader, BiConsumer<DashboardDto, DashboardDto> merger) {}
+
+    /**
+     * Returns the dashboard snapshot of the user, using the cached one while it is still fresh.
+     * Partial dashboards are returned but never cached, so the next request retries the missing sections.
+     *
+     * @param currentUser The authenticated user entity.
+     * @return The dashboard snapshot, including its ETag.
+     */
+    public DashboardCacheBean.CachedDashboard getDashboardSnapshotForUser(UserEntity currentUser) {
+        DashboardCacheBean.CachedDashboard cached = dashboardCacheBean.get(currentUser.getId());
+        if (cached != null) {
+            return cached;
+        }
+
+        DashboardDto dto = getDashboardForUser(currentUser);
+        boolean isAdmin = "ADMIN".equalsIgnoreCase(currentUser.getRole().getName());
+        if (dto.isPartial()) {
+            return new DashboardCacheBean.CachedDashboard(dto, DashboardCacheBean.computeETag(dto), isAdmin, 0);
+        }
+        return dashboardCacheBean.put(currentUser.getId(), dto, isAdmin);
+    }
 
     /**
      * Generates a summary DTO for the dashboard, adapting to the user's role.
+     * The sections are independent read-only queries and run concurrently, each in its own read-only
+     * transaction; manager and admin sections are only loaded for users holding those roles.
+     * If a section does not finish within the deadline (or fails), it is cancelled, its fields are
+     * left empty and the DTO is flagged as partial.
      *
      * @param currentUser The authenticated user entity.
      * @return A populated DashboardDto with all relevant summary data.
      */
     public DashboardDto getDashboardForUser(UserEntity currentUser) {
-        DashboardDto dto = new DashboardDto();
-
         String role = currentUser.getRole().getName().toUpperCase();
+        int userId = currentUser.getId();
 
-        // --- User fields ---
-        dto.setActiveTrainings(courseBean.countActiveCoursesForUser(currentUser.getId()));
-        dto.setPendingEvaluations(evaluationBean.countPendingEvaluationsForUser(currentUser.getId()));
-        dto.setLastEvaluationDate(evaluationBean.getLastEvaluationDate(currentUser.getId()));
-        dto.setTotalTrainingHours(courseBean.getTotalTrainingHoursForUser(currentUser.getId()));
-
-        // --- Manager fields ---
+        List<Section> sections = new ArrayList<>();
+        sections.add(new Section("user", () -> dashboardDao.findUserSection(userId), (dto, part) -> {
+            dto.setActiveTrainings(part.getActiveTrainings());
+            dto.setPendingEvaluations(part.getPendingEvaluations());
+            dto.setLastEvaluationDate(part.getLastEvaluationDate());
+            dto.setTotalTrainingHours(part.getTotalTrainingHours());
+        }));
         if ("MANAGER".equals(role)) {
-            dto.setTeamSize(userBean.countUsersManagedBy(currentUser.getId()));
-            dto.setTeamPendingEvaluations(evaluationBean.countPendingEvaluationsToFillByManager(currentUser.getId()));
+            sections.add(new Section("manager", () -> dashboardDao.findManagerSection(userId), (dto, part) -> {
+                dto.setTeamSize(part.getTeamSize());
+                dto.setTeamPendingEvaluations(part.getTeamPendingEvaluations());
+            }));
         }
-
-        // --- Admin fields ---
         if ("ADMIN".equals(role)) {
-            dto.setTotalUsers(userBean.countAllUsers());
-            dto.setTotalPendingEvaluations(evaluationBean.countAllPendingEvaluations());
+            sections.add(new Section("admin", dashboardDao::findAdminSection, (dto, part) -> {
+                dto.setTotalUsers(part.getTotalUsers());
+                dto.setTotalPendingEvaluations(part.getTotalPendingEvaluations());
+            }));
         }
 
+        long start = System.nanoTime();
+        DashboardDto dto = new DashboardDto();
+
+        List<Future<DashboardDto>> futures;
+        try {
+            futures = executor.invokeAll(sections.stream().map(Section::loader).toList(),
+                    DEADLINE_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dto.setPartial(true);
+            return dto;
+        }
+
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(DEADLINE_MILLIS);
+        for (int i = 0; i < sections.size(); i++) {
+            Section section = sections.get(i);
+            Future<DashboardDto> future = futures.get(i);
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                section.merger().accept(dto, future.get(remaining, TimeUnit.NANOSECONDS));
+            } catch (CancellationException | TimeoutException e) {
+                // stop the late section so it releases its connection
+                future.cancel(true);
+                dto.setPartial(true);
+                logger.warn("User: {} | IP: {} - Dashboard section '{}' timed out after {} ms.",
+                        RequestContext.getAuthor(), RequestContext.getIp(), section.name(), DEADLINE_MILLIS);
+            } catch (ExecutionException e) {
+                dto.setPartial(true);
+                logger.error("User: {} | IP: {} - Dashboard section '{}' failed.",
+                        RequestContext.getAuthor(), RequestContext.getIp(), section.name(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dto.setPartial(true);
+            }
+        }
+
+        logger.info("User: {} | IP: {} - Dashboard summary for role {} computed in {} ms ({} sections, partial: {}).",
+                RequestContext.getAuthor(), RequestContext.getIp(), role,
+                (System.nanoTime() - start) / 1_000_000, sections.size(), dto.isPartial());
+
         return dto;
     }
 }
-
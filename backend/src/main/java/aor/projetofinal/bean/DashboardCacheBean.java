@@ -0,0 +1,160 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.dto.DashboardCacheStatsDto;
+import aor.projetofinal.dto.DashboardDto;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Application-wide cache of dashboard snapshots, one per user.
+ *
+ * Entries expire after a short TTL and are evicted explicitly whenever the data behind
+ * the dashboard changes (evaluations, cycles, course participations, role/manager assignments).
+ * Each snapshot carries a strong ETag so clients can revalidate with If-None-Match.
+ */
+@ApplicationScoped
+public class DashboardCacheBean {
+
+    private static final Logger logger = LogManager.getLogger(DashboardCacheBean.class);
+
+    // Time-to-live of a cached snapshot, in milliseconds
+    static final long TTL_MILLIS = 60_000;
+
+    private final Map<Integer, CachedDashboard> snapshots = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * A cached dashboard snapshot with its ETag and expiry instant.
+     *
+     * @param dashboard the cached DTO
+     * @param etag      strong ETag computed from the DTO contents
+     * @param admin     whether the snapshot contains organisation-wide (admin) metrics
+     * @param expiresAt expiry instant in epoch milliseconds
+     */
+    public record CachedDashboard(DashboardDto dashboard, String etag, boolean admin, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    /**
+     * Returns the cached snapshot of a user, or null if missing or expired.
+     *
+     * @param userId the user ID
+     * @return the cached snapshot, or null on a cache miss
+     */
+    public CachedDashboard get(int userId) {
+        CachedDashboard cached = snapshots.get(userId);
+        if (cached == null || cached.isExpired(System.currentTimeMillis())) {
+            if (cached != null) {
+                snapshots.remove(userId, cached);
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return cached;
+    }
+
+    /**
+     * Stores a freshly computed dashboard for a user and returns the cached snapshot.
+     *
+     * @param userId    the user ID
+     * @param dashboard the computed dashboard
+     * @param admin     whether the dashboard contains organisation-wide metrics
+     * @return the cached snapshot, including its ETag
+     */
+    public CachedDashboard put(int userId, DashboardDto dashboard, boolean admin) {
+        CachedDashboard cached = new CachedDashboard(dashboard, computeETag(dashboard), admin,
+                System.currentTimeMillis() + TTL_MILLIS);
+        snapshots.put(userId, cached);
+        return cached;
+    }
+
+    /**
+     * Evicts the snapshots of the given users, ignoring null IDs.
+     *
+     * @param userIds the IDs of the users whose dashboards changed
+     */
+    public void evict(Integer... userIds) {
+        for (Integer userId : userIds) {
+            if (userId != null && snapshots.remove(userId) != null) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Evicts every snapshot holding organisation-wide metrics (admin dashboards).
+     */
+    public void evictOrganisationWide() {
+        snapshots.entrySet().removeIf(entry -> {
+            boolean remove = entry.getValue().admin();
+            if (remove) {
+                evictions.incrementAndGet();
+            }
+            return remove;
+        });
+    }
+
+    /**
+     * Evicts every cached snapshot. Used for operations that affect many users at once,
+     * such as opening or closing an evaluation cycle.
+     */
+    public void evictAll() {
+        int size = snapshots.size();
+        snapshots.clear();
+        evictions.addAndGet(size);
+        logger.info("User: {} | IP: {} - Dashboard cache cleared ({} snapshots).",
+                RequestContext.getAuthor(), RequestContext.getIp(), size);
+    }
+
+    /**
+     * Returns the hit/miss counters of the cache.
+     *
+     * @return a DashboardCacheStatsDto with hits, misses, evictions, size and hit ratio
+     */
+    public DashboardCacheStatsDto getStats() {
+        long h = hits.get();
+        long m = misses.get();
+        double ratio = (h + m) == 0 ? 0.0 : (double) h / (h + m);
+        return new DashboardCacheStatsDto(h, m, evictions.get(), snapshots.size(), ratio);
+    }
+
+    /**
+     * Computes a strong ETag from every field of the dashboard.
+     *
+     * @param dto the dashboard
+     * @return the quoted ETag value
+     */
+    static String computeETag(DashboardDto dto) {
+        String content = dto.getActiveTrainings() + "|" +
+                dto.getPendingEvaluations() + "|" +
+                dto.getLastEvaluationDate() + "|" +
+                dto.getTotalTrainingHours() + "|" +
+                dto.getTeamSize() + "|" +
+                dto.getTeamPendingEvaluations() + "|" +
+                dto.getTotalUsers() + "|" +
+                dto.getTotalPendingEvaluations() + "|" +
+                dto.isPartial();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            return "\"" + Integer.toHexString(content.hashCode()) + "\"";
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.dao.EvaluationDao;
+import aor.projetofinal.dto.EvaluationPdfDto;
+import jakarta.annotation.Resource;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.inject.Inject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.LongConsumer;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Bean that exports every closed evaluation of a cycle as a ZIP archive of PDFs.
+ *
+ * Evaluations are read in chunks of CHUNK_SIZE lean rows, the PDFs of each chunk are rendered
+ * into the EvaluationPdfCacheBean by at most RENDER_PARALLELISM tasks on the container's managed
+ * executor, and the cached files are then streamed into the archive in evaluation ID order.
+ * Only one chunk of rows is held in memory at a time, whatever the size of the cycle.
+ */
+@Stateless
+public class EvaluationArchiveBean {
+
+    private static final Logger logger = LogManager.getLogger(EvaluationArchiveBean.class);
+
+    // Evaluations read (and rendered) per round trip
+    static final int CHUNK_SIZE = 100;
+
+    // Maximum number of PDFs rendered at the same time
+    static final int RENDER_PARALLELISM = 4;
+
+    @Inject private EvaluationDao evaluationDao;
+    @Inject private EvaluationPdfCacheBean evaluationPdfCacheBean;
+
+    @Resource(lookup = "java:comp/DefaultManagedExecutorService")
+    private ExecutorService executor;
+
+    /**
+     * Writes a ZIP archive with the PDF of every closed evaluation of a cycle to the given stream.
+     * Runs without a transaction: each chunk is a short read-only query, so a long download
+     * never holds a transaction (or its connection) open.
+     *
+     * @param cycleId The ID of the (closed) evaluation cycle.
+     * @param out     The response stream; it is finished but not closed.
+     * @return The number of PDFs written.
+     * @throws IOException if a PDF cannot be rendered or the stream written.
+     */
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public int writeCyclePdfArchive(Long cycleId, OutputStream out) throws IOException {
+        return writeCyclePdfArchive(cycleId, out, written -> {});
+    }
+
+    /**
+     * Same as {@link #writeCyclePdfArchive(Long, OutputStream)}, reporting the number of PDFs
+     * written after every chunk.
+     *
+     * @param progress Receives the number of PDFs written so far.
+     */
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public int writeCyclePdfArchive(Long cycleId, OutputStream out, LongConsumer progress) throws IOException {
+        long start = System.nanoTime();
+        ZipOutputStream zip = new ZipOutputStream(out);
+        // PDFs are already compressed: deflating them again only costs CPU
+        zip.setLevel(Deflater.NO_COMPRESSION);
+
+        int written = 0;
+        Long afterId = null;
+        List<EvaluationPdfDto> chunk;
+        do {
+            chunk = evaluationDao.findClosedEvaluationPdfRows(cycleId, afterId, CHUNK_SIZE);
+            List<EvaluationPdfCacheBean.CachedPdf> pdfs = renderChunk(chunk);
+
+            for (int i = 0; i < chunk.size(); i++) {
+                zip.putNextEntry(new ZipEntry("evaluation_" + chunk.get(i).getEvaluationId() + ".pdf"));
+                EvaluationPdfCacheBean.transferTo(pdfs.get(i), zip);
+                zip.closeEntry();
+            }
+
+            written += chunk.size();
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).getEvaluationId();
+            }
+            progress.accept(written);
+        } while (chunk.size() == CHUNK_SIZE);
+
+        zip.finish();
+
+        logger.info("User: {} | IP: {} - Exported {} evaluation PDFs of cycle ID {} in {} ms.",
+                RequestContext.getAuthor(), RequestContext.getIp(), written, cycleId,
+                (System.nanoTime() - start) / 1_000_000);
+
+        return written;
+    }
+
+    /**
+     * Renders (or finds in the cache) the PDFs of a chunk, splitting it into at most
+     * RENDER_PARALLELISM slices that run concurrently. Results keep the order of the chunk.
+     */
+    private List<EvaluationPdfCacheBean.CachedPdf> renderChunk(List<EvaluationPdfDto> chunk) throws IOException {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+
+        int sliceSize = (chunk.size() + RENDER_PARALLELISM - 1) / RENDER_PARALLELISM;
+        List<Callable<List<EvaluationPdfCacheBean.CachedPdf>>> tasks = new ArrayList<>();
+        for (int from = 0; from < chunk.size(); from += sliceSize) {
+            List<EvaluationPdfDto> slice = chunk.subList(from, Math.min(from + sliceSize, chunk.size()));
+            tasks.add(() -> {
+                List<EvaluationPdfCacheBean.CachedPdf> rendered = new ArrayList<>(slice.size());
+                for (EvaluationPdfDto row : slice) {
+                    rendered.add(evaluationPdfCacheBean.getOrRender(row));
+                }
+                return rendered;
+            });
+        }
+
+        List<EvaluationPdfCacheBean.CachedPdf> pdfs = new ArrayList<>(chunk.size());
+        try {
+            for (Future<List<EvaluationPdfCacheBean.CachedPdf>> future : executor.invokeAll(tasks)) {
+                pdfs.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Evaluation PDF archive interrupted.");
+        } catch (ExecutionException e) {
+            throw new IOException("Could not render an evaluation PDF.", e.getCause());
+        }
+        return pdfs;
+    }
+}
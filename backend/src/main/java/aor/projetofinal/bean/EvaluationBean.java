@@ -2,12 +2,14 @@ package aor.projetofinal.bean;
 
 import aor.projetofinal.context.RequestContext;
 import aor.projetofinal.dao.EvaluationDao;
+import aor.projetofinal.dao.EvaluationHistoryDao;
 import aor.projetofinal.dto.*;
 import aor.projetofinal.entity.EvaluationCycleEntity;
 import aor.projetofinal.entity.EvaluationEntity;
 import aor.projetofinal.entity.UserEntity;
 import aor.projetofinal.entity.enums.EvaluationStateEnum;
 import aor.projetofinal.entity.enums.GradeEvaluationEnum;
+import aor.projetofinal.exception.ConcurrentUpdateException;
 import aor.projetofinal.util.JavaConversionUtil;
 
 import jakarta.ejb.Stateless;
@@ -15,10 +17,24 @@ import jakarta.inject.Inject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Serializable;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 
 import static aor.projetofinal.entity.enums.EvaluationStateEnum.transformToString;
 
@@ -27,12 +43,45 @@ public class EvaluationBean implements Serializable {
 
     private static final Logger logger = LogManager.getLogger(EvaluationBean.class);
 
+    // Separates the fields of a pagination cursor (cannot appear in names)
+    private static final String CURSOR_SEPARATOR = "\u0000";
+
+    // System property holding the key that signs pagination cursors (shared by every node)
+    static final String CURSOR_KEY_PROPERTY = "grupo7.pagination.cursor-key";
+
+    // Signs the total carried by pagination cursors
+    private static final byte[] CURSOR_KEY = loadCursorKey();
+
+    // Rows written between two progress reports of a CSV export
+    static final int CSV_PROGRESS_INTERVAL = 500;
+
+    // Users per page when listing incomplete evaluations without explicit paging
+    static final int INCOMPLETE_USERS_PAGE_SIZE = 50;
+
+    // Largest page accepted when listing incomplete evaluations (bigger requests are clamped)
+    public static final int INCOMPLETE_USERS_MAX_PAGE_SIZE = 200;
+
+    // Results per page of the feedback search
+    static final int FEEDBACK_SEARCH_PAGE_SIZE = 10;
+
+    // Maximum number of evaluations accepted by one batch update
+    public static final int GRADE_BATCH_MAX_SIZE = 500;
+
     @Inject
     private EvaluationDao evaluationDao;
 
+    @Inject
+    private EvaluationHistoryDao evaluationHistoryDao;
+
     @Inject
     private EvaluationCycleBean evaluationCycleBean;
 
+    @Inject
+    private EvaluationCountCacheBean evaluationCountCacheBean;
+
+    @Inject
+    private EvaluationTransitionBean evaluationTransitionBean;
+
 
     /**
      * Checks whether all evaluations in the active cycle are in EVALUATED state.
@@ -97,6 +146,8 @@ public class EvaluationBean implements Serializable {
             dto.setFeedback(evaluation.getFeedback());
         }
 
+        dto.setVersion(evaluation.getVersion());
+
         // Evaluator info
         UserEntity evaluator = evaluation.getEvaluator();
         if (evaluator != null && evaluator.getProfile() != null) {
@@ -124,7 +175,13 @@ public class EvaluationBean implements Serializable {
 
     /**
      * Returns a paginated list of evaluations matching the provided filters,
-     * converted into flat DTOs for list display.
+     * read directly as flat DTOs for list display.
+     *
+     * The page and its total are loaded in a single query. When a cursor from a previous page
+     * is given, the page is found by seeking past the cursor's position instead of using an offset,
+     * and the total carried by the cursor is reused if it was signed for the same filters and requester;
+     * otherwise it is counted again, as the window count of a seek page only sees the rows after it. For the unfiltered admin view the total comes
+     * from the EvaluationCountCacheBean when available.
      *
      * @param name      Partial name of evaluated user (nullable)
      * @param state     Evaluation state filter (nullable)
@@ -132,36 +189,187 @@ public class EvaluationBean implements Serializable {
      * @param cycleEnd  Exact cycle end date filter (nullable)
      * @param requester The user making the request (used for access control)
      * @param page      The page number (1-based)
+     * @param cursor    The nextCursor of the previous page (nullable)
      * @return A PaginatedEvaluationsDto containing results and pagination metadata
+     * @throws IllegalArgumentException If the cursor is malformed.
      */
     public PaginatedEvaluationsDto findEvaluationsWithFiltersPaginated(String name,
                                                                        EvaluationStateEnum state,
                                                                        Integer grade,
                                                                        LocalDate cycleEnd,
                                                                        UserEntity requester,
-                                                                       int page) {
+                                                                       int page,
+                                                                       String cursor) {
 
         int pageSize = 10;
 
-        // 1. Load matching evaluations (paginated)
-        List<EvaluationEntity> evaluations = evaluationDao.findEvaluationsWithFiltersPaginated(
-                name, state, grade, cycleEnd, requester, page, pageSize
-        );
+        boolean unfilteredAdmin = requester.getRole().getName().equalsIgnoreCase("admin")
+                && (name == null || name.isBlank()) && state == null && grade == null && cycleEnd == null;
+
+        // 1. Resolve where the page starts and whether the total is already known
+        String scope = cursorScope(name, state, grade, cycleEnd, requester);
+        EvaluationDao.Keyset after = null;
+        Long totalCount = null;
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor decoded = decodeCursor(cursor, scope);
+            after = decoded.keyset();
+            totalCount = decoded.totalCount();
+        }
+        if (totalCount == null && unfilteredAdmin) {
+            totalCount = evaluationCountCacheBean.getUnfilteredTotal();
+        }
+        if (totalCount == null && after != null) {
+            // the window count of a seek page would only see the rows after the cursor
+            totalCount = evaluationDao.countEvaluationsWithFilters(name, state, grade, cycleEnd, requester);
+            if (unfilteredAdmin) {
+                evaluationCountCacheBean.putUnfilteredTotal(totalCount);
+            }
+        }
 
-        // 2. Count total records matching filters (for pagination)
-        long totalCount = evaluationDao.countEvaluationsWithFilters(
-                name, state, grade, cycleEnd, requester
+        // 2. Load the page (and the total, if unknown) in one query
+        EvaluationDao.Page result = evaluationDao.findEvaluationsWithFiltersPaginated(
+                name, state, grade, cycleEnd, requester, after, page, pageSize, totalCount == null
         );
+        List<FlatEvaluationDto> evaluations = result.evaluations();
 
-        // 3. Convert to DTOs
-        List<FlatEvaluationDto> dtoList = evaluations.stream()
-                .map(JavaConversionUtil::convertEvaluationToFlatDto)
-                .toList();
+        if (totalCount == null) {
+            totalCount = result.totalCount();
+            if (totalCount == null) {
+                // empty page: the window count has no row to travel on
+                totalCount = evaluationDao.countEvaluationsWithFilters(name, state, grade, cycleEnd, requester);
+            }
+            if (unfilteredAdmin) {
+                evaluationCountCacheBean.putUnfilteredTotal(totalCount);
+            }
+        }
 
-        // 4. Calculate total pages
+        // 3. Calculate total pages and the cursor of the next page (rows are already DTOs)
         int totalPages = (int) Math.ceil((double) totalCount / pageSize);
 
-        return new PaginatedEvaluationsDto(dtoList, totalCount, totalPages, page);
+        PaginatedEvaluationsDto dto = new PaginatedEvaluationsDto(evaluations, totalCount, totalPages, page);
+        if (evaluations.size() == pageSize && page < totalPages) {
+            dto.setNextCursor(encodeCursor(EvaluationDao.Keyset.of(evaluations.get(evaluations.size() - 1)), totalCount, scope));
+        }
+        return dto;
+    }
+
+
+    /**
+     * A decoded pagination cursor: the position of the last row of the previous page and the
+     * listing total, or a null total when the cursor's signature does not verify.
+     */
+    record Cursor(EvaluationDao.Keyset keyset, Long totalCount) {
+    }
+
+
+    /**
+     * Identifies the listing a cursor belongs to: its filters and the requester, whose visibility
+     * rules decide which evaluations are counted. It is signed with the cursor but not carried in it.
+     */
+    static String cursorScope(String name, EvaluationStateEnum state, Integer grade, LocalDate cycleEnd,
+                              UserEntity requester) {
+        return (name == null || name.isBlank() ? "" : name.trim()) + CURSOR_SEPARATOR + state + CURSOR_SEPARATOR
+                + grade + CURSOR_SEPARATOR + cycleEnd + CURSOR_SEPARATOR + requester.getId();
+    }
+
+
+    /**
+     * Encodes a listing position and the listing total into an opaque, URL-safe cursor,
+     * signed together with the listing's scope so that the total can be reused without being
+     * trusted from the client, and only for the listing it was counted for.
+     */
+    static String encodeCursor(EvaluationDao.Keyset keyset, long totalCount, String scope) {
+        String payload = keyset.lastName() + CURSOR_SEPARATOR + keyset.firstName() + CURSOR_SEPARATOR
+                + keyset.id() + CURSOR_SEPARATOR + totalCount;
+        String raw = payload + CURSOR_SEPARATOR + signCursor(payload, scope);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * Decodes a cursor produced by encodeCursor. The position is always used, as it only
+     * selects rows the requester can already see; the total is only kept if the signature
+     * verifies for the given scope, otherwise it is returned as null so that the caller counts again.
+     *
+     * @throws IllegalArgumentException If the cursor is malformed.
+     */
+    static Cursor decodeCursor(String cursor, String scope) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = raw.split(CURSOR_SEPARATOR, -1);
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("Malformed pagination cursor.");
+        }
+        long id;
+        long totalCount;
+        try {
+            id = Long.parseLong(parts[2]);
+            totalCount = Long.parseLong(parts[3]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed pagination cursor.", e);
+        }
+        String payload = raw.substring(0, raw.length() - parts[4].length() - CURSOR_SEPARATOR.length());
+        boolean signed = MessageDigest.isEqual(
+                signCursor(payload, scope).getBytes(StandardCharsets.UTF_8), parts[4].getBytes(StandardCharsets.UTF_8));
+        return new Cursor(new EvaluationDao.Keyset(parts[0], parts[1], id), signed ? totalCount : null);
+    }
+
+
+    private static String signCursor(String payload, String scope) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(CURSOR_KEY, "HmacSHA256"));
+            byte[] signature = mac.doFinal((payload + CURSOR_SEPARATOR + scope).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(signature, 16));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign the pagination cursor.", e);
+        }
+    }
+
+
+    /**
+     * Reads the cursor signing key from the CURSOR_KEY_PROPERTY system property, so that cursors
+     * keep verifying after a redeploy and on every node. Without it a key is generated for this JVM:
+     * listings still page correctly, but cursors issued elsewhere have their total counted again.
+     */
+    private static byte[] loadCursorKey() {
+        String configured = System.getProperty(CURSOR_KEY_PROPERTY);
+        if (configured != null && !configured.isBlank()) {
+            return configured.getBytes(StandardCharsets.UTF_8);
+        }
+        logger.warn("System | IP: {} - System property {} is not set; pagination cursors are signed with a key local to this server.",
+                RequestContext.getIp(), CURSOR_KEY_PROPERTY);
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+
+    /**
+     * Searches the feedback of evaluations from every cycle by keyword, most relevant first.
+     * Admins search all evaluations; managers only those they are the evaluator of.
+     * The duration of each search is logged, as the benchmark of the full-text index.
+     *
+     * @param terms     The search terms (words, "quoted phrases", -excluded words).
+     * @param requester The user making the request (used for access control)
+     * @param page      The page number (1-based)
+     * @return A PaginatedFeedbackSearchDto with the results of the page and pagination metadata
+     */
+    public PaginatedFeedbackSearchDto searchFeedback(String terms, UserEntity requester, int page) {
+        long start = System.nanoTime();
+
+        EvaluationDao.FeedbackSearchPage result = evaluationDao.searchFeedback(terms, requester, page, FEEDBACK_SEARCH_PAGE_SIZE);
+        Long totalCount = result.totalCount();
+        if (totalCount == null) {
+            // empty page: the window count has no row to travel on
+            totalCount = evaluationDao.countFeedbackMatches(terms, requester);
+        }
+
+        logger.info("User: {} | IP: {} - Feedback search for '{}' matched {} evaluations in {} ms (page {}).",
+                RequestContext.getAuthor(), RequestContext.getIp(), terms, totalCount,
+                (System.nanoTime() - start) / 1_000_000, page);
+
+        int totalPages = (int) Math.ceil((double) totalCount / FEEDBACK_SEARCH_PAGE_SIZE);
+        return new PaginatedFeedbackSearchDto(result.results(), totalCount, totalPages, page);
     }
 
 
@@ -219,16 +427,12 @@ public class EvaluationBean implements Serializable {
         logger.info("User: {} | IP: {} - Filtering evaluations for user {} | Page: {} | Grade: {} | Cycle: {} | EndDate: {}",
                 RequestContext.getAuthor(), RequestContext.getIp(), evaluated.getEmail(), offsetPage, grade, cycle, cycleEndDate);
 
-        List<EvaluationEntity> results = evaluationDao.findFilteredClosedEvaluations(
-                evaluated, offsetPage, pageSize, grade, cycle, cycleEndDate
+        // closed evaluations are read from the evaluation_history projection, without joins
+        List<FlatEvaluationHistoryDto> dtos = evaluationHistoryDao.findHistoryPage(
+                evaluated.getId(), offsetPage, pageSize, grade, cycle, cycleEndDate
         );
 
-        long totalCount = evaluationDao.countFilteredClosedEvaluations(evaluated, grade, cycle, cycleEndDate);
-
-        List<FlatEvaluationHistoryDto> dtos = results.stream()
-                .map(JavaConversionUtil::convertToFlatHistoryDto)
-                .filter(Objects::nonNull)
-                .toList();
+        long totalCount = evaluationHistoryDao.countHistory(evaluated.getId(), grade, cycle, cycleEndDate);
 
         int totalPages = (int) Math.ceil((double) totalCount / pageSize);
 
@@ -269,16 +473,17 @@ public class EvaluationBean implements Serializable {
 
 
     /**
-     * Finds an evaluation entity by its unique identifier.
+     * Finds an evaluation entity by its unique identifier, using the fetch plan of the use case.
      *
      * @param id The ID of the evaluation to retrieve.
+     * @param entityGraph One of the EvaluationEntity.GRAPH_* entity graph names.
      * @return The corresponding EvaluationEntity, or null if not found.
      */
-    public EvaluationEntity findEvaluationById(Long id) {
-        logger.info("User: {} | IP: {} - Retrieving evaluation by ID: {}",
-                RequestContext.getAuthor(), RequestContext.getIp(), id);
+    public EvaluationEntity findEvaluationById(Long id, String entityGraph) {
+        logger.info("User: {} | IP: {} - Retrieving evaluation by ID: {} ({})",
+                RequestContext.getAuthor(), RequestContext.getIp(), id, entityGraph);
 
-        return evaluationDao.findById(id);
+        return evaluationDao.findById(id, entityGraph);
     }
 
 
@@ -322,104 +527,241 @@ public class EvaluationBean implements Serializable {
 
 
     /**
-     * Retrieves a list of users who have incomplete evaluations in the currently active evaluation cycle.
+     * Saves the grades and feedback of many evaluations of the active cycle in a single transaction.
      *
-     * @return A DTO containing the list of users with incomplete evaluations and the total count.
+     * The active cycle comes from the ActiveCycleCacheBean and all the evaluations of the batch are loaded
+     * with one query. Each item is then checked as the single update endpoint does (evaluation exists,
+     * the evaluator manages the evaluated user or is an admin, the evaluation is still to fill, the grade
+     * is valid and the version, if sent, is current); the items that pass are saved together through
+     * EvaluationTransitionBean.gradeAll, the others are reported with the reason they were skipped.
+     *
+     * @param dtos      The evaluations to update, identified by the evaluated user's email.
+     * @param evaluator The user performing the evaluations.
+     * @return The result of every item, in the order submitted, or null if there is no active cycle.
+     * @throws ConcurrentUpdateException if an evaluation changed while the batch was saved;
+     *         nothing is saved in that case.
      */
-    public UsersWithIncompleteEvaluationsDto listUsersWithIncompleteEvaluationsFromLastCycle() {
-        logger.info("User: {} | IP: {} - Listing users with incomplete evaluations from previous cycle.",
-                RequestContext.getAuthor(), RequestContext.getIp());
-
-        // get current active cycle
-        EvaluationCycleEntity activeCycle = evaluationCycleBean.findActiveCycle();
-        if (activeCycle == null) {
-            logger.warn("User: {} | IP: {} - No active evaluation cycle found.",
+    public EvaluationBatchResultDto updateEvaluationsInBatch(List<UpdateEvaluationDto> dtos, UserEntity evaluator) {
+        EvaluationCycleEntity cycle = evaluationCycleBean.findActiveCycle();
+        if (cycle == null) {
+            logger.warn("User: {} | IP: {} - No active evaluation cycle when updating evaluations in batch.",
                     RequestContext.getAuthor(), RequestContext.getIp());
-            return new UsersWithIncompleteEvaluationsDto(); //returns empty DTO
+            return null;
         }
 
-        // Get incomplete evaluations
-        List<EvaluationEntity> incompleteEvaluations = getIncompleteEvaluationsForCycle(activeCycle);
+        // 1. Load every evaluation of the batch at once, by evaluated email
+        List<String> emails = dtos.stream()
+                .map(UpdateEvaluationDto::getEvaluatedEmail)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<String, EvaluationEntity> byEmail = new HashMap<>();
+        if (!emails.isEmpty()) {
+            for (EvaluationEntity evaluation : evaluationDao.findForGradingByCycleAndEmails(cycle.getId(), emails)) {
+                byEmail.put(evaluation.getEvaluated().getEmail(), evaluation);
+            }
+        }
 
-        // Extract evaluated users, without duplicates, as it extends the set interface
-        Set<UserEntity> uniqueUsers = new HashSet<>();
-        for (EvaluationEntity evaluation : incompleteEvaluations) {
-            uniqueUsers.add(evaluation.getEvaluated());
+        // 2. Check each item against the evaluation, the manager scope and the version
+        boolean isAdmin = evaluator.getRole().getName().equalsIgnoreCase("admin");
+        EvaluationBatchResultDto result = new EvaluationBatchResultDto();
+        Map<EvaluationEntity, UpdateEvaluationDto> accepted = new LinkedHashMap<>();
+        Map<UpdateEvaluationDto, EvaluationBatchItemResultDto> savedItems = new IdentityHashMap<>();
+
+        for (UpdateEvaluationDto dto : dtos) {
+            EvaluationEntity evaluation = dto.getEvaluatedEmail() != null ? byEmail.get(dto.getEvaluatedEmail()) : null;
+            EvaluationBatchItemResultDto item = checkBatchItem(dto, evaluation, evaluator, isAdmin, accepted);
+            result.getResults().add(item);
+            if (item.getStatus() == 200) {
+                accepted.put(evaluation, dto);
+                savedItems.put(dto, item);
+            }
         }
 
-        // convert to the appropriate DTO
-        List<UserDto> userDtos = new ArrayList<>();
-        for (UserEntity user : uniqueUsers) {
-            userDtos.add(JavaConversionUtil.convertUserEntityToUserDto(user));
+        // 3. Save the accepted items together
+        if (!accepted.isEmpty()) {
+            evaluationTransitionBean.gradeAll(accepted, evaluator);
+            accepted.forEach((evaluation, dto) -> savedItems.get(dto).setVersion(evaluation.getVersion()));
         }
 
-        // cretae the DTO to return, with users with incomplete evaluations
-        UsersWithIncompleteEvaluationsDto dto = new UsersWithIncompleteEvaluationsDto();
-        dto.setUsers(userDtos);
-        dto.setTotalUsersWithIncompleteEvaluations(userDtos.size());
+        result.setUpdatedCount(accepted.size());
+        result.setFailedCount(dtos.size() - accepted.size());
 
-        logger.info("User: {} | IP: {} - Found {} users with incomplete evaluations.",
-                RequestContext.getAuthor(), RequestContext.getIp(), userDtos.size());
+        logger.info("User: {} | IP: {} - Batch update of {} evaluations: {} saved, {} rejected.",
+                RequestContext.getAuthor(), RequestContext.getIp(), dtos.size(),
+                result.getUpdatedCount(), result.getFailedCount());
 
-        return dto;
+        return result;
     }
 
 
     /**
-     * Reverts the state of an evaluation from EVALUATED to IN_EVALUATION.
+     * Checks one item of a batch update, with the rules and messages of the single update endpoint.
      *
-     * @param evaluation The evaluation entity to revert.
-     * @return True if the evaluation was successfully reverted; false otherwise.
+     * @return The item's result: status 200 if it can be saved, otherwise the reason it cannot.
      */
-    public boolean revertEvaluationToInEvaluation(EvaluationEntity evaluation) {
-        if (evaluation.getState() != EvaluationStateEnum.EVALUATED) {
-            logger.warn("User: {} | IP: {} - Cannot revert evaluation ID {} because it's not in EVALUATED state.",
-                    RequestContext.getAuthor(), RequestContext.getIp(), evaluation.getId());
-            return false;
+    private static EvaluationBatchItemResultDto checkBatchItem(UpdateEvaluationDto dto,
+                                                               EvaluationEntity evaluation,
+                                                               UserEntity evaluator,
+                                                               boolean isAdmin,
+                                                               Map<EvaluationEntity, UpdateEvaluationDto> accepted) {
+        String email = dto.getEvaluatedEmail();
+
+        if (evaluation == null) {
+            return new EvaluationBatchItemResultDto(email, 404, "Evaluation not found for this user in current cycle.");
         }
 
-        evaluation.setState(EvaluationStateEnum.IN_EVALUATION);
-        evaluationDao.save(evaluation);
+        if (accepted.containsKey(evaluation)) {
+            return new EvaluationBatchItemResultDto(email, 400, "This evaluation appears more than once in the batch.");
+        }
 
-        logger.info("User: {} | IP: {} - Evaluation ID {} reverted to IN_EVALUATION.",
-                RequestContext.getAuthor(), RequestContext.getIp(), evaluation.getId());
-        return true;
-    }
+        if (evaluation.getState() == EvaluationStateEnum.CLOSED) {
+            return new EvaluationBatchItemResultDto(email, 409, "This evaluation is closed and cannot be modified.");
+        }
+
+        UserEntity manager = evaluation.getEvaluated().getManager();
+        boolean isManagerOfEvaluated = manager != null && manager.getEmail().equalsIgnoreCase(evaluator.getEmail());
+        if (!isAdmin && !isManagerOfEvaluated) {
+            return new EvaluationBatchItemResultDto(email, 403, "You are not allowed to evaluate this user.");
+        }
 
+        if (evaluation.getState() != EvaluationStateEnum.IN_EVALUATION) {
+            return new EvaluationBatchItemResultDto(email, 409, "This evaluation is already completed or closed.");
+        }
 
+        if (dto.getVersion() != null && dto.getVersion() != evaluation.getVersion()) {
+            EvaluationBatchItemResultDto conflict = new EvaluationBatchItemResultDto(email, 409,
+                    ConcurrentUpdateException.evaluation(evaluation.getVersion()).getMessage());
+            conflict.setVersion(evaluation.getVersion());
+            return conflict;
+        }
 
+        try {
+            GradeEvaluationEnum.getEnumfromGrade(dto.getGrade());
+        } catch (IllegalArgumentException e) {
+            return new EvaluationBatchItemResultDto(email, 400, "Invalid grade: it must be between 1 and 4.");
+        }
 
+        return new EvaluationBatchItemResultDto(email, 200, "Evaluation successfully updated.");
+    }
 
 
     /**
-     * Updates an evaluation with the given grade and feedback. Also sets the evaluator and current timestamp.
-     * The evaluation state is set to EVALUATED only if feedback is provided; otherwise, it remains IN_EVALUATION.
+     * Retrieves the first page of users who have incomplete evaluations in the currently active evaluation cycle.
      *
-     * @param updateEvaluationDto The DTO containing the new grade and feedback.
-     * @param evaluation The evaluation entity to update.
-     * @param evaluator The user performing the evaluation.
+     * @return A DTO containing the users with incomplete evaluations, grouped by manager, and the total count.
      */
-    public void updateEvaluationWithGradeAndFeedback(UpdateEvaluationDto updateEvaluationDto,
-                                                     EvaluationEntity evaluation,
-                                                     UserEntity evaluator) {
+    public UsersWithIncompleteEvaluationsDto listUsersWithIncompleteEvaluationsFromLastCycle() {
+        return listUsersWithIncompleteEvaluationsFromLastCycle(1, INCOMPLETE_USERS_PAGE_SIZE);
+    }
+
+
+    /**
+     * Retrieves one page of users who have incomplete evaluations in the currently active evaluation cycle,
+     * grouped by their manager. Users and managers are read by a single DTO projection,
+     * so no evaluation or user entity is loaded.
+     *
+     * @param page     The page number (1-based).
+     * @param pageSize The number of users per page.
+     * @return A DTO containing the users of the page grouped by manager, the total count and the page details.
+     */
+    public UsersWithIncompleteEvaluationsDto listUsersWithIncompleteEvaluationsFromLastCycle(int page, int pageSize) {
+        logger.info("User: {} | IP: {} - Listing users with incomplete evaluations from previous cycle (page {}, size {}).",
+                RequestContext.getAuthor(), RequestContext.getIp(), page, pageSize);
+
+        UsersWithIncompleteEvaluationsDto dto = new UsersWithIncompleteEvaluationsDto();
+        dto.setPage(page);
+        dto.setPageSize(pageSize);
 
-        evaluation.setGrade(GradeEvaluationEnum.getEnumfromGrade(updateEvaluationDto.getGrade()));
-        evaluation.setFeedback(updateEvaluationDto.getFeedback());
-        evaluation.setDate(LocalDateTime.now());
-        evaluation.setEvaluator(evaluator);
+        // get current active cycle
+        EvaluationCycleEntity activeCycle = evaluationCycleBean.findActiveCycle();
+        if (activeCycle == null) {
+            logger.warn("User: {} | IP: {} - No active evaluation cycle found.",
+                    RequestContext.getAuthor(), RequestContext.getIp());
+            return dto; //returns empty DTO
+        }
+
+        long total = evaluationDao.countUsersWithIncompleteEvaluationsByCycle(activeCycle.getId());
+        dto.setTotalUsersWithIncompleteEvaluations((int) total);
+        if (total == 0) {
+            return dto;
+        }
 
-        // Update the evaluation state only if feedback was provided
-        if (updateEvaluationDto.getFeedback() != null && !updateEvaluationDto.getFeedback().trim().isEmpty()) {
-            evaluation.setState(EvaluationStateEnum.EVALUATED);
-        } else {
-            evaluation.setState(EvaluationStateEnum.IN_EVALUATION);
+        // rows come ordered by manager, so each manager's users are contiguous
+        Map<Integer, ManagerIncompleteEvaluationsDto> byManager = new LinkedHashMap<>();
+        for (IncompleteEvaluationUserDto user :
+                evaluationDao.findUsersWithIncompleteEvaluationsByCycle(activeCycle.getId(), page, pageSize)) {
+            byManager.computeIfAbsent(user.getManagerId(), id ->
+                    new ManagerIncompleteEvaluationsDto(id, user.getManagerName(), user.getManagerEmail()))
+                    .getUsers().add(user);
         }
+        dto.setManagers(new ArrayList<>(byManager.values()));
 
-        evaluationDao.save(evaluation);
+        logger.info("User: {} | IP: {} - Found {} users with incomplete evaluations.",
+                RequestContext.getAuthor(), RequestContext.getIp(), total);
+
+        return dto;
+    }
+
+
+    /**
+     * Writes every evaluation matching the filters as CSV to the given output stream.
+     * Rows are streamed from a DTO projection and written as they are read, so memory use
+     * stays flat regardless of the number of evaluations. Runs in a single transaction,
+     * which keeps the database cursor open until the last row is written.
+     *
+     * @param name      Partial name of evaluated user (nullable)
+     * @param state     Evaluation state to filter by (nullable)
+     * @param grade     Grade to filter by (nullable)
+     * @param cycleEnd  Exact end date of cycle to filter by (nullable)
+     * @param requester The logged-in admin or manager
+     * @param output    The stream to write the CSV to (not closed)
+     * @return The number of evaluation rows written.
+     * @throws IOException If writing to the output fails.
+     */
+    public int writeEvaluationsCsv(String name,
+                                   EvaluationStateEnum state,
+                                   Integer grade,
+                                   LocalDate cycleEnd,
+                                   UserEntity requester,
+                                   OutputStream output) throws IOException {
+        return writeEvaluationsCsv(name, state, grade, cycleEnd, requester, output, written -> {});
+    }
+
+    /**
+     * Same as {@link #writeEvaluationsCsv(String, EvaluationStateEnum, Integer, LocalDate, UserEntity, OutputStream)},
+     * reporting the number of rows written every CSV_PROGRESS_INTERVAL rows and once at the end.
+     *
+     * @param progress Receives the number of rows written so far.
+     */
+    public int writeEvaluationsCsv(String name,
+                                   EvaluationStateEnum state,
+                                   Integer grade,
+                                   LocalDate cycleEnd,
+                                   UserEntity requester,
+                                   OutputStream output,
+                                   LongConsumer progress) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(JavaConversionUtil.EVALUATIONS_CSV_HEADER);
+
+        int count = 0;
+        try (Stream<EvaluationCsvRowDto> rows =
+                     evaluationDao.streamEvaluationCsvRowsWithFilters(name, state, grade, cycleEnd, requester)) {
+            Iterator<EvaluationCsvRowDto> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(JavaConversionUtil.toEvaluationCsvLine(iterator.next()));
+                count++;
+                if (count % CSV_PROGRESS_INTERVAL == 0) {
+                    progress.accept(count);
+                }
+            }
+        }
+        writer.flush();
+        progress.accept(count);
 
-        logger.info("User: {} | IP: {} - Evaluation updated for user {} by {}.",
-                RequestContext.getAuthor(), RequestContext.getIp(),
-                evaluation.getEvaluated().getEmail(), evaluator.getEmail());
+        logger.info("User: {} | IP: {} - Exported {} evaluations to CSV.",
+                RequestContext.getAuthor(), RequestContext.getIp(), count);
+        return count;
     }
 
 
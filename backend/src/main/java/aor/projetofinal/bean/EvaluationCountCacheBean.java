@@ -0,0 +1,50 @@
+package aor.projetofinal.bean;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Application-wide cache of the approximate number of evaluations in the unfiltered admin listing.
+ *
+ * Knowing the total in advance lets the listing query skip the window-function count and stop
+ * after the first rows of the page. The value is refreshed at most every few minutes and dropped
+ * whenever an evaluation cycle is opened or closed.
+ */
+@ApplicationScoped
+public class EvaluationCountCacheBean {
+
+    // Time-to-live of the cached total, in milliseconds
+    static final long TTL_MILLIS = 300_000;
+
+    private record CachedTotal(long total, long expiresAt) {}
+
+    private volatile CachedTotal unfilteredTotal;
+
+    /**
+     * Returns the cached total of the unfiltered admin listing, or null if missing or expired.
+     *
+     * @return the approximate total, or null
+     */
+    public Long getUnfilteredTotal() {
+        CachedTotal cached = unfilteredTotal;
+        if (cached == null || System.currentTimeMillis() >= cached.expiresAt()) {
+            return null;
+        }
+        return cached.total();
+    }
+
+    /**
+     * Stores a freshly computed total of the unfiltered admin listing.
+     *
+     * @param total the exact total at the time of computation
+     */
+    public void putUnfilteredTotal(long total) {
+        unfilteredTotal = new CachedTotal(total, System.currentTimeMillis() + TTL_MILLIS);
+    }
+
+    /**
+     * Drops the cached total.
+     */
+    public void evict() {
+        unfilteredTotal = null;
+    }
+}
@@ -3,11 +3,17 @@ package aor.projetofinal.bean;
 import aor.projetofinal.context.RequestContext;
 import aor.projetofinal.dao.EvaluationCycleDao;
 import aor.projetofinal.dao.EvaluationDao;
+import aor.projetofinal.dao.EvaluationHistoryDao;
 import aor.projetofinal.dao.UserDao;
+import aor.projetofinal.dto.CycleAnalyticsDto;
+import aor.projetofinal.dto.GradeCountRowDto;
+import aor.projetofinal.dto.GradeHistogramDto;
 import aor.projetofinal.entity.EvaluationCycleEntity;
 import aor.projetofinal.entity.EvaluationEntity;
 import aor.projetofinal.entity.UserEntity;
 import aor.projetofinal.entity.enums.EvaluationStateEnum;
+import aor.projetofinal.entity.enums.GradeEvaluationEnum;
+import aor.projetofinal.exception.ConcurrentUpdateException;
 import aor.projetofinal.util.EmailUtil;
 import jakarta.ejb.Stateless;
 import jakarta.inject.Inject;
@@ -19,9 +25,14 @@ import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Stateless
@@ -36,29 +47,65 @@ public class EvaluationCycleBean implements Serializable {
     @Inject
     private EvaluationDao evaluationDao;
 
+    @Inject
+    private EvaluationHistoryDao evaluationHistoryDao;
+
     @Inject
     private NotificationBean notificationBean;
 
+    @Inject
+    private DashboardCacheBean dashboardCacheBean;
+
+    @Inject
+    private OrganisationCounterBean organisationCounterBean;
+
+    @Inject
+    private EvaluationCountCacheBean evaluationCountCacheBean;
+
+    @Inject
+    private CycleAnalyticsCacheBean cycleAnalyticsCacheBean;
+
+    @Inject
+    private EvaluationTransitionBean evaluationTransitionBean;
+
+    @Inject
+    private AfterCommitQueueBean afterCommitQueueBean;
+
+    @Inject
+    private ActiveCycleCacheBean activeCycleCacheBean;
+
     private static final Logger logger = LogManager.getLogger(EvaluationCycleBean.class);
 
     /**
-     * Retrieves the currently active evaluation cycle, if any.
+     * Retrieves the currently active evaluation cycle, if any, from the ActiveCycleCacheBean.
+     * No query is run: the result is a reference whose ID can always be read and which can be used
+     * as a query parameter; its other fields are only loaded when accessed inside a transaction.
      *
-     * @return The active EvaluationCycleEntity, or null if none is active.
+     * @return A reference to the active EvaluationCycleEntity, or null if none is active.
      */
     public EvaluationCycleEntity findActiveCycle() {
-        EvaluationCycleEntity cycle = evaluationCycleDao.findActiveCycle();
+        ActiveCycleCacheBean.ActiveCycle active = activeCycleCacheBean.get();
 
-        if (cycle == null) {
+        if (active == null) {
             logger.warn("User: {} | IP: {} - No active evaluation cycle found.",
                     RequestContext.getAuthor(), RequestContext.getIp());
             return null;
         }
 
         logger.info("User: {} | IP: {} - Active evaluation cycle found with ID {}.",
-                RequestContext.getAuthor(), RequestContext.getIp(), cycle.getId());
+                RequestContext.getAuthor(), RequestContext.getIp(), active.id());
 
-        return cycle;
+        return evaluationCycleDao.getReference(active.id());
+    }
+
+    /**
+     * Retrieves an evaluation cycle by its ID.
+     *
+     * @param cycleId The ID of the cycle.
+     * @return The EvaluationCycleEntity, or null if not found.
+     */
+    public EvaluationCycleEntity findCycleById(Long cycleId) {
+        return evaluationCycleDao.findById(cycleId);
     }
 
     /**
@@ -67,7 +114,8 @@ public class EvaluationCycleBean implements Serializable {
      * Sends notifications upon successful cycle closure.
      */
     public void bulkCloseEvaluationsAndCycle() {
-        EvaluationCycleEntity cycle = findActiveCycle();
+        ActiveCycleCacheBean.ActiveCycle active = activeCycleCacheBean.get();
+        EvaluationCycleEntity cycle = active != null ? evaluationCycleDao.findById(active.id()) : null;
         if (cycle == null) {
             logger.warn("No active cycle found for bulk close.");
             return;
@@ -78,36 +126,22 @@ public class EvaluationCycleBean implements Serializable {
 
 
 
-        // close all evaluations in the cycle that are in EVALUATED
-        List<EvaluationEntity> evaluationsToClose = evaluationDao.findEvaluatedEvaluationsInActiveCycle();
-
-        for (EvaluationEntity e : evaluationsToClose) {
-            e.setState(EvaluationStateEnum.CLOSED);
-            e.setDate(LocalDateTime.now());
-            evaluationDao.save(e);
-        }
-
-        logger.info("User: {} | IP: {} - {} evaluations closed successfully.",
-                RequestContext.getAuthor(), RequestContext.getIp(), evaluationsToClose.size());
+        // close all evaluations in the cycle that are in EVALUATED with a single set-based UPDATE
+        long start = System.nanoTime();
+        int closedCount = evaluationTransitionBean.closeAllEvaluated(cycle, LocalDateTime.now());
 
+        logger.info("User: {} | IP: {} - {} evaluations closed successfully in {} ms.",
+                RequestContext.getAuthor(), RequestContext.getIp(), closedCount,
+                (System.nanoTime() - start) / 1_000_000);
 
-        // checks if every evaluation in the cycle was successfully closed
-        List<EvaluationEntity> allEvaluationsInCycle = evaluationDao.findAllEvaluationsByCycle(cycle);
 
-        boolean allClosed = true;
-        for (EvaluationEntity e : allEvaluationsInCycle ) {
-            if (e.getState() != EvaluationStateEnum.CLOSED) {
-                allClosed = false;
-                break;
-            }
-        }
+        // checks if every evaluation in the cycle was successfully closed (O(1), from the cycle's state counters)
+        boolean allClosed = evaluationCycleDao.countOpenEvaluations(cycle.getId()) == 0;
 
         if (allClosed) {
-            cycle.setActive(false);
-            cycle.setEndDate(LocalDateTime.now());
-            evaluationCycleDao.save(cycle);
-            emailManagersAndEvaluatedOfCycleClosure(cycle);
-            notifyCycleClosure(cycle);
+            deactivateCycle(cycle);
+            evaluationHistoryDao.materializeCycle(cycle);
+            queueCycleClosureSideEffects(cycle);
             logger.info("User: {} | IP: {} - Cycle ID {} has been closed and deactivated.",
                     RequestContext.getAuthor(), RequestContext.getIp(), cycle.getId());
         } else {
@@ -120,46 +154,147 @@ public class EvaluationCycleBean implements Serializable {
 
 
 
+    /**
+     * Deactivates a cycle with a conditional UPDATE on its version, so two requests closing
+     * the last evaluations at the same time cannot both close (and notify) the same cycle.
+     *
+     * @param cycle The cycle to deactivate, as read in this transaction.
+     * @throws ConcurrentUpdateException if the cycle was changed or closed by someone else.
+     */
+    private void deactivateCycle(EvaluationCycleEntity cycle) {
+        if (!evaluationCycleDao.deactivateCycle(cycle, LocalDateTime.now())) {
+            Long currentVersion = evaluationCycleDao.findVersion(cycle.getId());
+            logger.warn("User: {} | IP: {} - Concurrent update of cycle ID {} (current version: {}).",
+                    RequestContext.getAuthor(), RequestContext.getIp(), cycle.getId(), currentVersion);
+            // the holder may be stale if the cycle was closed elsewhere
+            activeCycleCacheBean.evict();
+            throw ConcurrentUpdateException.cycle(currentVersion);
+        }
+        Long cycleId = cycle.getId();
+        afterCommitQueueBean.invalidate("active-cycle", () -> activeCycleCacheBean.cycleClosed(cycleId));
+    }
+
+    /**
+     * Recomputes the per-state counters of every cycle from the evaluations table.
+     */
+    public void rebuildStateCounters() {
+        evaluationCycleDao.rebuildStateCounters();
+    }
+
+
+
+    /**
+     * Returns the grade distributions of a cycle: overall, per evaluator and per workplace.
+     * The grouping is done by the database; closed cycles are served from the
+     * CycleAnalyticsCacheBean after the first request, as their evaluations no longer change.
+     *
+     * @param cycleId The ID of the evaluation cycle.
+     * @return The cycle analytics, or null if the cycle does not exist.
+     */
+    public CycleAnalyticsDto getCycleAnalytics(Long cycleId) {
+        CycleAnalyticsDto cached = cycleAnalyticsCacheBean.get(cycleId);
+        if (cached != null) {
+            return cached;
+        }
+
+        EvaluationCycleEntity cycle = evaluationCycleDao.findById(cycleId);
+        if (cycle == null) {
+            logger.warn("User: {} | IP: {} - Analytics requested for unknown cycle ID {}.",
+                    RequestContext.getAuthor(), RequestContext.getIp(), cycleId);
+            return null;
+        }
+
+        CycleAnalyticsDto analytics = buildCycleAnalytics(cycle, evaluationDao.countGradesByCycle(cycleId));
+        cycleAnalyticsCacheBean.putIfClosed(analytics);
+
+        logger.info("User: {} | IP: {} - Computed analytics of cycle ID {} ({} evaluations, closed: {}).",
+                RequestContext.getAuthor(), RequestContext.getIp(), cycleId,
+                analytics.getOverall().getTotal(), analytics.isClosed());
+
+        return analytics;
+    }
+
+
+    /**
+     * Folds the aggregated (evaluator, workplace, grade) rows of a cycle into histograms.
+     */
+    static CycleAnalyticsDto buildCycleAnalytics(EvaluationCycleEntity cycle, List<GradeCountRowDto> rows) {
+        GradeHistogramDto overall = new GradeHistogramDto(null, "All evaluations");
+        Map<Integer, GradeHistogramDto> byEvaluator = new LinkedHashMap<>();
+        Map<String, GradeHistogramDto> byWorkplace = new LinkedHashMap<>();
+
+        for (GradeCountRowDto row : rows) {
+            overall.add(row.getGrade(), row.getCount());
+            byEvaluator.computeIfAbsent(row.getEvaluatorId(),
+                    id -> new GradeHistogramDto(String.valueOf(id), row.getEvaluatorName()))
+                    .add(row.getGrade(), row.getCount());
+            String workplace = row.getWorkplace() != null ? row.getWorkplace().name() : null;
+            byWorkplace.computeIfAbsent(workplace,
+                    key -> new GradeHistogramDto(key, key != null ? key : "Unknown"))
+                    .add(row.getGrade(), row.getCount());
+        }
+
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+        CycleAnalyticsDto analytics = new CycleAnalyticsDto();
+        analytics.setCycleId(cycle.getId());
+        analytics.setStartDate(cycle.getStartDate() != null ? cycle.getStartDate().format(formatter) : null);
+        analytics.setEndDate(cycle.getEndDate() != null ? cycle.getEndDate().format(formatter) : null);
+        analytics.setClosed(!cycle.isActive());
+        analytics.setGradeLabels(Arrays.stream(GradeEvaluationEnum.values())
+                .map(GradeEvaluationEnum::getDescription)
+                .toList());
+        analytics.setOverall(overall);
+        analytics.setByEvaluator(byEvaluator.values().stream()
+                .sorted(Comparator.comparing(GradeHistogramDto::getLabel, Comparator.nullsLast(String::compareToIgnoreCase)))
+                .toList());
+        analytics.setByWorkplace(byWorkplace.values().stream()
+                .sorted(Comparator.comparing(GradeHistogramDto::getLabel))
+                .toList());
+        return analytics;
+    }
+
+
+
     /**
      * Closes a single evaluation and checks if all evaluations in the associated cycle are closed.
      * If all are closed, the cycle is deactivated and its end date is set.
-     * Also updates the date of all evaluations in the cycle and sends notifications.
+     * Also updates the date of all evaluations in the cycle and, once committed, notifies every participant.
      *
      * @param evaluation The evaluation to be closed.
+     * @throws ConcurrentUpdateException if the evaluation or its cycle was changed by someone else since it was read.
      */
     public void closeEvaluationAndCheckCycle(EvaluationEntity evaluation) {
-        // close the evaluation
-        evaluation.setState(EvaluationStateEnum.CLOSED);
-        evaluationDao.save(evaluation);
+        closeEvaluationAndCheckCycle(evaluation, null);
+    }
 
-        logger.info("User: {} | IP: {} - Evaluation ID {} closed.",
-                RequestContext.getAuthor(), RequestContext.getIp(), evaluation.getId());
+    /**
+     * Closes a single evaluation, provided it still has the version the client last saw,
+     * and closes its cycle if it was the last open evaluation.
+     *
+     * @param evaluation      The evaluation to be closed.
+     * @param expectedVersion The version sent by the client, or null to use the version just read.
+     * @throws ConcurrentUpdateException if the evaluation or its cycle was changed by someone else since it was read.
+     */
+    public void closeEvaluationAndCheckCycle(EvaluationEntity evaluation, Long expectedVersion) {
+        evaluationTransitionBean.close(evaluation, expectedVersion);
 
         EvaluationCycleEntity cycle = evaluation.getCycle();
 
-        // verify whether all other evaluations in the cycle are closed
-        boolean allClosed = true;
-        for (EvaluationEntity e : cycle.getEvaluations()) {
-            if (e.getState() != EvaluationStateEnum.CLOSED) {
-                allClosed = false;
-                break;
-            }
-        }
+        // verify whether all other evaluations in the cycle are closed (O(1), from the cycle's state counters)
+        boolean allClosed = evaluationCycleDao.countOpenEvaluations(cycle.getId()) == 0;
 
         // if all processes are closed, just close the cycle
         if (allClosed) {
-            cycle.setActive(false);
-            cycle.setEndDate(LocalDateTime.now());
-            evaluationCycleDao.save(cycle);
+            cycle = evaluationCycleDao.findById(cycle.getId());
+            deactivateCycle(cycle);
 
             // set every evaluation date from that cycle to now
-            for (EvaluationEntity e : cycle.getEvaluations()) {
-                e.setDate(LocalDateTime.now());
-                evaluationDao.save(e);
-            }
+            evaluationDao.stampEvaluationDatesByCycle(cycle, LocalDateTime.now());
 
-            emailManagersAndEvaluatedOfCycleClosure(cycle);
-            notifyCycleClosure(cycle);
+            // the cycle's evaluations are final now: copy them into the history read model
+            evaluationHistoryDao.materializeCycle(cycle);
+
+            queueCycleClosureSideEffects(cycle);
 
             logger.info("User: {} | IP: {} - Cycle ID {} closed. All evaluations marked with date {}.",
                     RequestContext.getAuthor(), RequestContext.getIp(), cycle.getId(), LocalDateTime.now());
@@ -184,75 +319,82 @@ public class EvaluationCycleBean implements Serializable {
         newCycle.setActive(true);
 
         evaluationCycleDao.create(newCycle);
+        Long newCycleId = newCycle.getId();
+        LocalDateTime newCycleEnd = newCycle.getEndDate();
+        afterCommitQueueBean.invalidate("active-cycle", () -> activeCycleCacheBean.cycleOpened(newCycleId, newCycleEnd));
 
         logger.info("User: {} | IP: {} - New evaluation cycle created with end date: {}.",
                 RequestContext.getAuthor(), RequestContext.getIp(), endDate);
 
-        List<UserEntity> usersToEvaluate = userDao.findConfirmedUsersWithManager();
-        int createdCount = 0;
-
-        for (UserEntity user : usersToEvaluate) {
-            if (user.getManager() != null) {
-                EvaluationEntity evaluation = new EvaluationEntity();
-                evaluation.setCycle(newCycle);
-                evaluation.setEvaluated(user);
-                evaluation.setEvaluator(user.getManager());
-                evaluation.setState(EvaluationStateEnum.IN_EVALUATION);
-                evaluation.setDate(null);
-                // grade and feedback also stay at null
-
-                evaluationDao.create(evaluation);
-                createdCount++;
-
-                // create a notification for the manager
-                String evaluatedName = user.getProfile().getFirstName() + " " + user.getProfile().getLastName();
-                String message = String.format("A new evaluation cycle was created. You are responsible for the evaluation of %s.", evaluatedName);
-
-                notificationBean.createNotification(
-                        user.getManager().getId(),
-                        "SYSTEM",
-                        message
-                );
-            }
-        }
+        // create the placeholder evaluations and the managers' notifications with one statement each
+        long start = System.nanoTime();
+        int createdCount = evaluationDao.createBlankEvaluationsForCycle(newCycle);
+        notificationBean.createCycleAssignmentNotifications(newCycle.getId());
 
-        logger.info("User: {} | IP: {} - Created {} placeholder evaluations for the new cycle.",
-                RequestContext.getAuthor(), RequestContext.getIp(), createdCount);
+        logger.info("User: {} | IP: {} - Created {} placeholder evaluations for the new cycle in {} ms.",
+                RequestContext.getAuthor(), RequestContext.getIp(), createdCount,
+                (System.nanoTime() - start) / 1_000_000);
 
-        // Notify managers and admins by email about the new cycle
-        emailManagersAndAdminsOfNewCycle(newCycle);
+        evaluationCycleDao.adjustStateCounters(newCycle.getId(), null, EvaluationStateEnum.IN_EVALUATION, createdCount);
+        organisationCounterBean.evaluationsCreated(createdCount);
+
+        // pending evaluation counts changed for every evaluated user and manager
+        afterCommitQueueBean.invalidate("dashboards:all", dashboardCacheBean::evictAll);
+        afterCommitQueueBean.invalidate("evaluation-count", evaluationCountCacheBean::evict);
+
+        // Notify managers and admins by email about the new cycle, once it is committed
+        List<String> recipients = new ArrayList<>();
+        for (UserEntity user : userDao.findUsersByRole("MANAGER")) {
+            recipients.add(user.getEmail());
+        }
+        for (UserEntity user : userDao.findUsersByRole("ADMIN")) {
+            recipients.add(user.getEmail());
+        }
+        LocalDate cycleEnd = newCycle.getEndDate().toLocalDate();
+        afterCommitQueueBean.enqueue("cycle-created-emails:" + newCycle.getId(),
+                () -> emailManagersAndAdminsOfNewCycle(recipients, cycleEnd));
     }
 
 
     /**
-     * Sends notification emails to all managers, evaluated users, and administrators involved in the specified cycle.
-     * Each user receives only one email to prevent duplicates.
+     * Queues what follows the closure of a cycle until it is committed: the participants' notifications
+     * and emails, the eviction of the caches that depend on open evaluations and the archiving of the cycle.
+     * The recipients are read now, in the closing transaction, with one query each.
      *
-     * @param cycle The evaluation cycle that has been closed.
+     * @param cycle The evaluation cycle that has just been closed.
      */
-    private void emailManagersAndEvaluatedOfCycleClosure(EvaluationCycleEntity cycle) {
-        Set<String> sentEmails = new HashSet<>(); // validates that any person is only emailed once
-
-        // add emails of managers and evaluated users from the cycle
-        for (EvaluationEntity evaluation : cycle.getEvaluations()) {
-            if (evaluation.getEvaluator() != null && evaluation.getEvaluator().getEmail() != null) {
-                sentEmails.add(evaluation.getEvaluator().getEmail());
-            }
-            if (evaluation.getEvaluated() != null && evaluation.getEvaluated().getEmail() != null) {
-                sentEmails.add(evaluation.getEvaluated().getEmail());
-            }
-        }
+    private void queueCycleClosureSideEffects(EvaluationCycleEntity cycle) {
+        Long cycleId = cycle.getId();
 
-        // add admins' emails
-        List<UserEntity> admins = userDao.findUsersByRole("ADMIN");
-        for (UserEntity admin : admins) {
+        Set<String> recipients = new LinkedHashSet<>(evaluationCycleDao.findParticipantEmails(cycleId));
+        for (UserEntity admin : userDao.findUsersByRole("ADMIN")) {
             if (admin.getEmail() != null) {
-                sentEmails.add(admin.getEmail());
+                recipients.add(admin.getEmail());
             }
         }
+        LocalDate closedOn = LocalDate.now();
+
+        afterCommitQueueBean.invalidate("dashboards:all", dashboardCacheBean::evictAll);
+        afterCommitQueueBean.invalidate("evaluation-count", evaluationCountCacheBean::evict);
+        afterCommitQueueBean.enqueue("cycle-closed-notifications:" + cycleId,
+                () -> notificationBean.createCycleClosureNotifications(cycleId));
+        afterCommitQueueBean.enqueue("cycle-closed-emails:" + cycleId,
+                () -> emailManagersAndEvaluatedOfCycleClosure(recipients, closedOn));
+        // move the closed cycle to the cold partition, in its own transaction once the closure is committed
+        afterCommitQueueBean.enqueue("cycle-archive:" + cycleId, () -> evaluationDao.archiveCycle(cycleId));
+    }
+
 
+    /**
+     * Sends notification emails to all managers, evaluated users, and administrators involved in a closed cycle.
+     * Each address receives only one email to prevent duplicates.
+     *
+     * @param recipients The unique email addresses of the participants and administrators.
+     * @param closedOn   The date the cycle was closed.
+     */
+    private static void emailManagersAndEvaluatedOfCycleClosure(Set<String> recipients, LocalDate closedOn) {
         // send only one email per unique address
-        for (String email : sentEmails) {
+        for (String email : recipients) {
             if (!email.isEmpty()) {
                 String subject = "Evaluation Cycle Closed – Results Available";
 
@@ -265,37 +407,27 @@ public class EvaluationCycleBean implements Serializable {
                 
                 Best regards,
                 The board.
-                """, email, LocalDateTime.now().toLocalDate());
+                """, email, closedOn);
 
                 EmailUtil.sendEmail(email, subject, body);
             }
         }
 
         logger.info("User: {} | IP: {} - Unique emails sent to all involved (admins, managers, evaluated). Total: {}",
-                RequestContext.getAuthor(), RequestContext.getIp(), sentEmails.size());
+                RequestContext.getAuthor(), RequestContext.getIp(), recipients.size());
     }
 
 
 
-
-
-
-
     /**
      * Sends an email notification to all managers and administrators informing them of the start of a new evaluation cycle.
      *
-     * @param cycle The newly created evaluation cycle.
+     * @param recipients The email addresses of every manager and administrator.
+     * @param cycleEnd   The end date of the new evaluation cycle.
      */
-    private void emailManagersAndAdminsOfNewCycle(EvaluationCycleEntity cycle) {
-        List<UserEntity> managers = userDao.findUsersByRole("MANAGER");
-        List<UserEntity> admins = userDao.findUsersByRole("ADMIN");
-
-        List<UserEntity> recipients = new ArrayList<>();
-        recipients.addAll(managers);
-        recipients.addAll(admins);
-
-        for (UserEntity user : recipients) {
-            if (user.getEmail() != null && !user.getEmail().isEmpty()) {
+    private static void emailManagersAndAdminsOfNewCycle(List<String> recipients, LocalDate cycleEnd) {
+        for (String email : recipients) {
+            if (email != null && !email.isEmpty()) {
                 String subject = "Start of a New Evaluation Cycle";
                 String body = String.format("""
                     Dear %s,
@@ -306,9 +438,9 @@ public class EvaluationCycleBean implements Serializable {
                     
                     Thank you for your consideration and collaboration,
                     The board.
-                    """, user.getEmail(), cycle.getEndDate().toLocalDate());
+                    """, email, cycleEnd);
 
-                EmailUtil.sendEmail(user.getEmail(), subject, body);
+                EmailUtil.sendEmail(email, subject, body);
             }
         }
 
@@ -318,48 +450,6 @@ public class EvaluationCycleBean implements Serializable {
 
 
 
-    /**
-     * Sends system notifications to all users involved in a given evaluation cycle (evaluated users and their evaluators).
-     * This should be used when a cycle is officially closed and users are allowed to view their results.
-     *
-     * The notification is sent:
-     * - Once per user (even if they are involved in multiple evaluations)
-     * - With the same generic system message
-     *
-     * The method assumes that the cycle entity provided already contains all evaluation references.
-     *
-     * @param cycle the evaluation cycle that has been closed
-     */
-    private void notifyCycleClosure(EvaluationCycleEntity cycle) {
-        String message = "Evaluation cycle is over, you can now check results";
-
-        // Avoid duplicate notifications for users who appear in multiple evaluations
-        Set<Integer> notifiedUserIds = new HashSet<>();
-
-        for (EvaluationEntity evaluation : cycle.getEvaluations()) {
-            UserEntity evaluated = evaluation.getEvaluated();
-            UserEntity evaluator = evaluation.getEvaluator();
-
-            if (evaluated != null && notifiedUserIds.add(evaluated.getId())) {
-                notificationBean.createNotification(
-                        evaluated.getId(),
-                        "SYSTEM",
-                        message
-                );
-            }
-
-            if (evaluator != null && notifiedUserIds.add(evaluator.getId())) {
-                notificationBean.createNotification(
-                        evaluator.getId(),
-                        "SYSTEM",
-                        message
-                );
-            }
-        }
-
-        logger.info("User: {} | IP: {} - Notifications created for all users in cycle ID {}.",
-                RequestContext.getAuthor(), RequestContext.getIp(), cycle.getId());
-    }
 
 
 
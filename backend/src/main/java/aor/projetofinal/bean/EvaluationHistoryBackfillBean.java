@@ -0,0 +1,35 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.dao.EvaluationHistoryDao;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.DependsOn;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.inject.Inject;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Singleton EJB that fills the evaluation history read model at startup with the
+ * evaluations of cycles closed before the table existed. New cycles are copied
+ * by EvaluationCycleBean when they close, so this only does work once.
+ */
+@Singleton
+@Startup
+@DependsOn("SettingsInitializer")
+public class EvaluationHistoryBackfillBean {
+
+    private static final Logger logger = LogManager.getLogger(EvaluationHistoryBackfillBean.class);
+
+    @Inject
+    private EvaluationHistoryDao evaluationHistoryDao;
+
+    @PostConstruct
+    public void init() {
+        logger.info("System | IP: {} - Checking evaluation history for closed cycles.", RequestContext.getIp());
+        evaluationHistoryDao.materializeClosedCycles();
+    }
+}
@@ -0,0 +1,56 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.dao.EvaluationDao;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.DependsOn;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.inject.Inject;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Singleton EJB that keeps the evaluations of closed cycles out of the way of the active cycle at startup.
+ *
+ * Hibernate's schema update creates evaluations as a plain table; the first time, this bean turns it into
+ * a table partitioned by the archived flag (see EvaluationDao.partitionEvaluations). It then archives the
+ * evaluations of cycles closed while it was not running. Cycles closed afterwards are archived by
+ * EvaluationCycleBean right after they close.
+ */
+@Singleton
+@Startup
+@DependsOn("SettingsInitializer")
+public class EvaluationPartitionBean {
+
+    private static final Logger logger = LogManager.getLogger(EvaluationPartitionBean.class);
+
+    @Inject
+    private EvaluationDao evaluationDao;
+
+    @PostConstruct
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public void init() {
+        long start = System.nanoTime();
+        try {
+            if (!evaluationDao.isEvaluationsPartitioned()) {
+                evaluationDao.partitionEvaluations();
+                logger.info("System | IP: {} - Evaluations table partitioned in {} ms.",
+                        RequestContext.getIp(), (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("System | IP: {} - Could not partition the evaluations table. " +
+                    "Archived evaluations will stay in the same table as the active cycle.", RequestContext.getIp(), e);
+        }
+
+        try {
+            evaluationDao.archiveClosedCycles();
+        } catch (RuntimeException e) {
+            logger.warn("System | IP: {} - Could not archive the evaluations of closed cycles.", RequestContext.getIp(), e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.dto.EvaluationPdfDto;
+import aor.projetofinal.entity.EvaluationEntity;
+import aor.projetofinal.util.FileTransferUtil;
+import aor.projetofinal.util.PdfExportUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Application-wide, on-disk cache of the PDF exports of closed evaluations.
+ *
+ * A closed evaluation of an inactive cycle never changes, so its PDF is rendered once and
+ * stored under a content-addressed name: evaluation-{id}-{fingerprint}.pdf, where the fingerprint
+ * is a SHA-256 of every value printed in the document plus the layout version. Any change to those
+ * values (or to the layout) yields a new file name, so cached files never need to be invalidated.
+ * The fingerprint doubles as the strong ETag of the download.
+ */
+@ApplicationScoped
+public class EvaluationPdfCacheBean {
+
+    private static final Logger logger = LogManager.getLogger(EvaluationPdfCacheBean.class);
+
+    // Bump whenever PdfExportUtil changes the document layout, so old files are no longer used
+    static final int LAYOUT_VERSION = 1;
+
+    private Path cacheDir;
+
+    /**
+     * A cached PDF file and its strong ETag.
+     *
+     * @param file the PDF file on disk
+     * @param etag quoted strong ETag (the content fingerprint)
+     */
+    public record CachedPdf(Path file, String etag) {
+        public long size() throws IOException {
+            return Files.size(file);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        String dataDir = System.getProperty("jboss.server.data.dir", System.getProperty("java.io.tmpdir"));
+        cacheDir = Paths.get(dataDir, "evaluation-pdfs");
+    }
+
+    /**
+     * Returns the cached PDF of a closed evaluation, rendering and storing it on the first request.
+     * The caller must have checked that the evaluation is closed and its cycle inactive.
+     *
+     * @param evaluation The closed evaluation, with cycle, evaluated and evaluator profiles loaded.
+     * @return The cached PDF file and its ETag.
+     * @throws IOException if the file cannot be written.
+     */
+    public CachedPdf getOrRender(EvaluationEntity evaluation) throws IOException {
+        return getOrRender(EvaluationPdfDto.from(evaluation));
+    }
+
+    /**
+     * Returns the cached PDF built from the given values, rendering and storing it if missing.
+     * Safe to call concurrently, including for the same evaluation.
+     *
+     * @param evaluation The values printed in the PDF of a closed evaluation.
+     * @return The cached PDF file and its ETag.
+     * @throws IOException if the file cannot be written.
+     */
+    public CachedPdf getOrRender(EvaluationPdfDto evaluation) throws IOException {
+        String fingerprint = fingerprint(evaluation);
+        Path file = cacheDir.resolve("evaluation-" + evaluation.getEvaluationId() + "-" + fingerprint + ".pdf");
+        CachedPdf cached = new CachedPdf(file, "\"" + fingerprint + "\"");
+
+        if (Files.exists(file)) {
+            return cached;
+        }
+
+        long start = System.nanoTime();
+        Files.createDirectories(cacheDir);
+
+        // render into a temporary file and move it into place, so readers never see a partial PDF
+        Path tmp = Files.createTempFile(cacheDir, "evaluation-" + evaluation.getEvaluationId() + "-", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                PdfExportUtil.writeEvaluationPdf(evaluation, out);
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception e) {
+            Files.deleteIfExists(tmp);
+            throw e instanceof IOException io ? io : new IOException("Could not render evaluation PDF.", e);
+        }
+
+        logger.info("User: {} | IP: {} - Rendered and cached PDF of evaluation ID {} in {} ms.",
+                RequestContext.getAuthor(), RequestContext.getIp(), evaluation.getEvaluationId(),
+                (System.nanoTime() - start) / 1_000_000);
+
+        return cached;
+    }
+
+    /**
+     * Copies a cached PDF to the given stream without staging the whole file on the Java heap.
+     *
+     * @param pdf the cached PDF
+     * @param out the response stream
+     * @throws IOException if the file cannot be read or the stream written
+     */
+    public static void transferTo(CachedPdf pdf, OutputStream out) throws IOException {
+        FileTransferUtil.transferFile(pdf.file(), out);
+    }
+
+    /**
+     * Computes the content fingerprint of an evaluation PDF from every value printed in it.
+     *
+     * @param evaluation the evaluation
+     * @return a hex SHA-256 digest (first 128 bits)
+     */
+    static String fingerprint(EvaluationPdfDto evaluation) {
+        String content = LAYOUT_VERSION + "|" +
+                evaluation.getEvaluationId() + "|" +
+                evaluation.getEvaluatedName() + "|" +
+                evaluation.getEvaluatedEmail() + "|" +
+                evaluation.getCycleId() + "|" +
+                evaluation.getCycleEndDate() + "|" +
+                evaluation.getGrade() + "|" +
+                evaluation.getEvaluatorName() + "|" +
+                evaluation.getFeedback();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(content.hashCode());
+        }
+    }
+}
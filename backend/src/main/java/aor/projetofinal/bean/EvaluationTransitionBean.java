@@ -0,0 +1,282 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.dao.EvaluationCycleDao;
+import aor.projetofinal.dao.EvaluationDao;
+import aor.projetofinal.dto.UpdateEvaluationDto;
+import aor.projetofinal.entity.EvaluationCycleEntity;
+import aor.projetofinal.entity.EvaluationEntity;
+import aor.projetofinal.entity.UserEntity;
+import aor.projetofinal.entity.enums.EvaluationStateEnum;
+import aor.projetofinal.entity.enums.GradeEvaluationEnum;
+import aor.projetofinal.exception.ConcurrentUpdateException;
+import jakarta.ejb.Stateless;
+import jakarta.inject.Inject;
+import jakarta.persistence.OptimisticLockException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Single place where evaluations change state (IN_EVALUATION → EVALUATED → CLOSED, and reopening).
+ *
+ * Every move is checked against EvaluationStateEnum.canTransitionTo and written with a conditional
+ * UPDATE, so it only applies if the evaluation is still in the state (and version) it was read in;
+ * batch grading relies on the same version check, done by Hibernate when the batch is flushed.
+ * The cycle and organisation counters change in the same transaction as the evaluations; dashboard
+ * evictions are registered on the AfterCommitQueueBean, so they never run for a rolled back change
+ * and run as soon as the change commits, before any later request can re-cache the old values.
+ */
+@Stateless
+public class EvaluationTransitionBean {
+
+    private static final Logger logger = LogManager.getLogger(EvaluationTransitionBean.class);
+
+    @Inject
+    private EvaluationDao evaluationDao;
+
+    @Inject
+    private EvaluationCycleDao evaluationCycleDao;
+
+    @Inject
+    private OrganisationCounterBean organisationCounterBean;
+
+    @Inject
+    private DashboardCacheBean dashboardCacheBean;
+
+    @Inject
+    private AfterCommitQueueBean afterCommitQueueBean;
+
+    /**
+     * Saves the grade and feedback of an evaluation, signed by the given evaluator.
+     * The evaluation moves to EVALUATED if feedback is provided; otherwise it stays IN_EVALUATION.
+     * The write only applies if the evaluation still has the version in the DTO (or, if the DTO has none,
+     * the version of the given entity) and is still in the state it was read in.
+     *
+     * @param evaluation The evaluation to update.
+     * @param updateEvaluationDto The DTO containing the new grade and feedback.
+     * @param evaluator The user performing the evaluation.
+     * @throws ConcurrentUpdateException if the evaluation was changed by someone else since it was read.
+     *         Also thrown if the evaluation is no longer in a state that can be graded.
+     */
+    public void grade(EvaluationEntity evaluation, UpdateEvaluationDto updateEvaluationDto, UserEntity evaluator) {
+        UserEntity previousEvaluator = evaluation.getEvaluator();
+        EvaluationStateEnum previousState = evaluation.getState();
+        long version = updateEvaluationDto.getVersion() != null ? updateEvaluationDto.getVersion() : evaluation.getVersion();
+
+        GradeEvaluationEnum grade = GradeEvaluationEnum.getEnumfromGrade(updateEvaluationDto.getGrade());
+        LocalDateTime date = LocalDateTime.now();
+
+        // Update the evaluation state only if feedback was provided
+        EvaluationStateEnum newState =
+                updateEvaluationDto.getFeedback() != null && !updateEvaluationDto.getFeedback().trim().isEmpty()
+                        ? EvaluationStateEnum.EVALUATED
+                        : EvaluationStateEnum.IN_EVALUATION;
+        validate(evaluation, previousState, newState);
+
+        if (!evaluationDao.updateGradeAndFeedback(evaluation.getId(), version, previousState,
+                grade, updateEvaluationDto.getFeedback(), date, evaluator, newState)) {
+            throw conflict(evaluation);
+        }
+
+        // a managed evaluation is reloaded, so the next flush does not write it again against its old version
+        if (!evaluationDao.refreshIfManaged(evaluation)) {
+            evaluation.setGrade(grade);
+            evaluation.setFeedback(updateEvaluationDto.getFeedback());
+            evaluation.setDate(date);
+            evaluation.setEvaluator(evaluator);
+            evaluation.setState(newState);
+            evaluation.setVersion(version + 1);
+        }
+
+        recordStateTransition(evaluation.getCycle(), previousState, newState, 1);
+        evictDashboardsAfterCommit(evaluation, previousEvaluator);
+
+        logger.info("User: {} | IP: {} - Evaluation updated for user {} by {}.",
+                RequestContext.getAuthor(), RequestContext.getIp(),
+                evaluation.getEvaluated().getEmail(), evaluator.getEmail());
+    }
+
+    /**
+     * Saves the grades and feedback of several evaluations at once, signed by the given evaluator,
+     * with the same state rules as grade. The evaluations must be managed entities read in the current
+     * transaction: they are changed in memory and written together at flush, which Hibernate sends as
+     * JDBC batches of versioned UPDATEs. The counters are adjusted once for the whole batch.
+     * Either every evaluation is saved or none is.
+     *
+     * @param grades    The evaluations to update, each with its DTO, in the order they should be written.
+     * @param evaluator The user performing the evaluations.
+     * @throws ConcurrentUpdateException if some evaluation was changed by someone else since it was read.
+     *         Also thrown if some evaluation is no longer in a state that can be graded.
+     */
+    public void gradeAll(Map<EvaluationEntity, UpdateEvaluationDto> grades, UserEntity evaluator) {
+        LocalDateTime date = LocalDateTime.now();
+        Map<Move, Integer> moves = new LinkedHashMap<>();
+
+        for (Map.Entry<EvaluationEntity, UpdateEvaluationDto> entry : grades.entrySet()) {
+            EvaluationEntity evaluation = entry.getKey();
+            UpdateEvaluationDto dto = entry.getValue();
+
+            EvaluationStateEnum previousState = evaluation.getState();
+            EvaluationStateEnum newState = dto.getFeedback() != null && !dto.getFeedback().trim().isEmpty()
+                    ? EvaluationStateEnum.EVALUATED
+                    : EvaluationStateEnum.IN_EVALUATION;
+            validate(evaluation, previousState, newState);
+
+            UserEntity previousEvaluator = evaluation.getEvaluator();
+            evaluation.setGrade(GradeEvaluationEnum.getEnumfromGrade(dto.getGrade()));
+            evaluation.setFeedback(dto.getFeedback());
+            evaluation.setDate(date);
+            evaluation.setEvaluator(evaluator);
+            evaluation.setState(newState);
+
+            if (previousState != newState) {
+                moves.merge(new Move(evaluation.getCycle(), previousState, newState), 1, Integer::sum);
+            }
+            evictDashboardsAfterCommit(evaluation, previousEvaluator);
+        }
+
+        try {
+            evaluationDao.flush();
+        } catch (OptimisticLockException e) {
+            logger.warn("User: {} | IP: {} - Concurrent update while saving a batch of {} evaluations.",
+                    RequestContext.getAuthor(), RequestContext.getIp(), grades.size());
+            throw ConcurrentUpdateException.evaluation(null);
+        }
+
+        moves.forEach((move, count) -> recordStateTransition(move.cycle(), move.from(), move.to(), count));
+
+        logger.info("User: {} | IP: {} - {} evaluations updated in one batch by {}.",
+                RequestContext.getAuthor(), RequestContext.getIp(), grades.size(), evaluator.getEmail());
+    }
+
+    /**
+     * Reverts an evaluation from EVALUATED to IN_EVALUATION, provided it still has
+     * the version the client last saw.
+     *
+     * @param evaluation      The evaluation to revert.
+     * @param expectedVersion The version sent by the client, or null to use the version just read.
+     * @return True if the evaluation was reverted; false if it is not in EVALUATED state.
+     * @throws ConcurrentUpdateException if the evaluation was changed by someone else since it was read.
+     */
+    public boolean reopen(EvaluationEntity evaluation, Long expectedVersion) {
+        if (evaluation.getState() != EvaluationStateEnum.EVALUATED) {
+            logger.warn("User: {} | IP: {} - Cannot revert evaluation ID {} because it's not in EVALUATED state.",
+                    RequestContext.getAuthor(), RequestContext.getIp(), evaluation.getId());
+            return false;
+        }
+
+        transition(evaluation, expectedVersion, EvaluationStateEnum.IN_EVALUATION);
+
+        logger.info("User: {} | IP: {} - Evaluation ID {} reverted to IN_EVALUATION.",
+                RequestContext.getAuthor(), RequestContext.getIp(), evaluation.getId());
+        return true;
+    }
+
+    /**
+     * Closes an evaluation, provided it still has the version the client last saw.
+     *
+     * @param evaluation      The evaluation to close.
+     * @param expectedVersion The version sent by the client, or null to use the version just read.
+     * @throws ConcurrentUpdateException if the evaluation was changed by someone else since it was read.
+     *         Also thrown if the evaluation is no longer in a state it can be closed from.
+     */
+    public void close(EvaluationEntity evaluation, Long expectedVersion) {
+        transition(evaluation, expectedVersion, EvaluationStateEnum.CLOSED);
+
+        logger.info("User: {} | IP: {} - Evaluation ID {} closed.",
+                RequestContext.getAuthor(), RequestContext.getIp(), evaluation.getId());
+    }
+
+    /**
+     * Closes every EVALUATED evaluation of a cycle with a single set-based UPDATE.
+     *
+     * @param cycle    The evaluation cycle.
+     * @param closedAt The date to set on the closed evaluations.
+     * @return The number of evaluations closed.
+     */
+    public int closeAllEvaluated(EvaluationCycleEntity cycle, LocalDateTime closedAt) {
+        int closedCount = evaluationDao.closeEvaluatedEvaluationsByCycle(cycle, closedAt);
+        recordStateTransition(cycle, EvaluationStateEnum.EVALUATED, EvaluationStateEnum.CLOSED, closedCount);
+
+        // every participant's dashboard may have changed
+        afterCommitQueueBean.invalidate("dashboards:all", dashboardCacheBean::evictAll);
+        return closedCount;
+    }
+
+    /**
+     * Moves one evaluation to a new state with a conditional UPDATE on its state and version.
+     */
+    private void transition(EvaluationEntity evaluation, Long expectedVersion, EvaluationStateEnum to) {
+        EvaluationStateEnum from = evaluation.getState();
+        validate(evaluation, from, to);
+
+        long version = expectedVersion != null ? expectedVersion : evaluation.getVersion();
+        if (!evaluationDao.transitionState(evaluation.getId(), version, from, to)) {
+            throw conflict(evaluation);
+        }
+        if (!evaluationDao.refreshIfManaged(evaluation)) {
+            evaluation.setState(to);
+            evaluation.setVersion(version + 1);
+        }
+
+        recordStateTransition(evaluation.getCycle(), from, to, 1);
+        evictDashboardsAfterCommit(evaluation, null);
+    }
+
+    // A state change shared by several evaluations of a batch, counted once
+    private record Move(EvaluationCycleEntity cycle, EvaluationStateEnum from, EvaluationStateEnum to) {}
+
+    /**
+     * Keeps the cycle's per-state counters and the organisation-wide counters in step
+     * with a state change, in the caller's transaction.
+     */
+    private void recordStateTransition(EvaluationCycleEntity cycle, EvaluationStateEnum from,
+                                       EvaluationStateEnum to, int count) {
+        if (cycle != null) {
+            evaluationCycleDao.adjustStateCounters(cycle.getId(), from, to, count);
+        }
+        organisationCounterBean.evaluationStatesChanged(from, to, count);
+    }
+
+    /**
+     * Rejects a move the evaluation's current state does not allow. The callers check the state
+     * before calling, so reaching this means the evaluation was moved by someone else in between:
+     * it is reported as a conflict (409) the client can reload and retry, not as a server error.
+     */
+    private void validate(EvaluationEntity evaluation, EvaluationStateEnum from, EvaluationStateEnum to) {
+        if (from == null || !from.canTransitionTo(to)) {
+            logger.warn("User: {} | IP: {} - Rejected transition {} -> {} of evaluation ID {}.",
+                    RequestContext.getAuthor(), RequestContext.getIp(), from, to, evaluation.getId());
+            throw ConcurrentUpdateException.evaluationState(evaluation.getVersion());
+        }
+    }
+
+    /**
+     * Builds the exception reported when a conditional update of an evaluation matched no row,
+     * carrying the evaluation's current version so the client can reload and retry.
+     */
+    private ConcurrentUpdateException conflict(EvaluationEntity evaluation) {
+        Long currentVersion = evaluationDao.findVersion(evaluation.getId());
+        logger.warn("User: {} | IP: {} - Concurrent update of evaluation ID {} (current version: {}).",
+                RequestContext.getAuthor(), RequestContext.getIp(), evaluation.getId(), currentVersion);
+        return ConcurrentUpdateException.evaluation(currentVersion);
+    }
+
+    /**
+     * Queues the eviction of the cached dashboards affected by a change to the given evaluation:
+     * the evaluated user, the current and previous evaluators, and every admin dashboard.
+     */
+    private void evictDashboardsAfterCommit(EvaluationEntity evaluation, UserEntity previousEvaluator) {
+        for (UserEntity user : new UserEntity[]{evaluation.getEvaluated(), evaluation.getEvaluator(), previousEvaluator}) {
+            if (user != null) {
+                int userId = user.getId();
+                afterCommitQueueBean.invalidate("dashboard:" + userId, () -> dashboardCacheBean.evict(userId));
+            }
+        }
+        afterCommitQueueBean.invalidate("dashboards:organisation", dashboardCacheBean::evictOrganisationWide);
+    }
+}
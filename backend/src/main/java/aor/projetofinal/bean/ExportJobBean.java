@@ -0,0 +1,492 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.dao.EvaluationDao;
+import aor.projetofinal.dao.ExportJobDao;
+import aor.projetofinal.dao.UserDao;
+import aor.projetofinal.dto.CourseDto;
+import aor.projetofinal.dto.ExportJobDto;
+import aor.projetofinal.dto.FlatProfileDto;
+import aor.projetofinal.dto.UserCourseDto;
+import aor.projetofinal.entity.EvaluationCycleEntity;
+import aor.projetofinal.entity.ExportJobEntity;
+import aor.projetofinal.entity.UserEntity;
+import aor.projetofinal.entity.enums.CourseCategoryEnum;
+import aor.projetofinal.entity.enums.EvaluationStateEnum;
+import aor.projetofinal.entity.enums.ExportJobStatusEnum;
+import aor.projetofinal.entity.enums.ExportJobTypeEnum;
+import aor.projetofinal.entity.enums.LanguageEnum;
+import aor.projetofinal.entity.enums.UsualWorkPlaceEnum;
+import aor.projetofinal.util.JavaConversionUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.inject.Inject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bean managing background export jobs: submission, state changes and the export itself.
+ *
+ * Every state change runs in its own short transaction, so a client polling a job sees its
+ * progress while it runs. The export is written by the same beans that serve the synchronous
+ * export endpoints, so both produce the same files. The worker pool and the result files on disk
+ * are handled by the ExportJobRunnerBean.
+ */
+@Stateless
+public class ExportJobBean {
+
+    private static final Logger logger = LogManager.getLogger(ExportJobBean.class);
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    // How long a finished job (and its result file) is kept
+    static final long RESULT_TTL_HOURS = 24;
+
+    // How long an expired job stays visible (as EXPIRED) before its row is deleted
+    static final long EXPIRED_RETENTION_DAYS = 7;
+
+    // Jobs returned when a user lists their exports
+    static final int RECENT_JOBS_LIMIT = 20;
+
+    @Inject private ExportJobDao exportJobDao;
+    @Inject private EvaluationDao evaluationDao;
+    @Inject private UserDao userDao;
+    @Inject private EvaluationBean evaluationBean;
+    @Inject private EvaluationArchiveBean evaluationArchiveBean;
+    @Inject private EvaluationCycleBean evaluationCycleBean;
+    @Inject private ProfileBean profileBean;
+    @Inject private CourseBean courseBean;
+    @Inject private UserCourseBean userCourseBean;
+
+    /**
+     * Receives the progress of a running export.
+     */
+    public interface ProgressListener {
+        /**
+         * @param processed Number of items already written.
+         * @param total     Total number of items, or null if unknown.
+         */
+        void onProgress(long processed, Long total);
+    }
+
+    /**
+     * Checks whether a user may run an export, using the same rules as the synchronous endpoints:
+     * evaluation CSVs for admins and managers, cycle archives for admins only, and a training
+     * history for the user themselves, their manager or an admin.
+     *
+     * @param requester  The user submitting the job.
+     * @param type       The export type.
+     * @param parameters The export filters.
+     * @return true if the user may run the export.
+     */
+    public boolean canSubmit(UserEntity requester, ExportJobTypeEnum type, Map<String, String> parameters) {
+        String role = requester.getRole().getName().toUpperCase();
+        switch (type) {
+            case EVALUATIONS_CSV:
+                return role.equals("ADMIN") || role.equals("MANAGER");
+            case CYCLE_PDF_ARCHIVE:
+                return role.equals("ADMIN");
+            case USER_COURSES_CSV:
+                Integer userId = integerParameter(parameters, "userId");
+                if (userId == null || userId == requester.getId() || role.equals("ADMIN")) {
+                    return true;
+                }
+                UserEntity target = userDao.findById(userId);
+                return target != null && target.getManager() != null
+                        && target.getManager().getId() == requester.getId();
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Validates the parameters of an export and stores it as a queued job.
+     * The caller hands the job to the worker pool once this transaction has committed.
+     *
+     * @param owner      The user submitting the job.
+     * @param type       The export type.
+     * @param parameters The export filters (see ExportJobRequestDto).
+     * @return The queued job.
+     * @throws IllegalArgumentException if a parameter is missing or invalid.
+     */
+    public ExportJobDto createJob(UserEntity owner, ExportJobTypeEnum type, Map<String, String> parameters) {
+        Map<String, String> params = parameters != null ? parameters : new HashMap<>();
+        validateParameters(type, params);
+
+        ExportJobEntity job = new ExportJobEntity();
+        job.setId(UUID.randomUUID().toString());
+        job.setOwner(owner);
+        job.setType(type);
+        job.setStatus(ExportJobStatusEnum.QUEUED);
+        job.setParameters(writeParameters(params));
+        exportJobDao.create(job);
+
+        logger.info("User: {} | IP: {} - Queued export job {} ({}).",
+                RequestContext.getAuthor(), RequestContext.getIp(), job.getId(), type);
+
+        return JavaConversionUtil.convertExportJobEntityToDto(job);
+    }
+
+    /**
+     * Finds a job of the given user.
+     *
+     * @param jobId The job ID.
+     * @param owner The user asking for the job.
+     * @return The job, or null if it does not exist or belongs to another user.
+     */
+    public ExportJobEntity findJobForOwner(String jobId, UserEntity owner) {
+        ExportJobEntity job = exportJobDao.findById(jobId);
+        if (job == null || job.getOwner().getId() != owner.getId()) {
+            return null;
+        }
+        return job;
+    }
+
+    /**
+     * Lists the most recent export jobs of a user.
+     *
+     * @param owner The user.
+     * @return The user's jobs, newest first.
+     */
+    public List<ExportJobDto> listRecentJobs(UserEntity owner) {
+        List<ExportJobDto> jobs = new ArrayList<>();
+        for (ExportJobEntity job : exportJobDao.findRecentByOwner(owner.getId(), RECENT_JOBS_LIMIT)) {
+            jobs.add(JavaConversionUtil.convertExportJobEntityToDto(job));
+        }
+        return jobs;
+    }
+
+    /**
+     * Moves a queued job to RUNNING.
+     *
+     * @param jobId The job ID.
+     * @return The job, or null if it no longer exists or is not queued.
+     */
+    public ExportJobEntity startJob(String jobId) {
+        ExportJobEntity job = exportJobDao.findById(jobId);
+        if (job == null || job.getStatus() != ExportJobStatusEnum.QUEUED) {
+            return null;
+        }
+        job.setStatus(ExportJobStatusEnum.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        return job;
+    }
+
+    /**
+     * Stores the progress of a running job.
+     *
+     * @param jobId     The job ID.
+     * @param processed Number of items already written.
+     * @param total     Total number of items, or null if unknown.
+     */
+    public void updateProgress(String jobId, long processed, Long total) {
+        exportJobDao.updateProgress(jobId, processed, total, percent(processed, total));
+    }
+
+    /**
+     * Marks a running job as completed, recording its result file.
+     *
+     * @param jobId The job ID.
+     * @param file  The result file.
+     * @param size  The size of the result file in bytes.
+     * @param items Number of items written.
+     * @return The completed job, or null if it no longer exists.
+     */
+    public ExportJobEntity completeJob(String jobId, Path file, long size, long items) {
+        ExportJobEntity job = exportJobDao.findById(jobId);
+        if (job == null) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        job.setStatus(ExportJobStatusEnum.COMPLETED);
+        job.setProgress(100);
+        job.setProcessedItems(items);
+        job.setTotalItems(items);
+        job.setFilePath(file.toString());
+        job.setFileSize(size);
+        job.setFinishedAt(now);
+        job.setExpiresAt(now.plusHours(RESULT_TTL_HOURS));
+        return job;
+    }
+
+    /**
+     * Marks a job as failed.
+     *
+     * @param jobId   The job ID.
+     * @param message The error shown to the user.
+     * @return The failed job, or null if it no longer exists.
+     */
+    public ExportJobEntity failJob(String jobId, String message) {
+        ExportJobEntity job = exportJobDao.findById(jobId);
+        if (job == null) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        job.setStatus(ExportJobStatusEnum.FAILED);
+        job.setErrorMessage(message);
+        job.setFinishedAt(now);
+        job.setExpiresAt(now.plusHours(RESULT_TTL_HOURS));
+        return job;
+    }
+
+    /**
+     * Marks every job left queued or running by a previous run of the server as failed.
+     *
+     * @return The number of jobs marked as failed.
+     */
+    public int failUnfinishedJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        return exportJobDao.failUnfinished("Interrupted by a server restart. Please submit the export again.",
+                now, now.plusHours(RESULT_TTL_HOURS));
+    }
+
+    /**
+     * Expires finished jobs whose time-to-live has passed and deletes long-expired jobs.
+     * The caller deletes the returned result files once this transaction has committed.
+     *
+     * @param now The current instant.
+     * @return The result files of the jobs that just expired.
+     */
+    public List<Path> expireJobs(LocalDateTime now) {
+        List<Path> files = new ArrayList<>();
+        for (ExportJobEntity job : exportJobDao.findExpired(now)) {
+            if (job.getFilePath() != null) {
+                files.add(Paths.get(job.getFilePath()));
+            }
+            job.setStatus(ExportJobStatusEnum.EXPIRED);
+            job.setFilePath(null);
+        }
+        int deleted = exportJobDao.deleteExpiredFinishedBefore(now.minusDays(EXPIRED_RETENTION_DAYS));
+
+        if (!files.isEmpty() || deleted > 0) {
+            logger.info("User: {} | IP: {} - Expired {} export job results, deleted {} old export jobs.",
+                    RequestContext.getAuthor(), RequestContext.getIp(), files.size(), deleted);
+        }
+        return files;
+    }
+
+    /**
+     * Runs the export of a job, writing its file to the given stream.
+     * Runs without a transaction: each export manages its own, so a long export never holds
+     * a transaction open around the state changes of the job.
+     *
+     * @param job      The running job.
+     * @param out      The stream of the result file (not closed).
+     * @param progress Receives the progress of the export.
+     * @return The number of items written.
+     * @throws IOException if the result cannot be written.
+     */
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public long writeResult(ExportJobEntity job, OutputStream out, ProgressListener progress) throws IOException {
+        Map<String, String> params = readParameters(job.getParameters());
+
+        switch (job.getType()) {
+            case EVALUATIONS_CSV: {
+                String name = params.get("name");
+                EvaluationStateEnum state = enumParameter(params, "state", EvaluationStateEnum.class);
+                Integer grade = integerParameter(params, "grade");
+                LocalDate cycleEnd = dateParameter(params, "cycleEnd");
+                Long total = evaluationDao.countEvaluationsWithFilters(name, state, grade, cycleEnd, job.getOwner());
+                progress.onProgress(0, total);
+                return evaluationBean.writeEvaluationsCsv(name, state, grade, cycleEnd, job.getOwner(), out,
+                        written -> progress.onProgress(written, total));
+            }
+            case CYCLE_PDF_ARCHIVE: {
+                Long cycleId = longParameter(params, "cycleId");
+                EvaluationCycleEntity cycle = evaluationCycleBean.findCycleById(cycleId);
+                Long total = cycle != null ? (long) cycle.getClosedCount() : null;
+                progress.onProgress(0, total);
+                return evaluationArchiveBean.writeCyclePdfArchive(cycleId, out,
+                        written -> progress.onProgress(written, total));
+            }
+            case USERS_CSV: {
+                List<FlatProfileDto> profiles = profileBean.findProfilesWithFilters(params.get("profileName"),
+                        enumParameter(params, "usualWorkplace", UsualWorkPlaceEnum.class), params.get("managerEmail"));
+                out.write(JavaConversionUtil.buildUsersCsvFromFlatProfiles(profiles).getBytes(StandardCharsets.UTF_8));
+                progress.onProgress(profiles.size(), (long) profiles.size());
+                return profiles.size();
+            }
+            case COURSES_CSV: {
+                List<CourseDto> courses = courseBean.filterCourses(params.get("name"),
+                        doubleParameter(params, "minTimeSpan"), doubleParameter(params, "maxTimeSpan"),
+                        enumParameter(params, "language", LanguageEnum.class),
+                        enumParameter(params, "category", CourseCategoryEnum.class),
+                        booleanParameter(params, "active"));
+                out.write(JavaConversionUtil.buildCoursesCsv(courses).getBytes(StandardCharsets.UTF_8));
+                progress.onProgress(courses.size(), (long) courses.size());
+                return courses.size();
+            }
+            case USER_COURSES_CSV: {
+                Integer userId = integerParameter(params, "userId");
+                Integer year = integerParameter(params, "year");
+                List<UserCourseDto> history = year != null
+                        ? userCourseBean.listUserCoursesByYear(userId, year)
+                        : userCourseBean.listUserCourses(userId);
+                out.write(JavaConversionUtil.buildUserCoursesCsv(history).getBytes(StandardCharsets.UTF_8));
+                progress.onProgress(history.size(), (long) history.size());
+                return history.size();
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported export type: " + job.getType());
+        }
+    }
+
+    /**
+     * Computes the percentage of an export already written.
+     * Unknown totals report 0% until the job completes.
+     */
+    static int percent(long processed, Long total) {
+        if (total == null || total <= 0) {
+            return 0;
+        }
+        return (int) Math.min(100, processed * 100 / total);
+    }
+
+    /**
+     * Checks that every parameter of an export can be parsed, so invalid filters are rejected
+     * when the job is submitted instead of failing in the worker.
+     */
+    private void validateParameters(ExportJobTypeEnum type, Map<String, String> params) {
+        switch (type) {
+            case EVALUATIONS_CSV:
+                enumParameter(params, "state", EvaluationStateEnum.class);
+                integerParameter(params, "grade");
+                dateParameter(params, "cycleEnd");
+                break;
+            case CYCLE_PDF_ARCHIVE:
+                Long cycleId = longParameter(params, "cycleId");
+                EvaluationCycleEntity cycle = cycleId != null ? evaluationCycleBean.findCycleById(cycleId) : null;
+                if (cycle == null) {
+                    throw new IllegalArgumentException("Evaluation cycle not found.");
+                }
+                if (cycle.isActive()) {
+                    throw new IllegalArgumentException("Evaluation cycle is not yet closed.");
+                }
+                break;
+            case USERS_CSV:
+                enumParameter(params, "usualWorkplace", UsualWorkPlaceEnum.class);
+                break;
+            case COURSES_CSV:
+                doubleParameter(params, "minTimeSpan");
+                doubleParameter(params, "maxTimeSpan");
+                enumParameter(params, "language", LanguageEnum.class);
+                enumParameter(params, "category", CourseCategoryEnum.class);
+                booleanParameter(params, "active");
+                break;
+            case USER_COURSES_CSV:
+                if (integerParameter(params, "userId") == null) {
+                    throw new IllegalArgumentException("Parameter 'userId' is required.");
+                }
+                integerParameter(params, "year");
+                break;
+        }
+    }
+
+    private static String writeParameters(Map<String, String> params) {
+        try {
+            return mapper.writeValueAsString(params);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid export parameters.", e);
+        }
+    }
+
+    private static Map<String, String> readParameters(String json) throws IOException {
+        if (json == null || json.isBlank()) {
+            return new HashMap<>();
+        }
+        return mapper.readValue(json, new TypeReference<Map<String, String>>() {});
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static <E extends Enum<E>> E enumParameter(Map<String, String> params, String key, Class<E> type) {
+        String value = params.get(key);
+        if (isBlank(value)) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value for parameter '" + key + "': " + value);
+        }
+    }
+
+    private static Integer integerParameter(Map<String, String> params, String key) {
+        String value = params.get(key);
+        if (isBlank(value)) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for parameter '" + key + "': " + value);
+        }
+    }
+
+    private static Long longParameter(Map<String, String> params, String key) {
+        String value = params.get(key);
+        if (isBlank(value)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for parameter '" + key + "': " + value);
+        }
+    }
+
+    private static Double doubleParameter(Map<String, String> params, String key) {
+        String value = params.get(key);
+        if (isBlank(value)) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for parameter '" + key + "': " + value);
+        }
+    }
+
+    private static Boolean booleanParameter(Map<String, String> params, String key) {
+        String value = params.get(key);
+        if (isBlank(value)) {
+            return null;
+        }
+        if (!value.trim().equalsIgnoreCase("true") && !value.trim().equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("Invalid value for parameter '" + key + "': " + value);
+        }
+        return Boolean.valueOf(value.trim());
+    }
+
+    private static LocalDate dateParameter(Map<String, String> params, String key) {
+        String value = params.get(key);
+        if (isBlank(value)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date for parameter '" + key + "'. Use yyyy-MM-dd.");
+        }
+    }
+}
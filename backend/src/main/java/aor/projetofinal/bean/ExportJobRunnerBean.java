@@ -0,0 +1,189 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.entity.ExportJobEntity;
+import aor.projetofinal.websocket.ChatEndpoint;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.ejb.DependsOn;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.concurrent.ManagedThreadFactory;
+import jakarta.inject.Inject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Singleton EJB running the background export jobs.
+ *
+ * Jobs run on a fixed pool of WORKER_COUNT container-managed threads with a bounded queue,
+ * so heavy exports never run on request threads and never compete for more than a few
+ * database connections. Each job writes its result to {@code <data dir>/export-jobs/<job id>},
+ * reports its progress to the job table, and notifies its owner over the WebSocket when it ends.
+ * A timer deletes the result files once their time-to-live has passed.
+ */
+@Singleton
+@Startup
+@DependsOn("SettingsInitializer")
+public class ExportJobRunnerBean {
+
+    private static final Logger logger = LogManager.getLogger(ExportJobRunnerBean.class);
+
+    // Jobs running at the same time
+    static final int WORKER_COUNT = 2;
+
+    // Jobs waiting for a worker; further submissions are rejected
+    static final int QUEUE_CAPACITY = 50;
+
+    @Inject
+    private ExportJobBean exportJobBean;
+
+    @Resource(lookup = "java:comp/DefaultManagedThreadFactory")
+    private ManagedThreadFactory threadFactory;
+
+    private ThreadPoolExecutor workers;
+
+    private Path resultDir;
+
+    @PostConstruct
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public void init() {
+        String dataDir = System.getProperty("jboss.server.data.dir", System.getProperty("java.io.tmpdir"));
+        resultDir = Paths.get(dataDir, "export-jobs");
+        workers = new ThreadPoolExecutor(WORKER_COUNT, WORKER_COUNT, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), threadFactory);
+
+        try {
+            Files.createDirectories(resultDir);
+            int interrupted = exportJobBean.failUnfinishedJobs();
+            logger.info("System | IP: {} - Export job workers started ({} workers, {} interrupted jobs failed).",
+                    RequestContext.getIp(), WORKER_COUNT, interrupted);
+        } catch (Exception e) {
+            // The application must still start; jobs will report their own errors
+            logger.error("System | IP: {} - Could not prepare the export job workers.", RequestContext.getIp(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Hands a queued job to the worker pool.
+     *
+     * @param jobId The ID of a job already committed as QUEUED.
+     * @throws RejectedExecutionException if the queue is full.
+     */
+    public void enqueue(String jobId) {
+        workers.execute(() -> run(jobId));
+    }
+
+    /**
+     * Scheduled task that runs every 10 minutes to delete the result files of expired jobs.
+     */
+    @Schedule(hour = "*", minute = "*/10", persistent = false)
+    public void cleanupExpiredResults() {
+        for (Path file : exportJobBean.expireJobs(LocalDateTime.now())) {
+            deleteQuietly(file);
+        }
+    }
+
+    /**
+     * Runs one job on a worker thread: writes its result file, then records the outcome
+     * and notifies the owner.
+     */
+    void run(String jobId) {
+        ExportJobEntity job = exportJobBean.startJob(jobId);
+        if (job == null) {
+            return;
+        }
+
+        RequestContext.setAuthor(job.getOwner().getEmail());
+        RequestContext.setIp("export-worker");
+        int ownerId = job.getOwner().getId();
+        Path file = resultDir.resolve(jobId);
+        long start = System.nanoTime();
+        try {
+            notifyOwner(ownerId, job.getId(), "RUNNING", 0);
+
+            ProgressReporter reporter = new ProgressReporter(jobId, ownerId);
+            long items;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                items = exportJobBean.writeResult(job, out, reporter);
+            }
+            exportJobBean.completeJob(jobId, file, Files.size(file), items);
+            notifyOwner(ownerId, jobId, "COMPLETED", 100);
+
+            logger.info("User: {} | IP: {} - Export job {} ({}) completed: {} items in {} ms.",
+                    RequestContext.getAuthor(), RequestContext.getIp(), jobId, job.getType(), items,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            deleteQuietly(file);
+            String message = e instanceof IllegalArgumentException ? e.getMessage() : "The export could not be generated.";
+            exportJobBean.failJob(jobId, message);
+            notifyOwner(ownerId, jobId, "FAILED", 0);
+
+            logger.error("User: {} | IP: {} - Export job {} ({}) failed.",
+                    RequestContext.getAuthor(), RequestContext.getIp(), jobId, job.getType(), e);
+        } finally {
+            RequestContext.clear();
+        }
+    }
+
+    /**
+     * Stores the progress of a job (and tells its owner) only when the percentage changes,
+     * so large exports do not turn every row into a database write.
+     */
+    private class ProgressReporter implements ExportJobBean.ProgressListener {
+        private final String jobId;
+        private final int ownerId;
+        private int lastPercent = -1;
+
+        ProgressReporter(String jobId, int ownerId) {
+            this.jobId = jobId;
+            this.ownerId = ownerId;
+        }
+
+        @Override
+        public void onProgress(long processed, Long total) {
+            int percent = ExportJobBean.percent(processed, total);
+            if (percent != lastPercent) {
+                lastPercent = percent;
+                exportJobBean.updateProgress(jobId, processed, total);
+                notifyOwner(ownerId, jobId, "RUNNING", percent);
+            }
+        }
+    }
+
+    private void notifyOwner(int ownerId, String jobId, String status, int progress) {
+        ChatEndpoint.sendToUser(ownerId, String.format(
+                "{\"type\":\"export_job\",\"jobId\":\"%s\",\"status\":\"%s\",\"progress\":%d}",
+                jobId, status, progress));
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("System | IP: {} - Could not delete export file {}: {}",
+                    RequestContext.getIp(), file, e.getMessage());
+        }
+    }
+}
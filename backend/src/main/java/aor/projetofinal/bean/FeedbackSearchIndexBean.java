@@ -0,0 +1,48 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.dao.EvaluationDao;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.DependsOn;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.inject.Inject;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Singleton EJB that prepares the evaluation feedback full-text search at startup.
+ *
+ * The search vector is a generated column that Hibernate's schema update does not know about;
+ * this bean adds it and its GIN index. The first run computes the vector of every existing
+ * evaluation, later runs find both already in place. It runs after EvaluationPartitionBean, so that the
+ * index is created on the partitioned table.
+ */
+@Singleton
+@Startup
+@DependsOn({"SettingsInitializer", "EvaluationPartitionBean"})
+public class FeedbackSearchIndexBean {
+
+    private static final Logger logger = LogManager.getLogger(FeedbackSearchIndexBean.class);
+
+    @Inject
+    private EvaluationDao evaluationDao;
+
+    @PostConstruct
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public void init() {
+        long start = System.nanoTime();
+        try {
+            evaluationDao.createFeedbackSearchIndex();
+            logger.info("System | IP: {} - Feedback full-text search index ready in {} ms.",
+                    RequestContext.getIp(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.warn("System | IP: {} - Could not create the feedback full-text search index. " +
+                    "Feedback search will be unavailable.", RequestContext.getIp(), e);
+        }
+    }
+}
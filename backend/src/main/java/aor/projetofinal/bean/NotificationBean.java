@@ -14,6 +14,7 @@ import java.util.Map;
 import jakarta.ejb.Stateless;
 import jakarta.inject.Inject;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
@@ -80,6 +81,7 @@ public class NotificationBean {
                 return false;
             }
 
+            notification.setLastEventAt(LocalDateTime.now());
             notificationDao.save(notification);
             logger.info("User: {} | IP: {} - Notification created. UserId: {}, Type: {}, Message: '{}'.",
                     RequestContext.getAuthor(), RequestContext.getIp(), userId, type, message);
@@ -90,6 +92,72 @@ public class NotificationBean {
         }
     }
 
+    /**
+     * Notifies every evaluator of a newly created cycle about each evaluation assigned to them,
+     * inserting all notifications in one statement.
+     *
+     * @param cycleId ID of the new evaluation cycle
+     * @return number of notifications created
+     */
+    public int createCycleAssignmentNotifications(Long cycleId) {
+        return notificationDao.createForEvaluatorsOfCycle(cycleId, NotificationEnum.SYSTEM,
+                "A new evaluation cycle was created. You are responsible for the evaluation of ");
+    }
+
+    /**
+     * Tells every participant of a closed cycle (evaluated users and evaluators) that its results
+     * are available, inserting all notifications in one statement.
+     *
+     * @param cycleId ID of the closed evaluation cycle
+     * @return number of notifications created
+     */
+    public int createCycleClosureNotifications(Long cycleId) {
+        return notificationDao.createForParticipantsOfCycle(cycleId, NotificationEnum.SYSTEM,
+                "Evaluation cycle is over, you can now check results");
+    }
+
+    /**
+     * Creates a notification for a user, or coalesces it into the existing unread notification
+     * with the same sender and type. While that notification stays unread, new events only bump
+     * its counter and timestamp, so busy conversations produce one row instead of one per event;
+     * the insert and the coalescing are one statement, so concurrent events cannot create duplicates.
+     *
+     * @param userId recipient user ID
+     * @param senderId ID of the user that originated the event
+     * @param type notification type (enum)
+     * @param message notification message/content
+     * @return true if notification created or coalesced, false otherwise
+     */
+    public boolean createOrCoalesceNotification(Integer userId, Integer senderId, String type, String message) {
+        try {
+            UserEntity user = userDao.findById(userId);
+            UserEntity sender = senderId != null ? userDao.findById(senderId) : null;
+            if (user == null || sender == null) {
+                logger.warn("User: {} | IP: {} - Attempted to coalesce notification with non-existent user (userId: {}, senderId: {}). Operation aborted.",
+                        RequestContext.getAuthor(), RequestContext.getIp(), userId, senderId);
+                return false;
+            }
+
+            NotificationEnum notifType;
+            try {
+                notifType = NotificationEnum.valueOf(type.toUpperCase());
+            } catch (Exception e) {
+                logger.warn("User: {} | IP: {} - Invalid notification type '{}'. Operation aborted.", RequestContext.getAuthor(), RequestContext.getIp(), type);
+                return false;
+            }
+
+            // Insert the notification, or fold the event into the unread one from the same sender, atomically
+            boolean created = notificationDao.upsertUnread(user, sender, notifType, message);
+            logger.info("User: {} | IP: {} - Notification {}. UserId: {}, SenderId: {}, Type: {}.",
+                    RequestContext.getAuthor(), RequestContext.getIp(), created ? "created" : "coalesced",
+                    userId, senderId, type);
+            return true;
+        } catch (Exception e) {
+            logger.error("User: {} | IP: {} - Error creating notification: {}", RequestContext.getAuthor(), RequestContext.getIp(), e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Gets all notifications for a user, ordered by date.
      *
@@ -201,6 +269,9 @@ public int markAllMessageNotificationsAsRead(Integer userId) {
         dto.setType(entity.getType());
         dto.setRead(entity.isRead());
         dto.setCreatedAt(entity.getCreatedAt() != null ? entity.getCreatedAt().format(FORMATTER) : null);
+        dto.setSenderId(entity.getSender() != null ? entity.getSender().getId() : null);
+        dto.setCount(entity.getEventCount());
+        dto.setLastEventAt(entity.getLastEventAt() != null ? entity.getLastEventAt().format(FORMATTER) : null);
         return dto;
     }
 }
@@ -0,0 +1,47 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.dao.NotificationDao;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.DependsOn;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.inject.Inject;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Singleton EJB that prepares the coalescing of unread notifications at startup.
+ *
+ * NotificationDao.upsertUnread inserts or coalesces with ON CONFLICT on a partial unique index that
+ * Hibernate's schema update cannot express; this bean creates it, after removing any duplicate
+ * unread notifications that would prevent it.
+ */
+@Singleton
+@Startup
+@DependsOn("SettingsInitializer")
+public class NotificationCoalesceIndexBean {
+
+    private static final Logger logger = LogManager.getLogger(NotificationCoalesceIndexBean.class);
+
+    @Inject
+    private NotificationDao notificationDao;
+
+    @PostConstruct
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public void init() {
+        long start = System.nanoTime();
+        try {
+            notificationDao.createUnreadCoalesceIndex();
+            logger.info("System | IP: {} - Unread notification coalescing index ready in {} ms.",
+                    RequestContext.getIp(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.error("System | IP: {} - Could not create the unread notification coalescing index. " +
+                    "Chat notifications will fail until it exists.", RequestContext.getIp(), e);
+        }
+    }
+}
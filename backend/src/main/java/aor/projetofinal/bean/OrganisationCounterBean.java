@@ -0,0 +1,85 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.dao.OrganisationCounterDao;
+import aor.projetofinal.entity.enums.EvaluationStateEnum;
+import aor.projetofinal.entity.enums.OrganisationCounterEnum;
+import jakarta.ejb.Stateless;
+import jakarta.inject.Inject;
+
+/**
+ * Bean maintaining the precomputed organisation-wide counters shown on the admin dashboard.
+ *
+ * Every method runs inside the caller's transaction, so a counter only changes
+ * when the change it reflects is committed.
+ */
+@Stateless
+public class OrganisationCounterBean {
+
+    @Inject
+    private OrganisationCounterDao organisationCounterDao;
+
+    /**
+     * Registers the creation of a new user.
+     */
+    public void userCreated() {
+        organisationCounterDao.increment(OrganisationCounterEnum.TOTAL_USERS, 1);
+    }
+
+    /**
+     * Registers the creation of blank (IN_EVALUATION) evaluations.
+     *
+     * @param count The number of evaluations created.
+     */
+    public void evaluationsCreated(int count) {
+        if (count > 0) {
+            organisationCounterDao.increment(OrganisationCounterEnum.PENDING_EVALUATIONS, count);
+        }
+    }
+
+    /**
+     * Registers a change in the state of one evaluation.
+     * Only transitions into or out of IN_EVALUATION affect the counters.
+     *
+     * @param from The previous state.
+     * @param to   The new state.
+     */
+    public void evaluationStateChanged(EvaluationStateEnum from, EvaluationStateEnum to) {
+        evaluationStatesChanged(from, to, 1);
+    }
+
+    /**
+     * Registers the same state change for several evaluations at once.
+     *
+     * @param from  The previous state.
+     * @param to    The new state.
+     * @param count The number of evaluations that changed.
+     */
+    public void evaluationStatesChanged(EvaluationStateEnum from, EvaluationStateEnum to, int count) {
+        if (from == to || count <= 0) {
+            return;
+        }
+        if (from == EvaluationStateEnum.IN_EVALUATION) {
+            organisationCounterDao.increment(OrganisationCounterEnum.PENDING_EVALUATIONS, -count);
+        } else if (to == EvaluationStateEnum.IN_EVALUATION) {
+            organisationCounterDao.increment(OrganisationCounterEnum.PENDING_EVALUATIONS, count);
+        }
+    }
+
+    /**
+     * Registers the removal of an evaluation.
+     *
+     * @param state The state the evaluation had when it was deleted.
+     */
+    public void evaluationDeleted(EvaluationStateEnum state) {
+        if (state == EvaluationStateEnum.IN_EVALUATION) {
+            organisationCounterDao.increment(OrganisationCounterEnum.PENDING_EVALUATIONS, -1);
+        }
+    }
+
+    /**
+     * Recomputes every counter from the source tables, correcting any drift.
+     */
+    public void rebuild() {
+        organisationCounterDao.rebuild();
+    }
+}
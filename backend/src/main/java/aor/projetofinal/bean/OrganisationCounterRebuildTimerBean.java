@@ -0,0 +1,53 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.context.RequestContext;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.DependsOn;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.inject.Inject;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Singleton EJB responsible for rebuilding the organisation-wide counters
+ * and the per-state evaluation counters of every cycle.
+ *
+ * The counters are rebuilt once at startup, after the default accounts are created,
+ * and every night at 03:00, correcting any drift from changes made outside the application.
+ */
+@Singleton
+@Startup
+@DependsOn("SettingsInitializer")
+public class OrganisationCounterRebuildTimerBean {
+
+    private static final Logger logger = LogManager.getLogger(OrganisationCounterRebuildTimerBean.class);
+
+    @Inject
+    private OrganisationCounterBean organisationCounterBean;
+
+    @Inject
+    private EvaluationCycleBean evaluationCycleBean;
+
+    @Inject
+    private DashboardCacheBean dashboardCacheBean;
+
+    @PostConstruct
+    public void init() {
+        rebuildCounters();
+    }
+
+    /**
+     * Scheduled task that runs every night to recompute the counters from scratch.
+     */
+    @Schedule(hour = "3", minute = "0", persistent = false)
+    public void rebuildCounters() {
+        logger.info("System | IP: {} - Rebuilding organisation counters.", RequestContext.getIp());
+        organisationCounterBean.rebuild();
+        evaluationCycleBean.rebuildStateCounters();
+        dashboardCacheBean.evictOrganisationWide();
+    }
+}
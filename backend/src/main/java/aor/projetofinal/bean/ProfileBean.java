@@ -130,8 +130,7 @@ public ProfileDto convertToDto(ProfileEntity entity) {
                 employeeName != null ? employeeName : "none",
                 workplace != null ? workplace.name() : "none",
                 managerEmail != null ? managerEmail : "none");
-        List<ProfileEntity> profilesDB = profileDao.findProfilesWithFilters(employeeName, workplace, managerEmail);
-        return new ArrayList<>(JavaConversionUtil.convertProfileEntityListToFlatProfileDtoList(profilesDB));
+        return new ArrayList<>(profileDao.findProfilesWithFilters(employeeName, workplace, managerEmail));
     }
 
     /**
@@ -150,9 +149,8 @@ public ProfileDto convertToDto(ProfileEntity entity) {
                 workplace != null ? workplace.name() : "none",
                 managerEmail != null ? managerEmail : "none",
                 page);
-        List<ProfileEntity> profilesDB = profileDao.findProfilesWithFiltersPaginated(employeeName, workplace, managerEmail, page);
+        List<FlatProfileDto> profileDtos = profileDao.findProfilesWithFiltersPaginated(employeeName, workplace, managerEmail, page);
         long totalCount = profileDao.countProfilesWithFilters(employeeName, workplace, managerEmail);
-        List<FlatProfileDto> profileDtos = JavaConversionUtil.convertProfileEntityListToFlatProfileDtoList(profilesDB);
         int pageSize = 10;
         int totalPages = (int) Math.ceil((double) totalCount / pageSize);
         return new PaginatedProfilesDto(profileDtos, totalCount, totalPages, page);
@@ -186,6 +184,7 @@ public ProfileDto convertToDto(ProfileEntity entity) {
         profileToUpdate.setLastName(profileDto.getLastName());
         profileToUpdate.setNormalizedFirstName(StringUtils.normalize(profileDto.getFirstName()));
         profileToUpdate.setNormalizedLastName(StringUtils.normalize(profileDto.getLastName()));
+        profileToUpdate.setSearchName(StringUtils.toSearchName(profileDto.getFirstName(), profileDto.getLastName()));
         profileToUpdate.setBirthDate(profileDto.getBirthDate());
         profileToUpdate.setAddress(profileDto.getAddress());
         profileToUpdate.setPhone(profileDto.getPhone());
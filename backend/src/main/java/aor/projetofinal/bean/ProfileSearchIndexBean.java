@@ -0,0 +1,51 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.dao.ProfileDao;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.DependsOn;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.inject.Inject;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Singleton EJB that prepares the indexed name search at startup.
+ *
+ * The search_name column of profiles is added by Hibernate's schema update; this bean
+ * creates its pg_trgm GIN index, alongside the sort name index of the evaluation listing,
+ * and fills the column for profiles saved before it existed.
+ */
+@Singleton
+@Startup
+@DependsOn("SettingsInitializer")
+public class ProfileSearchIndexBean {
+
+    private static final Logger logger = LogManager.getLogger(ProfileSearchIndexBean.class);
+
+    // Profiles loaded per flush while backfilling the search name
+    static final int BACKFILL_BATCH_SIZE = 500;
+
+    @Inject
+    private ProfileDao profileDao;
+
+    @PostConstruct
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public void init() {
+        long start = System.nanoTime();
+        try {
+            profileDao.createSearchNameIndex();
+            logger.info("System | IP: {} - Sort name and search name trigram indexes ready in {} ms.",
+                    RequestContext.getIp(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.warn("System | IP: {} - Could not create the sort name and search name trigram indexes (is pg_trgm available?). " +
+                    "The evaluation listing and name filters will fall back to sequential scans.", RequestContext.getIp(), e);
+        }
+        profileDao.backfillSearchNames(BACKFILL_BATCH_SIZE);
+    }
+}
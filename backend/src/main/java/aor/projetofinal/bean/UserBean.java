@@ -57,6 +57,18 @@ public class UserBean implements Serializable {
     @Inject
     private EvaluationCycleDao evaluationCycleDao;
 
+    @Inject
+    private DashboardCacheBean dashboardCacheBean;
+
+    @Inject
+    private OrganisationCounterBean organisationCounterBean;
+
+    @Inject
+    private ActiveCycleCacheBean activeCycleCacheBean;
+
+    @Inject
+    private AfterCommitQueueBean afterCommitQueueBean;
+
 
     @EJB
     SettingsBean settingsBean;
@@ -102,13 +114,18 @@ public class UserBean implements Serializable {
             }
         }
 
+        UserEntity previousManager = user.getManager();
         user.setManager(manager);
         userDao.save(user);
 
+        // Team sizes and pending evaluations changed for the user and both managers
+        evictDashboardsAfterCommit(user.getId(), manager.getId(),
+                previousManager != null ? previousManager.getId() : null);
+
         logger.info("User: {} | IP: {} - Manager {} assigned to user {} successfully.",
                 RequestContext.getAuthor(), RequestContext.getIp(), manager.getEmail(), user.getEmail());
 
-        EvaluationCycleEntity activeCycle = evaluationCycleDao.findActiveCycle();
+        EvaluationCycleEntity activeCycle = findActiveCycleReference();
         if (activeCycle != null) {
             EvaluationEntity evaluation = evaluationDao.findEvaluationByCycleAndUser(activeCycle, user);
             if (evaluation != null) {
@@ -190,6 +207,10 @@ public class UserBean implements Serializable {
         user.setManager(chosenManager);
         userDao.save(user);
 
+        // Team sizes and pending evaluations changed for the user and both managers
+        evictDashboardsAfterCommit(user.getId(), chosenManager.getId(),
+                currentManager != null ? currentManager.getId() : null);
+
         logger.info(
                 "User: {} | IP: {} - User {} assigned to random manager {}.",
                 RequestContext.getAuthor(),
@@ -199,7 +220,7 @@ public class UserBean implements Serializable {
         );
 
         // Update evaluation if in active cycle
-        EvaluationCycleEntity activeCycle = evaluationCycleDao.findActiveCycle();
+        EvaluationCycleEntity activeCycle = findActiveCycleReference();
         if (activeCycle != null) {
             EvaluationEntity evaluation = evaluationDao.findEvaluationByCycleAndUser(activeCycle, user);
             if (evaluation != null) {
@@ -1078,11 +1099,13 @@ public class UserBean implements Serializable {
         );
 
         // Remove evaluation if user is being evaluated in the active cycle
-        EvaluationCycleEntity activeCycle = evaluationCycleDao.findActiveCycle();
+        EvaluationCycleEntity activeCycle = findActiveCycleReference();
         if (activeCycle != null) {
             EvaluationEntity evaluation = evaluationDao.findEvaluationByCycleAndUser(activeCycle, user);
             if (evaluation != null) {
                 evaluationDao.deleteEvaluation(evaluation);
+                evaluationCycleDao.adjustStateCounters(activeCycle.getId(), evaluation.getState(), null, 1);
+                organisationCounterBean.evaluationDeleted(evaluation.getState());
                 logger.info(
                         "User: {} | IP: {} - Evaluation of {} in active cycle {} was deleted due to promotion.",
                         RequestContext.getAuthor(),
@@ -1161,6 +1184,7 @@ public class UserBean implements Serializable {
 
 
             profileDao.create(profile);
+            organisationCounterBean.userCreated();
             logger.info(
                     "User: {} | IP: {} - User successfully registered with email: {}.",
                     RequestContext.getAuthor(),
@@ -1423,11 +1447,19 @@ public void updateRoleAndManager(int userId, String newRoleName, Integer newMana
     user.setRole(newRole);
 
     // Update Manager (can be null)
+    UserEntity previousManager = user.getManager();
     UserEntity newManager = (newManagerId != null) ? userDao.findById(newManagerId) : null;
     user.setManager(newManager);
 
     userDao.save(user);
 
+    // Role and team sizes changed for the user and both managers
+    evictDashboardsAfterCommit(
+            userId,
+            previousManager != null ? previousManager.getId() : null,
+            newManagerId
+    );
+
     logger.info("User: {} | IP: {} - Updated userId={} to role '{}' and managerId={}",
             RequestContext.getAuthor(), RequestContext.getIp(), userId, newRoleName, newManagerId);
 }
@@ -1481,16 +1513,34 @@ public List<UserDto> listUsersManagedBy(int managerId) {
  * @return List of FlatProfileDto representing the manager's subordinates.
  */
 public List<FlatProfileDto> listFlatProfilesManagedBy(int managerId) {
-    UserEntity manager = userDao.findById(managerId);
-    if (manager == null) return List.of();
-
-    return manager.getSubordinates().stream()
-        .map(UserEntity::getProfile)
-        .filter(Objects::nonNull)
-        .map(JavaConversionUtil::convertProfileEntityToFlatProfileDto)
-        .collect(Collectors.toList());
+    // Read as DTOs in one query instead of walking subordinates -> profile -> manager -> role
+    return profileDao.findFlatProfilesManagedBy(managerId);
 }
 
+/**
+ * Evicts the cached dashboards of the given users once the current transaction commits,
+ * so a concurrent read cannot re-cache the old data and a rolled-back change evicts nothing.
+ *
+ * @param userIds The users whose dashboards changed (null entries are ignored).
+ */
+private void evictDashboardsAfterCommit(Integer... userIds) {
+    for (Integer userId : userIds) {
+        if (userId != null) {
+            afterCommitQueueBean.invalidate("dashboard:" + userId, () -> dashboardCacheBean.evict(userId));
+        }
+    }
+}
 
+/**
+ * Returns a reference to the active evaluation cycle, taken from the ActiveCycleCacheBean
+ * without querying the cycles table.
+ *
+ * @return A reference to the active cycle, or null if there is none.
+ */
+private EvaluationCycleEntity findActiveCycleReference() {
+    ActiveCycleCacheBean.ActiveCycle active = activeCycleCacheBean.get();
+    return active != null ? evaluationCycleDao.getReference(active.id()) : null;
 }
 
+
+}
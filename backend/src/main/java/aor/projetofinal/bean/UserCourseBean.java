@@ -50,6 +50,12 @@ public class UserCourseBean {
     @Inject
     private UserBean userBean;
 
+    @Inject
+    private DashboardCacheBean dashboardCacheBean;
+
+    @Inject
+    private AfterCommitQueueBean afterCommitQueueBean;
+
     private static final Logger logger = LogManager.getLogger(UserCourseBean.class);
 
     /**
@@ -105,6 +111,10 @@ public class UserCourseBean {
         // 5. Persist the record
         userCourseDao.save(uc);
 
+        // 6. Training metrics of the user's dashboard changed (evicted once the registration is committed)
+        int userId = dto.getUserId();
+        afterCommitQueueBean.invalidate("dashboard:" + userId, () -> dashboardCacheBean.evict(userId));
+
         logger.info("Course [{}] successfully registered for user [{}] by [{}] | IP [{}]",
                 dto.getCourseId(), dto.getUserId(), RequestContext.getAuthor(), RequestContext.getIp());
     }
@@ -0,0 +1,140 @@
+package aor.projetofinal.dao;
+
+import aor.projetofinal.dto.DashboardDto;
+import aor.projetofinal.entity.enums.EvaluationStateEnum;
+import aor.projetofinal.entity.enums.OrganisationCounterEnum;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.transaction.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Data Access Object for the dashboard summary.
+ * The dashboard is split into independent sections (user, manager and admin metrics);
+ * each section is loaded in a single database round trip, using one scalar subquery
+ * per metric, so the sections can be fetched concurrently.
+ * Organisation-wide metrics are read from the precomputed organisation_counters table.
+ *
+ * Each section runs in its own read-only transaction (the sections are loaded on the managed
+ * executor, outside the caller's transaction), and its query is cancelled by the database
+ * if it outlasts the dashboard deadline, so an abandoned section does not keep holding a connection.
+ */
+@ApplicationScoped
+public class DashboardDao {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    // Statement timeout of a section query; matches the dashboard deadline (DashboardBean.DEADLINE_MILLIS)
+    static final int SECTION_TIMEOUT_MILLIS = 2_000;
+
+    /**
+     * Loads the metrics every user sees: active trainings, pending evaluations,
+     * date of the last completed evaluation and total training hours.
+     *
+     * @param userId The unique identifier of the user.
+     * @return A DashboardDto with only the user fields populated.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public DashboardDto findUserSection(int userId) {
+        startReadOnlyTransaction();
+        Query query = withTimeout(em.createNativeQuery(
+                "SELECT " +
+                "(SELECT COUNT(*) FROM user_courses uc JOIN courses c ON c.id = uc.course_id " +
+                "WHERE uc.user_id = :userId AND c.is_active = true), " +
+                "(SELECT COUNT(*) FROM evaluations e " +
+                "WHERE e.evaluated_user_id = :userId AND e.state = :pendingState AND e.archived = false), " +
+                "(SELECT MAX(e.evaluation_date) FROM evaluations e " +
+                "WHERE e.evaluated_user_id = :userId AND e.state = :evaluatedState AND e.archived = false), " +
+                "(SELECT COALESCE(SUM(c.time_span), 0) FROM user_courses uc JOIN courses c ON c.id = uc.course_id " +
+                "WHERE uc.user_id = :userId AND c.is_active = true)"));
+        query.setParameter("userId", userId);
+        query.setParameter("pendingState", EvaluationStateEnum.IN_EVALUATION.name());
+        query.setParameter("evaluatedState", EvaluationStateEnum.EVALUATED.name());
+
+        Object[] row = (Object[]) query.getSingleResult();
+
+        DashboardDto dto = new DashboardDto();
+        dto.setActiveTrainings(toInt(row[0]));
+        dto.setPendingEvaluations(toInt(row[1]));
+        dto.setLastEvaluationDate(toLocalDateTime(row[2]));
+        dto.setTotalTrainingHours(toInt(row[3]));
+        return dto;
+    }
+
+    /**
+     * Loads the team metrics of a manager: team size and evaluations still to fill.
+     *
+     * @param managerId The unique identifier of the manager.
+     * @return A DashboardDto with only the manager fields populated.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public DashboardDto findManagerSection(int managerId) {
+        startReadOnlyTransaction();
+        Query query = withTimeout(em.createNativeQuery(
+                "SELECT " +
+                "(SELECT COUNT(*) FROM users u WHERE u.manager_id = :userId), " +
+                "(SELECT COUNT(*) FROM evaluations e " +
+                "WHERE e.evaluator_user_id = :userId AND e.state = :pendingState AND e.archived = false)"));
+        query.setParameter("userId", managerId);
+        query.setParameter("pendingState", EvaluationStateEnum.IN_EVALUATION.name());
+
+        Object[] row = (Object[]) query.getSingleResult();
+
+        DashboardDto dto = new DashboardDto();
+        dto.setTeamSize(toInt(row[0]));
+        dto.setTeamPendingEvaluations(toInt(row[1]));
+        return dto;
+    }
+
+    /**
+     * Loads the organisation-wide metrics from the precomputed counters,
+     * so the cost does not grow with the organisation.
+     *
+     * @return A DashboardDto with only the admin fields populated.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public DashboardDto findAdminSection() {
+        startReadOnlyTransaction();
+        Query query = withTimeout(em.createNativeQuery(
+                "SELECT " +
+                "(SELECT oc.counter_value FROM organisation_counters oc WHERE oc.name = :totalUsersCounter), " +
+                "(SELECT oc.counter_value FROM organisation_counters oc WHERE oc.name = :pendingEvaluationsCounter)"));
+        query.setParameter("totalUsersCounter", OrganisationCounterEnum.TOTAL_USERS.name());
+        query.setParameter("pendingEvaluationsCounter", OrganisationCounterEnum.PENDING_EVALUATIONS.name());
+
+        Object[] row = (Object[]) query.getSingleResult();
+
+        DashboardDto dto = new DashboardDto();
+        dto.setTotalUsers(toInt(row[0]));
+        dto.setTotalPendingEvaluations(toInt(row[1]));
+        return dto;
+    }
+
+    /**
+     * Marks the current (just started) transaction as read-only, so the database rejects any write
+     * and can skip the bookkeeping of a read-write transaction. Must be the first statement.
+     */
+    private void startReadOnlyTransaction() {
+        em.createNativeQuery("SET TRANSACTION READ ONLY").executeUpdate();
+    }
+
+    private static Query withTimeout(Query query) {
+        return query.setHint("jakarta.persistence.query.timeout", SECTION_TIMEOUT_MILLIS);
+    }
+
+    private static int toInt(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
@@ -13,6 +13,8 @@ import jakarta.persistence.TypedQuery;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -75,6 +77,127 @@ public class EvaluationCycleDao {
     }
 
 
+    /**
+     * Atomically moves evaluations between the per-state counters of a cycle with a single UPDATE.
+     * A null source state registers newly created evaluations; a null target state registers removed ones.
+     * Native SQL is used because the counter columns are read-only in the entity mapping,
+     * so merging a stale cycle entity never overwrites them.
+     *
+     * @param cycleId The ID of the evaluation cycle.
+     * @param from    The previous state (nullable).
+     * @param to      The new state (nullable).
+     * @param count   The number of evaluations that changed.
+     */
+    public void adjustStateCounters(Long cycleId, EvaluationStateEnum from, EvaluationStateEnum to, int count) {
+        if (cycleId == null || from == to || count <= 0) {
+            return;
+        }
+
+        List<String> assignments = new ArrayList<>();
+        if (from != null) {
+            assignments.add(counterColumn(from) + " = " + counterColumn(from) + " - :count");
+        }
+        if (to != null) {
+            assignments.add(counterColumn(to) + " = " + counterColumn(to) + " + :count");
+        }
+
+        em.createNativeQuery("UPDATE evaluation_cycles SET " + String.join(", ", assignments) + " WHERE id = :cycleId")
+                .setParameter("count", count)
+                .setParameter("cycleId", cycleId)
+                .executeUpdate();
+    }
+
+
+    /**
+     * Returns the number of evaluations of a cycle that are not closed yet, read in O(1) from its
+     * state counters (in_evaluation_count + evaluated_count). The counters are authoritative:
+     * every change of state adjusts them with adjustStateCounters in the same transaction, after
+     * writing the evaluations, so a caller that has just moved an evaluation holds the cycle row
+     * lock and reads a value that includes every committed transition and its own.
+     *
+     * @param cycleId The ID of the evaluation cycle.
+     * @return The number of IN_EVALUATION and EVALUATED evaluations of the cycle.
+     */
+    public long countOpenEvaluations(Long cycleId) {
+        Number open = (Number) em.createNativeQuery(
+                        "SELECT in_evaluation_count + evaluated_count FROM evaluation_cycles WHERE id = :cycleId")
+                .setParameter("cycleId", cycleId)
+                .getSingleResult();
+        return open.longValue();
+    }
+
+
+    /**
+     * Returns the email addresses of everyone taking part in a cycle (evaluated users and evaluators),
+     * each address once.
+     *
+     * @param cycleId The ID of the evaluation cycle.
+     * @return The participants' email addresses.
+     */
+    public List<String> findParticipantEmails(Long cycleId) {
+        return em.createQuery(
+                        "SELECT DISTINCT u.email FROM UserEntity u WHERE u.email IS NOT NULL AND (" +
+                                "u.id IN (SELECT e.evaluated.id FROM EvaluationEntity e WHERE e.cycle.id = :cycleId) OR " +
+                                "u.id IN (SELECT e.evaluator.id FROM EvaluationEntity e WHERE e.cycle.id = :cycleId))",
+                        String.class)
+                .setParameter("cycleId", cycleId)
+                .getResultList();
+    }
+
+
+    /**
+     * Recomputes the state counters of every cycle from the evaluations table, correcting any drift.
+     * The cycle rows are locked first, in a statement of their own: transitions write their
+     * evaluations before adjusting the cycle row, so once the locks are held every transition that
+     * already adjusted a counter has committed, and the counting UPDATE (a new snapshot) sees its
+     * evaluations; a transition still in flight adjusts the rebuilt counters after this commits.
+     *
+     * @return The number of cycles updated.
+     */
+    public int rebuildStateCounters() {
+        em.createNativeQuery("SELECT id FROM evaluation_cycles ORDER BY id FOR UPDATE").getResultList();
+
+        int updated = em.createNativeQuery(
+                        "UPDATE evaluation_cycles c SET " +
+                                "in_evaluation_count = (SELECT COUNT(*) FROM evaluations e WHERE e.cycle_id = c.id AND e.state = :inEvaluation), " +
+                                "evaluated_count = (SELECT COUNT(*) FROM evaluations e WHERE e.cycle_id = c.id AND e.state = :evaluated), " +
+                                "closed_count = (SELECT COUNT(*) FROM evaluations e WHERE e.cycle_id = c.id AND e.state = :closed)")
+                .setParameter("inEvaluation", EvaluationStateEnum.IN_EVALUATION.name())
+                .setParameter("evaluated", EvaluationStateEnum.EVALUATED.name())
+                .setParameter("closed", EvaluationStateEnum.CLOSED.name())
+                .executeUpdate();
+
+        logger.info("System | IP: {} - Evaluation state counters rebuilt for {} cycles.",
+                RequestContext.getIp(), updated);
+
+        return updated;
+    }
+
+
+    private static String counterColumn(EvaluationStateEnum state) {
+        return switch (state) {
+            case IN_EVALUATION -> "in_evaluation_count";
+            case EVALUATED -> "evaluated_count";
+            case CLOSED -> "closed_count";
+        };
+    }
+
+
+    public EvaluationCycleEntity findById(Long id) {
+        return em.find(EvaluationCycleEntity.class, id);
+    }
+
+    /**
+     * Returns a reference to a cycle without loading it. Enough to use as a query parameter or to
+     * read its ID; its other fields are loaded on first access, inside a transaction.
+     *
+     * @param id The cycle ID.
+     * @return A reference to the cycle.
+     */
+    public EvaluationCycleEntity getReference(Long id) {
+        return em.getReference(EvaluationCycleEntity.class, id);
+    }
+
     public void create(EvaluationCycleEntity evaluationCycle) {
         em.persist(evaluationCycle);
     }
@@ -83,6 +206,52 @@ public class EvaluationCycleDao {
         em.merge(evaluationCycle);
     }
 
+    /**
+     * Closes (deactivates) a cycle with a conditional UPDATE that only applies if the cycle is
+     * still active and still has the version the caller read, so two admins closing the last
+     * evaluations at the same time cannot both close the cycle. The given cycle is updated
+     * (or refreshed, when managed) with the new values.
+     *
+     * @param cycle   The active cycle, as read by the caller.
+     * @param endDate The end date to set.
+     * @return true if the cycle was closed; false if it was changed by someone else first.
+     */
+    public boolean deactivateCycle(EvaluationCycleEntity cycle, LocalDateTime endDate) {
+        int updated = em.createQuery(
+                        "UPDATE EvaluationCycleEntity c SET c.active = false, c.endDate = :endDate, " +
+                                "c.version = c.version + 1 " +
+                                "WHERE c.id = :id AND c.version = :version AND c.active = true")
+                .setParameter("endDate", endDate)
+                .setParameter("id", cycle.getId())
+                .setParameter("version", cycle.getVersion())
+                .executeUpdate();
+
+        if (updated == 1) {
+            if (em.contains(cycle)) {
+                em.refresh(cycle);
+            } else {
+                cycle.setActive(false);
+                cycle.setEndDate(endDate);
+                cycle.setVersion(cycle.getVersion() + 1);
+            }
+        }
+        return updated == 1;
+    }
+
+    /**
+     * Returns the current version of a cycle, reported to clients whose update conflicted.
+     *
+     * @param cycleId The cycle ID.
+     * @return The current version, or null if the cycle does not exist.
+     */
+    public Long findVersion(Long cycleId) {
+        List<Long> versions = em.createQuery(
+                        "SELECT c.version FROM EvaluationCycleEntity c WHERE c.id = :id", Long.class)
+                .setParameter("id", cycleId)
+                .getResultList();
+        return versions.isEmpty() ? null : versions.get(0);
+    }
+
 
 
 
@@ -1,6 +1,12 @@
 package aor.projetofinal.dao;
 
 import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.dto.EvaluationCsvRowDto;
+import aor.projetofinal.dto.EvaluationPdfDto;
+import aor.projetofinal.dto.FeedbackSearchResultDto;
+import aor.projetofinal.dto.FlatEvaluationDto;
+import aor.projetofinal.dto.GradeCountRowDto;
+import aor.projetofinal.dto.IncompleteEvaluationUserDto;
 import aor.projetofinal.entity.EvaluationCycleEntity;
 import aor.projetofinal.entity.EvaluationEntity;
 import aor.projetofinal.entity.UserEntity;
@@ -10,7 +16,10 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
+import jakarta.transaction.Transactional;
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -19,8 +28,12 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class EvaluationDao {
@@ -31,6 +44,20 @@ public class EvaluationDao {
 
     private static final Logger logger = LogManager.getLogger(EvaluationDao.class);
 
+    // Rows fetched per round trip when streaming exports
+    private static final int CSV_FETCH_SIZE = 500;
+
+    // Values bound per IN list (keeps each statement well under PostgreSQL's parameter limit)
+    static final int STATE_BATCH_SIZE = 1000;
+
+    // Text search configuration of the feedback search vector (feedback is written in Portuguese)
+    static final String FEEDBACK_SEARCH_CONFIG = "portuguese";
+
+    // Up to two fragments of about 15-35 words per snippet, matched words between plain-text markers
+    private static final String FEEDBACK_HEADLINE_OPTIONS =
+            "StartSel=\"" + FeedbackSearchResultDto.HIGHLIGHT_START + "\", StopSel=\"" + FeedbackSearchResultDto.HIGHLIGHT_END + "\"" +
+                    ", MinWords=15, MaxWords=35, MaxFragments=2";
+
 
     public void create(EvaluationEntity evaluation) {
         em.persist(evaluation);
@@ -106,123 +133,16 @@ public class EvaluationDao {
                                             UserEntity requester) {
 
         StringBuilder jpql = new StringBuilder("SELECT COUNT(e) FROM EvaluationEntity e WHERE 1=1");
-
-        // Only confirmed & active evaluated users
-        jpql.append(" AND e.evaluated.confirmed = true AND e.evaluated.active = true");
-
-        // Only evalautions from active cycles should be returned
-        jpql.append(" AND e.cycle.active = true");
-
-        // Name filter
-        if (name != null && !name.isBlank()) {
-            jpql.append(" AND CONCAT(' ', LOWER(e.evaluated.profile.normalizedFirstName), ' ', LOWER(e.evaluated.profile.normalizedLastName), ' ') LIKE CONCAT('% ', :name, ' %')");
-        }
-
-        // State filter
-        if (state != null) {
-            jpql.append(" AND e.state = :state");
-        }
-
-        // Grade filter
-        if (grade != null) {
-            jpql.append(" AND e.grade = :gradeEnum");
-        }
-
-        // Cycle end date filter
-        if (cycleEnd != null) {
-            jpql.append(" AND e.cycle.endDate >= :cycleStartOfDay AND e.cycle.endDate < :cycleNextDay");
-
-        }
-
-        // Restrict visibility if not admin
-        boolean isAdmin = requester.getRole().getName().equalsIgnoreCase("admin");
-        if (!isAdmin) {
-            jpql.append(" AND e.evaluator.email = :requesterEmail");
-        }
+        appendFilterConditions(jpql, name, state, grade, cycleEnd, requester);
 
         TypedQuery<Long> query = em.createQuery(jpql.toString(), Long.class);
-
-        // Set parameters
-        if (name != null && !name.isBlank()) {
-            String normalizedName = StringUtils.normalize(name.toLowerCase());
-            query.setParameter("name", normalizedName);
-        }
-
-        if (state != null) {
-            query.setParameter("state", state);
-        }
-
-        if (grade != null) {
-            GradeEvaluationEnum gradeEnum = GradeEvaluationEnum.getEnumfromGrade(grade);
-            query.setParameter("gradeEnum", gradeEnum);
-        }
-
-        if (cycleEnd != null) {
-            query.setParameter("cycleStartOfDay", cycleEnd.atStartOfDay());
-            query.setParameter("cycleNextDay", cycleEnd.plusDays(1).atStartOfDay());
-        }
-
-        if (!isAdmin) {
-            query.setParameter("requesterEmail", requester.getEmail());
-        }
+        setFilterParameters(query, name, state, grade, cycleEnd, requester);
 
         return query.getSingleResult();
     }
 
 
 
-    /**
-     * Counts the total number of closed evaluations for a user,
-     * optionally filtered by grade, cycle number, or cycle end date.
-     *
-     * @param evaluated     The evaluated user.
-     * @param grade         Optional grade filter.
-     * @param cycle         Optional cycle number filter.
-     * @param cycleEndDate  Optional cycle end date filter (in "yyyy-MM-dd" format).
-     * @return Total number of matching evaluations.
-     */
-    public long countFilteredClosedEvaluations(
-            UserEntity evaluated, Integer grade, Integer cycle, String cycleEndDate
-    ) {
-        logger.info("User: {} | IP: {} - Counting filtered closed evaluations for user {}.",
-                RequestContext.getAuthor(), RequestContext.getIp(), evaluated.getEmail());
-
-        StringBuilder sb = new StringBuilder(
-                "SELECT COUNT(e) FROM EvaluationEntity e " +
-                        "WHERE e.evaluated = :evaluated " +
-                        "AND e.state = :state " +
-                        "AND e.cycle.active = false "
-        );
-
-        if (grade != null) sb.append("AND e.grade = :grade ");
-        if (cycle != null) sb.append("AND e.cycle.id = :cycle ");
-        if (cycleEndDate != null) sb.append("AND e.cycle.endDate BETWEEN :startOfDay AND :endOfDay ");
-
-        TypedQuery<Long> query = em.createQuery(sb.toString(), Long.class);
-        query.setParameter("evaluated", evaluated);
-        query.setParameter("state", EvaluationStateEnum.CLOSED);
-
-        if (grade != null) {
-            GradeEvaluationEnum gradeEnum = GradeEvaluationEnum.getEnumfromGrade(grade);
-            query.setParameter("grade", gradeEnum);
-        }
-        if (cycle != null) query.setParameter("cycle", Long.valueOf(cycle));
-        if (cycleEndDate != null) {
-            LocalDate parsedDate = LocalDate.parse(cycleEndDate);
-            query.setParameter("startOfDay", parsedDate.atStartOfDay());
-            query.setParameter("endOfDay", parsedDate.atTime(LocalTime.MAX));
-        }
-
-        long count = query.getSingleResult();
-
-        logger.info("User: {} | IP: {} - Counted {} evaluations.",
-                RequestContext.getAuthor(), RequestContext.getIp(), count);
-
-        return count;
-    }
-
-
-
 
 
     /**
@@ -275,24 +195,213 @@ public class EvaluationDao {
 
 
 
-    // This version eagerly fetches the evaluation cycle and its evaluations
-    public EvaluationEntity findById(Long id) {
+    /**
+     * Creates a blank IN_EVALUATION evaluation in the given cycle for every active, confirmed,
+     * non-admin user with a manager, using a single INSERT ... SELECT.
+     * The manager becomes the evaluator; grade, feedback and date stay null.
+     *
+     * @param cycle The newly created (already persisted) evaluation cycle.
+     * @return The number of evaluations created.
+     */
+    public int createBlankEvaluationsForCycle(EvaluationCycleEntity cycle) {
+        int created = em.createNativeQuery(
+                        "INSERT INTO evaluations (cycle_id, evaluated_user_id, evaluator_user_id, state) " +
+                                "SELECT :cycleId, u.id, u.manager_id, :state " +
+                                "FROM users u JOIN roles r ON r.id = u.role_id " +
+                                "WHERE u.is_active = true AND u.is_confirmed = true " +
+                                "AND u.manager_id IS NOT NULL AND LOWER(r.name) <> 'admin'")
+                .setParameter("cycleId", cycle.getId())
+                .setParameter("state", EvaluationStateEnum.IN_EVALUATION.name())
+                .executeUpdate();
+
+        logger.info("User: {} | IP: {} - Created {} blank evaluations for cycle ID {}.",
+                RequestContext.getAuthor(), RequestContext.getIp(), created, cycle.getId());
+
+        return created;
+    }
 
-        //avoids LazyInitializationException
-        TypedQuery<EvaluationEntity> query = em.createQuery(
-                "SELECT e FROM EvaluationEntity e " +
-                        "JOIN FETCH e.cycle " +
-                        "LEFT JOIN FETCH e.cycle.evaluationEntities " +
-                        "WHERE e.id = :id",
-                EvaluationEntity.class
-        );
-        query.setParameter("id", id);
 
-        try {
-            return query.getSingleResult();
-        } catch (NoResultException e) {
-            return null;
+    /**
+     * Closes every EVALUATED evaluation of a cycle with one bulk UPDATE, stamping the closing date.
+     * Bypasses the persistence context: evaluations already loaded in it are not refreshed.
+     *
+     * @param cycle    The evaluation cycle.
+     * @param closedAt The date to set on the closed evaluations.
+     * @return The number of evaluations closed.
+     */
+    public int closeEvaluatedEvaluationsByCycle(EvaluationCycleEntity cycle, LocalDateTime closedAt) {
+        int updated = em.createQuery(
+                        "UPDATE EvaluationEntity e SET e.state = :closed, e.date = :closedAt, " +
+                                "e.version = e.version + 1 WHERE e.cycle = :cycle AND e.state = :evaluated AND e.archived = false")
+                .setParameter("closed", EvaluationStateEnum.CLOSED)
+                .setParameter("closedAt", closedAt)
+                .setParameter("cycle", cycle)
+                .setParameter("evaluated", EvaluationStateEnum.EVALUATED)
+                .executeUpdate();
+
+        logger.info("User: {} | IP: {} - Bulk closed {} evaluations of cycle ID {}.",
+                RequestContext.getAuthor(), RequestContext.getIp(), updated, cycle.getId());
+
+        return updated;
+    }
+
+
+    /**
+     * Sets the date of every evaluation of a cycle with one bulk UPDATE.
+     *
+     * @param cycle The evaluation cycle.
+     * @param date  The date to set.
+     * @return The number of evaluations updated.
+     */
+    public int stampEvaluationDatesByCycle(EvaluationCycleEntity cycle, LocalDateTime date) {
+        return em.createQuery("UPDATE EvaluationEntity e SET e.date = :date, e.version = e.version + 1 " +
+                        "WHERE e.cycle = :cycle")
+                .setParameter("date", date)
+                .setParameter("cycle", cycle)
+                .executeUpdate();
+    }
+
+
+    /**
+     * Stores the grade, feedback, evaluator and state of an evaluation, but only if it still has
+     * the expected version and state. The check and the write are a single conditional UPDATE,
+     * so two users editing the same evaluation can never overwrite each other, and no row lock
+     * is held between reading the evaluation and saving it.
+     *
+     * @param evaluationId    The evaluation ID.
+     * @param expectedVersion The version the caller read.
+     * @param expectedState   The state the caller read.
+     * @param grade           The new grade (nullable).
+     * @param feedback        The new feedback (nullable).
+     * @param date            The evaluation date.
+     * @param evaluator       The user filling the evaluation.
+     * @param newState        The new state.
+     * @return true if the evaluation was updated; false if it was changed by someone else first.
+     */
+    public boolean updateGradeAndFeedback(Long evaluationId, long expectedVersion, EvaluationStateEnum expectedState,
+                                          GradeEvaluationEnum grade, String feedback, LocalDateTime date,
+                                          UserEntity evaluator, EvaluationStateEnum newState) {
+        int updated = em.createQuery(
+                        "UPDATE EvaluationEntity e SET e.grade = :grade, e.feedback = :feedback, e.date = :date, " +
+                                "e.evaluator = :evaluator, e.state = :newState, e.version = e.version + 1 " +
+                                "WHERE e.id = :id AND e.version = :version AND e.state = :expectedState AND e.archived = false")
+                .setParameter("grade", grade)
+                .setParameter("feedback", feedback)
+                .setParameter("date", date)
+                .setParameter("evaluator", evaluator)
+                .setParameter("newState", newState)
+                .setParameter("id", evaluationId)
+                .setParameter("version", expectedVersion)
+                .setParameter("expectedState", expectedState)
+                .executeUpdate();
+        return updated == 1;
+    }
+
+
+    /**
+     * Moves an evaluation from one state to another, but only if it still has the expected
+     * version and is still in the expected state (conditional UPDATE, see updateGradeAndFeedback).
+     *
+     * @param evaluationId    The evaluation ID.
+     * @param expectedVersion The version the caller read.
+     * @param from            The state the evaluation must be in.
+     * @param to              The new state.
+     * @return true if the evaluation was updated; false if it was changed by someone else first.
+     */
+    public boolean transitionState(Long evaluationId, long expectedVersion,
+                                   EvaluationStateEnum from, EvaluationStateEnum to) {
+        int updated = em.createQuery(
+                        "UPDATE EvaluationEntity e SET e.state = :to, e.version = e.version + 1 " +
+                                "WHERE e.id = :id AND e.version = :version AND e.state = :from AND e.archived = false")
+                .setParameter("to", to)
+                .setParameter("id", evaluationId)
+                .setParameter("version", expectedVersion)
+                .setParameter("from", from)
+                .executeUpdate();
+        return updated == 1;
+    }
+
+
+    /**
+     * Reloads an evaluation from the database after a conditional UPDATE was applied to it, when it
+     * is managed, so that the persistence context does not flush it again against its old version.
+     * A detached evaluation is left for the caller to update.
+     *
+     * @param evaluation The evaluation just updated.
+     * @return true if the evaluation was managed and has been refreshed; false otherwise.
+     */
+    public boolean refreshIfManaged(EvaluationEntity evaluation) {
+        if (!em.contains(evaluation)) {
+            return false;
         }
+        em.refresh(evaluation);
+        return true;
+    }
+
+
+    /**
+     * Returns the current version of an evaluation, reported to clients whose update conflicted.
+     *
+     * @param evaluationId The evaluation ID.
+     * @return The current version, or null if the evaluation no longer exists.
+     */
+    public Long findVersion(Long evaluationId) {
+        List<Long> versions = em.createQuery(
+                        "SELECT e.version FROM EvaluationEntity e WHERE e.id = :id", Long.class)
+                .setParameter("id", evaluationId)
+                .getResultList();
+        return versions.isEmpty() ? null : versions.get(0);
+    }
+
+
+
+
+    /**
+     * Finds an evaluation by ID, loading its associations according to the given entity graph
+     * (see the EvaluationEntity.GRAPH_* constants) in a single query.
+     *
+     * @param id         The ID of the evaluation.
+     * @param entityGraph The name of the entity graph to apply.
+     * @return The evaluation, or null if not found.
+     */
+    public EvaluationEntity findById(Long id, String entityGraph) {
+        Map<String, Object> hints = Map.of("jakarta.persistence.fetchgraph", em.getEntityGraph(entityGraph));
+        return em.find(EvaluationEntity.class, id, hints);
+    }
+
+
+
+    /**
+     * Loads, with one query per STATE_BATCH_SIZE emails, the evaluations of the given users in a cycle still in use,
+     * with the cycle, the evaluated user (and their manager) and the evaluator fetched in the same query.
+     * Used by batch grading to check every item of a batch without a query per item.
+     *
+     * @param cycleId The ID of the evaluation cycle.
+     * @param emails  The emails of the evaluated users.
+     * @return The matching evaluations, in no particular order; users without an evaluation are left out.
+     */
+    public List<EvaluationEntity> findForGradingByCycleAndEmails(Long cycleId, List<String> emails) {
+        List<EvaluationEntity> evaluations = new ArrayList<>(emails.size());
+        for (int i = 0; i < emails.size(); i += STATE_BATCH_SIZE) {
+            evaluations.addAll(em.createQuery(
+                            "SELECT e FROM EvaluationEntity e " +
+                                    "WHERE e.cycle.id = :cycleId AND e.archived = false AND e.evaluated.email IN :emails",
+                            EvaluationEntity.class)
+                    .setParameter("cycleId", cycleId)
+                    .setParameter("emails", emails.subList(i, Math.min(i + STATE_BATCH_SIZE, emails.size())))
+                    .setHint("jakarta.persistence.fetchgraph", em.getEntityGraph(EvaluationEntity.GRAPH_EDIT))
+                    .getResultList());
+        }
+        return evaluations;
+    }
+
+
+    /**
+     * Writes the pending changes of the persistence context now (as JDBC batches, see hibernate.jdbc.batch_size),
+     * so that version conflicts surface in the caller rather than at commit.
+     */
+    public void flush() {
+        em.flush();
     }
 
 
@@ -327,6 +436,188 @@ public class EvaluationDao {
     }
 
 
+    /**
+     * Streams every evaluation matching the filters as lightweight CSV rows, in the same order
+     * and with the same visibility rules as findEvaluationsWithFiltersPaginated.
+     * Rows are read from a JDBC cursor in chunks of CSV_FETCH_SIZE, so memory use does not grow
+     * with the number of results. Must be consumed (and closed) inside a transaction.
+     *
+     * @param name       Partial name of evaluated user (nullable)
+     * @param state      Evaluation state to filter by (nullable)
+     * @param grade      Grade to filter by (nullable)
+     * @param cycleEnd   Exact end date of cycle to filter by (nullable)
+     * @param requester  The logged-in user requesting the evaluations
+     * @return A stream of EvaluationCsvRowDto; the caller must close it
+     */
+    public Stream<EvaluationCsvRowDto> streamEvaluationCsvRowsWithFilters(String name,
+                                                                          EvaluationStateEnum state,
+                                                                          Integer grade,
+                                                                          LocalDate cycleEnd,
+                                                                          UserEntity requester) {
+
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new aor.projetofinal.dto.EvaluationCsvRowDto(" +
+                "e.evaluated.profile.firstName, e.evaluated.profile.lastName, e.evaluated.email, " +
+                "e.state, e.grade, evp.firstName, evp.lastName, e.cycle.endDate) " +
+                "FROM EvaluationEntity e LEFT JOIN e.evaluator ev LEFT JOIN ev.profile evp WHERE 1=1");
+        appendFilterConditions(jpql, name, state, grade, cycleEnd, requester);
+        jpql.append(" ORDER BY e.evaluated.profile.lastName ASC, e.evaluated.profile.firstName ASC");
+
+        TypedQuery<EvaluationCsvRowDto> query = em.createQuery(jpql.toString(), EvaluationCsvRowDto.class);
+        setFilterParameters(query, name, state, grade, cycleEnd, requester);
+        query.setHint("org.hibernate.fetchSize", CSV_FETCH_SIZE);
+        query.setHint("org.hibernate.readOnly", true);
+
+        return query.getResultStream();
+    }
+
+
+    /**
+     * Retrieves the next chunk of closed, graded evaluations of a cycle as PDF values, in ID order.
+     * Seeks past the last ID of the previous chunk instead of using an offset, so every chunk
+     * costs the same however far into the cycle the export is.
+     *
+     * @param cycleId The ID of the evaluation cycle.
+     * @param afterId The last evaluation ID of the previous chunk, or null for the first chunk.
+     * @param limit   The maximum number of rows to return.
+     * @return The PDF values of the chunk; fewer than limit rows means it was the last one.
+     */
+    public List<EvaluationPdfDto> findClosedEvaluationPdfRows(Long cycleId, Long afterId, int limit) {
+        TypedQuery<EvaluationPdfDto> query = em.createQuery(
+                "SELECT new aor.projetofinal.dto.EvaluationPdfDto(" +
+                        "e.id, edp.firstName, edp.lastName, ed.email, c.id, c.endDate, e.grade, " +
+                        "evp.firstName, evp.lastName, e.feedback) " +
+                        "FROM EvaluationEntity e JOIN e.cycle c " +
+                        "JOIN e.evaluated ed JOIN ed.profile edp " +
+                        "LEFT JOIN e.evaluator ev LEFT JOIN ev.profile evp " +
+                        "WHERE c.id = :cycleId AND e.state = :closed AND e.grade IS NOT NULL " +
+                        "AND e.id > :afterId " +
+                        "ORDER BY e.id",
+                EvaluationPdfDto.class);
+        query.setParameter("cycleId", cycleId);
+        query.setParameter("closed", EvaluationStateEnum.CLOSED);
+        query.setParameter("afterId", afterId != null ? afterId : 0L);
+        query.setMaxResults(limit);
+        query.setHint("org.hibernate.readOnly", true);
+
+        return query.getResultList();
+    }
+
+
+    /**
+     * Counts the evaluations of a cycle grouped by evaluator, usual workplace of the evaluated user
+     * and grade, in a single aggregate query. The result has at most one row per
+     * (evaluator, workplace, grade) combination, regardless of the number of evaluations.
+     *
+     * @param cycleId The ID of the evaluation cycle.
+     * @return The aggregated rows; ungraded evaluations have a null grade.
+     */
+    public List<GradeCountRowDto> countGradesByCycle(Long cycleId) {
+        TypedQuery<GradeCountRowDto> query = em.createQuery(
+                "SELECT new aor.projetofinal.dto.GradeCountRowDto(" +
+                        "ev.id, evp.firstName, evp.lastName, edp.usualWorkplace, e.grade, COUNT(e)) " +
+                        "FROM EvaluationEntity e " +
+                        "JOIN e.evaluator ev LEFT JOIN ev.profile evp " +
+                        "JOIN e.evaluated ed LEFT JOIN ed.profile edp " +
+                        "WHERE e.cycle.id = :cycleId " +
+                        "GROUP BY ev.id, evp.firstName, evp.lastName, edp.usualWorkplace, e.grade",
+                GradeCountRowDto.class);
+        query.setParameter("cycleId", cycleId);
+        query.setHint("org.hibernate.readOnly", true);
+
+        List<GradeCountRowDto> rows = query.getResultList();
+
+        logger.info("User: {} | IP: {} - Aggregated grades of cycle ID {} into {} rows.",
+                RequestContext.getAuthor(), RequestContext.getIp(), cycleId, rows.size());
+
+        return rows;
+    }
+
+
+    /**
+     * Appends the filter and visibility conditions shared by the filtered evaluation queries.
+     * Only evaluations of confirmed, active users in active cycles are included, and
+     * non-admin requesters only see the evaluations they are responsible for.
+     */
+    private void appendFilterConditions(StringBuilder jpql,
+                                        String name,
+                                        EvaluationStateEnum state,
+                                        Integer grade,
+                                        LocalDate cycleEnd,
+                                        UserEntity requester) {
+
+        // Only confirmed & active evaluated users
+        jpql.append(" AND e.evaluated.confirmed = true AND e.evaluated.active = true");
+
+        // Only evalautions from active cycles should be returned (never archived: prunes the cold partition)
+        jpql.append(" AND e.cycle.active = true AND e.archived = false");
+
+        // Filter by name (whole words of the normalized full name, served by the trigram index)
+        if (name != null && !name.isBlank()) {
+            jpql.append(" AND e.evaluated.profile.searchName LIKE :name");
+        }
+
+        // Filter by evaluation state
+        if (state != null) {
+            jpql.append(" AND e.state = :state");
+        }
+
+        // Filter by grade (1–4)
+        if (grade != null) {
+            jpql.append(" AND e.grade = :gradeEnum");
+        }
+
+        // Filter by cycle end date
+        if (cycleEnd != null) {
+            jpql.append(" AND e.cycle.endDate >= :cycleStartOfDay AND e.cycle.endDate < :cycleNextDay");
+        }
+
+        // Restrict access based on role: managers see only their evaluations
+        if (!isAdmin(requester)) {
+            jpql.append(" AND e.evaluator.email = :requesterEmail");
+        }
+    }
+
+
+    /**
+     * Binds the parameters of the conditions added by appendFilterConditions.
+     */
+    private void setFilterParameters(TypedQuery<?> query,
+                                     String name,
+                                     EvaluationStateEnum state,
+                                     Integer grade,
+                                     LocalDate cycleEnd,
+                                     UserEntity requester) {
+
+        if (name != null && !name.isBlank()) {
+            query.setParameter("name", StringUtils.toSearchNamePattern(name));
+        }
+
+        if (state != null) {
+            query.setParameter("state", state);
+        }
+
+        if (grade != null) {
+            GradeEvaluationEnum gradeEnum = GradeEvaluationEnum.getEnumfromGrade(grade);
+            query.setParameter("gradeEnum", gradeEnum);
+        }
+
+        if (cycleEnd != null) {
+            query.setParameter("cycleStartOfDay", cycleEnd.atStartOfDay());
+            query.setParameter("cycleNextDay", cycleEnd.plusDays(1).atStartOfDay());
+        }
+
+        if (!isAdmin(requester)) {
+            query.setParameter("requesterEmail", requester.getEmail());
+        }
+    }
+
+
+    private static boolean isAdmin(UserEntity requester) {
+        return requester.getRole().getName().equalsIgnoreCase("admin");
+    }
+
+
 
 
     /**
@@ -346,7 +637,7 @@ public class EvaluationDao {
             List<EvaluationEntity> results = em.createQuery(
                             "SELECT e FROM EvaluationEntity e " +
                                     "JOIN e.cycle c " +
-                                    "WHERE c.active = true AND e.state = :state",
+                                    "WHERE c.active = true AND e.state = :state AND e.archived = false",
                             EvaluationEntity.class
                     )
                     .setParameter("state", EvaluationStateEnum.EVALUATED)
@@ -396,186 +687,427 @@ public class EvaluationDao {
 
 
     /**
-     * Finds a paginated list of evaluations filtered by optional criteria.
+     * Position of an evaluation in the listing order (evaluated last name, first name, evaluation ID),
+     * used as a seek cursor for keyset pagination.
+     *
+     * @param lastName  last name of the evaluated user ("" when missing)
+     * @param firstName first name of the evaluated user ("" when missing)
+     * @param id        evaluation ID, the tie-breaker
+     */
+    public record Keyset(String lastName, String firstName, long id) {
+        public static Keyset of(FlatEvaluationDto evaluation) {
+            return new Keyset(evaluation.getSortLastName(), evaluation.getSortFirstName(), evaluation.getEvaluationId());
+        }
+    }
+
+    /**
+     * One page of the evaluation listing.
+     *
+     * @param evaluations the evaluations of the page, as listing DTOs
+     * @param totalCount  total number of matching evaluations, or null if it was not requested
+     *                    or could not be read from the page (empty page)
+     */
+    public record Page(List<FlatEvaluationDto> evaluations, Long totalCount) {}
+
+
+    /**
+     * Finds one page of evaluations filtered by optional criteria, ordered by the evaluated user's
+     * last name, first name and the evaluation ID.
      * Only evaluations visible to the given requester (admin or manager) are returned.
      *
+     * When a keyset is given, the page starts right after it (seek pagination), so deep pages
+     * cost the same as the first one; otherwise the page number is used as an offset.
+     * When the total is requested it is computed with COUNT(*) OVER () in the same query.
+     * Rows are built as FlatEvaluationDto by a constructor expression, so a page costs one query
+     * whatever its size: no entity is loaded and no lazy association is followed afterwards.
+     *
      * @param name       Partial name of evaluated user (nullable)
      * @param state      Evaluation state to filter by (nullable)
      * @param grade      Grade to filter by (nullable)
      * @param cycleEnd   Exact end date of cycle to filter by (nullable)
      * @param requester  The logged-in user requesting the evaluations
-     * @param page       The page number (1-based)
+     * @param after      The position of the last row of the previous page (nullable)
+     * @param page       The page number (1-based), used only when no keyset is given
      * @param pageSize   Max results per page
-     * @return A list of EvaluationEntity matching the filters and visibility rules
+     * @param withTotal  Whether the total count of matching evaluations should be computed
+     * @return The page of evaluations and, if requested, the total count
      */
-    public List<EvaluationEntity> findEvaluationsWithFiltersPaginated(String name,
-                                                                      EvaluationStateEnum state,
-                                                                      Integer grade,
-                                                                      LocalDate cycleEnd,
-                                                                      UserEntity requester,
-                                                                      int page,
-                                                                      int pageSize) {
-
-        StringBuilder jpql = new StringBuilder("SELECT e FROM EvaluationEntity e WHERE 1=1");
+    public Page findEvaluationsWithFiltersPaginated(String name,
+                                                    EvaluationStateEnum state,
+                                                    Integer grade,
+                                                    LocalDate cycleEnd,
+                                                    UserEntity requester,
+                                                    Keyset after,
+                                                    int page,
+                                                    int pageSize,
+                                                    boolean withTotal) {
+
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new aor.projetofinal.dto.FlatEvaluationDto(" +
+                "e.id, e.evaluated.id, e.evaluated.email, " +
+                "e.evaluated.profile.firstName, e.evaluated.profile.lastName, e.evaluated.profile.photograph, " +
+                "e.state, e.grade, evp.firstName, evp.lastName, e.cycle.endDate, e.version")
+                .append(withTotal ? ", COUNT(*) OVER ())" : ")")
+                .append(" FROM EvaluationEntity e LEFT JOIN e.evaluator ev LEFT JOIN ev.profile evp WHERE 1=1");
+        appendFilterConditions(jpql, name, state, grade, cycleEnd, requester);
+
+        String lastName = "COALESCE(e.evaluated.profile.lastName, '')";
+        String firstName = "COALESCE(e.evaluated.profile.firstName, '')";
+
+        // Seek past the last row of the previous page; the leading bound is a plain range on the
+        // indexed sort expression, the OR expansion then settles ties
+        if (after != null) {
+            jpql.append(" AND ").append(lastName).append(" >= :afterLastName")
+                    .append(" AND (").append(lastName).append(" > :afterLastName")
+                    .append(" OR (").append(lastName).append(" = :afterLastName AND ").append(firstName).append(" > :afterFirstName)")
+                    .append(" OR (").append(lastName).append(" = :afterLastName AND ").append(firstName).append(" = :afterFirstName")
+                    .append(" AND e.id > :afterId))");
+        }
 
-        // Only confirmed & active evaluated users
-        jpql.append(" AND e.evaluated.confirmed = true AND e.evaluated.active = true");
+        // Order by evaluated last name, with the ID as a unique tie-breaker
+        jpql.append(" ORDER BY ").append(lastName).append(" ASC, ").append(firstName).append(" ASC, e.id ASC");
 
-        // Only evalautions from active cycles should be returned
-        jpql.append(" AND e.cycle.active = true");
+        TypedQuery<FlatEvaluationDto> query = em.createQuery(jpql.toString(), FlatEvaluationDto.class);
+        setFilterParameters(query, name, state, grade, cycleEnd, requester);
 
-        // Filter by name (normalized, case-insensitive, partial match)
-        if (name != null && !name.isBlank()) {
-            jpql.append(" AND CONCAT(' ', LOWER(e.evaluated.profile.normalizedFirstName), ' ', LOWER(e.evaluated.profile.normalizedLastName), ' ') LIKE CONCAT('% ', :name, ' %')");
-        }
-
-        // Filter by evaluation state
-        if (state != null) {
-            jpql.append(" AND e.state = :state");
+        if (after != null) {
+            query.setParameter("afterLastName", after.lastName());
+            query.setParameter("afterFirstName", after.firstName());
+            query.setParameter("afterId", after.id());
+        } else {
+            int offset = (page > 0 ? page - 1 : 0) * pageSize;
+            query.setFirstResult(offset);
         }
+        query.setMaxResults(pageSize);
 
-        // Filter by grade (1–4)
-        if (grade != null) {
-            jpql.append(" AND e.grade = :gradeEnum");
-        }
+        List<FlatEvaluationDto> evaluations = query.getResultList();
+        Long totalCount = evaluations.isEmpty() ? null : evaluations.get(0).getTotalCount();
 
-        // Filter by cycle end date
-        if (cycleEnd != null) {
-            jpql.append(" AND e.cycle.endDate >= :cycleStartOfDay AND e.cycle.endDate < :cycleNextDay");
+        return new Page(evaluations, totalCount);
+    }
 
-        }
 
-        // Restrict access based on role
-        boolean isAdmin = requester.getRole().getName().equalsIgnoreCase("admin");
-        if (!isAdmin) {
-            // Managers see only their evaluations
-            jpql.append(" AND e.evaluator.email = :requesterEmail");
-        }
 
-        // Order by evaluated last name
-        jpql.append(" ORDER BY e.evaluated.profile.lastName ASC, e.evaluated.profile.firstName ASC");
 
-        TypedQuery<EvaluationEntity> query = em.createQuery(jpql.toString(), EvaluationEntity.class);
+    /**
+     * Retrieves all evaluations from the specified cycle that are not yet closed.
+     *
+     * @param cycle The evaluation cycle to search.
+     * @return A list of incomplete EvaluationEntity objects (not in CLOSED state).
+     */
+    public List<EvaluationEntity> findIncompleteEvaluationsByCycle(EvaluationCycleEntity cycle) {
+        TypedQuery<EvaluationEntity> query = em.createQuery(
+                "SELECT e FROM EvaluationEntity e WHERE e.cycle = :cycle AND e.state <> :excludedState AND e.archived = false",
+                EvaluationEntity.class
+        );
+        query.setParameter("cycle", cycle);
+        query.setParameter("excludedState", EvaluationStateEnum.CLOSED);
 
-        // Set query parameters
-        if (name != null && !name.isBlank()) {
-            String normalizedName = StringUtils.normalize(name.toLowerCase());
-            query.setParameter("name", normalizedName);
-        }
+        List<EvaluationEntity> results = query.getResultList();
 
-        if (state != null) {
-            query.setParameter("state", state);
-        }
+        logger.info("User: {} | IP: {} - Found {} incomplete evaluations in cycle ID {}.",
+                RequestContext.getAuthor(), RequestContext.getIp(), results.size(), cycle.getId());
 
-        if (grade != null) {
-            GradeEvaluationEnum gradeEnum = GradeEvaluationEnum.getEnumfromGrade(grade);
-            query.setParameter("gradeEnum", gradeEnum);
-        }
+        return results;
+    }
 
-        if (cycleEnd != null) {
-            query.setParameter("cycleStartOfDay", cycleEnd.atStartOfDay());
-            query.setParameter("cycleNextDay", cycleEnd.plusDays(1).atStartOfDay());
-        }
 
-        if (!isAdmin) {
-            query.setParameter("requesterEmail", requester.getEmail());
-        }
+    /**
+     * Retrieves one page of the distinct users with an evaluation in the specified cycle that is not yet closed,
+     * together with their evaluator, as DTOs built by the query itself.
+     * Rows are ordered by evaluator and then by evaluated user, so the users of one manager are contiguous.
+     *
+     * @param cycleId  The ID of the evaluation cycle.
+     * @param page     The page number (1-based).
+     * @param pageSize The number of users per page.
+     * @return The users of the requested page, with their evaluator.
+     */
+    public List<IncompleteEvaluationUserDto> findUsersWithIncompleteEvaluationsByCycle(Long cycleId, int page, int pageSize) {
+        TypedQuery<IncompleteEvaluationUserDto> query = em.createQuery(
+                "SELECT DISTINCT new aor.projetofinal.dto.IncompleteEvaluationUserDto(" +
+                        "u.id, p.firstName, p.lastName, u.email, ev.id, evp.firstName, evp.lastName, ev.email) " +
+                        "FROM EvaluationEntity e " +
+                        "JOIN e.evaluated u LEFT JOIN u.profile p " +
+                        "LEFT JOIN e.evaluator ev LEFT JOIN ev.profile evp " +
+                        "WHERE e.cycle.id = :cycleId AND e.state <> :excludedState AND e.archived = false " +
+                        "ORDER BY evp.lastName, evp.firstName, ev.id, p.lastName, p.firstName, u.id",
+                IncompleteEvaluationUserDto.class);
+        query.setParameter("cycleId", cycleId);
+        query.setParameter("excludedState", EvaluationStateEnum.CLOSED);
 
-        // Pagination
         int offset = (page > 0 ? page - 1 : 0) * pageSize;
         query.setFirstResult(offset);
         query.setMaxResults(pageSize);
+        query.setHint("org.hibernate.readOnly", true);
 
         return query.getResultList();
     }
 
 
     /**
-     * Retrieves a paginated list of closed evaluations for a given user,
-     * optionally filtered by grade, cycle number, or cycle end date.
+     * Counts the distinct users with an evaluation in the specified cycle that is not yet closed.
      *
-     * @param evaluated     The evaluated user.
-     * @param page          The current page number (1-based).
-     * @param pageSize      Number of evaluations per page.
-     * @param grade         Optional grade filter.
-     * @param cycle         Optional cycle number filter.
-     * @param cycleEndDate  Optional cycle end date filter (in "yyyy-MM-dd" format).
-     * @return List of filtered EvaluationEntity results.
+     * @param cycleId The ID of the evaluation cycle.
+     * @return The number of users with an incomplete evaluation.
      */
-    public List<EvaluationEntity> findFilteredClosedEvaluations(
-            UserEntity evaluated, int page, int pageSize,
-            Integer grade, Integer cycle, String cycleEndDate
-    ) {
-        logger.info("User: {} | IP: {} - Fetching filtered closed evaluations for user {} (page {}).",
-                RequestContext.getAuthor(), RequestContext.getIp(), evaluated.getEmail(), page);
+    public long countUsersWithIncompleteEvaluationsByCycle(Long cycleId) {
+        Long count = em.createQuery(
+                        "SELECT COUNT(DISTINCT e.evaluated.id) FROM EvaluationEntity e " +
+                                "WHERE e.cycle.id = :cycleId AND e.state <> :excludedState AND e.archived = false",
+                        Long.class)
+                .setParameter("cycleId", cycleId)
+                .setParameter("excludedState", EvaluationStateEnum.CLOSED)
+                .getSingleResult();
+
+        logger.info("User: {} | IP: {} - Found {} users with incomplete evaluations in cycle ID {}.",
+                RequestContext.getAuthor(), RequestContext.getIp(), count, cycleId);
 
-        StringBuilder sb = new StringBuilder(
-                "SELECT e FROM EvaluationEntity e " +
-                        "WHERE e.evaluated = :evaluated " +
-                        "AND e.state = :state " +
-                        "AND e.cycle.active = false "
-        );
+        return count;
+    }
 
-        if (grade != null) sb.append("AND e.grade = :grade ");
-        if (cycle != null) sb.append("AND e.cycle.id = :cycle ");
-        if (cycleEndDate != null) sb.append("AND e.cycle.endDate BETWEEN :startOfDay AND :endOfDay ");
 
-        sb.append("ORDER BY e.date DESC");
+    /**
+     * Adds the full-text search vector of the feedback and its GIN index, if missing.
+     * The vector is a stored generated column, so PostgreSQL recomputes it on every write of the
+     * feedback, including bulk updates that bypass the entity. It is not mapped on the entity.
+     * Runs in its own transaction so that a failure does not affect the caller;
+     * without the column the feedback search is unavailable, the rest of the application is not affected.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void createFeedbackSearchIndex() {
+        em.createNativeQuery(
+                "ALTER TABLE evaluations ADD COLUMN IF NOT EXISTS feedback_tsv tsvector " +
+                        "GENERATED ALWAYS AS (to_tsvector('" + FEEDBACK_SEARCH_CONFIG + "', COALESCE(feedback, ''))) STORED")
+                .executeUpdate();
+        em.createNativeQuery(
+                "CREATE INDEX IF NOT EXISTS idx_evaluations_feedback_tsv " +
+                        "ON evaluations USING gin (feedback_tsv)").executeUpdate();
+    }
 
-        TypedQuery<EvaluationEntity> query = em.createQuery(sb.toString(), EvaluationEntity.class);
-        query.setParameter("evaluated", evaluated);
-        query.setParameter("state", EvaluationStateEnum.CLOSED);
 
-        if (grade != null) {
-            GradeEvaluationEnum gradeEnum = GradeEvaluationEnum.getEnumfromGrade(grade);
-            query.setParameter("grade", gradeEnum);
-        }
-        if (cycle != null) query.setParameter("cycle", Long.valueOf(cycle));
-        if (cycleEndDate != null) {
-            LocalDate parsedDate = LocalDate.parse(cycleEndDate);
-            query.setParameter("startOfDay", parsedDate.atStartOfDay());
-            query.setParameter("endOfDay", parsedDate.atTime(LocalTime.MAX));
-        }
+    /**
+     * Checks whether the evaluations table is already list-partitioned by the archived flag.
+     *
+     * @return True if evaluations is a partitioned table; false otherwise.
+     */
+    public boolean isEvaluationsPartitioned() {
+        Object kind = em.createNativeQuery(
+                        "SELECT CAST(c.relkind AS TEXT) FROM pg_class c WHERE c.oid = to_regclass('evaluations')")
+                .getSingleResult();
+        return "p".equals(kind);
+    }
 
-        int offset = (page > 0 ? page - 1 : 0) * pageSize;
-        query.setFirstResult(offset);
-        query.setMaxResults(pageSize);
 
-        List<EvaluationEntity> results = query.getResultList();
+    /**
+     * Turns the evaluations table, as created by Hibernate's schema update, into a table list-partitioned
+     * by the archived flag: evaluations_hot holds the evaluations of cycles in use and evaluations_archive
+     * (the cold partition) those of archived cycles. Queries with "archived = false" only ever read the hot one.
+     *
+     * The rows are copied into the new table under an exclusive lock, in a single transaction of its own,
+     * so either the whole migration happens or nothing does. PostgreSQL requires primary and unique keys
+     * of a partitioned table to include the partition key, so the primary key becomes (id, archived);
+     * IDs keep coming from a sequence and stay unique. Only needed once: callers check isEvaluationsPartitioned.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void partitionEvaluations() {
+        em.createNativeQuery("LOCK TABLE evaluations IN ACCESS EXCLUSIVE MODE").executeUpdate();
+
+        // every stored column, in table order (the generated search vector is recomputed, not copied)
+        String columns = (String) em.createNativeQuery(
+                        "SELECT string_agg(quote_ident(column_name), ', ' ORDER BY ordinal_position) " +
+                                "FROM information_schema.columns " +
+                                "WHERE table_schema = current_schema() AND table_name = 'evaluations' AND is_generated = 'NEVER'")
+                .getSingleResult();
+
+        // identity columns are not supported on partitioned tables: IDs continue from a plain sequence
+        em.createNativeQuery("CREATE SEQUENCE IF NOT EXISTS evaluations_partitioned_id_seq").executeUpdate();
+        em.createNativeQuery("SELECT setval('evaluations_partitioned_id_seq', " +
+                "COALESCE((SELECT MAX(id) FROM evaluations), 0) + 1, false)").getSingleResult();
+
+        em.createNativeQuery("CREATE TABLE evaluations_partitioned " +
+                "(LIKE evaluations INCLUDING DEFAULTS INCLUDING GENERATED) PARTITION BY LIST (archived)").executeUpdate();
+        em.createNativeQuery("ALTER TABLE evaluations_partitioned " +
+                "ALTER COLUMN id SET DEFAULT nextval('evaluations_partitioned_id_seq'), " +
+                "ALTER COLUMN archived SET DEFAULT false, " +
+                "ALTER COLUMN archived SET NOT NULL").executeUpdate();
+        em.createNativeQuery("CREATE TABLE evaluations_hot PARTITION OF evaluations_partitioned " +
+                "FOR VALUES IN (false)").executeUpdate();
+        em.createNativeQuery("CREATE TABLE evaluations_archive PARTITION OF evaluations_partitioned " +
+                "FOR VALUES IN (true)").executeUpdate();
+
+        int copied = em.createNativeQuery("INSERT INTO evaluations_partitioned (" + columns + ") " +
+                "SELECT " + columns + " FROM evaluations").executeUpdate();
+
+        em.createNativeQuery("DROP TABLE evaluations").executeUpdate();
+        em.createNativeQuery("ALTER TABLE evaluations_partitioned RENAME TO evaluations").executeUpdate();
+        em.createNativeQuery("ALTER SEQUENCE evaluations_partitioned_id_seq OWNED BY evaluations.id").executeUpdate();
+
+        em.createNativeQuery("ALTER TABLE evaluations " +
+                "ADD CONSTRAINT evaluations_pkey PRIMARY KEY (id, archived), " +
+                "ADD CONSTRAINT uk_evaluations_cycle_evaluated UNIQUE (cycle_id, evaluated_user_id, archived), " +
+                "ADD CONSTRAINT fk_evaluations_cycle FOREIGN KEY (cycle_id) REFERENCES evaluation_cycles (id), " +
+                "ADD CONSTRAINT fk_evaluations_evaluated FOREIGN KEY (evaluated_user_id) REFERENCES users (id), " +
+                "ADD CONSTRAINT fk_evaluations_evaluator FOREIGN KEY (evaluator_user_id) REFERENCES users (id)")
+                .executeUpdate();
+        em.createNativeQuery("CREATE INDEX IF NOT EXISTS idx_evaluations_cycle_state " +
+                "ON evaluations (cycle_id, state)").executeUpdate();
+
+        logger.info("System | IP: {} - Partitioned evaluations by archived flag ({} rows copied).",
+                RequestContext.getIp(), copied);
+    }
 
-        logger.info("User: {} | IP: {} - Found {} evaluations.",
-                RequestContext.getAuthor(), RequestContext.getIp(), results.size());
 
-        return results;
+    /**
+     * Moves the evaluations of a closed cycle to the cold partition. Updating the partition key
+     * makes PostgreSQL move each row; rows already archived, and cycles still active, are left alone.
+     *
+     * @param cycleId The ID of the closed evaluation cycle.
+     * @return The number of evaluations archived.
+     */
+    @Transactional
+    public int archiveCycle(Long cycleId) {
+        int archived = em.createNativeQuery(
+                        "UPDATE evaluations SET archived = true " +
+                                "WHERE cycle_id = :cycleId AND archived = false " +
+                                "AND EXISTS (SELECT 1 FROM evaluation_cycles c WHERE c.id = :cycleId AND c.is_active = false)")
+                .setParameter("cycleId", cycleId)
+                .executeUpdate();
+
+        logger.info("User: {} | IP: {} - Archived {} evaluations of cycle ID {}.",
+                RequestContext.getAuthor(), RequestContext.getIp(), archived, cycleId);
+
+        return archived;
     }
 
 
+    /**
+     * Moves the evaluations of every closed cycle that are not archived yet to the cold partition.
+     * Used at startup for cycles closed before archiving existed, or whose archiving failed.
+     *
+     * @return The number of evaluations archived.
+     */
+    @Transactional
+    public int archiveClosedCycles() {
+        int archived = em.createNativeQuery(
+                        "UPDATE evaluations SET archived = true WHERE archived = false " +
+                                "AND cycle_id IN (SELECT c.id FROM evaluation_cycles c WHERE c.is_active = false)")
+                .executeUpdate();
 
+        logger.info("System | IP: {} - Archived {} evaluations of closed cycles.", RequestContext.getIp(), archived);
 
+        return archived;
+    }
 
 
+    /**
+     * Searches the feedback of evaluations across all cycles, most relevant first.
+     * Matches are found through the GIN index on the feedback search vector; the snippets,
+     * the costly part, are only built for the rows of the requested page.
+     * Applies the visibility rules of the evaluation listing: only confirmed and active
+     * evaluated users, and managers only see the evaluations they are the evaluator of.
+     *
+     * @param terms     The search terms (web search syntax: words, "quoted phrases", -excluded, or).
+     * @param requester The logged-in user requesting the data.
+     * @param page      The page number (1-based).
+     * @param pageSize  The number of results per page.
+     * @return The results of the page and the total number of matches, read with the same query.
+     */
+    public FeedbackSearchPage searchFeedback(String terms, UserEntity requester, int page, int pageSize) {
+        String sql =
+                "SELECT m.id, m.evaluated_user_id, p.first_name, p.last_name, m.state, m.grade, " +
+                        "m.cycle_id, c.end_date, m.rank, " +
+                        "ts_headline('" + FEEDBACK_SEARCH_CONFIG + "', m.feedback, q, '" + FEEDBACK_HEADLINE_OPTIONS + "'), " +
+                        "m.total " +
+                "FROM (" +
+                        "SELECT e.id, e.evaluated_user_id, e.state, e.grade, e.cycle_id, e.feedback, " +
+                        "ts_rank_cd(e.feedback_tsv, q) AS rank, COUNT(*) OVER () AS total " +
+                        "FROM evaluations e JOIN users u ON u.id = e.evaluated_user_id, " +
+                        "websearch_to_tsquery('" + FEEDBACK_SEARCH_CONFIG + "', :terms) q " +
+                        "WHERE e.feedback_tsv @@ q AND u.is_confirmed = true AND u.is_active = true " +
+                        (isAdmin(requester) ? "" : "AND e.evaluator_user_id = :requesterId ") +
+                        "ORDER BY rank DESC, e.id DESC " +
+                        "LIMIT :limit OFFSET :offset" +
+                ") m " +
+                "CROSS JOIN websearch_to_tsquery('" + FEEDBACK_SEARCH_CONFIG + "', :terms) q " +
+                "JOIN evaluation_cycles c ON c.id = m.cycle_id " +
+                "LEFT JOIN profiles p ON p.user_id = m.evaluated_user_id " +
+                "ORDER BY m.rank DESC, m.id DESC";
+
+        Query query = em.createNativeQuery(sql);
+        query.setParameter("terms", terms);
+        if (!isAdmin(requester)) {
+            query.setParameter("requesterId", requester.getId());
+        }
+        query.setParameter("limit", pageSize);
+        query.setParameter("offset", (page > 0 ? page - 1 : 0) * pageSize);
+        query.setHint("org.hibernate.readOnly", true);
+
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+        List<FeedbackSearchResultDto> results = new ArrayList<>();
+        Long totalCount = null;
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+
+            FeedbackSearchResultDto dto = new FeedbackSearchResultDto();
+            dto.setEvaluationId(((Number) columns[0]).longValue());
+            dto.setEvaluatedId(((Number) columns[1]).longValue());
+            if (columns[2] != null || columns[3] != null) {
+                dto.setEvaluatedName(columns[2] + " " + columns[3]);
+            }
+            dto.setState((String) columns[4]);
+            if (columns[5] != null) {
+                dto.setGrade(String.valueOf(GradeEvaluationEnum.valueOf((String) columns[5]).getGrade()));
+            }
+            dto.setCycleId(((Number) columns[6]).longValue());
+            if (columns[7] != null) {
+                dto.setCycleEndDate(toLocalDateTime(columns[7]).format(formatter));
+            }
+            dto.setRank(((Number) columns[8]).doubleValue());
+            dto.setSnippet((String) columns[9]);
+            results.add(dto);
+
+            totalCount = ((Number) columns[10]).longValue();
+        }
+
+        return new FeedbackSearchPage(results, totalCount);
+    }
 
 
     /**
-     * Retrieves all evaluations from the specified cycle that are not yet closed.
+     * Counts the evaluations whose feedback matches the search terms, with the visibility rules of searchFeedback.
      *
-     * @param cycle The evaluation cycle to search.
-     * @return A list of incomplete EvaluationEntity objects (not in CLOSED state).
+     * @param terms     The search terms.
+     * @param requester The logged-in user requesting the data.
+     * @return The number of matching evaluations.
      */
-    public List<EvaluationEntity> findIncompleteEvaluationsByCycle(EvaluationCycleEntity cycle) {
-        TypedQuery<EvaluationEntity> query = em.createQuery(
-                "SELECT e FROM EvaluationEntity e WHERE e.cycle = :cycle AND e.state <> :excludedState",
-                EvaluationEntity.class
-        );
-        query.setParameter("cycle", cycle);
-        query.setParameter("excludedState", EvaluationStateEnum.CLOSED);
+    public long countFeedbackMatches(String terms, UserEntity requester) {
+        Query query = em.createNativeQuery(
+                "SELECT COUNT(*) FROM evaluations e JOIN users u ON u.id = e.evaluated_user_id " +
+                        "WHERE e.feedback_tsv @@ websearch_to_tsquery('" + FEEDBACK_SEARCH_CONFIG + "', :terms) " +
+                        "AND u.is_confirmed = true AND u.is_active = true" +
+                        (isAdmin(requester) ? "" : " AND e.evaluator_user_id = :requesterId"));
+        query.setParameter("terms", terms);
+        if (!isAdmin(requester)) {
+            query.setParameter("requesterId", requester.getId());
+        }
+        return ((Number) query.getSingleResult()).longValue();
+    }
 
-        List<EvaluationEntity> results = query.getResultList();
 
-        logger.info("User: {} | IP: {} - Found {} incomplete evaluations in cycle ID {}.",
-                RequestContext.getAuthor(), RequestContext.getIp(), results.size(), cycle.getId());
+    /**
+     * One page of feedback search results.
+     *
+     * @param results    the results of the page, most relevant first
+     * @param totalCount total number of matches, or null if the page is empty
+     */
+    public record FeedbackSearchPage(List<FeedbackSearchResultDto> results, Long totalCount) {}
 
-        return results;
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
     }
 
 
@@ -594,7 +1126,7 @@ public class EvaluationDao {
 public int countPendingEvaluationsForUser(int userId) {
     Long count = em.createQuery(
         "SELECT COUNT(e) FROM EvaluationEntity e " +
-        "WHERE e.evaluated.id = :userId AND e.state = :pendingState", Long.class)
+        "WHERE e.evaluated.id = :userId AND e.state = :pendingState AND e.archived = false", Long.class)
         .setParameter("userId", userId)
         .setParameter("pendingState", EvaluationStateEnum.IN_EVALUATION)
         .getSingleResult();
@@ -610,7 +1142,7 @@ public int countPendingEvaluationsForUser(int userId) {
 public int countPendingEvaluationsToFillByManager(int managerId) {
     Long count = em.createQuery(
         "SELECT COUNT(e) FROM EvaluationEntity e " +
-        "WHERE e.evaluator.id = :managerId AND e.state = :pendingState", Long.class)
+        "WHERE e.evaluator.id = :managerId AND e.state = :pendingState AND e.archived = false", Long.class)
         .setParameter("managerId", managerId)
         .setParameter("pendingState", EvaluationStateEnum.IN_EVALUATION)
         .getSingleResult();
@@ -626,7 +1158,7 @@ public int countPendingEvaluationsToFillByManager(int managerId) {
 public LocalDateTime findLastCompletedEvaluationDateForUser(int userId) {
     List<LocalDateTime> results = em.createQuery(
         "SELECT e.date FROM EvaluationEntity e " +
-        "WHERE e.evaluated.id = :userId AND e.state = :evaluatedState " +
+        "WHERE e.evaluated.id = :userId AND e.state = :evaluatedState AND e.archived = false " +
         "ORDER BY e.date DESC", LocalDateTime.class)
         .setParameter("userId", userId)
         .setParameter("evaluatedState", EvaluationStateEnum.EVALUATED)
@@ -644,7 +1176,7 @@ public LocalDateTime findLastCompletedEvaluationDateForUser(int userId) {
 public int countAllPendingEvaluations() {
     Long count = em.createQuery(
         "SELECT COUNT(e) FROM EvaluationEntity e " +
-        "WHERE e.state = :pendingState", Long.class)
+        "WHERE e.state = :pendingState AND e.archived = false", Long.class)
         .setParameter("pendingState", EvaluationStateEnum.IN_EVALUATION)
         .getSingleResult();
     return count.intValue();
@@ -0,0 +1,143 @@
+package aor.projetofinal.dao;
+
+import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.dto.FlatEvaluationHistoryDto;
+import aor.projetofinal.entity.EvaluationCycleEntity;
+import aor.projetofinal.entity.enums.EvaluationStateEnum;
+import aor.projetofinal.entity.enums.GradeEvaluationEnum;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Data Access Object for the evaluation history read model (EvaluationHistoryEntity).
+ */
+@ApplicationScoped
+public class EvaluationHistoryDao {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private static final Logger logger = LogManager.getLogger(EvaluationHistoryDao.class);
+
+    // INSERT ... SELECT copying the graded, closed evaluations of inactive cycles
+    private static final String MATERIALIZE_SQL =
+            "INSERT INTO evaluation_history " +
+                    "(evaluation_id, evaluated_user_id, cycle_id, cycle_end_date, evaluation_date, grade) " +
+                    "SELECT e.id, e.evaluated_user_id, e.cycle_id, c.end_date, e.evaluation_date, e.grade " +
+                    "FROM evaluations e JOIN evaluation_cycles c ON c.id = e.cycle_id " +
+                    "WHERE c.is_active = false AND e.state = :closed AND e.grade IS NOT NULL ";
+
+    /**
+     * Copies the closed evaluations of a cycle that has just been closed into the history table.
+     * Must run in the transaction that deactivates the cycle, after the cycle and its evaluations
+     * have been updated. Rows already copied are left untouched, so the call is idempotent.
+     *
+     * @param cycle The closed evaluation cycle.
+     * @return The number of history rows written.
+     */
+    public int materializeCycle(EvaluationCycleEntity cycle) {
+        em.flush();
+        int inserted = em.createNativeQuery(MATERIALIZE_SQL + "AND e.cycle_id = :cycleId " +
+                        "ON CONFLICT (evaluation_id) DO NOTHING")
+                .setParameter("closed", EvaluationStateEnum.CLOSED.name())
+                .setParameter("cycleId", cycle.getId())
+                .executeUpdate();
+
+        logger.info("User: {} | IP: {} - Wrote {} evaluation history rows for cycle ID {}.",
+                RequestContext.getAuthor(), RequestContext.getIp(), inserted, cycle.getId());
+
+        return inserted;
+    }
+
+    /**
+     * Copies every closed evaluation of every inactive cycle that is not in the history table yet.
+     * Used at startup to fill the table for cycles closed before it existed.
+     *
+     * @return The number of history rows written.
+     */
+    public int materializeClosedCycles() {
+        int inserted = em.createNativeQuery(MATERIALIZE_SQL + "ON CONFLICT (evaluation_id) DO NOTHING")
+                .setParameter("closed", EvaluationStateEnum.CLOSED.name())
+                .executeUpdate();
+
+        logger.info("System | IP: {} - Backfilled {} evaluation history rows.", RequestContext.getIp(), inserted);
+
+        return inserted;
+    }
+
+    /**
+     * Retrieves a page of the evaluation history of a user, most recent cycle first,
+     * directly as DTOs from the history table.
+     *
+     * @param evaluatedUserId The ID of the evaluated user.
+     * @param page            The page number (1-based).
+     * @param pageSize        The number of results per page.
+     * @param grade           Optional grade filter (1–4).
+     * @param cycle           Optional cycle ID filter.
+     * @param cycleEndDate    Optional cycle end date filter (yyyy-MM-dd).
+     * @return The history entries of the requested page.
+     */
+    public List<FlatEvaluationHistoryDto> findHistoryPage(int evaluatedUserId, int page, int pageSize,
+                                                          Integer grade, Integer cycle, String cycleEndDate) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new aor.projetofinal.dto.FlatEvaluationHistoryDto(h.evaluationId, h.cycleId, h.evaluationDate, h.grade) " +
+                        "FROM EvaluationHistoryEntity h WHERE h.evaluatedUserId = :userId ");
+        appendFilterConditions(jpql, grade, cycle, cycleEndDate);
+        jpql.append("ORDER BY h.cycleEndDate DESC, h.evaluationId DESC");
+
+        TypedQuery<FlatEvaluationHistoryDto> query = em.createQuery(jpql.toString(), FlatEvaluationHistoryDto.class);
+        setFilterParameters(query, evaluatedUserId, grade, cycle, cycleEndDate);
+
+        int offset = (page > 0 ? page - 1 : 0) * pageSize;
+        query.setFirstResult(offset);
+        query.setMaxResults(pageSize);
+
+        return query.getResultList();
+    }
+
+    /**
+     * Counts the evaluation history entries of a user matching the same filters as findHistoryPage.
+     *
+     * @param evaluatedUserId The ID of the evaluated user.
+     * @param grade           Optional grade filter (1–4).
+     * @param cycle           Optional cycle ID filter.
+     * @param cycleEndDate    Optional cycle end date filter (yyyy-MM-dd).
+     * @return The number of matching entries.
+     */
+    public long countHistory(int evaluatedUserId, Integer grade, Integer cycle, String cycleEndDate) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT COUNT(h) FROM EvaluationHistoryEntity h WHERE h.evaluatedUserId = :userId ");
+        appendFilterConditions(jpql, grade, cycle, cycleEndDate);
+
+        TypedQuery<Long> query = em.createQuery(jpql.toString(), Long.class);
+        setFilterParameters(query, evaluatedUserId, grade, cycle, cycleEndDate);
+
+        return query.getSingleResult();
+    }
+
+    private void appendFilterConditions(StringBuilder jpql, Integer grade, Integer cycle, String cycleEndDate) {
+        if (grade != null) jpql.append("AND h.grade = :grade ");
+        if (cycle != null) jpql.append("AND h.cycleId = :cycle ");
+        if (cycleEndDate != null) jpql.append("AND h.cycleEndDate BETWEEN :startOfDay AND :endOfDay ");
+    }
+
+    private void setFilterParameters(TypedQuery<?> query, int evaluatedUserId,
+                                     Integer grade, Integer cycle, String cycleEndDate) {
+        query.setParameter("userId", evaluatedUserId);
+        if (grade != null) query.setParameter("grade", GradeEvaluationEnum.getEnumfromGrade(grade));
+        if (cycle != null) query.setParameter("cycle", Long.valueOf(cycle));
+        if (cycleEndDate != null) {
+            LocalDate parsedDate = LocalDate.parse(cycleEndDate);
+            query.setParameter("startOfDay", parsedDate.atStartOfDay());
+            query.setParameter("endOfDay", parsedDate.atTime(LocalTime.MAX));
+        }
+    }
+}
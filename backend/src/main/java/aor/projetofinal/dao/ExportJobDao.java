@@ -0,0 +1,136 @@
+package aor.projetofinal.dao;
+
+import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.entity.ExportJobEntity;
+import aor.projetofinal.entity.enums.ExportJobStatusEnum;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Access Object for background export jobs (ExportJobEntity).
+ */
+@ApplicationScoped
+public class ExportJobDao {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private static final Logger logger = LogManager.getLogger(ExportJobDao.class);
+
+    /**
+     * Persists a new export job.
+     *
+     * @param job The job to persist.
+     */
+    public void create(ExportJobEntity job) {
+        em.persist(job);
+    }
+
+    /**
+     * Finds an export job by its ID.
+     *
+     * @param jobId The job ID.
+     * @return The job, or null if not found.
+     */
+    public ExportJobEntity findById(String jobId) {
+        return em.find(ExportJobEntity.class, jobId);
+    }
+
+    /**
+     * Lists the most recent export jobs of a user, newest first.
+     *
+     * @param ownerId The ID of the user who submitted the jobs.
+     * @param limit   The maximum number of jobs returned.
+     * @return The user's jobs.
+     */
+    public List<ExportJobEntity> findRecentByOwner(int ownerId, int limit) {
+        return em.createQuery(
+                        "SELECT j FROM ExportJobEntity j WHERE j.owner.id = :ownerId ORDER BY j.createdAt DESC",
+                        ExportJobEntity.class)
+                .setParameter("ownerId", ownerId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Stores the progress of a running job with a single UPDATE, without loading the entity.
+     *
+     * @param jobId          The job ID.
+     * @param processedItems Number of items already written.
+     * @param totalItems     Total number of items, or null if unknown.
+     * @param progress       Percentage already written (0-100).
+     * @return The number of rows updated (0 if the job is no longer running).
+     */
+    public int updateProgress(String jobId, long processedItems, Long totalItems, int progress) {
+        return em.createQuery(
+                        "UPDATE ExportJobEntity j SET j.processedItems = :processed, j.totalItems = :total, " +
+                                "j.progress = :progress WHERE j.id = :jobId AND j.status = :running")
+                .setParameter("processed", processedItems)
+                .setParameter("total", totalItems)
+                .setParameter("progress", progress)
+                .setParameter("jobId", jobId)
+                .setParameter("running", ExportJobStatusEnum.RUNNING)
+                .executeUpdate();
+    }
+
+    /**
+     * Finds the jobs whose result (or failure) has outlived its time-to-live.
+     *
+     * @param now The current instant.
+     * @return Completed and failed jobs with an expiry instant in the past.
+     */
+    public List<ExportJobEntity> findExpired(LocalDateTime now) {
+        return em.createQuery(
+                        "SELECT j FROM ExportJobEntity j WHERE j.status IN :statuses AND j.expiresAt <= :now",
+                        ExportJobEntity.class)
+                .setParameter("statuses", List.of(ExportJobStatusEnum.COMPLETED, ExportJobStatusEnum.FAILED))
+                .setParameter("now", now)
+                .getResultList();
+    }
+
+    /**
+     * Marks every queued or running job as failed. Used at startup, since the worker pool
+     * (and therefore every job that was waiting or running in it) did not survive the restart.
+     *
+     * @param message   The error message stored on the jobs.
+     * @param now       The current instant.
+     * @param expiresAt When the failed jobs expire.
+     * @return The number of jobs marked as failed.
+     */
+    public int failUnfinished(String message, LocalDateTime now, LocalDateTime expiresAt) {
+        int updated = em.createQuery(
+                        "UPDATE ExportJobEntity j SET j.status = :failed, j.errorMessage = :message, " +
+                                "j.finishedAt = :now, j.expiresAt = :expiresAt WHERE j.status IN :unfinished")
+                .setParameter("failed", ExportJobStatusEnum.FAILED)
+                .setParameter("message", message)
+                .setParameter("now", now)
+                .setParameter("expiresAt", expiresAt)
+                .setParameter("unfinished", List.of(ExportJobStatusEnum.QUEUED, ExportJobStatusEnum.RUNNING))
+                .executeUpdate();
+
+        logger.info("User: {} | IP: {} - Marked {} unfinished export jobs as failed.",
+                RequestContext.getAuthor(), RequestContext.getIp(), updated);
+
+        return updated;
+    }
+
+    /**
+     * Deletes expired jobs that finished before the given instant.
+     *
+     * @param finishedBefore Jobs that finished before this instant are deleted.
+     * @return The number of jobs deleted.
+     */
+    public int deleteExpiredFinishedBefore(LocalDateTime finishedBefore) {
+        return em.createQuery(
+                        "DELETE FROM ExportJobEntity j WHERE j.status = :expired AND j.finishedAt < :before")
+                .setParameter("expired", ExportJobStatusEnum.EXPIRED)
+                .setParameter("before", finishedBefore)
+                .executeUpdate();
+    }
+}
@@ -5,12 +5,15 @@ import aor.projetofinal.entity.NotificationEntity;
 import aor.projetofinal.entity.UserEntity;
 import aor.projetofinal.entity.enums.NotificationEnum;
 import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import java.util.Map;
 
+import java.time.LocalDateTime;
 import java.util.EnumMap;
 import java.util.List;
 
@@ -28,7 +31,8 @@ public class NotificationDao {
     private EntityManager em;
 
     /**
-     * Counts the number of unread notifications for a given user, grouped by notification type.
+     * Counts the number of unread notification events for a given user, grouped by notification type.
+     * Coalesced notifications contribute their full event count, so badges keep counting events.
      * Returns a map where all NotificationType values are present, even if count is zero.
      *
      * @param user the user entity to count unread notifications for
@@ -37,7 +41,7 @@ public class NotificationDao {
     public Map<NotificationEnum, Integer> countUnreadByType(UserEntity user) {
         // JPQL query to group unread notifications by type
         List<Object[]> results = em.createQuery(
-                "SELECT n.type, COUNT(n) FROM NotificationEntity n " +
+                "SELECT n.type, SUM(n.eventCount) FROM NotificationEntity n " +
                         "WHERE n.user = :user AND n.read = false GROUP BY n.type", Object[].class)
                 .setParameter("user", user)
                 .getResultList();
@@ -73,7 +77,7 @@ public class NotificationDao {
  */
 public List<NotificationEntity> findUnreadByUserExcludingType(UserEntity user, NotificationEnum excludeType) {
     return em.createQuery(
-        "SELECT n FROM NotificationEntity n WHERE n.user = :user AND n.read = false AND n.type <> :excludeType ORDER BY n.createdAt DESC",
+        "SELECT n FROM NotificationEntity n WHERE n.user = :user AND n.read = false AND n.type <> :excludeType ORDER BY COALESCE(n.lastEventAt, n.createdAt) DESC",
         NotificationEntity.class
     )
     .setParameter("user", user)
@@ -103,6 +107,128 @@ public List<NotificationEntity> findUnreadByUserExcludingType(UserEntity user, N
         }
     }
 
+    /**
+     * Creates an unread notification, or coalesces the event into the unread notification of the same
+     * recipient, sender and type, in a single INSERT ... ON CONFLICT DO UPDATE on the partial unique index
+     * idx_notifications_unread_coalesce. Concurrent events for the same conversation therefore always end
+     * up in one row: the event counter is incremented and the message and last event timestamp refreshed.
+     *
+     * @param user the recipient user
+     * @param sender the user that originated the event
+     * @param type the notification type
+     * @param message the latest notification message
+     * @return true if a new notification was inserted; false if the event was coalesced into an unread one
+     */
+    public boolean upsertUnread(UserEntity user, UserEntity sender, NotificationEnum type, String message) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean inserted = (Boolean) em.createNativeQuery(
+                "INSERT INTO notifications (user_id, sender_id, type, message, is_read, event_count, created_at, last_event_at) " +
+                        "VALUES (:userId, :senderId, :type, :message, false, 1, :now, :now) " +
+                        "ON CONFLICT (user_id, sender_id, type) WHERE is_read = false DO UPDATE SET " +
+                        "event_count = notifications.event_count + 1, " +
+                        "last_event_at = EXCLUDED.last_event_at, message = EXCLUDED.message " +
+                        "RETURNING (xmax = 0)"
+        ).setParameter("userId", user.getId())
+         .setParameter("senderId", sender.getId())
+         .setParameter("type", type.name())
+         .setParameter("message", message)
+         .setParameter("now", now)
+         .getSingleResult();
+        logger.info("User: {} | IP: {} - {} unread {} notification for UserId: {} from SenderId: {}.",
+                RequestContext.getAuthor(),
+                RequestContext.getIp(),
+                inserted ? "Inserted" : "Coalesced",
+                type,
+                user.getId(),
+                sender.getId());
+        return inserted;
+    }
+
+    /**
+     * Creates the partial unique index that allows a single unread notification per recipient, sender
+     * and type, which upsertUnread relies on. Unread duplicates left by the former update-then-insert
+     * are removed first, keeping the oldest row, which received every coalesced event since.
+     * Notifications without a sender are not constrained (NULLs are distinct in a unique index).
+     * Runs in its own transaction so that a failure does not affect the caller.
+     */
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    public void createUnreadCoalesceIndex() {
+        int removed = em.createNativeQuery(
+                "DELETE FROM notifications n WHERE n.is_read = false AND n.sender_id IS NOT NULL AND EXISTS (" +
+                        "SELECT 1 FROM notifications o WHERE o.is_read = false AND o.user_id = n.user_id " +
+                        "AND o.sender_id = n.sender_id AND o.type = n.type AND o.id < n.id)")
+                .executeUpdate();
+        em.createNativeQuery(
+                "CREATE UNIQUE INDEX IF NOT EXISTS idx_notifications_unread_coalesce " +
+                        "ON notifications (user_id, sender_id, type) WHERE is_read = false").executeUpdate();
+
+        logger.info("System | IP: {} - Removed {} duplicate unread notifications before indexing.",
+                RequestContext.getIp(), removed);
+    }
+
+    /**
+     * Creates, in a single INSERT ... SELECT, one unread notification per evaluation of a cycle,
+     * addressed to its evaluator and naming the evaluated user.
+     * The message is the given prefix followed by the evaluated user's full name and a period.
+     *
+     * @param cycleId the ID of the evaluation cycle
+     * @param type the notification type
+     * @param messagePrefix the text preceding the evaluated user's name
+     * @return number of notifications created
+     */
+    public int createForEvaluatorsOfCycle(Long cycleId, NotificationEnum type, String messagePrefix) {
+        LocalDateTime now = LocalDateTime.now();
+        int created = em.createNativeQuery(
+                "INSERT INTO notifications (user_id, created_at, last_event_at, is_read, message, type, event_count) " +
+                        "SELECT e.evaluator_user_id, :now, :now, false, " +
+                        "CONCAT(:prefix, p.first_name, ' ', p.last_name, '.'), :type, 1 " +
+                        "FROM evaluations e JOIN profiles p ON p.user_id = e.evaluated_user_id " +
+                        "WHERE e.cycle_id = :cycleId"
+        ).setParameter("now", now)
+         .setParameter("prefix", messagePrefix)
+         .setParameter("type", type.name())
+         .setParameter("cycleId", cycleId)
+         .executeUpdate();
+        logger.info("User: {} | IP: {} - Created {} {} notifications for evaluators of cycle ID {}.",
+                RequestContext.getAuthor(),
+                RequestContext.getIp(),
+                created,
+                type,
+                cycleId);
+        return created;
+    }
+
+    /**
+     * Creates, in a single INSERT ... SELECT, one unread notification per participant of a cycle
+     * (evaluated users and evaluators), even if they take part in several evaluations.
+     *
+     * @param cycleId the ID of the evaluation cycle
+     * @param type the notification type
+     * @param message the notification message
+     * @return number of notifications created
+     */
+    public int createForParticipantsOfCycle(Long cycleId, NotificationEnum type, String message) {
+        LocalDateTime now = LocalDateTime.now();
+        int created = em.createNativeQuery(
+                "INSERT INTO notifications (user_id, created_at, last_event_at, is_read, message, type, event_count) " +
+                        "SELECT p.user_id, :now, :now, false, :message, :type, 1 FROM (" +
+                        "SELECT evaluated_user_id AS user_id FROM evaluations WHERE cycle_id = :cycleId " +
+                        "UNION SELECT evaluator_user_id FROM evaluations WHERE cycle_id = :cycleId" +
+                        ") p WHERE p.user_id IS NOT NULL"
+        ).setParameter("now", now)
+         .setParameter("message", message)
+         .setParameter("type", type.name())
+         .setParameter("cycleId", cycleId)
+         .executeUpdate();
+        logger.info("User: {} | IP: {} - Created {} {} notifications for participants of cycle ID {}.",
+                RequestContext.getAuthor(),
+                RequestContext.getIp(),
+                created,
+                type,
+                cycleId);
+        return created;
+    }
+
     /**
      * Finds all notifications for a specific user, ordered by newest first.
      *
@@ -111,7 +237,7 @@ public List<NotificationEntity> findUnreadByUserExcludingType(UserEntity user, N
      */
     public List<NotificationEntity> findByUser(UserEntity user) {
         List<NotificationEntity> notifications = em.createQuery(
-                "SELECT n FROM NotificationEntity n WHERE n.user = :user ORDER BY n.createdAt DESC",
+                "SELECT n FROM NotificationEntity n WHERE n.user = :user ORDER BY COALESCE(n.lastEventAt, n.createdAt) DESC",
                 NotificationEntity.class
         ).setParameter("user", user)
          .getResultList();
@@ -131,7 +257,7 @@ public List<NotificationEntity> findUnreadByUserExcludingType(UserEntity user, N
      */
     public List<NotificationEntity> findUnreadByUser(UserEntity user) {
         List<NotificationEntity> notifications = em.createQuery(
-                "SELECT n FROM NotificationEntity n WHERE n.user = :user AND n.read = false ORDER BY n.createdAt DESC",
+                "SELECT n FROM NotificationEntity n WHERE n.user = :user AND n.read = false ORDER BY COALESCE(n.lastEventAt, n.createdAt) DESC",
                 NotificationEntity.class
         ).setParameter("user", user)
          .getResultList();
@@ -0,0 +1,94 @@
+package aor.projetofinal.dao;
+
+import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.entity.OrganisationCounterEntity;
+import aor.projetofinal.entity.enums.EvaluationStateEnum;
+import aor.projetofinal.entity.enums.OrganisationCounterEnum;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Data Access Object for the precomputed organisation-wide counters.
+ */
+@ApplicationScoped
+public class OrganisationCounterDao {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private static final Logger logger = LogManager.getLogger(OrganisationCounterDao.class);
+
+    /**
+     * Atomically adds a delta to a counter with a single UPDATE, so concurrent
+     * transactions never lose increments.
+     *
+     * @param counter The counter to update.
+     * @param delta   The amount to add (negative to decrement).
+     * @return true if the counter row exists and was updated, false otherwise.
+     */
+    public boolean increment(OrganisationCounterEnum counter, long delta) {
+        int updated = em.createQuery(
+                        "UPDATE OrganisationCounterEntity c SET c.value = c.value + :delta WHERE c.name = :name")
+                .setParameter("delta", delta)
+                .setParameter("name", counter)
+                .executeUpdate();
+
+        if (updated == 0) {
+            logger.warn("User: {} | IP: {} - Organisation counter {} not initialised; delta {} ignored until next rebuild.",
+                    RequestContext.getAuthor(), RequestContext.getIp(), counter, delta);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Recomputes every counter from the source tables and stores the results.
+     * The counter rows are locked (PESSIMISTIC_WRITE) before counting: increments from other
+     * transactions wait until the rebuild commits, and every increment committed before the lock
+     * is already visible to the counts, so none is lost or counted twice.
+     */
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+
+        // 1. Lock the existing counter rows, always in the same order
+        Map<OrganisationCounterEnum, OrganisationCounterEntity> counters = new EnumMap<>(OrganisationCounterEnum.class);
+        em.createQuery("SELECT c FROM OrganisationCounterEntity c ORDER BY c.name", OrganisationCounterEntity.class)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList()
+                .forEach(counter -> counters.put(counter.getName(), counter));
+
+        // 2. Count from the source tables
+        long totalUsers = em.createQuery("SELECT COUNT(u) FROM UserEntity u", Long.class)
+                .getSingleResult();
+        long pendingEvaluations = em.createQuery(
+                        "SELECT COUNT(e) FROM EvaluationEntity e WHERE e.state = :state", Long.class)
+                .setParameter("state", EvaluationStateEnum.IN_EVALUATION)
+                .getSingleResult();
+
+        // 3. Store the values (creating the rows on the first rebuild)
+        store(counters, OrganisationCounterEnum.TOTAL_USERS, totalUsers, now);
+        store(counters, OrganisationCounterEnum.PENDING_EVALUATIONS, pendingEvaluations, now);
+
+        logger.info("System | IP: {} - Organisation counters rebuilt (users: {}, pending evaluations: {}).",
+                RequestContext.getIp(), totalUsers, pendingEvaluations);
+    }
+
+    private void store(Map<OrganisationCounterEnum, OrganisationCounterEntity> counters,
+                       OrganisationCounterEnum name, long value, LocalDateTime now) {
+        OrganisationCounterEntity counter = counters.get(name);
+        if (counter == null) {
+            em.persist(new OrganisationCounterEntity(name, value, now));
+        } else {
+            counter.setValue(value);
+            counter.setRebuiltAt(now);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package aor.projetofinal.dao;
 
 
 import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.dto.FlatProfileDto;
 import aor.projetofinal.util.StringUtils;
 import aor.projetofinal.entity.ProfileEntity;
 import aor.projetofinal.entity.enums.UsualWorkPlaceEnum;
@@ -10,6 +11,7 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
+import jakarta.transaction.Transactional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -24,6 +26,13 @@ public class ProfileDao {
 
     private static final Logger logger = LogManager.getLogger(ProfileDao.class);
 
+    // Select clause of the profile listings: one FlatProfileDto per row, built by the query itself
+    private static final String FLAT_PROFILE_SELECT =
+            "SELECT new aor.projetofinal.dto.FlatProfileDto(" +
+            "u.id, p.firstName, p.lastName, u.email, p.usualWorkplace, " +
+            "m.id, mp.firstName, mp.lastName, CASE WHEN mp IS NOT NULL THEN m.email END, p.photograph, r.name) " +
+            "FROM ProfileEntity p JOIN p.user u LEFT JOIN u.manager m LEFT JOIN m.profile mp LEFT JOIN u.role r";
+
     /**
      * Counts the number of confirmed user profiles that match the given filters:
      * employee name, usual workplace, and manager's email.
@@ -42,8 +51,8 @@ public class ProfileDao {
         String normalizedEmployeeName = null;
 
         if (employeeName != null && !employeeName.isBlank()) {
-            normalizedEmployeeName = StringUtils.normalize(employeeName);
-            jpql.append(" AND CONCAT(' ', p.normalizedFirstName, ' ', p.normalizedLastName, ' ') LIKE CONCAT('% ', :employeeName, ' %')");
+            normalizedEmployeeName = StringUtils.toSearchNamePattern(employeeName);
+            jpql.append(" AND p.searchName LIKE :employeeName");
         }
 
         if (workplace != null) {
@@ -92,11 +101,11 @@ public class ProfileDao {
      * @param workplace Filter for usual workplace.
      * @param managerEmail Filter for manager's email.
      * @param page The page number to retrieve (1-based index).
-     * @return A list of ProfileEntity objects matching the filters for the requested page.
+     * @return The profiles matching the filters for the requested page, as flat DTOs read in a single query.
      */
-    public List<ProfileEntity> findProfilesWithFiltersPaginated(String employeeName, UsualWorkPlaceEnum workplace, String managerEmail, int page) {
+    public List<FlatProfileDto> findProfilesWithFiltersPaginated(String employeeName, UsualWorkPlaceEnum workplace, String managerEmail, int page) {
         try {
-            StringBuilder jpql = new StringBuilder("SELECT p FROM ProfileEntity p WHERE 1=1");
+            StringBuilder jpql = new StringBuilder(FLAT_PROFILE_SELECT).append(" WHERE 1=1");
 
             // Only confirmed users
             jpql.append(" AND p.user.confirmed = true");
@@ -104,8 +113,8 @@ public class ProfileDao {
             String normalizedEmployeeName = null;
 
             if (employeeName != null && !employeeName.isBlank()) {
-                normalizedEmployeeName = StringUtils.normalize(employeeName);
-                jpql.append(" AND CONCAT(' ', p.normalizedFirstName, ' ', p.normalizedLastName, ' ') LIKE CONCAT('% ', :employeeName, ' %')");
+                normalizedEmployeeName = StringUtils.toSearchNamePattern(employeeName);
+                jpql.append(" AND p.searchName LIKE :employeeName");
             }
 
             if (workplace != null) {
@@ -119,7 +128,7 @@ public class ProfileDao {
             // Order by name
             jpql.append(" ORDER BY p.firstName ASC, p.lastName ASC");
 
-            TypedQuery<ProfileEntity> query = em.createQuery(jpql.toString(), ProfileEntity.class);
+            TypedQuery<FlatProfileDto> query = em.createQuery(jpql.toString(), FlatProfileDto.class);
 
             if (employeeName != null && !employeeName.isBlank()) {
                 query.setParameter("employeeName", normalizedEmployeeName);
@@ -139,7 +148,7 @@ public class ProfileDao {
             query.setFirstResult(offset);
             query.setMaxResults(pageSize);
 
-            List<ProfileEntity> results = query.getResultList();
+            List<FlatProfileDto> results = query.getResultList();
 
             logger.info("User: {} | IP: {} - Retrieved {} profiles for page {} with filters [name='{}', workplace={}, managerEmail='{}'].",
                     RequestContext.getAuthor(), RequestContext.getIp(), results.size(), page, employeeName, workplace, managerEmail);
@@ -164,11 +173,11 @@ public class ProfileDao {
      * @param employeeName Filter for employee's name (first or last).
      * @param workplace Filter for usual workplace.
      * @param managerEmail Filter for manager's email.
-     * @return A list of ProfileEntity objects matching the filters.
+     * @return The profiles matching the filters, as flat DTOs read in a single query.
      */
-    public List<ProfileEntity> findProfilesWithFilters(String employeeName, UsualWorkPlaceEnum workplace, String managerEmail) {
+    public List<FlatProfileDto> findProfilesWithFilters(String employeeName, UsualWorkPlaceEnum workplace, String managerEmail) {
         try {
-            StringBuilder jpql = new StringBuilder("SELECT p FROM ProfileEntity p WHERE 1=1");
+            StringBuilder jpql = new StringBuilder(FLAT_PROFILE_SELECT).append(" WHERE 1=1");
 
             // Apenas utilizadores com conta confirmada
             jpql.append(" AND p.user.confirmed = true");
@@ -176,8 +185,8 @@ public class ProfileDao {
             String normalizedEmployeeName = null;
 
             if (employeeName != null && !employeeName.isBlank()) {
-                normalizedEmployeeName = StringUtils.normalize(employeeName);
-                jpql.append(" AND CONCAT(' ', p.normalizedFirstName, ' ', p.normalizedLastName, ' ') LIKE CONCAT('% ', :employeeName, ' %')");
+                normalizedEmployeeName = StringUtils.toSearchNamePattern(employeeName);
+                jpql.append(" AND p.searchName LIKE :employeeName");
             }
 
             if (workplace != null) {
@@ -191,7 +200,7 @@ public class ProfileDao {
             // Ordenar por nome
             jpql.append(" ORDER BY p.firstName ASC, p.lastName ASC");
 
-            TypedQuery<ProfileEntity> query = em.createQuery(jpql.toString(), ProfileEntity.class);
+            TypedQuery<FlatProfileDto> query = em.createQuery(jpql.toString(), FlatProfileDto.class);
 
             if (employeeName != null && !employeeName.isBlank()) {
                 query.setParameter("employeeName", normalizedEmployeeName);
@@ -205,7 +214,7 @@ public class ProfileDao {
                 query.setParameter("managerEmail", managerEmail);
             }
 
-            List<ProfileEntity> results = query.getResultList();
+            List<FlatProfileDto> results = query.getResultList();
 
             logger.info("User: {} | IP: {} - Retrieved {} profiles with filters [name='{}', workplace={}, managerEmail='{}'].",
                     RequestContext.getAuthor(), RequestContext.getIp(), results.size(), employeeName, workplace, managerEmail);
@@ -220,6 +229,26 @@ public class ProfileDao {
     }
 
 
+    /**
+     * Retrieves the profiles of every user managed by the given manager, ordered by first and last name.
+     *
+     * @param managerId The manager's user ID.
+     * @return The subordinates' profiles, as flat DTOs read in a single query.
+     */
+    public List<FlatProfileDto> findFlatProfilesManagedBy(int managerId) {
+        List<FlatProfileDto> results = em.createQuery(
+                        FLAT_PROFILE_SELECT + " WHERE m.id = :managerId ORDER BY p.firstName ASC, p.lastName ASC",
+                        FlatProfileDto.class)
+                .setParameter("managerId", managerId)
+                .getResultList();
+
+        logger.info("User: {} | IP: {} - Retrieved {} profiles managed by user ID {}.",
+                RequestContext.getAuthor(), RequestContext.getIp(), results.size(), managerId);
+
+        return results;
+    }
+
+
     /**
  * Finds the ProfileEntity associated with the given user ID, loading the User entity eagerly.
  * This ensures the profile always has access to userId, email, and role for DTO conversion.
@@ -243,4 +272,50 @@ public ProfileEntity findByUserId(int userId) {
         public void save(ProfileEntity profile) {
         em.merge(profile);
     }
+
+
+    /**
+     * Creates the indexes that serve the evaluation listing: an expression index matching its
+     * COALESCE(last_name, ''), COALESCE(first_name, '') sort keys, used by the keyset seek, and
+     * the trigram GIN index that serves the name filters (search_name LIKE '% term %').
+     * Runs in its own transaction so that a missing pg_trgm permission does not affect the caller;
+     * without the indexes the listing still works, only through a sequential scan and sort.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void createSearchNameIndex() {
+        em.createNativeQuery(
+                "CREATE INDEX IF NOT EXISTS idx_profiles_sort_name " +
+                        "ON profiles ((COALESCE(last_name, '')), (COALESCE(first_name, '')), user_id)").executeUpdate();
+        em.createNativeQuery("CREATE EXTENSION IF NOT EXISTS pg_trgm").executeUpdate();
+        em.createNativeQuery(
+                "CREATE INDEX IF NOT EXISTS idx_profiles_search_name_trgm " +
+                        "ON profiles USING gin (search_name gin_trgm_ops)").executeUpdate();
+    }
+
+
+    /**
+     * Fills the search name of profiles saved before the column existed, in batches.
+     *
+     * @param batchSize Number of profiles loaded and flushed at a time.
+     * @return The number of profiles updated.
+     */
+    @Transactional
+    public int backfillSearchNames(int batchSize) {
+        int updated = 0;
+        List<ProfileEntity> batch;
+        do {
+            batch = em.createQuery("SELECT p FROM ProfileEntity p WHERE p.searchName IS NULL", ProfileEntity.class)
+                    .setMaxResults(batchSize)
+                    .getResultList();
+            for (ProfileEntity profile : batch) {
+                profile.refreshSearchName();
+            }
+            em.flush();
+            em.clear();
+            updated += batch.size();
+        } while (batch.size() == batchSize);
+
+        logger.info("System | IP: {} - Backfilled search name of {} profiles.", RequestContext.getIp(), updated);
+        return updated;
+    }
 }
@@ -0,0 +1,46 @@
+package aor.projetofinal.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * DTO with the grade distributions of one evaluation cycle:
+ * overall, per evaluator (manager) and per usual workplace of the evaluated users.
+ */
+public class CycleAnalyticsDto implements Serializable {
+
+    private Long cycleId;
+    private String startDate;              // formatted: "2025-06-01 00:00"
+    private String endDate;                // formatted: "2025-08-31 23:59"
+    private boolean closed;                // closed cycles never change, so their analytics are final
+    private List<String> gradeLabels;      // description of each histogram bucket, in grade order
+    private GradeHistogramDto overall;
+    private List<GradeHistogramDto> byEvaluator;
+    private List<GradeHistogramDto> byWorkplace;
+
+    public CycleAnalyticsDto() {}
+
+    public Long getCycleId() { return cycleId; }
+    public void setCycleId(Long cycleId) { this.cycleId = cycleId; }
+
+    public String getStartDate() { return startDate; }
+    public void setStartDate(String startDate) { this.startDate = startDate; }
+
+    public String getEndDate() { return endDate; }
+    public void setEndDate(String endDate) { this.endDate = endDate; }
+
+    public boolean isClosed() { return closed; }
+    public void setClosed(boolean closed) { this.closed = closed; }
+
+    public List<String> getGradeLabels() { return gradeLabels; }
+    public void setGradeLabels(List<String> gradeLabels) { this.gradeLabels = gradeLabels; }
+
+    public GradeHistogramDto getOverall() { return overall; }
+    public void setOverall(GradeHistogramDto overall) { this.overall = overall; }
+
+    public List<GradeHistogramDto> getByEvaluator() { return byEvaluator; }
+    public void setByEvaluator(List<GradeHistogramDto> byEvaluator) { this.byEvaluator = byEvaluator; }
+
+    public List<GradeHistogramDto> getByWorkplace() { return byWorkplace; }
+    public void setByWorkplace(List<GradeHistogramDto> byWorkplace) { this.byWorkplace = byWorkplace; }
+}
@@ -0,0 +1,38 @@
+package aor.projetofinal.dto;
+
+/**
+ * DTO exposing the effectiveness metrics of the dashboard snapshot cache.
+ */
+public class DashboardCacheStatsDto {
+
+    private long hits;        // Requests served from a cached snapshot
+    private long misses;      // Requests that required computing the dashboard
+    private long evictions;   // Snapshots removed because the underlying data changed
+    private int size;         // Snapshots currently cached
+    private double hitRatio;  // hits / (hits + misses)
+
+    public DashboardCacheStatsDto() {}
+
+    public DashboardCacheStatsDto(long hits, long misses, long evictions, int size, double hitRatio) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+        this.hitRatio = hitRatio;
+    }
+
+    public long getHits() { return hits; }
+    public void setHits(long hits) { this.hits = hits; }
+
+    public long getMisses() { return misses; }
+    public void setMisses(long misses) { this.misses = misses; }
+
+    public long getEvictions() { return evictions; }
+    public void setEvictions(long evictions) { this.evictions = evictions; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public double getHitRatio() { return hitRatio; }
+    public void setHitRatio(double hitRatio) { this.hitRatio = hitRatio; }
+}
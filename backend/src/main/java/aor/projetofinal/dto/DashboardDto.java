@@ -21,6 +21,9 @@ public class DashboardDto {
     private int totalUsers;                    // Total users in the system
     private int totalPendingEvaluations;       // Total pending evaluations in the system
 
+    // --- Status ---
+    private boolean partial;                   // True if a section timed out and its fields are missing
+
 
     // --- Getters and Setters ---
 
@@ -50,5 +53,9 @@ public class DashboardDto {
 
     public int getTotalPendingEvaluations() { return totalPendingEvaluations; }
     public void setTotalPendingEvaluations(int totalPendingEvaluations) { this.totalPendingEvaluations = totalPendingEvaluations; }
+
+    // Status
+    public boolean isPartial() { return partial; }
+    public void setPartial(boolean partial) { this.partial = partial; }
 }
 
@@ -26,6 +26,9 @@ public class ErrorResponseDto {
 
     private Map<String, String> validationErrors;
 
+    // Only on 409 Conflict: the current version of the resource, to send when retrying
+    private Long currentVersion;
+
     public ErrorResponseDto(int status, String error, String message, String path, String ip, String author) {
         this.status = status;
         this.error = error;
@@ -88,4 +91,8 @@ public class ErrorResponseDto {
     public Map<String, String> getValidationErrors() { return validationErrors; }
 
     public void setValidationErrors(Map<String, String> validationErrors) { this.validationErrors = validationErrors; }
+
+    public Long getCurrentVersion() { return currentVersion; }
+
+    public void setCurrentVersion(Long currentVersion) { this.currentVersion = currentVersion; }
 }
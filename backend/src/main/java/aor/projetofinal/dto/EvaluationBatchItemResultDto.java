@@ -0,0 +1,55 @@
+package aor.projetofinal.dto;
+
+import java.io.Serializable;
+
+/**
+ * EvaluationBatchItemResultDto is the outcome of one item of a batch evaluation update.
+ * The status is the HTTP status the single update endpoint would have answered for the item
+ * (200 when saved), and the version is the new version of a saved evaluation.
+ */
+public class EvaluationBatchItemResultDto implements Serializable {
+    private String evaluatedEmail;
+    private int status;
+    private String message;
+    private Long version;
+
+    public EvaluationBatchItemResultDto() {}
+
+    public EvaluationBatchItemResultDto(String evaluatedEmail, int status, String message) {
+        this.evaluatedEmail = evaluatedEmail;
+        this.status = status;
+        this.message = message;
+    }
+
+    public String getEvaluatedEmail() {
+        return evaluatedEmail;
+    }
+
+    public void setEvaluatedEmail(String evaluatedEmail) {
+        this.evaluatedEmail = evaluatedEmail;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,41 @@
+package aor.projetofinal.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * EvaluationBatchResultDto is the response of a batch evaluation update:
+ * one result per submitted item, in the order they were submitted, and how many were saved.
+ */
+public class EvaluationBatchResultDto implements Serializable {
+    private List<EvaluationBatchItemResultDto> results = new ArrayList<>();
+    private int updatedCount;
+    private int failedCount;
+
+    public EvaluationBatchResultDto() {}
+
+    public List<EvaluationBatchItemResultDto> getResults() {
+        return results;
+    }
+
+    public void setResults(List<EvaluationBatchItemResultDto> results) {
+        this.results = results;
+    }
+
+    public int getUpdatedCount() {
+        return updatedCount;
+    }
+
+    public void setUpdatedCount(int updatedCount) {
+        this.updatedCount = updatedCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(int failedCount) {
+        this.failedCount = failedCount;
+    }
+}
@@ -0,0 +1,66 @@
+package aor.projetofinal.dto;
+
+import aor.projetofinal.entity.enums.EvaluationStateEnum;
+import aor.projetofinal.entity.enums.GradeEvaluationEnum;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * EvaluationCsvRowDto is a read-only projection of one evaluation CSV row.
+ * It is built directly by a JPQL constructor expression, so exports never load
+ * EvaluationEntity graphs. Values are formatted like FlatEvaluationDto.
+ */
+public class EvaluationCsvRowDto {
+
+    private static final DateTimeFormatter CYCLE_END_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final String evaluatedName;
+    private final String evaluatedEmail;
+    private final String state;
+    private final String grade;
+    private final String evaluatorName;
+    private final String cycleEndDate;
+
+    public EvaluationCsvRowDto(String evaluatedFirstName,
+                               String evaluatedLastName,
+                               String evaluatedEmail,
+                               EvaluationStateEnum state,
+                               GradeEvaluationEnum grade,
+                               String evaluatorFirstName,
+                               String evaluatorLastName,
+                               LocalDateTime cycleEndDate) {
+        this.evaluatedName = evaluatedFirstName + " " + evaluatedLastName;
+        this.evaluatedEmail = evaluatedEmail;
+        this.state = state != null ? state.name() : null;
+        this.grade = grade != null ? String.valueOf(grade.getGrade()) : null;
+        this.evaluatorName = (evaluatorFirstName != null || evaluatorLastName != null)
+                ? evaluatorFirstName + " " + evaluatorLastName
+                : null;
+        this.cycleEndDate = cycleEndDate != null ? cycleEndDate.format(CYCLE_END_FORMAT) : null;
+    }
+
+    public String getEvaluatedName() {
+        return evaluatedName;
+    }
+
+    public String getEvaluatedEmail() {
+        return evaluatedEmail;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public String getGrade() {
+        return grade;
+    }
+
+    public String getEvaluatorName() {
+        return evaluatorName;
+    }
+
+    public String getCycleEndDate() {
+        return cycleEndDate;
+    }
+}
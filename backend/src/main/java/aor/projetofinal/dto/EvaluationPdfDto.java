@@ -0,0 +1,101 @@
+package aor.projetofinal.dto;
+
+import aor.projetofinal.entity.EvaluationEntity;
+import aor.projetofinal.entity.ProfileEntity;
+import aor.projetofinal.entity.UserEntity;
+import aor.projetofinal.entity.enums.GradeEvaluationEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * EvaluationPdfDto holds exactly the values printed in an evaluation PDF.
+ * Bulk exports build it directly with a JPQL constructor expression, so no entity graph is loaded;
+ * single exports convert an already loaded EvaluationEntity with {@link #from(EvaluationEntity)}.
+ */
+public class EvaluationPdfDto {
+
+    private final Long evaluationId;
+    private final String evaluatedName;
+    private final String evaluatedEmail;
+    private final Long cycleId;
+    private final LocalDateTime cycleEndDate;
+    private final GradeEvaluationEnum grade;
+    private final String evaluatorName;   // null when the evaluator has no profile
+    private final String feedback;
+
+    public EvaluationPdfDto(Long evaluationId,
+                            String evaluatedFirstName,
+                            String evaluatedLastName,
+                            String evaluatedEmail,
+                            Long cycleId,
+                            LocalDateTime cycleEndDate,
+                            GradeEvaluationEnum grade,
+                            String evaluatorFirstName,
+                            String evaluatorLastName,
+                            String feedback) {
+        this.evaluationId = evaluationId;
+        this.evaluatedName = evaluatedFirstName + " " + evaluatedLastName;
+        this.evaluatedEmail = evaluatedEmail;
+        this.cycleId = cycleId;
+        this.cycleEndDate = cycleEndDate;
+        this.grade = grade;
+        this.evaluatorName = (evaluatorFirstName != null || evaluatorLastName != null)
+                ? evaluatorFirstName + " " + evaluatorLastName
+                : null;
+        this.feedback = feedback;
+    }
+
+    /**
+     * Extracts the printed values of a loaded evaluation (cycle, evaluated and evaluator profiles).
+     *
+     * @param evaluation the evaluation
+     * @return the PDF values
+     */
+    public static EvaluationPdfDto from(EvaluationEntity evaluation) {
+        UserEntity evaluated = evaluation.getEvaluated();
+        ProfileEntity evaluatorProfile = evaluation.getEvaluator() != null ? evaluation.getEvaluator().getProfile() : null;
+        return new EvaluationPdfDto(
+                evaluation.getId(),
+                evaluated.getProfile().getFirstName(),
+                evaluated.getProfile().getLastName(),
+                evaluated.getEmail(),
+                evaluation.getCycle().getId(),
+                evaluation.getCycle().getEndDate(),
+                evaluation.getGrade(),
+                evaluatorProfile != null ? evaluatorProfile.getFirstName() : null,
+                evaluatorProfile != null ? evaluatorProfile.getLastName() : null,
+                evaluation.getFeedback());
+    }
+
+    public Long getEvaluationId() {
+        return evaluationId;
+    }
+
+    public String getEvaluatedName() {
+        return evaluatedName;
+    }
+
+    public String getEvaluatedEmail() {
+        return evaluatedEmail;
+    }
+
+    public Long getCycleId() {
+        return cycleId;
+    }
+
+    public LocalDateTime getCycleEndDate() {
+        return cycleEndDate;
+    }
+
+    public GradeEvaluationEnum getGrade() {
+        return grade;
+    }
+
+    public String getEvaluatorName() {
+        return evaluatorName;
+    }
+
+    public String getFeedback() {
+        return feedback;
+    }
+}
@@ -0,0 +1,58 @@
+package aor.projetofinal.dto;
+
+/**
+ * DTO exposing the status and progress of a background export job.
+ */
+public class ExportJobDto {
+
+    private String jobId;
+    private String type;             // e.g. "COURSES_CSV"
+    private String status;           // QUEUED, RUNNING, COMPLETED, FAILED or EXPIRED
+    private int progress;            // percentage written (0-100)
+    private long processedItems;
+    private Long totalItems;         // null while unknown
+    private String fileName;         // name of the downloaded file
+    private Long fileSize;           // in bytes, once completed
+    private String errorMessage;     // only for failed jobs
+    private String createdAt;        // formatted: "2025-06-01 10:15"
+    private String finishedAt;
+    private String expiresAt;        // the result can be downloaded until this instant
+
+    public ExportJobDto() {}
+
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public int getProgress() { return progress; }
+    public void setProgress(int progress) { this.progress = progress; }
+
+    public long getProcessedItems() { return processedItems; }
+    public void setProcessedItems(long processedItems) { this.processedItems = processedItems; }
+
+    public Long getTotalItems() { return totalItems; }
+    public void setTotalItems(Long totalItems) { this.totalItems = totalItems; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public Long getFileSize() { return fileSize; }
+    public void setFileSize(Long fileSize) { this.fileSize = fileSize; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public String getCreatedAt() { return createdAt; }
+    public void setCreatedAt(String createdAt) { this.createdAt = createdAt; }
+
+    public String getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(String finishedAt) { this.finishedAt = finishedAt; }
+
+    public String getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(String expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -0,0 +1,33 @@
+package aor.projetofinal.dto;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DTO used to submit a background export job.
+ *
+ * The parameters are the same filters accepted by the synchronous export endpoint of the type:
+ * - EVALUATIONS_CSV: name, state, grade, cycleEnd (yyyy-MM-dd)
+ * - CYCLE_PDF_ARCHIVE: cycleId
+ * - USERS_CSV: profileName, usualWorkplace, managerEmail
+ * - COURSES_CSV: name, minTimeSpan, maxTimeSpan, language, category, active
+ * - USER_COURSES_CSV: userId, year (optional)
+ */
+public class ExportJobRequestDto {
+
+    private String type;                                    // an ExportJobTypeEnum name, e.g. "COURSES_CSV"
+    private Map<String, String> parameters = new HashMap<>();
+
+    public ExportJobRequestDto() {}
+
+    public ExportJobRequestDto(String type, Map<String, String> parameters) {
+        this.type = type;
+        this.parameters = parameters;
+    }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Map<String, String> getParameters() { return parameters; }
+    public void setParameters(Map<String, String> parameters) { this.parameters = parameters; }
+}
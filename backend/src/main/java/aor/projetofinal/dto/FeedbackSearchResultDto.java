@@ -0,0 +1,99 @@
+package aor.projetofinal.dto;
+
+import java.io.Serializable;
+
+/**
+ * FeedbackSearchResultDto is one evaluation whose feedback matched a full-text search.
+ * The snippet holds the best fragments of the feedback, with each matched word
+ * wrapped in HIGHLIGHT_START and HIGHLIGHT_END.
+ */
+public class FeedbackSearchResultDto implements Serializable {
+
+    // Markers around matched words in the snippet (plain text, so clients never have to render feedback as HTML)
+    public static final String HIGHLIGHT_START = "[[";
+    public static final String HIGHLIGHT_END = "]]";
+
+    private Long evaluationId;
+    private Long evaluatedId;
+    private String evaluatedName;
+    private String state;          // e.g. "CLOSED"
+    private String grade;          // e.g. "3"
+    private Long cycleId;
+    private String cycleEndDate;   // formatted: "2025-08-31 23:59"
+    private double rank;           // higher is more relevant
+    private String snippet;
+
+    public FeedbackSearchResultDto() {}
+
+    public Long getEvaluationId() {
+        return evaluationId;
+    }
+
+    public void setEvaluationId(Long evaluationId) {
+        this.evaluationId = evaluationId;
+    }
+
+    public Long getEvaluatedId() {
+        return evaluatedId;
+    }
+
+    public void setEvaluatedId(Long evaluatedId) {
+        this.evaluatedId = evaluatedId;
+    }
+
+    public String getEvaluatedName() {
+        return evaluatedName;
+    }
+
+    public void setEvaluatedName(String evaluatedName) {
+        this.evaluatedName = evaluatedName;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getGrade() {
+        return grade;
+    }
+
+    public void setGrade(String grade) {
+        this.grade = grade;
+    }
+
+    public Long getCycleId() {
+        return cycleId;
+    }
+
+    public void setCycleId(Long cycleId) {
+        this.cycleId = cycleId;
+    }
+
+    public String getCycleEndDate() {
+        return cycleEndDate;
+    }
+
+    public void setCycleEndDate(String cycleEndDate) {
+        this.cycleEndDate = cycleEndDate;
+    }
+
+    public double getRank() {
+        return rank;
+    }
+
+    public void setRank(double rank) {
+        this.rank = rank;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+}
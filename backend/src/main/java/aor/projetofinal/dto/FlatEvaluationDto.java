@@ -1,10 +1,18 @@
 package aor.projetofinal.dto;
 
+import aor.projetofinal.entity.enums.EvaluationStateEnum;
+import aor.projetofinal.entity.enums.GradeEvaluationEnum;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 /**
  * FlatEvaluationDto is a lightweight DTO to list evaluations in REST responses.
  * It avoids exposing complex entity or enum types.
+ * The evaluation listing builds it directly with a JPQL constructor expression, so a page is read
+ * with one query and no evaluation, user, profile or cycle entity is loaded.
  */
 public class FlatEvaluationDto implements Serializable {
     private Long evaluationId;
@@ -16,9 +24,65 @@ public class FlatEvaluationDto implements Serializable {
     private String grade;          // e.g. "3" or "Contribuição conforme o esperado"
     private String evaluatorName;
     private String cycleEndDate;   // formatted: "2025-08-31 23:59"
+    private Long version;          // sent back on updates to detect concurrent changes
+
+    // Listing position and total, read by the listing query but not sent to the client
+    private String sortLastName;
+    private String sortFirstName;
+    private Long totalCount;
 
     public FlatEvaluationDto() {}
 
+    public FlatEvaluationDto(Long evaluationId,
+                             int evaluatedId,
+                             String evaluatedEmail,
+                             String evaluatedFirstName,
+                             String evaluatedLastName,
+                             String photograph,
+                             EvaluationStateEnum state,
+                             GradeEvaluationEnum grade,
+                             String evaluatorFirstName,
+                             String evaluatorLastName,
+                             LocalDateTime cycleEndDate,
+                             long version) {
+        this.evaluationId = evaluationId;
+        this.evaluatedId = (long) evaluatedId;
+        this.evaluatedEmail = evaluatedEmail;
+        this.evaluatedName = (evaluatedFirstName != null || evaluatedLastName != null)
+                ? evaluatedFirstName + " " + evaluatedLastName
+                : null;
+        this.photograph = photograph;
+        this.state = state != null ? state.name() : null;
+        this.grade = grade != null ? String.valueOf(grade.getGrade()) : null;
+        this.evaluatorName = (evaluatorFirstName != null || evaluatorLastName != null)
+                ? evaluatorFirstName + " " + evaluatorLastName
+                : null;
+        this.cycleEndDate = cycleEndDate != null
+                ? cycleEndDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))
+                : null;
+        this.version = version;
+        this.sortLastName = evaluatedLastName != null ? evaluatedLastName : "";
+        this.sortFirstName = evaluatedFirstName != null ? evaluatedFirstName : "";
+    }
+
+    public FlatEvaluationDto(Long evaluationId,
+                             int evaluatedId,
+                             String evaluatedEmail,
+                             String evaluatedFirstName,
+                             String evaluatedLastName,
+                             String photograph,
+                             EvaluationStateEnum state,
+                             GradeEvaluationEnum grade,
+                             String evaluatorFirstName,
+                             String evaluatorLastName,
+                             LocalDateTime cycleEndDate,
+                             long version,
+                             Long totalCount) {
+        this(evaluationId, evaluatedId, evaluatedEmail, evaluatedFirstName, evaluatedLastName, photograph,
+                state, grade, evaluatorFirstName, evaluatorLastName, cycleEndDate, version);
+        this.totalCount = totalCount;
+    }
+
     // Getters and setters
 
     public Long getEvaluationId() {
@@ -92,4 +156,27 @@ public class FlatEvaluationDto implements Serializable {
     public void setCycleEndDate(String cycleEndDate) {
         this.cycleEndDate = cycleEndDate;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @JsonIgnore
+    public String getSortLastName() {
+        return sortLastName;
+    }
+
+    @JsonIgnore
+    public String getSortFirstName() {
+        return sortFirstName;
+    }
+
+    @JsonIgnore
+    public Long getTotalCount() {
+        return totalCount;
+    }
 }
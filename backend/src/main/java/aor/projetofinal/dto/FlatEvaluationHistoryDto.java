@@ -1,6 +1,9 @@
 package aor.projetofinal.dto;
 
+import aor.projetofinal.entity.enums.GradeEvaluationEnum;
+
 import java.io.Serializable;
+import java.time.LocalDateTime;
 
 /**
  * FlatEvaluationHistoryDto represents a single closed evaluation record for historical listing.
@@ -23,6 +26,14 @@ public class FlatEvaluationHistoryDto implements Serializable {
         this.grade = grade;
     }
 
+    // Used by the JPQL constructor expression over the evaluation_history table
+    public FlatEvaluationHistoryDto(Long evaluationId, Long cycleId, LocalDateTime evaluationDate, GradeEvaluationEnum grade) {
+        this.evaluationId = evaluationId;
+        this.cycleNumber = cycleId.intValue();
+        this.evaluationDate = evaluationDate != null ? evaluationDate.toLocalDate().toString() : null;
+        this.grade = grade.getGrade();
+    }
+
     public Long getEvaluationId() {
         return evaluationId;
     }
@@ -1,5 +1,7 @@
 package aor.projetofinal.dto;
 
+import aor.projetofinal.entity.enums.UsualWorkPlaceEnum;
+
 import java.io.Serializable;
 
 /**
@@ -97,6 +99,57 @@ public class FlatProfileDto implements Serializable {
         this.role = role;
     }
 
+    /**
+     * Projection constructor, used by JPQL constructor expressions so that profile listings
+     * are read with one query, without loading profile, user, manager or role entities.
+     * Values are formatted like JavaConversionUtil.convertProfileEntityToFlatProfileDto.
+     *
+     * @param userId           Unique user identifier.
+     * @param firstName        User's first name.
+     * @param lastName         User's last name.
+     * @param email            User's email address.
+     * @param usualWorkplace   User's usual workplace (nullable).
+     * @param managerId        Unique ID of the user's manager (nullable).
+     * @param managerFirstName Manager's first name (nullable).
+     * @param managerLastName  Manager's last name (nullable).
+     * @param managerEmail     Manager's email, shown when the manager's profile has no name
+     *                         (null when the manager has no profile, which shows no name at all).
+     * @param photograph       URL or filename of the user's profile photo.
+     * @param role             User's role name (nullable, defaults to "USER").
+     */
+    public FlatProfileDto(
+        int userId,
+        String firstName,
+        String lastName,
+        String email,
+        UsualWorkPlaceEnum usualWorkplace,
+        Integer managerId,
+        String managerFirstName,
+        String managerLastName,
+        String managerEmail,
+        String photograph,
+        String role
+    ) {
+        this.userId = (long) userId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.usualWorkplace = usualWorkplace != null ? usualWorkplace.name() : "";
+        this.managerId = managerId != null ? Long.valueOf(managerId) : null;
+        this.photograph = photograph;
+        this.role = role != null ? role : "USER";
+
+        String name = "";
+        if (managerId != null) {
+            name = ((managerFirstName != null ? managerFirstName : "") + " "
+                    + (managerLastName != null ? managerLastName : "")).trim();
+            if (name.isEmpty() && managerEmail != null) {
+                name = managerEmail;
+            }
+        }
+        this.managerName = name;
+    }
+
     // Getters and setters
 
     public Long getUserId() { return userId; }
@@ -0,0 +1,56 @@
+package aor.projetofinal.dto;
+
+import aor.projetofinal.entity.enums.GradeEvaluationEnum;
+import aor.projetofinal.entity.enums.UsualWorkPlaceEnum;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * GradeCountRowDto is one row of the per-cycle grade aggregation:
+ * the number of evaluations of one evaluator, workplace and grade.
+ * It is built directly by a JPQL constructor expression over a GROUP BY query.
+ */
+public class GradeCountRowDto {
+
+    private final Integer evaluatorId;
+    private final String evaluatorName;
+    private final UsualWorkPlaceEnum workplace;
+    private final GradeEvaluationEnum grade;
+    private final long count;
+
+    public GradeCountRowDto(Integer evaluatorId,
+                            String evaluatorFirstName,
+                            String evaluatorLastName,
+                            UsualWorkPlaceEnum workplace,
+                            GradeEvaluationEnum grade,
+                            Long count) {
+        this.evaluatorId = evaluatorId;
+        this.evaluatorName = (evaluatorFirstName != null || evaluatorLastName != null)
+                ? String.join(" ", Stream.of(evaluatorFirstName, evaluatorLastName).filter(Objects::nonNull).toList())
+                : null;
+        this.workplace = workplace;
+        this.grade = grade;
+        this.count = count != null ? count : 0;
+    }
+
+    public Integer getEvaluatorId() {
+        return evaluatorId;
+    }
+
+    public String getEvaluatorName() {
+        return evaluatorName;
+    }
+
+    public UsualWorkPlaceEnum getWorkplace() {
+        return workplace;
+    }
+
+    public GradeEvaluationEnum getGrade() {
+        return grade;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
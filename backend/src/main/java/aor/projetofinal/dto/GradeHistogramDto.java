@@ -0,0 +1,81 @@
+package aor.projetofinal.dto;
+
+import aor.projetofinal.entity.enums.GradeEvaluationEnum;
+
+import java.io.Serializable;
+
+/**
+ * GradeHistogramDto is a compact grade distribution for one group of evaluations
+ * (a whole cycle, one evaluator or one workplace).
+ * counts[i] holds the evaluations with grade i + 1, following GradeEvaluationEnum.
+ */
+public class GradeHistogramDto implements Serializable {
+
+    private String key;        // e.g. evaluator ID or "LISBOA"; null for the whole cycle
+    private String label;      // e.g. evaluator name or workplace
+    private long[] counts = new long[GradeEvaluationEnum.values().length];
+    private long ungraded;     // evaluations without a grade yet
+    private long total;
+
+    public GradeHistogramDto() {}
+
+    public GradeHistogramDto(String key, String label) {
+        this.key = key;
+        this.label = label;
+    }
+
+    /**
+     * Adds evaluations to the bucket of the given grade, or to ungraded when it is null.
+     *
+     * @param grade the grade of the evaluations, or null
+     * @param count the number of evaluations
+     */
+    public void add(GradeEvaluationEnum grade, long count) {
+        if (grade == null) {
+            ungraded += count;
+        } else {
+            counts[grade.getGrade() - 1] += count;
+        }
+        total += count;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public long[] getCounts() {
+        return counts;
+    }
+
+    public void setCounts(long[] counts) {
+        this.counts = counts;
+    }
+
+    public long getUngraded() {
+        return ungraded;
+    }
+
+    public void setUngraded(long ungraded) {
+        this.ungraded = ungraded;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+}
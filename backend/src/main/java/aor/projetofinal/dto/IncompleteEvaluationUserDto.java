@@ -0,0 +1,66 @@
+package aor.projetofinal.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * IncompleteEvaluationUserDto is one user whose evaluation in the active cycle is not closed yet,
+ * together with the manager responsible for it.
+ * It is built directly by a JPQL constructor expression, without loading any entity.
+ * The manager fields are used to group users by manager and are not serialized here.
+ */
+public class IncompleteEvaluationUserDto {
+
+    private final Integer id;
+    private final String name;
+    private final String email;
+    private final Integer managerId;
+    private final String managerName;
+    private final String managerEmail;
+
+    public IncompleteEvaluationUserDto(Integer id,
+                                       String firstName,
+                                       String lastName,
+                                       String email,
+                                       Integer managerId,
+                                       String managerFirstName,
+                                       String managerLastName,
+                                       String managerEmail) {
+        this.id = id;
+        this.name = fullName(firstName, lastName);
+        this.email = email;
+        this.managerId = managerId;
+        this.managerName = fullName(managerFirstName, managerLastName);
+        this.managerEmail = managerEmail;
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        return (firstName != null || lastName != null) ? firstName + " " + lastName : null;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @JsonIgnore
+    public Integer getManagerId() {
+        return managerId;
+    }
+
+    @JsonIgnore
+    public String getManagerName() {
+        return managerName;
+    }
+
+    @JsonIgnore
+    public String getManagerEmail() {
+        return managerEmail;
+    }
+}
@@ -0,0 +1,55 @@
+package aor.projetofinal.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO grouping, under their manager (evaluator), the users whose evaluations are not closed yet.
+ * The manager fields are null for evaluations without an evaluator.
+ */
+public class ManagerIncompleteEvaluationsDto {
+    private Integer managerId;
+    private String managerName;
+    private String managerEmail;
+    private List<IncompleteEvaluationUserDto> users = new ArrayList<>();
+
+    public ManagerIncompleteEvaluationsDto() {}
+
+    public ManagerIncompleteEvaluationsDto(Integer managerId, String managerName, String managerEmail) {
+        this.managerId = managerId;
+        this.managerName = managerName;
+        this.managerEmail = managerEmail;
+    }
+
+    public Integer getManagerId() {
+        return managerId;
+    }
+
+    public void setManagerId(Integer managerId) {
+        this.managerId = managerId;
+    }
+
+    public String getManagerName() {
+        return managerName;
+    }
+
+    public void setManagerName(String managerName) {
+        this.managerName = managerName;
+    }
+
+    public String getManagerEmail() {
+        return managerEmail;
+    }
+
+    public void setManagerEmail(String managerEmail) {
+        this.managerEmail = managerEmail;
+    }
+
+    public List<IncompleteEvaluationUserDto> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<IncompleteEvaluationUserDto> users) {
+        this.users = users;
+    }
+}
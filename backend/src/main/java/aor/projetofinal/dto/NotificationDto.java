@@ -12,6 +12,9 @@ public class NotificationDto {
     private NotificationEnum type;
     private String createdAt;
     private Boolean read;
+    private Integer senderId;
+    private Integer count;
+    private String lastEventAt;
 
     public NotificationDto() {}
 
@@ -32,5 +35,14 @@ public class NotificationDto {
 
     public Boolean getRead() { return read; }
     public void setRead(Boolean read) { this.read = read; }
+
+    public Integer getSenderId() { return senderId; }
+    public void setSenderId(Integer senderId) { this.senderId = senderId; }
+
+    public Integer getCount() { return count; }
+    public void setCount(Integer count) { this.count = count; }
+
+    public String getLastEventAt() { return lastEventAt; }
+    public void setLastEventAt(String lastEventAt) { this.lastEventAt = lastEventAt; }
 }
 
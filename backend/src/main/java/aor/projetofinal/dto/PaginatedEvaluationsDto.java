@@ -17,6 +17,7 @@ public class PaginatedEvaluationsDto implements Serializable {
     private long totalCount;
     private int totalPages;
     private int currentPage;
+    private String nextCursor;   // opaque seek cursor for the next page, null on the last page
 
     public PaginatedEvaluationsDto() {
     }
@@ -63,4 +64,13 @@ public class PaginatedEvaluationsDto implements Serializable {
     public void setCurrentPage(int currentPage) {
         this.currentPage = currentPage;
     }
+
+    @XmlElement
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
@@ -0,0 +1,66 @@
+package aor.projetofinal.dto;
+
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * PaginatedFeedbackSearchDto is a container DTO for paginated feedback search responses.
+ * Results are ordered by relevance, most relevant first.
+ */
+@XmlRootElement
+public class PaginatedFeedbackSearchDto implements Serializable {
+
+    private List<FeedbackSearchResultDto> results;
+    private long totalCount;
+    private int totalPages;
+    private int currentPage;
+
+    public PaginatedFeedbackSearchDto() {
+    }
+
+    public PaginatedFeedbackSearchDto(List<FeedbackSearchResultDto> results, long totalCount, int totalPages, int currentPage) {
+        this.results = results;
+        this.totalCount = totalCount;
+        this.totalPages = totalPages;
+        this.currentPage = currentPage;
+    }
+
+    @XmlElement
+    public List<FeedbackSearchResultDto> getResults() {
+        return results;
+    }
+
+    public void setResults(List<FeedbackSearchResultDto> results) {
+        this.results = results;
+    }
+
+    @XmlElement
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(long totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    @XmlElement
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+
+    @XmlElement
+    public int getCurrentPage() {
+        return currentPage;
+    }
+
+    public void setCurrentPage(int currentPage) {
+        this.currentPage = currentPage;
+    }
+}
@@ -21,6 +21,8 @@ public class UpdateEvaluationDto {
     private String evaluatorName;
     private String evaluatorEmail;
 
+    private Long version;            // evaluation version read by the client; null skips the check
+
 
 
     public int getEvaluatedId() {
@@ -61,4 +63,7 @@ public class UpdateEvaluationDto {
     public String getEvaluatorEmail() { return evaluatorEmail; }
     public void setEvaluatorEmail(String evaluatorEmail) { this.evaluatorEmail = evaluatorEmail; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
 }
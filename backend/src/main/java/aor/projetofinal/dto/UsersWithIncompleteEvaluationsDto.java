@@ -1,15 +1,18 @@
 package aor.projetofinal.dto;
 
+import java.util.ArrayList;
 import java.util.List;
 
 
 /**
  * DTO representing users who have not yet completed their evaluations.
- * Includes the total number of such users and the list itself.
+ * Includes the total number of such users and one page of them, grouped by manager.
  */
 public class UsersWithIncompleteEvaluationsDto {
     private int totalUsersWithIncompleteEvaluations;
-    private List<UserDto> users;
+    private List<ManagerIncompleteEvaluationsDto> managers = new ArrayList<>();
+    private int page;
+    private int pageSize;
 
     public int getTotalUsersWithIncompleteEvaluations() {
         return totalUsersWithIncompleteEvaluations;
@@ -19,11 +22,27 @@ public class UsersWithIncompleteEvaluationsDto {
         this.totalUsersWithIncompleteEvaluations = totalUsersWithIncompleteEvaluations;
     }
 
-    public List<UserDto> getUsers() {
-        return users;
+    public List<ManagerIncompleteEvaluationsDto> getManagers() {
+        return managers;
     }
 
-    public void setUsers(List<UserDto> users) {
-        this.users = users;
+    public void setManagers(List<ManagerIncompleteEvaluationsDto> managers) {
+        this.managers = managers;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
     }
 }
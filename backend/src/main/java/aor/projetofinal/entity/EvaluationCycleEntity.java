@@ -29,6 +29,24 @@ public class EvaluationCycleEntity implements Serializable {
     @Column(name = "is_active", nullable = false)
     private boolean active;
 
+    // Contadores de avaliações por estado, mantidos por UPDATEs atómicos (EvaluationCycleDao); decidem o fecho do ciclo
+    @Column(name = "in_evaluation_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "INTEGER DEFAULT 0")
+    private int inEvaluationCount;
+
+    @Column(name = "evaluated_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "INTEGER DEFAULT 0")
+    private int evaluatedCount;
+
+    @Column(name = "closed_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "INTEGER DEFAULT 0")
+    private int closedCount;
+
+    // Versão para controlo de concorrência otimista (os contadores acima não a incrementam)
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long version;
+
     // Relação de One to Many com evaluations
     @OneToMany(mappedBy = "cycle")
     private List<EvaluationEntity> evaluationEntities;
@@ -49,6 +67,13 @@ public class EvaluationCycleEntity implements Serializable {
     public boolean isActive() { return active; }
     public void setActive(boolean active) { this.active = active; }
 
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public int getInEvaluationCount() { return inEvaluationCount; }
+    public int getEvaluatedCount() { return evaluatedCount; }
+    public int getClosedCount() { return closedCount; }
+
     public List<EvaluationEntity> getEvaluations() { return evaluationEntities; }
     public void setEvaluations(List<EvaluationEntity> evaluationEntities) { this.evaluationEntities = evaluationEntities; }
 
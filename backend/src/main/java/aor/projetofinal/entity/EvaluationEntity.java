@@ -13,19 +13,68 @@ import java.time.LocalDateTime;
  * Each user can only be evaluated once per cycle, enforced by a unique constraint.
  */
 @Entity
+// fetch plans for loading a single evaluation; none of them touches cycle.evaluationEntities,
+// so the cost of loading one evaluation does not depend on the size of its cycle
+@NamedEntityGraph(
+        name = EvaluationEntity.GRAPH_EXPORT,
+        attributeNodes = {
+                @NamedAttributeNode("cycle"),
+                @NamedAttributeNode(value = "evaluated", subgraph = "evaluated"),
+                @NamedAttributeNode(value = "evaluator", subgraph = "evaluator")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "evaluated", attributeNodes = {
+                        @NamedAttributeNode("profile"),
+                        @NamedAttributeNode("manager"),
+                        @NamedAttributeNode("role")
+                }),
+                @NamedSubgraph(name = "evaluator", attributeNodes = {
+                        @NamedAttributeNode("profile")
+                })
+        }
+)
+@NamedEntityGraph(
+        name = EvaluationEntity.GRAPH_CLOSE,
+        attributeNodes = {
+                @NamedAttributeNode("cycle"),
+                @NamedAttributeNode("evaluated"),
+                @NamedAttributeNode("evaluator")
+        }
+)
+@NamedEntityGraph(
+        name = EvaluationEntity.GRAPH_EDIT,
+        attributeNodes = {
+                @NamedAttributeNode("cycle"),
+                @NamedAttributeNode(value = "evaluated", subgraph = "evaluated"),
+                @NamedAttributeNode("evaluator")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "evaluated", attributeNodes = {
+                        @NamedAttributeNode("manager")
+                })
+        }
+)
 //the unique constraint ensures that a user can only be evaluated once per cycle, so that
 // tehre cannot exist two lines at this table with the same combination of cycle_id and evaluated_user_id
 //cosntrains works as a validation at the database level
+// (archived is part of it because the table is partitioned by archived, and PostgreSQL requires
+// unique constraints to include the partition key; a whole cycle is archived at once, so it changes nothing)
 @Table(
         name = "evaluations",
         uniqueConstraints = {
-                @UniqueConstraint(columnNames = {"cycle_id", "evaluated_user_id"})
+                @UniqueConstraint(name = "uk_evaluations_cycle_evaluated",
+                        columnNames = {"cycle_id", "evaluated_user_id", "archived"})
         }
 )
 public class EvaluationEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    // Names of the entity graphs above (PDF export, closing, reopening/editing)
+    public static final String GRAPH_EXPORT = "Evaluation.export";
+    public static final String GRAPH_CLOSE = "Evaluation.close";
+    public static final String GRAPH_EDIT = "Evaluation.edit";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -60,6 +109,16 @@ public class EvaluationEntity implements Serializable {
     @JoinColumn(name = "evaluator_user_id", nullable = false)
     private UserEntity evaluator;
 
+    // Versão para controlo de concorrência otimista: cada alteração incrementa-a
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long version;
+
+    // Partition key: false while the cycle is in use, true once a closed cycle has been moved to the
+    // cold partition (see EvaluationDao.archiveCycle). Only ever changed by bulk updates.
+    @Column(name = "archived", nullable = false, updatable = false, columnDefinition = "BOOLEAN DEFAULT false")
+    private boolean archived;
+
     // Construtor vazio
     public EvaluationEntity() {
     }
@@ -129,6 +188,22 @@ public class EvaluationEntity implements Serializable {
         this.evaluator = evaluator;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public boolean isArchived() {
+        return archived;
+    }
+
+    public void setArchived(boolean archived) {
+        this.archived = archived;
+    }
+
     // equals
     @Override
     public boolean equals(Object o) {
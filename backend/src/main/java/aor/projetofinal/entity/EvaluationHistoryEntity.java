@@ -0,0 +1,71 @@
+package aor.projetofinal.entity;
+
+import aor.projetofinal.entity.enums.GradeEvaluationEnum;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Read-only projection of a closed evaluation, used by the evaluation history listing.
+ *
+ * Rows are written once, with a single INSERT ... SELECT, when their cycle closes
+ * (see EvaluationHistoryDao). Closed evaluations never change afterwards, so the table
+ * holds everything the history needs without joining evaluations, cycles or users,
+ * and each history page is an index scan on (evaluated_user_id, cycle_end_date).
+ */
+@Entity
+@Table(
+        name = "evaluation_history",
+        indexes = {
+                @Index(name = "idx_evaluation_history_user_cycle_end", columnList = "evaluated_user_id, cycle_end_date")
+        }
+)
+public class EvaluationHistoryEntity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // Same ID as the evaluation it was copied from
+    @Id
+    @Column(name = "evaluation_id")
+    private Long evaluationId;
+
+    @Column(name = "evaluated_user_id", nullable = false)
+    private int evaluatedUserId;
+
+    @Column(name = "cycle_id", nullable = false)
+    private Long cycleId;
+
+    @Column(name = "cycle_end_date", nullable = false)
+    private LocalDateTime cycleEndDate;
+
+    @Column(name = "evaluation_date")
+    private LocalDateTime evaluationDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "grade", nullable = false)
+    private GradeEvaluationEnum grade;
+
+    public EvaluationHistoryEntity() {}
+
+    public Long getEvaluationId() { return evaluationId; }
+    public int getEvaluatedUserId() { return evaluatedUserId; }
+    public Long getCycleId() { return cycleId; }
+    public LocalDateTime getCycleEndDate() { return cycleEndDate; }
+    public LocalDateTime getEvaluationDate() { return evaluationDate; }
+    public GradeEvaluationEnum getGrade() { return grade; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EvaluationHistoryEntity)) return false;
+        EvaluationHistoryEntity that = (EvaluationHistoryEntity) o;
+        return evaluationId != null && evaluationId.equals(that.evaluationId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(evaluationId);
+    }
+}
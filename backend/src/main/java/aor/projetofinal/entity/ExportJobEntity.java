@@ -0,0 +1,220 @@
+package aor.projetofinal.entity;
+
+import aor.projetofinal.entity.enums.ExportJobStatusEnum;
+import aor.projetofinal.entity.enums.ExportJobTypeEnum;
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entity representing a background export job.
+ *
+ * A job is submitted by a user, waits in the export worker pool queue, runs on one of its
+ * workers and writes its result to a file on disk. The row keeps the job's status and progress
+ * so clients can poll it, and where the result file is so it can be downloaded until it expires.
+ */
+@Entity
+@Table(
+        name = "export_jobs",
+        indexes = {
+                @Index(name = "idx_export_jobs_owner_created", columnList = "owner_id, created_at"),
+                @Index(name = "idx_export_jobs_status_expires", columnList = "status, expires_at")
+        }
+)
+public class ExportJobEntity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // Random UUID, so job IDs cannot be guessed
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+
+    @ManyToOne
+    @JoinColumn(name = "owner_id", nullable = false)
+    private UserEntity owner;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private ExportJobTypeEnum type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ExportJobStatusEnum status;
+
+    // Export filters, as a JSON object of strings
+    @Column(name = "parameters", columnDefinition = "TEXT")
+    private String parameters;
+
+    // Percentage of the export already written (0-100)
+    @Column(name = "progress", nullable = false)
+    private int progress;
+
+    @Column(name = "processed_items", nullable = false)
+    private long processedItems;
+
+    // Null while the number of items is still unknown
+    @Column(name = "total_items")
+    private Long totalItems;
+
+    @Column(name = "file_path")
+    private String filePath;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // After this instant the result file is deleted
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    public ExportJobEntity() {}
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public UserEntity getOwner() {
+        return owner;
+    }
+
+    public void setOwner(UserEntity owner) {
+        this.owner = owner;
+    }
+
+    public ExportJobTypeEnum getType() {
+        return type;
+    }
+
+    public void setType(ExportJobTypeEnum type) {
+        this.type = type;
+    }
+
+    public ExportJobStatusEnum getStatus() {
+        return status;
+    }
+
+    public void setStatus(ExportJobStatusEnum status) {
+        this.status = status;
+    }
+
+    public String getParameters() {
+        return parameters;
+    }
+
+    public void setParameters(String parameters) {
+        this.parameters = parameters;
+    }
+
+    public int getProgress() {
+        return progress;
+    }
+
+    public void setProgress(int progress) {
+        this.progress = progress;
+    }
+
+    public long getProcessedItems() {
+        return processedItems;
+    }
+
+    public void setProcessedItems(long processedItems) {
+        this.processedItems = processedItems;
+    }
+
+    public Long getTotalItems() {
+        return totalItems;
+    }
+
+    public void setTotalItems(Long totalItems) {
+        this.totalItems = totalItems;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ExportJobEntity)) return false;
+        ExportJobEntity that = (ExportJobEntity) o;
+        return id != null && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
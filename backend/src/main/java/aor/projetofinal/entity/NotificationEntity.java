@@ -10,6 +10,8 @@ import aor.projetofinal.entity.enums.NotificationEnum;
 /**
  * Entity representing a notification sent to a user.
  * Stores the notification type, content, creation timestamp, and read status.
+ * While unread, repeated events from the same sender and type are coalesced into
+ * a single row by incrementing the event count and the last event timestamp.
  */
 @Entity
 @Table(name = "notifications")
@@ -30,6 +32,9 @@ public class NotificationEntity implements Serializable {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @Column(name = "last_event_at")
+    private LocalDateTime lastEventAt;
+
     @Column(name = "is_read", nullable = false)
     private boolean read;
 
@@ -40,6 +45,15 @@ public class NotificationEntity implements Serializable {
     @Column(name = "type", nullable = false)
     private NotificationEnum type;
 
+    // Utilizador que originou a notificação (opcional, usado para agrupar mensagens do mesmo remetente)
+    @ManyToOne
+    @JoinColumn(name = "sender_id")
+    private UserEntity sender;
+
+    // Número de eventos agrupados nesta notificação enquanto não lida
+    @Column(name = "event_count", nullable = false, columnDefinition = "INTEGER DEFAULT 1")
+    private int eventCount = 1;
+
     // Getters e Setters
 
     public int getId() {
@@ -57,6 +71,13 @@ public class NotificationEntity implements Serializable {
         return createdAt;
     }
 
+    public LocalDateTime getLastEventAt() {
+        return lastEventAt;
+    }
+    public void setLastEventAt(LocalDateTime lastEventAt) {
+        this.lastEventAt = lastEventAt;
+    }
+
     public boolean isRead() {
         return read;
     }
@@ -78,6 +99,20 @@ public class NotificationEntity implements Serializable {
         this.type = type;
     }
 
+    public UserEntity getSender() {
+        return sender;
+    }
+    public void setSender(UserEntity sender) {
+        this.sender = sender;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+    public void setEventCount(int eventCount) {
+        this.eventCount = eventCount;
+    }
+
     // equals
     @Override
     public boolean equals(Object o) {
@@ -100,7 +135,10 @@ public class NotificationEntity implements Serializable {
                 "id=" + id +
                 ", userId=" + (user != null ? user.getId() : null) +
                 ", type=" + type +
+                ", senderId=" + (sender != null ? sender.getId() : null) +
+                ", eventCount=" + eventCount +
                 ", createdAt=" + createdAt +
+                ", lastEventAt=" + lastEventAt +
                 ", read=" + read +
                 '}';
     }
@@ -0,0 +1,60 @@
+package aor.projetofinal.entity;
+
+import aor.projetofinal.entity.enums.OrganisationCounterEnum;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding a precomputed organisation-wide counter used by the admin dashboard.
+ * Each counter is updated in the same transaction as the change it counts and
+ * is fully recomputed by the nightly rebuild.
+ */
+@Entity
+@Table(name = "organisation_counters")
+public class OrganisationCounterEntity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "name", nullable = false, length = 50)
+    private OrganisationCounterEnum name;
+
+    @Column(name = "counter_value", nullable = false)
+    private long value;
+
+    @Column(name = "rebuilt_at")
+    private LocalDateTime rebuiltAt;
+
+    public OrganisationCounterEntity() {
+    }
+
+    public OrganisationCounterEntity(OrganisationCounterEnum name, long value, LocalDateTime rebuiltAt) {
+        this.name = name;
+        this.value = value;
+        this.rebuiltAt = rebuiltAt;
+    }
+
+    public OrganisationCounterEnum getName() {
+        return name;
+    }
+    public void setName(OrganisationCounterEnum name) {
+        this.name = name;
+    }
+
+    public long getValue() {
+        return value;
+    }
+    public void setValue(long value) {
+        this.value = value;
+    }
+
+    public LocalDateTime getRebuiltAt() {
+        return rebuiltAt;
+    }
+    public void setRebuiltAt(LocalDateTime rebuiltAt) {
+        this.rebuiltAt = rebuiltAt;
+    }
+}
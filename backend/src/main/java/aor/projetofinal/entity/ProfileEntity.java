@@ -6,6 +6,7 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 import aor.projetofinal.entity.enums.UsualWorkPlaceEnum;
+import aor.projetofinal.util.StringUtils;
 
 /**
  * Entity representing a user profile.
@@ -35,6 +36,9 @@ public class ProfileEntity implements Serializable  {
     @Column(name = "normalized_last_name")
     private String normalizedLastName;
 
+    // Normalized full name padded with spaces (" jose da silva "), served by a pg_trgm GIN index
+    @Column(name = "search_name")
+    private String searchName;
 
     @Column(name = "birth_date")
     private LocalDate birthDate;
@@ -96,6 +100,24 @@ public class ProfileEntity implements Serializable  {
         this.normalizedLastName = normalizedLastName;
     }
 
+    public String getSearchName() {
+        return searchName;
+    }
+
+    public void setSearchName(String searchName) {
+        this.searchName = searchName;
+    }
+
+    /**
+     * Recomputes the search name from the current first and last names.
+     * Runs on every insert and update, so profiles created outside ProfileBean stay searchable too.
+     */
+    @PrePersist
+    @PreUpdate
+    public void refreshSearchName() {
+        this.searchName = StringUtils.toSearchName(firstName, lastName);
+    }
+
     public LocalDate getBirthDate() {
         return birthDate;
     }
@@ -11,5 +11,21 @@ public enum EvaluationStateEnum {
         return state.name();
     }
 
+    /**
+     * Tells whether an evaluation in this state may move to the given state:
+     * IN_EVALUATION can be saved again or evaluated, EVALUATED can be reopened or closed,
+     * and CLOSED is final.
+     *
+     * @param target The state to move to.
+     * @return true if the move is allowed.
+     */
+    public boolean canTransitionTo(EvaluationStateEnum target) {
+        return switch (this) {
+            case IN_EVALUATION -> target == IN_EVALUATION || target == EVALUATED;
+            case EVALUATED -> target == IN_EVALUATION || target == CLOSED;
+            case CLOSED -> false;
+        };
+    }
+
 
 }
@@ -0,0 +1,9 @@
+package aor.projetofinal.entity.enums;
+
+public enum ExportJobStatusEnum {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    EXPIRED
+}
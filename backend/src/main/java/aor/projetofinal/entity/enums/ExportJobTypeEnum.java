@@ -0,0 +1,29 @@
+package aor.projetofinal.entity.enums;
+
+/**
+ * Kinds of export that can run as a background export job.
+ * Each one produces the same file as its synchronous endpoint.
+ */
+public enum ExportJobTypeEnum {
+    EVALUATIONS_CSV("evaluations_export.csv", "text/csv"),
+    CYCLE_PDF_ARCHIVE("cycle_evaluations.zip", "application/zip"),
+    USERS_CSV("users_export.csv", "text/csv"),
+    COURSES_CSV("courses.csv", "text/csv"),
+    USER_COURSES_CSV("user_courses.csv", "text/csv");
+
+    private final String fileName;
+    private final String contentType;
+
+    ExportJobTypeEnum(String fileName, String contentType) {
+        this.fileName = fileName;
+        this.contentType = contentType;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
@@ -0,0 +1,6 @@
+package aor.projetofinal.entity.enums;
+
+public enum OrganisationCounterEnum {
+    TOTAL_USERS,
+    PENDING_EVALUATIONS
+}
@@ -0,0 +1,38 @@
+package aor.projetofinal.exception;
+
+import jakarta.ejb.ApplicationException;
+
+/**
+ * Thrown when an optimistic update finds that the row was changed by someone else since it was read
+ * (its version no longer matches). Rolls back the transaction and is reported as 409 Conflict,
+ * with the current version so the client can reload and retry.
+ */
+@ApplicationException(rollback = true)
+public class ConcurrentUpdateException extends RuntimeException {
+
+    private final Long currentVersion;
+
+    public ConcurrentUpdateException(String message, Long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+
+    public static ConcurrentUpdateException evaluation(Long currentVersion) {
+        return new ConcurrentUpdateException(
+                "The evaluation was changed by another user. Reload it and apply your changes again.", currentVersion);
+    }
+
+    public static ConcurrentUpdateException evaluationState(Long currentVersion) {
+        return new ConcurrentUpdateException(
+                "The evaluation was moved to another state by another user. Reload it and try again.", currentVersion);
+    }
+
+    public static ConcurrentUpdateException cycle(Long currentVersion) {
+        return new ConcurrentUpdateException(
+                "The evaluation cycle was changed by another user. Reload it and try again.", currentVersion);
+    }
+
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,62 @@
+package aor.projetofinal.exception.mapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import aor.projetofinal.dto.ErrorResponseDto;
+import aor.projetofinal.exception.ConcurrentUpdateException;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+@Provider
+public class ConcurrentUpdateExceptionMapper implements ExceptionMapper<ConcurrentUpdateException> {
+
+    private static final Logger logger = LogManager.getLogger(ConcurrentUpdateExceptionMapper.class);
+
+    @Context
+    private UriInfo uriInfo;
+
+    @Context
+    private HttpServletRequest request;
+
+    @Override
+    public Response toResponse(ConcurrentUpdateException exception) {
+        String ip = getClientIp();
+        String author = getAuthenticatedUser();
+
+        logger.warn("User: {} | IP: {} - ConcurrentUpdateException: {}", author, ip, exception.getMessage());
+
+        ErrorResponseDto errorResponse = new ErrorResponseDto(
+                Response.Status.CONFLICT.getStatusCode(),
+                "Conflict",
+                exception.getMessage(),
+                uriInfo.getPath(),
+                ip,
+                author
+        );
+        errorResponse.setCurrentVersion(exception.getCurrentVersion());
+
+        return Response.status(Response.Status.CONFLICT)
+                .entity(errorResponse)
+                .type("application/json")
+                .build();
+    }
+
+    private String getClientIp() {
+        String ip = request.getHeader("X-Forwarded-For");
+        if (ip != null && ip.contains(",")) {
+            ip = ip.split(",")[0];
+        }
+        return (ip != null) ? ip.trim() : request.getRemoteAddr();
+    }
+
+    private String getAuthenticatedUser() {
+        return (request.getUserPrincipal() != null)
+                ? request.getUserPrincipal().getName()
+                : "Anonymous";
+    }
+}
@@ -7,7 +7,8 @@ import aor.projetofinal.dto.UpdateCourseDto;
 import aor.projetofinal.entity.enums.CourseCategoryEnum;
 import aor.projetofinal.entity.enums.LanguageEnum;
 import aor.projetofinal.entity.UserEntity;
-import aor.projetofinal.context.RequestContext; 
+import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.util.JavaConversionUtil; 
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -70,15 +71,8 @@ public class CourseService {
         List<CourseDto> courses = courseBean.filterCourses(
                 name, minTimeSpan, maxTimeSpan, language, category, active
         );
-        StringBuilder csv = new StringBuilder("Name,Duration,Language,Category,Active\n");
-        for (CourseDto dto : courses) {
-            csv.append(dto.getName()).append(",")
-               .append(dto.getTimeSpan()).append(",")
-               .append(dto.getLanguage()).append(",")
-               .append(dto.getCourseCategory()).append(",")
-               .append(dto.isActive()).append("\n");
-        }
-        return Response.ok(csv.toString())
+        String csv = JavaConversionUtil.buildCoursesCsv(courses);
+        return Response.ok(csv)
                 .header("Content-Disposition", "attachment; filename=\"courses.csv\"")
                 .build();
     }
@@ -1,13 +1,17 @@
 package aor.projetofinal.service;
 
 import aor.projetofinal.bean.DashboardBean;
+import aor.projetofinal.bean.DashboardCacheBean;
 import aor.projetofinal.bean.UserBean;
-import aor.projetofinal.dto.DashboardDto;
+import aor.projetofinal.dto.DashboardCacheStatsDto;
 import aor.projetofinal.entity.UserEntity;
 import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.util.EtagUtil;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -28,19 +32,25 @@ public class DashboardService {
     @Inject
     private DashboardBean dashboardBean;
 
+    @Inject
+    private DashboardCacheBean dashboardCacheBean;
+
     @Inject
     private UserBean userBean;
 
     /**
      * Returns the dashboard summary for the authenticated user.
      * Sets request context for audit logs and security tracking.
+     * The response carries an ETag; when it matches If-None-Match, HTTP 304 is returned without a body.
      *
      * @param sessionToken The session token identifying the user.
-     * @return HTTP 200 and dashboard summary if authorized; HTTP 401 if unauthorized.
+     * @param ifNoneMatch  The ETag of the snapshot the client already holds (optional).
+     * @return HTTP 200 and dashboard summary if authorized; HTTP 304 if unchanged; HTTP 401 if unauthorized.
      */
     @GET
     @Path("/summary")
-    public Response getDashboardSummary(@HeaderParam("sessionToken") String sessionToken) {
+    public Response getDashboardSummary(@HeaderParam("sessionToken") String sessionToken,
+                                        @HeaderParam("If-None-Match") String ifNoneMatch) {
         // Identify authenticated user using session token
         UserEntity currentUser = userBean.findUserBySessionToken(sessionToken);
 
@@ -62,13 +72,65 @@ public class DashboardService {
             return Response.status(Response.Status.UNAUTHORIZED).build();
         }
 
-        // Aggregate dashboard summary data
-        DashboardDto dto = dashboardBean.getDashboardForUser(currentUser);
+        // Aggregate dashboard summary data (served from cache while fresh)
+        DashboardCacheBean.CachedDashboard snapshot = dashboardBean.getDashboardSnapshotForUser(currentUser);
+
+        // The dashboard is per user, so it must never be stored by shared caches
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+
+        EntityTag etag = EtagUtil.toEntityTag(snapshot.etag());
+
+        if (EtagUtil.matchesIfNoneMatch(ifNoneMatch, snapshot.etag())) {
+            logger.info("User: {} | IP: {} - Dashboard summary not modified.",
+                    RequestContext.getAuthor(), RequestContext.getIp());
+            return Response.notModified(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
 
         // Log successful delivery
         logger.info("User: {} | IP: {} - Dashboard summary delivered successfully.",
                 RequestContext.getAuthor(), RequestContext.getIp());
 
-        return Response.ok(dto).build();
+        return Response.ok(snapshot.dashboard())
+                .tag(etag)
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    /**
+     * Returns the hit ratio and counters of the dashboard snapshot cache.
+     * Only available to administrators.
+     *
+     * @param sessionToken The session token identifying the user.
+     * @return HTTP 200 with cache statistics; HTTP 401 if unauthorized; HTTP 403 if not an admin.
+     */
+    @GET
+    @Path("/cache-stats")
+    public Response getDashboardCacheStats(@HeaderParam("sessionToken") String sessionToken) {
+        UserEntity currentUser = userBean.findUserBySessionToken(sessionToken);
+
+        if (currentUser == null) {
+            logger.warn("Unauthorized dashboard cache stats request. Invalid or expired session token. IP: {}",
+                    RequestContext.getIp());
+            return Response.status(Response.Status.UNAUTHORIZED).build();
+        }
+
+        RequestContext.setAuthor(currentUser.getEmail());
+
+        if (!"ADMIN".equalsIgnoreCase(currentUser.getRole().getName())) {
+            logger.warn("User: {} | IP: {} - Forbidden: Non-admin requested dashboard cache stats.",
+                    RequestContext.getAuthor(), RequestContext.getIp());
+            return Response.status(Response.Status.FORBIDDEN).build();
+        }
+
+        DashboardCacheStatsDto stats = dashboardCacheBean.getStats();
+
+        logger.info("User: {} | IP: {} - Dashboard cache stats delivered (hit ratio: {}).",
+                RequestContext.getAuthor(), RequestContext.getIp(), stats.getHitRatio());
+
+        return Response.ok(stats).build();
     }
 }
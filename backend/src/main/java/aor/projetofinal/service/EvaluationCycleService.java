@@ -7,6 +7,7 @@ import aor.projetofinal.bean.UserBean;
 import aor.projetofinal.context.RequestContext;
 import aor.projetofinal.dao.SessionTokenDao;
 import aor.projetofinal.dto.CreateCycleDto;
+import aor.projetofinal.dto.CycleAnalyticsDto;
 import aor.projetofinal.dto.UsersManagingThemselvesDto;
 import aor.projetofinal.dto.UsersWithIncompleteEvaluationsDto;
 import aor.projetofinal.dto.UsersWithoutManagerDto;
@@ -171,18 +172,23 @@ public class EvaluationCycleService {
      * <p>This endpoint is restricted to administrators only. It checks if the requester
      * has a valid session and the "ADMIN" role before returning data.</p>
      *
-     * <p>The response contains a {@link UsersWithIncompleteEvaluationsDto} object with the
-     * list of users and the total number of incomplete evaluations.</p>
+     * <p>The response contains a {@link UsersWithIncompleteEvaluationsDto} object with one page
+     * of users grouped by manager and the total number of users with incomplete evaluations.</p>
      *
-     * @param token The session token of the authenticated user (provided via HTTP header).
+     * @param token    The session token of the authenticated user (provided via HTTP header).
+     * @param page     The page number (1-based, default 1).
+     * @param pageSize The number of users per page (default 50, at most EvaluationBean.INCOMPLETE_USERS_MAX_PAGE_SIZE).
      * @return HTTP 200 OK with JSON body of users with incomplete evaluations if successful;
+     *         HTTP 400 Bad Request if the page or the page size is below 1;
      *         HTTP 401 Unauthorized if the token is invalid;
      *         HTTP 403 Forbidden if the requester is not an admin.
      */
     @GET
     @Path("/list-incomplete-evaluations")
     @Produces(MediaType.APPLICATION_JSON)
-    public Response getIncompleteEvaluations(@HeaderParam("sessionToken") String token) {
+    public Response getIncompleteEvaluations(@HeaderParam("sessionToken") String token,
+                                             @QueryParam("page") @DefaultValue("1") int page,
+                                             @QueryParam("pageSize") @DefaultValue("50") int pageSize) {
         // Validate session token
         SessionTokenEntity tokenEntity = sessionTokenDao.findBySessionToken(token);
         if (tokenEntity == null || tokenEntity.getUser() == null) {
@@ -206,7 +212,16 @@ public class EvaluationCycleService {
                     .build();
         }
 
-        UsersWithIncompleteEvaluationsDto dto = evaluationBean.listUsersWithIncompleteEvaluationsFromLastCycle();
+        // Validate paging
+        if (page < 1 || pageSize < 1) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"message\": \"Page and page size must be at least 1.\"}")
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+        }
+
+        UsersWithIncompleteEvaluationsDto dto = evaluationBean.listUsersWithIncompleteEvaluationsFromLastCycle(
+                page, Math.min(pageSize, EvaluationBean.INCOMPLETE_USERS_MAX_PAGE_SIZE));
         return Response.ok(dto).build();
     }
 
@@ -258,7 +273,60 @@ public class EvaluationCycleService {
 
 
 
+    /**
+     * Retrieves the grade distributions of an evaluation cycle, overall, per manager
+     * (evaluator) and per usual workplace of the evaluated users.
+     *
+     * <p>This endpoint is restricted to administrators only. Analytics of closed cycles
+     * are final and may be cached by clients.</p>
+     *
+     * @param cycleId The ID of the evaluation cycle.
+     * @param token   The session token of the authenticated user (provided via HTTP header).
+     * @return HTTP 200 OK with a {@link CycleAnalyticsDto} if successful;
+     *         HTTP 401 Unauthorized if the token is invalid;
+     *         HTTP 403 Forbidden if the requester is not an admin;
+     *         HTTP 404 Not Found if the cycle does not exist.
+     */
+    @GET
+    @Path("/analytics/{cycleId}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getCycleAnalytics(@PathParam("cycleId") Long cycleId,
+                                      @HeaderParam("sessionToken") String token) {
+        // Validate session token
+        SessionTokenEntity tokenEntity = sessionTokenDao.findBySessionToken(token);
+        if (tokenEntity == null || tokenEntity.getUser() == null) {
+            logger.warn("User: {} | IP: {} - Unauthorized access to /analytics (invalid token).",
+                    RequestContext.getAuthor(), RequestContext.getIp());
+            return Response.status(Response.Status.UNAUTHORIZED)
+                    .entity("{\"message\": \"Invalid or expired session.\"}")
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+        }
+
+        UserEntity requester = tokenEntity.getUser();
 
+        // Check admin role
+        if (!requester.getRole().getName().equalsIgnoreCase("admin")) {
+            logger.warn("User: {} | IP: {} - Forbidden: non-admin attempted to access /analytics.",
+                    requester.getEmail(), RequestContext.getIp());
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity("{\"message\": \"Only admins can access this information.\"}")
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+        }
 
+        CycleAnalyticsDto dto = evaluationCycleBean.getCycleAnalytics(cycleId);
+        if (dto == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("{\"message\": \"Evaluation cycle not found.\"}")
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+        }
 
+        Response.ResponseBuilder response = Response.ok(dto);
+        if (dto.isClosed()) {
+            response.header("Cache-Control", "private, max-age=31536000, immutable");
+        }
+        return response.build();
+    }
 }
@@ -1,8 +1,11 @@
 package aor.projetofinal.service;
 
 
+import aor.projetofinal.bean.EvaluationArchiveBean;
 import aor.projetofinal.bean.EvaluationBean;
 import aor.projetofinal.bean.EvaluationCycleBean;
+import aor.projetofinal.bean.EvaluationPdfCacheBean;
+import aor.projetofinal.bean.EvaluationTransitionBean;
 import aor.projetofinal.bean.UserBean;
 import aor.projetofinal.context.RequestContext;
 import aor.projetofinal.dao.EvaluationCycleDao;
@@ -15,15 +18,17 @@ import aor.projetofinal.entity.EvaluationEntity;
 import aor.projetofinal.entity.SessionTokenEntity;
 import aor.projetofinal.entity.UserEntity;
 import aor.projetofinal.entity.enums.EvaluationStateEnum;
+import aor.projetofinal.util.EtagUtil;
 import aor.projetofinal.util.JavaConversionUtil;
-import aor.projetofinal.util.PdfExportUtil;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.List;
@@ -35,12 +40,24 @@ public class EvaluationService {
 
     private static final Logger logger = LogManager.getLogger(ProfileService.class);
 
+    // Closed evaluation PDFs never change: let clients keep them for a year without revalidating
+    private static final String PDF_CACHE_CONTROL = "private, max-age=31536000, immutable";
+
     @Inject
     private EvaluationBean evaluationBean;
 
     @Inject
     private EvaluationCycleBean evaluationCycleBean;
 
+    @Inject
+    private EvaluationPdfCacheBean evaluationPdfCacheBean;
+
+    @Inject
+    private EvaluationArchiveBean evaluationArchiveBean;
+
+    @Inject
+    private EvaluationTransitionBean evaluationTransitionBean;
+
     @Inject
     UserBean userBean;
 
@@ -149,13 +166,16 @@ public class EvaluationService {
      *
      * @param evaluationId The ID of the evaluation to be closed.
      * @param token The session token of the requesting user (from HTTP header).
-     * @return HTTP Response indicating the result of the operation.
+     * @param version The evaluation version last read by the client (optional).
+     * @return HTTP Response indicating the result of the operation, or 409 if the evaluation
+     *         changed since the client read it.
      */
     @PUT
     @Path("/close/{evaluationId}")
     @Produces(MediaType.APPLICATION_JSON)
     public Response closeEvaluation(@PathParam("evaluationId") Long evaluationId,
-                                    @HeaderParam("sessionToken") String token) {
+                                    @HeaderParam("sessionToken") String token,
+                                    @QueryParam("version") Long version) {
 
         // validate session
         SessionTokenEntity tokenEntity = sessionTokenDao.findBySessionToken(token);
@@ -183,7 +203,7 @@ public class EvaluationService {
         }
 
         // find the evaluation by ID
-        EvaluationEntity evaluation = evaluationBean.findEvaluationById(evaluationId);
+        EvaluationEntity evaluation = evaluationBean.findEvaluationById(evaluationId, EvaluationEntity.GRAPH_CLOSE);
         if (evaluation == null) {
             logger.warn("User: {} | IP: {} - Evaluation ID {} not found.",
                     RequestContext.getAuthor(), RequestContext.getIp(), evaluationId);
@@ -204,7 +224,7 @@ public class EvaluationService {
         }
 
         // Close the evaluation and check if the cycle can be closed
-        evaluationCycleBean.closeEvaluationAndCheckCycle(evaluation);
+        evaluationCycleBean.closeEvaluationAndCheckCycle(evaluation, version);
 
         logger.info("User: {} | IP: {} - Evaluation ID {} closed successfully.",
                 RequestContext.getAuthor(), RequestContext.getIp(), evaluationId);
@@ -270,20 +290,13 @@ public class EvaluationService {
             }
         }
 
-        // 3. Fetch all matching evaluations (no pagination)
-        List<EvaluationEntity> results = evaluationDao.findEvaluationsWithFiltersPaginated(
-                name, state, grade, cycleEnd, requester, 1, Integer.MAX_VALUE // fetch all
-        );
-
-        List<FlatEvaluationDto> dtos = results.stream()
-                .map(JavaConversionUtil::convertEvaluationToFlatDto)
-                .toList();
+        // 3. Stream matching evaluations straight to the response (no pagination, no in-memory CSV)
+        final LocalDate cycleEndFilter = cycleEnd;
+        StreamingOutput csv = output -> evaluationBean.writeEvaluationsCsv(
+                name, state, grade, cycleEndFilter, requester, output);
 
-        logger.info("User: {} | IP: {} - Exported {} evaluations to CSV.",
-                requester.getEmail(), RequestContext.getIp(), dtos.size());
-
-        // 4. Build CSV content
-        String csv = JavaConversionUtil.buildCsvFromEvaluations(dtos);
+        logger.info("User: {} | IP: {} - Streaming evaluation CSV export.",
+                requester.getEmail(), RequestContext.getIp());
 
         return Response.ok(csv)
                 .header("Content-Disposition", "attachment; filename=evaluations_export.csv")
@@ -305,6 +318,7 @@ public class EvaluationService {
     @Produces("application/pdf")
     public Response exportEvaluationToPdf(
             @HeaderParam("sessionToken") String sessionToken,
+            @HeaderParam("If-None-Match") String ifNoneMatch,
             @QueryParam("id") Long id
     ) {
         // 1. Validate session
@@ -318,7 +332,7 @@ public class EvaluationService {
         UserEntity requester = tokenEntity.getUser();
 
         // 2. Load evaluation
-        EvaluationEntity evaluation = evaluationDao.findById(id);
+        EvaluationEntity evaluation = evaluationBean.findEvaluationById(id, EvaluationEntity.GRAPH_EXPORT);
         if (evaluation == null) {
             logger.warn("User: {} | IP: {} - Tried to export non-existent evaluation ID {}.",
                     requester.getEmail(), RequestContext.getIp(), id);
@@ -353,16 +367,100 @@ public class EvaluationService {
                     .build();
         }
 
-        // 5. Generate PDF (you will implement this part)
-        byte[] pdfBytes = PdfExportUtil.buildEvaluationPdf(evaluation); // <- implementa isto à parte
+        // 5. Serve the cached PDF (rendered on the first download); closed evaluations never change
+        EvaluationPdfCacheBean.CachedPdf pdf;
+        long size;
+        try {
+            pdf = evaluationPdfCacheBean.getOrRender(evaluation);
+            size = pdf.size();
+        } catch (IOException e) {
+            logger.error("User: {} | IP: {} - Failed to render PDF of evaluation ID {}.",
+                    requester.getEmail(), RequestContext.getIp(), id, e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("Could not generate the evaluation PDF.")
+                    .build();
+        }
+
+        if (EtagUtil.matchesIfNoneMatch(ifNoneMatch, pdf.etag())) {
+            return Response.notModified()
+                    .header("ETag", pdf.etag())
+                    .header("Cache-Control", PDF_CACHE_CONTROL)
+                    .build();
+        }
+
+        StreamingOutput stream = output -> EvaluationPdfCacheBean.transferTo(pdf, output);
 
-        return Response.ok(pdfBytes)
+        return Response.ok(stream)
                 .header("Content-Disposition", "attachment; filename=evaluation_" + id + ".pdf")
+                .header("Content-Length", size)
+                .header("ETag", pdf.etag())
+                .header("Cache-Control", PDF_CACHE_CONTROL)
                 .type("application/pdf")
                 .build();
     }
 
 
+    /**
+     * Exports the PDFs of every closed evaluation of a closed cycle as a single ZIP archive.
+     * The archive is streamed while it is built, so its size does not affect server memory.
+     * Only accessible to admins.
+     *
+     * @param sessionToken The session token of the requester
+     * @param cycleId      The ID of the evaluation cycle to export
+     * @return A ZIP file or appropriate error response
+     */
+    @GET
+    @Path("/export-cycle-pdfs")
+    @Produces("application/zip")
+    public Response exportCycleEvaluationsToPdfArchive(
+            @HeaderParam("sessionToken") String sessionToken,
+            @QueryParam("cycleId") Long cycleId
+    ) {
+        // 1. Validate session
+        SessionTokenEntity tokenEntity = sessionTokenDao.findBySessionToken(sessionToken);
+        if (tokenEntity == null || tokenEntity.getUser() == null) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                    .entity("Session expired or invalid.")
+                    .build();
+        }
+
+        UserEntity requester = tokenEntity.getUser();
+
+        // 2. Only admins can export whole cycles
+        if (!requester.getRole().getName().equalsIgnoreCase("ADMIN")) {
+            logger.warn("User: {} | IP: {} - Access denied for cycle PDF export.",
+                    requester.getEmail(), RequestContext.getIp());
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity("Only administrators can export a whole cycle.")
+                    .build();
+        }
+
+        // 3. The cycle must exist and be closed, so its evaluations no longer change
+        EvaluationCycleEntity cycle = cycleId != null ? evaluationCycleBean.findCycleById(cycleId) : null;
+        if (cycle == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Evaluation cycle not found.")
+                    .build();
+        }
+        if (cycle.isActive()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Evaluation cycle is not yet closed.")
+                    .build();
+        }
+
+        // 4. Stream the archive
+        StreamingOutput zip = output -> evaluationArchiveBean.writeCyclePdfArchive(cycleId, output);
+
+        logger.info("User: {} | IP: {} - Streaming PDF archive of cycle ID {}.",
+                requester.getEmail(), RequestContext.getIp(), cycleId);
+
+        return Response.ok(zip)
+                .header("Content-Disposition", "attachment; filename=cycle_" + cycleId + "_evaluations.zip")
+                .type("application/zip")
+                .build();
+    }
+
+
     /**
      * Public endpoint to retrieve all possible evaluation states (IN_EVALUATION, EVALUATED, CLOSED).
      * Useful for UI filter dropdowns or forms. This endpoint does not require authentication.
@@ -489,6 +587,7 @@ public class EvaluationService {
      * @param grade           Optional evaluation grade filter (1-4)
      * @param cycleEndString  Optional exact cycle end date in yyyy-MM-dd format
      * @param page            Page number for pagination (1-based)
+     * @param cursor          Optional nextCursor of the previous page, for seek-based paging
      * @return A paginated list of filtered evaluations, or appropriate error response
      */
     @GET
@@ -500,7 +599,8 @@ public class EvaluationService {
             @QueryParam("state") EvaluationStateEnum state,
             @QueryParam("grade") Integer grade,
             @QueryParam("cycleEnd") String cycleEndString,
-            @QueryParam("page") @DefaultValue("1") int page
+            @QueryParam("page") @DefaultValue("1") int page,
+            @QueryParam("cursor") String cursor
     ) {
         // 1. Validate session
         SessionTokenEntity session = sessionTokenDao.findBySessionToken(token);
@@ -542,9 +642,18 @@ public class EvaluationService {
         }
 
         // 4. Load filtered paginated evaluations
-        PaginatedEvaluationsDto paginated = evaluationBean.findEvaluationsWithFiltersPaginated(
-                name, state, grade, cycleEnd, requester, page
-        );
+        PaginatedEvaluationsDto paginated;
+        try {
+            paginated = evaluationBean.findEvaluationsWithFiltersPaginated(
+                    name, state, grade, cycleEnd, requester, page, cursor
+            );
+        } catch (IllegalArgumentException e) {
+            logger.warn("User: {} | IP: {} - Invalid pagination cursor.", requester.getEmail(), RequestContext.getIp());
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"message\": \"Invalid pagination cursor.\"}")
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+        }
 
         logger.info("User: {} | IP: {} - Returned {} evaluations on page {}.",
                 requester.getEmail(), RequestContext.getIp(), paginated.getEvaluations().size(), page);
@@ -555,6 +664,64 @@ public class EvaluationService {
     }
 
 
+    /**
+     * Searches the feedback of evaluations from every cycle by keyword,
+     * returning ranked, paginated results with highlighted snippets.
+     * Access is restricted to Admins and Managers only; managers only find the evaluations they made.
+     *
+     * @param token Session token of the authenticated user
+     * @param terms The search terms (words, "quoted phrases", -excluded words)
+     * @param page  Page number for pagination (1-based)
+     * @return A paginated list of matching evaluations, or appropriate error response
+     */
+    @GET
+    @Path("/search-feedback")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response searchFeedback(
+            @HeaderParam("sessionToken") String token,
+            @QueryParam("q") String terms,
+            @QueryParam("page") @DefaultValue("1") int page
+    ) {
+        // 1. Validate session
+        SessionTokenEntity session = sessionTokenDao.findBySessionToken(token);
+        if (session == null || session.getUser() == null) {
+            logger.warn("Unauthorized access attempt to feedback search.");
+            return Response.status(Response.Status.UNAUTHORIZED)
+                    .entity("{\"message\": \"Session expired or invalid.\"}")
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+        }
+
+        UserEntity requester = session.getUser();
+
+        // 2. Role check
+        String roleName = requester.getRole().getName().toUpperCase();
+        if (!roleName.equals("ADMIN") && !roleName.equals("MANAGER")) {
+            logger.warn("User: {} | IP: {} - Access denied to feedback search: not admin or manager.",
+                    requester.getEmail(), RequestContext.getIp());
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity("{\"message\": \"Only administrators and managers can search evaluation feedback.\"}")
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+        }
+
+        // 3. Validate search terms
+        if (terms == null || terms.isBlank()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"message\": \"Search terms are required.\"}")
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+        }
+
+        // 4. Search
+        PaginatedFeedbackSearchDto results = evaluationBean.searchFeedback(terms.trim(), requester, page);
+
+        return Response.ok(results)
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+
 
 
     /**
@@ -761,13 +928,16 @@ public class EvaluationService {
      *
      * @param evaluationId The ID of the evaluation to revert.
      * @param token The session token from the request header.
-     * @return HTTP response indicating success or failure reason.
+     * @param version The evaluation version last read by the client (optional).
+     * @return HTTP response indicating success or failure reason, or 409 if the evaluation
+     *         changed since the client read it.
      */
     @PUT
     @Path("/reopen-for-editing/{evaluationId}")
     @Produces(MediaType.APPLICATION_JSON)
     public Response reopenEvaluationForEditing(@PathParam("evaluationId") Long evaluationId,
-                                               @HeaderParam("sessionToken") String token) {
+                                               @HeaderParam("sessionToken") String token,
+                                               @QueryParam("version") Long version) {
 
         // 1. Validate and refresh session token if close to expiration
         SessionStatusDto sessionStatus = userBean.validateAndRefreshSessionToken(token);
@@ -806,7 +976,7 @@ public class EvaluationService {
         }
 
         // Find evaluation by ID
-        EvaluationEntity evaluation = evaluationBean.findEvaluationById(evaluationId);
+        EvaluationEntity evaluation = evaluationBean.findEvaluationById(evaluationId, EvaluationEntity.GRAPH_EDIT);
         if (evaluation == null) {
             logger.warn("User: {} | IP: {} - Evaluation ID {} not found.",
                     RequestContext.getAuthor(), RequestContext.getIp(), evaluationId);
@@ -827,7 +997,7 @@ public class EvaluationService {
         }
 
         // Revert evaluation state
-        boolean reverted = evaluationBean.revertEvaluationToInEvaluation(evaluation);
+        boolean reverted = evaluationTransitionBean.reopen(evaluation, version);
         if (!reverted) {
             logger.warn("User: {} | IP: {} - Failed to revert evaluation ID {} state.",
                     RequestContext.getAuthor(), RequestContext.getIp(), evaluationId);
@@ -860,9 +1030,10 @@ public class EvaluationService {
      * - Evaluator is admin or the manager of the evaluated user.
      * - Evaluation is still in progress (IN_EVALUATION state).
      *
-     * @param dto The DTO containing updated evaluation data.
+     * @param dto The DTO containing updated evaluation data (and the version the client read).
      * @param token The session token from the request header.
-     * @return HTTP response indicating success or failure.
+     * @return HTTP response indicating success or failure, or 409 if the evaluation
+     *         changed since the client read it.
      */
     @PUT
     @Path("/update-evaluation")
@@ -960,7 +1131,7 @@ public class EvaluationService {
         }
 
         // Update evaluation
-        evaluationBean.updateEvaluationWithGradeAndFeedback(dto, evaluation, evaluator);
+        evaluationTransitionBean.grade(evaluation, dto, evaluator);
 
         logger.info("User: {} | IP: {} - Evaluation updated successfully for user '{}'.",
                 RequestContext.getAuthor(), RequestContext.getIp(), dto.getEvaluatedEmail());
@@ -972,6 +1143,87 @@ public class EvaluationService {
     }
 
 
+    /**
+     * Updates many evaluations of the active cycle in one request, e.g. a manager saving the grades
+     * of the whole team at once.
+     * Every item is checked with the rules of /update-evaluation and the valid ones are saved together
+     * in a single transaction. The response holds one result per item, in the order sent.
+     *
+     * @param dtos  The evaluations to update, identified by the evaluated user's email.
+     * @param token The session token from the request header.
+     * @return 200 with the per-item results; 409 (and nothing saved) if an evaluation changed
+     *         while the batch was being saved.
+     */
+    @PUT
+    @Path("/update-evaluations")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response updateEvaluations(List<UpdateEvaluationDto> dtos,
+                                      @HeaderParam("sessionToken") String token) {
+
+        // 1. Validate and refresh session token if close to expiration
+        SessionStatusDto sessionStatus = userBean.validateAndRefreshSessionToken(token);
+
+        if (sessionStatus == null) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                    .entity("{\"message\": \"Session expired. Please, log in again.\"}")
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+        }
+
+        SessionTokenEntity tokenEntity = sessionTokenDao.findBySessionToken(token);
+        if (tokenEntity == null || tokenEntity.getUser() == null) {
+            logger.warn("Unauthorized batch update attempt. IP: {}", RequestContext.getIp());
+            return Response.status(Response.Status.UNAUTHORIZED)
+                    .entity("{\"message\": \"Invalid or expired session.\"}")
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+        }
+
+        UserEntity evaluator = tokenEntity.getUser();
+
+        // 2. Role check
+        String roleName = evaluator.getRole().getName().toUpperCase();
+        if (!roleName.equals("ADMIN") && !roleName.equals("MANAGER")) {
+            logger.warn("User: {} | IP: {} - Batch evaluation update denied: not admin or manager.",
+                    evaluator.getEmail(), RequestContext.getIp());
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity("{\"message\": \"Only administrators and managers can update evaluations.\"}")
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+        }
+
+        // 3. Validate batch size
+        if (dtos == null || dtos.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"message\": \"No evaluations to update.\"}")
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+        }
+
+        if (dtos.size() > EvaluationBean.GRADE_BATCH_MAX_SIZE) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"message\": \"At most " + EvaluationBean.GRADE_BATCH_MAX_SIZE
+                            + " evaluations can be updated at once.\"}")
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+        }
+
+        // 4. Check and save the batch
+        EvaluationBatchResultDto result = evaluationBean.updateEvaluationsInBatch(dtos, evaluator);
+        if (result == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"message\": \"There is no evaluation cycle currently opened.\"}")
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+        }
+
+        return Response.ok(result)
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+
 
 
 
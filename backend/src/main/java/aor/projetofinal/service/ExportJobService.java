@@ -0,0 +1,186 @@
+package aor.projetofinal.service;
+
+import aor.projetofinal.bean.ExportJobBean;
+import aor.projetofinal.bean.ExportJobRunnerBean;
+import aor.projetofinal.context.RequestContext;
+import aor.projetofinal.dto.ExportJobDto;
+import aor.projetofinal.dto.ExportJobRequestDto;
+import aor.projetofinal.entity.ExportJobEntity;
+import aor.projetofinal.entity.UserEntity;
+import aor.projetofinal.entity.enums.ExportJobStatusEnum;
+import aor.projetofinal.entity.enums.ExportJobTypeEnum;
+import aor.projetofinal.util.FileTransferUtil;
+import aor.projetofinal.util.JavaConversionUtil;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * REST Service for background export jobs.
+ *
+ * Heavy exports (evaluation CSVs, cycle PDF archives, user, course and training history CSVs)
+ * can be submitted here instead of being downloaded synchronously: the client gets a job ID,
+ * polls the job (or waits for an "export_job" WebSocket message) and downloads the file once
+ * the job is completed. Jobs and their files are only visible to the user who submitted them.
+ */
+@Path("/export-jobs")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class ExportJobService {
+
+    private static final Logger logger = LogManager.getLogger(ExportJobService.class);
+
+    @Inject
+    private ExportJobBean exportJobBean;
+
+    @Inject
+    private ExportJobRunnerBean exportJobRunnerBean;
+
+    /**
+     * Submits a background export job.
+     *
+     * @param request The export type and its filters.
+     * @return HTTP 202 with the queued job and its Location, 400 for invalid parameters,
+     *         403 if the user may not run the export, or 503 if the export queue is full.
+     */
+    @POST
+    public Response submitExportJob(ExportJobRequestDto request) {
+        UserEntity currentUser = RequestContext.getCurrentUser();
+
+        // 1. Validate export type
+        ExportJobTypeEnum type;
+        try {
+            type = ExportJobTypeEnum.valueOf(request.getType().trim().toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"message\": \"Invalid export type.\"}")
+                    .build();
+        }
+
+        try {
+            // 2. Same access rules as the synchronous export
+            if (!exportJobBean.canSubmit(currentUser, type, request.getParameters())) {
+                logger.warn("User: {} | IP: {} - Access denied for export job {}.",
+                        currentUser.getEmail(), RequestContext.getIp(), type);
+                return Response.status(Response.Status.FORBIDDEN)
+                        .entity("{\"message\": \"You are not allowed to run this export.\"}")
+                        .build();
+            }
+
+            // 3. Store the job, then hand it to the workers once it is committed
+            ExportJobDto job = exportJobBean.createJob(currentUser, type, request.getParameters());
+            try {
+                exportJobRunnerBean.enqueue(job.getJobId());
+            } catch (RejectedExecutionException e) {
+                exportJobBean.failJob(job.getJobId(), "Too many exports are running. Please try again later.");
+                logger.warn("User: {} | IP: {} - Export queue full, rejected job {}.",
+                        currentUser.getEmail(), RequestContext.getIp(), job.getJobId());
+                return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                        .header("Retry-After", "60")
+                        .entity("{\"message\": \"Too many exports are running. Please try again later.\"}")
+                        .build();
+            }
+
+            return Response.accepted(job)
+                    .location(URI.create("export-jobs/" + job.getJobId()))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"message\": \"" + e.getMessage() + "\"}")
+                    .build();
+        }
+    }
+
+    /**
+     * Lists the most recent export jobs of the authenticated user.
+     *
+     * @return HTTP 200 with the jobs, newest first.
+     */
+    @GET
+    public Response listExportJobs() {
+        UserEntity currentUser = RequestContext.getCurrentUser();
+        return Response.ok(exportJobBean.listRecentJobs(currentUser)).build();
+    }
+
+    /**
+     * Returns the status and progress of an export job.
+     *
+     * @param jobId The job ID.
+     * @return HTTP 200 with the job, or 404 if it does not exist or belongs to another user.
+     */
+    @GET
+    @Path("/{jobId}")
+    public Response getExportJob(@PathParam("jobId") String jobId) {
+        UserEntity currentUser = RequestContext.getCurrentUser();
+
+        ExportJobEntity job = exportJobBean.findJobForOwner(jobId, currentUser);
+        if (job == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("{\"message\": \"Export job not found.\"}")
+                    .build();
+        }
+        return Response.ok(JavaConversionUtil.convertExportJobEntityToDto(job)).build();
+    }
+
+    /**
+     * Downloads the result of a completed export job.
+     *
+     * @param jobId The job ID.
+     * @return HTTP 200 with the file, 404 if the job does not exist, 409 if it has not
+     *         completed yet, or 410 if its result has expired.
+     */
+    @GET
+    @Path("/{jobId}/download")
+    @Produces({"text/csv", "application/zip", MediaType.APPLICATION_JSON})
+    public Response downloadExportJob(@PathParam("jobId") String jobId) {
+        UserEntity currentUser = RequestContext.getCurrentUser();
+
+        ExportJobEntity job = exportJobBean.findJobForOwner(jobId, currentUser);
+        if (job == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity("{\"message\": \"Export job not found.\"}")
+                    .build();
+        }
+        if (job.getStatus() == ExportJobStatusEnum.EXPIRED) {
+            return Response.status(Response.Status.GONE)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity("{\"message\": \"The export has expired. Please submit it again.\"}")
+                    .build();
+        }
+        if (job.getStatus() != ExportJobStatusEnum.COMPLETED) {
+            return Response.status(Response.Status.CONFLICT)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity("{\"message\": \"The export is not ready (status: " + job.getStatus() + ").\"}")
+                    .build();
+        }
+
+        java.nio.file.Path file = Paths.get(job.getFilePath());
+        if (!Files.exists(file)) {
+            return Response.status(Response.Status.GONE)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity("{\"message\": \"The export has expired. Please submit it again.\"}")
+                    .build();
+        }
+
+        logger.info("User: {} | IP: {} - Downloading export job {} ({}).",
+                currentUser.getEmail(), RequestContext.getIp(), jobId, job.getType());
+
+        StreamingOutput stream = output -> FileTransferUtil.transferFile(file, output);
+        return Response.ok(stream)
+                .type(job.getType().getContentType())
+                .header("Content-Disposition", "attachment; filename=" + job.getType().getFileName())
+                .header("Content-Length", job.getFileSize())
+                .build();
+    }
+}
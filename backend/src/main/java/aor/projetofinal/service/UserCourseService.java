@@ -144,15 +144,8 @@ public class UserCourseService {
                 currentUser.getEmail(), RequestContext.getIp(), userId);
 
         List<UserCourseDto> history = userCourseBean.listUserCourses(userId);
-        StringBuilder csv = new StringBuilder("Course,Duration,Language,Category,Date\n");
-        for (UserCourseDto dto : history) {
-            csv.append(dto.getCourseName()).append(",")
-               .append(dto.getTimeSpan()).append(",")
-               .append(dto.getLanguage()).append(",")
-               .append(dto.getCourseCategory()).append(",")
-               .append(dto.getParticipationDate()).append("\n");
-        }
-        return Response.ok(csv.toString())
+        String csv = JavaConversionUtil.buildUserCoursesCsv(history);
+        return Response.ok(csv)
                 .header("Content-Disposition", "attachment; filename=\"user_courses_" + userId + ".csv\"")
                 .build();
     }
@@ -179,15 +172,8 @@ public class UserCourseService {
                 currentUser.getEmail(), RequestContext.getIp(), userId, year);
 
         List<UserCourseDto> history = userCourseBean.listUserCoursesByYear(userId, year);
-        StringBuilder csv = new StringBuilder("Course,Duration,Language,Category,Date\n");
-        for (UserCourseDto dto : history) {
-            csv.append(dto.getCourseName()).append(",")
-               .append(dto.getTimeSpan()).append(",")
-               .append(dto.getLanguage()).append(",")
-               .append(dto.getCourseCategory()).append(",")
-               .append(dto.getParticipationDate()).append("\n");
-        }
-        return Response.ok(csv.toString())
+        String csv = JavaConversionUtil.buildUserCoursesCsv(history);
+        return Response.ok(csv)
                 .header("Content-Disposition", "attachment; filename=\"user_courses_" + userId + "_" + year + ".csv\"")
                 .build();
     }
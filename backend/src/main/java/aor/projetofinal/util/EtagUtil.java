@@ -0,0 +1,44 @@
+package aor.projetofinal.util;
+
+import jakarta.ws.rs.core.EntityTag;
+
+/**
+ * Helpers for conditional GETs: building ETags and checking them against If-None-Match.
+ */
+public class EtagUtil {
+
+    /**
+     * Tells whether an If-None-Match header matches the given ETag.
+     * The header may hold a list of tags or "*"; tags are compared with the weak comparison
+     * (a W/ prefix is ignored), as required for If-None-Match.
+     *
+     * @param ifNoneMatch The header value (nullable).
+     * @param etag        The current quoted ETag.
+     * @return True if the client's copy is still current.
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds a strong EntityTag from a quoted ETag value.
+     */
+    public static EntityTag toEntityTag(String quotedEtag) {
+        return new EntityTag(quotedEtag.substring(1, quotedEtag.length() - 1));
+    }
+}
@@ -0,0 +1,35 @@
+package aor.projetofinal.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Utility for streaming files stored on disk (cached PDFs, export job results) to HTTP responses.
+ */
+public class FileTransferUtil {
+
+    /**
+     * Copies a file to the given stream with FileChannel.transferTo, letting the
+     * operating system move the bytes without staging the whole file on the Java heap.
+     *
+     * @param file the file to send
+     * @param out  the response stream (flushed, not closed)
+     * @throws IOException if the file cannot be read or the stream written
+     */
+    public static void transferFile(Path file, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = 0;
+            long size = channel.size();
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+        out.flush();
+    }
+}
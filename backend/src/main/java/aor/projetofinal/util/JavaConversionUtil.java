@@ -27,31 +27,26 @@ public class JavaConversionUtil {
 
     private static final Logger logger = LogManager.getLogger(JavaConversionUtil.class);
 
+    public static final String EVALUATIONS_CSV_HEADER = "Evaluated Name,Email,State,Grade,Evaluator,Cycle End Date\n";
+
 
     @Inject
     UserDao userDao;
 
     /**
-     * Builds a CSV string from a list of FlatEvaluationDto.
-     * Each row includes evaluation metadata for export.
+     * Formats one evaluation CSV row, matching EVALUATIONS_CSV_HEADER.
+     * Null values are written as empty cells.
      *
-     * @param evaluations The list of evaluation DTOs to export.
-     * @return A CSV-formatted string.
+     * @param row The projected evaluation row.
+     * @return The CSV line, terminated by a newline.
      */
-    public static String buildCsvFromEvaluations(List<FlatEvaluationDto> evaluations) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Evaluated Name,Email,State,Grade,Evaluator,Cycle End Date\n");
-
-        for (FlatEvaluationDto dto : evaluations) {
-            sb.append('"').append(dto.getEvaluatedName() != null ? dto.getEvaluatedName() : "").append("\",")
-                    .append(dto.getEvaluatedEmail() != null ? dto.getEvaluatedEmail() : "").append(",")
-                    .append(dto.getState() != null ? dto.getState() : "").append(",")
-                    .append(dto.getGrade() != null ? dto.getGrade() : "").append(",")
-                    .append(dto.getEvaluatorName() != null ? dto.getEvaluatorName() : "").append(",")
-                    .append(dto.getCycleEndDate() != null ? dto.getCycleEndDate() : "").append("\n");
-        }
-
-        return sb.toString();
+    public static String toEvaluationCsvLine(EvaluationCsvRowDto row) {
+        return '"' + (row.getEvaluatedName() != null ? row.getEvaluatedName() : "") + "\"," +
+                (row.getEvaluatedEmail() != null ? row.getEvaluatedEmail() : "") + "," +
+                (row.getState() != null ? row.getState() : "") + "," +
+                (row.getGrade() != null ? row.getGrade() : "") + "," +
+                (row.getEvaluatorName() != null ? row.getEvaluatorName() : "") + "," +
+                (row.getCycleEndDate() != null ? row.getCycleEndDate() : "") + "\n";
     }
 
     /**
@@ -79,77 +74,44 @@ public class JavaConversionUtil {
     }
 
     /**
-     * Converts an EvaluationEntity into a FlatEvaluationDto for use in REST API responses.
-     * This method extracts and formats only basic string-based information for display,
-     * avoiding exposure of complex enums or entity references.
+     * Builds a CSV string from a list of courses.
      *
-     * @param evaluation The evaluation entity to convert.
-     * @return A FlatEvaluationDto representing the simplified evaluation data.
+     * @param courses The list of CourseDto objects to export.
+     * @return A CSV-formatted string with one row per course.
      */
-    public static FlatEvaluationDto convertEvaluationToFlatDto(EvaluationEntity evaluation) {
-        FlatEvaluationDto dto = new FlatEvaluationDto();
-
-        if (evaluation.getId() != null) {
-            dto.setEvaluationId(evaluation.getId());
-        }
-
-        // 1. Evaluated user info
-        UserEntity evaluated = evaluation.getEvaluated();
-        if (evaluated != null) {
-            dto.setEvaluatedEmail(evaluated.getEmail());
-            dto.setEvaluatedId((long) evaluated.getId());
-
-            if (evaluated.getProfile() != null) {
-                String fullName = evaluated.getProfile().getFirstName() + " " + evaluated.getProfile().getLastName();
-                dto.setEvaluatedName(fullName);
-                dto.setPhotograph(evaluated.getProfile().getPhotograph());
-            }
-        }
-
-        // 2. Evaluation state (as string, e.g. "IN_EVALUATION")
-        if (evaluation.getState() != null) {
-            dto.setState(evaluation.getState().name());
-        }
-
-        // 3. Grade (converted to string, e.g. "3")
-        if (evaluation.getGrade() != null) {
-            dto.setGrade(String.valueOf(evaluation.getGrade().getGrade()));
+    public static String buildCoursesCsv(List<CourseDto> courses) {
+        StringBuilder csv = new StringBuilder("Name,Duration,Language,Category,Active\n");
+        for (CourseDto dto : courses) {
+            csv.append(dto.getName()).append(",")
+               .append(dto.getTimeSpan()).append(",")
+               .append(dto.getLanguage()).append(",")
+               .append(dto.getCourseCategory()).append(",")
+               .append(dto.isActive()).append("\n");
         }
-
-        // 4. Evaluator name
-        UserEntity evaluator = evaluation.getEvaluator();
-        if (evaluator != null && evaluator.getProfile() != null) {
-            String evaluatorName = evaluator.getProfile().getFirstName() + " " + evaluator.getProfile().getLastName();
-            dto.setEvaluatorName(evaluatorName);
-        }
-
-        // 5. Cycle end date (formatted as "yyyy-MM-dd HH:mm")
-        if (evaluation.getCycle() != null && evaluation.getCycle().getEndDate() != null) {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-            dto.setCycleEndDate(evaluation.getCycle().getEndDate().format(formatter));
-        }
-
-        return dto;
+        return csv.toString();
     }
 
     /**
-     * Converts a list of ProfileEntity to a list of FlatProfileDto.
+     * Builds a CSV string from the training history of a user.
      *
-     * @param profileEntities The list of ProfileEntity objects.
-     * @return A list of FlatProfileDto.
+     * @param history The list of UserCourseDto objects to export.
+     * @return A CSV-formatted string with one row per course participation.
      */
-    public static List<FlatProfileDto> convertProfileEntityListToFlatProfileDtoList(List<ProfileEntity> profileEntities) {
-        List<FlatProfileDto> flatDtos = new ArrayList<>();
-        for (ProfileEntity p : profileEntities) {
-            FlatProfileDto flat = convertProfileEntityToFlatProfileDto(p);
-            if (flat != null) flatDtos.add(flat);
+    public static String buildUserCoursesCsv(List<UserCourseDto> history) {
+        StringBuilder csv = new StringBuilder("Course,Duration,Language,Category,Date\n");
+        for (UserCourseDto dto : history) {
+            csv.append(dto.getCourseName()).append(",")
+               .append(dto.getTimeSpan()).append(",")
+               .append(dto.getLanguage()).append(",")
+               .append(dto.getCourseCategory()).append(",")
+               .append(dto.getParticipationDate()).append("\n");
         }
-        return flatDtos;
+        return csv.toString();
     }
 
     /**
      * Converts a ProfileEntity to a FlatProfileDto (flat, no JPA references).
-     * Only exposes simple fields for use in API list views or exports.
+     * Only exposes simple fields; listings build the same DTO in the query instead (see ProfileDao).
      *
      * @param profile The ProfileEntity to convert.
      * @return A FlatProfileDto populated with simple fields, or null if profile/user is null.
@@ -321,26 +283,33 @@ public static ProfileDto convertProfileEntityToProfileDto(ProfileEntity p) {
     }
 
     /**
-     * Converts a closed EvaluationEntity into a flat DTO for listing in the user's evaluation history.
+     * Converts an ExportJobEntity into the DTO returned to the user who submitted it.
      *
-     * @param evaluation The closed evaluation entity.
-     * @return A flat DTO containing cycle number, date, grade, and evaluation ID.
+     * @param job The export job entity.
+     * @return An ExportJobDto with the job's status, progress and result details.
      */
-    public static FlatEvaluationHistoryDto convertToFlatHistoryDto(EvaluationEntity evaluation) {
-        if (evaluation == null || evaluation.getCycle() == null || evaluation.getGrade() == null) {
-            return null;
+    public static ExportJobDto convertExportJobEntityToDto(ExportJobEntity job) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+        ExportJobDto dto = new ExportJobDto();
+        dto.setJobId(job.getId());
+        dto.setType(job.getType().name());
+        dto.setStatus(job.getStatus().name());
+        dto.setProgress(job.getProgress());
+        dto.setProcessedItems(job.getProcessedItems());
+        dto.setTotalItems(job.getTotalItems());
+        dto.setFileName(job.getType().getFileName());
+        dto.setFileSize(job.getFileSize());
+        dto.setErrorMessage(job.getErrorMessage());
+        if (job.getCreatedAt() != null) {
+            dto.setCreatedAt(job.getCreatedAt().format(formatter));
         }
-
-        FlatEvaluationHistoryDto dto = new FlatEvaluationHistoryDto();
-        dto.setEvaluationId(evaluation.getId());
-        dto.setCycleNumber(evaluation.getCycle().getId().intValue());
-
-        if (evaluation.getDate() != null) {
-            dto.setEvaluationDate(evaluation.getDate().toLocalDate().toString()); // yyyy-MM-dd
+        if (job.getFinishedAt() != null) {
+            dto.setFinishedAt(job.getFinishedAt().format(formatter));
+        }
+        if (job.getExpiresAt() != null) {
+            dto.setExpiresAt(job.getExpiresAt().format(formatter));
         }
-
-        dto.setGrade(evaluation.getGrade().getGrade());
-
         return dto;
     }
 
@@ -1,7 +1,7 @@
 package aor.projetofinal.util;
 
+import aor.projetofinal.dto.EvaluationPdfDto;
 import aor.projetofinal.entity.EvaluationEntity;
-import aor.projetofinal.entity.UserEntity;
 import aor.projetofinal.entity.enums.GradeEvaluationEnum;
 import com.lowagie.text.*;
 import com.lowagie.text.Font;
@@ -9,6 +9,7 @@ import com.lowagie.text.pdf.PdfWriter;
 
 import java.awt.*;
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.format.DateTimeFormatter;
 
 /**
@@ -16,35 +17,71 @@ import java.time.format.DateTimeFormatter;
  */
 public class PdfExportUtil {
 
+    // Fonts are looked up once and shared; OpenPDF fonts are immutable once created
+    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18);
+    private static final Font TEXT_FONT = FontFactory.getFont(FontFactory.HELVETICA, 12);
+    private static final Font BOLD_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12);
+    private static final Font REFERENCE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, Color.DARK_GRAY);
+
+    private static final DateTimeFormatter CYCLE_END_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     /**
      * Builds a PDF file (as byte array) containing detailed evaluation information.
      *
      * @param evaluation The evaluation to export.
-     * @return A byte[] containing the PDF file.
+     * @return A byte[] containing the PDF file, or an empty array if rendering failed.
      */
     public static byte[] buildEvaluationPdf(EvaluationEntity evaluation) {
         try {
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            Document document = new Document(PageSize.A4);
-            PdfWriter.getInstance(document, baos);
+            writeEvaluationPdf(evaluation, baos);
+            return baos.toByteArray();
+        } catch (Exception e) {
+            e.printStackTrace(); // ou logger.error(...)
+            return new byte[0]; // retorno vazio em caso de erro
+        }
+    }
+
+    /**
+     * Renders the evaluation PDF directly into the given stream (e.g. a cache file),
+     * without buffering the whole document in memory.
+     *
+     * @param evaluation The evaluation to export.
+     * @param out        The stream to write to; it is not closed.
+     * @throws DocumentException if the document cannot be rendered.
+     */
+    public static void writeEvaluationPdf(EvaluationEntity evaluation, OutputStream out) throws DocumentException {
+        writeEvaluationPdf(EvaluationPdfDto.from(evaluation), out);
+    }
 
-            document.open();
+    /**
+     * Renders the evaluation PDF from its printed values directly into the given stream.
+     * Safe to call concurrently: every call builds its own document.
+     *
+     * @param evaluation The values printed in the PDF.
+     * @param out        The stream to write to; it is not closed.
+     * @throws DocumentException if the document cannot be rendered.
+     */
+    public static void writeEvaluationPdf(EvaluationPdfDto evaluation, OutputStream out) throws DocumentException {
+        Document document = new Document(PageSize.A4);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setCloseStream(false);
 
+        document.open();
+        try {
             // Title
-            Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18);
-            Paragraph title = new Paragraph("Employee Evaluation Report", titleFont);
+            Paragraph title = new Paragraph("Employee Evaluation Report", TITLE_FONT);
             title.setAlignment(Element.ALIGN_CENTER);
             title.setSpacingAfter(20f);
             document.add(title);
 
             // Evaluated info
-            UserEntity evaluated = evaluation.getEvaluated();
-            String evaluatedName = evaluated.getProfile().getFirstName() + " " + evaluated.getProfile().getLastName();
-            String evaluatedEmail = evaluated.getEmail();
+            String evaluatedName = evaluation.getEvaluatedName();
+            String evaluatedEmail = evaluation.getEvaluatedEmail();
 
             Paragraph userInfo = new Paragraph(
                     String.format("Name: %s\nEmail: %s\n", evaluatedName, evaluatedEmail),
-                    FontFactory.getFont(FontFactory.HELVETICA, 12)
+                    TEXT_FONT
             );
             userInfo.setSpacingAfter(10f);
             document.add(userInfo);
@@ -52,9 +89,9 @@ public class PdfExportUtil {
             // Cycle info
             Paragraph cycleInfo = new Paragraph(
                     String.format("Cycle Number: %d\nCycle End Date: %s\n",
-                            evaluation.getCycle().getId(),
-                            evaluation.getCycle().getEndDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))),
-                    FontFactory.getFont(FontFactory.HELVETICA, 12)
+                            evaluation.getCycleId(),
+                            evaluation.getCycleEndDate().format(CYCLE_END_FORMAT)),
+                    TEXT_FONT
             );
             cycleInfo.setSpacingAfter(10f);
             document.add(cycleInfo);
@@ -62,42 +99,31 @@ public class PdfExportUtil {
             // Grade
             GradeEvaluationEnum gradeEnum = evaluation.getGrade();
             String gradeLabel = gradeEnum.getGrade() + " - " + gradeEnum.getDescription();
-            Paragraph gradeInfo = new Paragraph("Grade: " + gradeLabel,
-                    FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12));
+            Paragraph gradeInfo = new Paragraph("Grade: " + gradeLabel, BOLD_FONT);
             gradeInfo.setSpacingAfter(10f);
             document.add(gradeInfo);
 
 // Nota máxima como referência
             GradeEvaluationEnum maxGrade = GradeEvaluationEnum.EXCEEDED_CONTRIBUTION;
             String maxGradeText = maxGrade.getGrade() + " - " + maxGrade.getDescription();
-            Paragraph maxGradeInfo = new Paragraph("out of: " + maxGradeText,
-                    FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, Color.DARK_GRAY));
+            Paragraph maxGradeInfo = new Paragraph("out of: " + maxGradeText, REFERENCE_FONT);
             maxGradeInfo.setSpacingAfter(10f);
             document.add(maxGradeInfo);
 
             // Evaluator
-            String evaluatorName = evaluation.getEvaluator() != null && evaluation.getEvaluator().getProfile() != null
-                    ? evaluation.getEvaluator().getProfile().getFirstName() + " " + evaluation.getEvaluator().getProfile().getLastName()
-                    : "N/A";
+            String evaluatorName = evaluation.getEvaluatorName() != null ? evaluation.getEvaluatorName() : "N/A";
 
-            Paragraph evaluatorInfo = new Paragraph("Evaluator: " + evaluatorName,
-                    FontFactory.getFont(FontFactory.HELVETICA, 12));
+            Paragraph evaluatorInfo = new Paragraph("Evaluator: " + evaluatorName, TEXT_FONT);
             evaluatorInfo.setSpacingAfter(10f);
             document.add(evaluatorInfo);
 
             // Feedback section
             String feedback = evaluation.getFeedback() != null ? evaluation.getFeedback() : "No feedback available.";
-            Paragraph feedbackSection = new Paragraph("Feedback:\n" + feedback,
-                    FontFactory.getFont(FontFactory.HELVETICA, 12));
+            Paragraph feedbackSection = new Paragraph("Feedback:\n" + feedback, TEXT_FONT);
             feedbackSection.setSpacingBefore(20f);
             document.add(feedbackSection);
-
+        } finally {
             document.close();
-            return baos.toByteArray();
-
-        } catch (Exception e) {
-            e.printStackTrace(); // ou logger.error(...)
-            return new byte[0]; // retorno vazio em caso de erro
         }
     }
 }
@@ -10,4 +10,22 @@ public class StringUtils {
                 .replaceAll("\\p{M}", "") // Remove acentos
                 .toLowerCase();           // Ignora maiúsculas/minúsculas
     }
+
+    //nome completo normalizado para a coluna search_name, delimitado por espaços
+    //ex.: ("José", "Da  Silva") -> " jose da silva "
+    public static String toSearchName(String firstName, String lastName) {
+        String fullName = (firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "");
+        return " " + collapseSpaces(normalize(fullName)) + " ";
+    }
+
+    //padrão LIKE que encontra o termo como palavras completas dentro de search_name
+    //ex.: "Silva" -> "% silva %"
+    public static String toSearchNamePattern(String name) {
+        if (name == null) return null;
+        return "% " + collapseSpaces(normalize(name)) + " %";
+    }
+
+    private static String collapseSpaces(String input) {
+        return input.trim().replaceAll("\\s+", " ");
+    }
 }
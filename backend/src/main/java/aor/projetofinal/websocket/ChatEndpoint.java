@@ -170,9 +170,9 @@ public void onMessage(Session session, String messageText) {
             return;
         }
 
-        // Create a notification for the receiver
+        // Create (or coalesce into the unread) notification for the receiver
         String notificationText = "New message from " + enrichedDto.getSenderName();
-        notificationBean.createNotification(receiverId, "MESSAGE", notificationText);
+        notificationBean.createOrCoalesceNotification(receiverId, senderId, "MESSAGE", notificationText);
 
         // If receiver is online, send them the message instantly
         Session receiverSession = sessions.get(receiverId);
@@ -216,6 +216,32 @@ public void onMessage(Session session, String messageText) {
 }
 
 
+    /**
+     * Sends a JSON message to a single user, if they are connected.
+     * Used by background tasks (e.g. export jobs) to notify the user who started them.
+     *
+     * @param userId the ID of the receiving user
+     * @param json   the JSON message
+     * @return true if the message was delivered to an open session
+     */
+    public static boolean sendToUser(int userId, String json) {
+        Session s = sessions.get(userId);
+        if (s == null || !s.isOpen()) {
+            return false;
+        }
+        try {
+            // Sessions are shared with the chat, whose sends may run concurrently
+            synchronized (s) {
+                s.getBasicRemote().sendText(json);
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            logger.warn("User: {} | IP: {} - Could not deliver WebSocket message to user {}: {}",
+                    RequestContext.getAuthor(), RequestContext.getIp(), userId, e.getMessage());
+            return false;
+        }
+    }
+
 public static void broadcastOnlineStatus(int userId, boolean isOnline) {
     String msg = String.format("{\"type\":\"status_update\",\"userId\":%d,\"online\":%s}", userId, isOnline);
     for (Session s : sessions.values()) {
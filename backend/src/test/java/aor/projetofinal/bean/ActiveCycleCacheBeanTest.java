@@ -0,0 +1,78 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.dao.EvaluationCycleDao;
+import aor.projetofinal.entity.EvaluationCycleEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ActiveCycleCacheBeanTest {
+
+    @Mock
+    private EvaluationCycleDao evaluationCycleDao;
+
+    @InjectMocks
+    private ActiveCycleCacheBean activeCycleCacheBean;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void get_readsDatabaseOnceAndServesFromMemory() {
+        EvaluationCycleEntity cycle = new EvaluationCycleEntity();
+        cycle.setId(3L);
+        LocalDateTime end = LocalDateTime.of(2026, 12, 31, 23, 59);
+        cycle.setEndDate(end);
+        when(evaluationCycleDao.findActiveCycle()).thenReturn(cycle);
+
+        ActiveCycleCacheBean.ActiveCycle first = activeCycleCacheBean.get();
+        ActiveCycleCacheBean.ActiveCycle second = activeCycleCacheBean.get();
+
+        assertEquals(new ActiveCycleCacheBean.ActiveCycle(3L, end), first);
+        assertSame(first, second);
+        verify(evaluationCycleDao, times(1)).findActiveCycle();
+    }
+
+    @Test
+    void get_noActiveCycle_isCachedToo() {
+        when(evaluationCycleDao.findActiveCycle()).thenReturn(null);
+
+        assertNull(activeCycleCacheBean.get());
+        assertNull(activeCycleCacheBean.get());
+        verify(evaluationCycleDao, times(1)).findActiveCycle();
+    }
+
+    @Test
+    void cycleEvents_updateHolderWithoutQuerying() {
+        LocalDateTime end = LocalDateTime.of(2026, 12, 31, 23, 59);
+
+        activeCycleCacheBean.cycleOpened(8L, end);
+        assertEquals(8L, activeCycleCacheBean.get().id());
+
+        // closing another cycle leaves the active one alone
+        activeCycleCacheBean.cycleClosed(5L);
+        assertEquals(8L, activeCycleCacheBean.get().id());
+
+        activeCycleCacheBean.cycleClosed(8L);
+        assertNull(activeCycleCacheBean.get());
+        verifyNoInteractions(evaluationCycleDao);
+    }
+
+    @Test
+    void evict_forcesReload() {
+        activeCycleCacheBean.cycleOpened(8L, null);
+        when(evaluationCycleDao.findActiveCycle()).thenReturn(null);
+
+        activeCycleCacheBean.evict();
+
+        assertNull(activeCycleCacheBean.get());
+        verify(evaluationCycleDao).findActiveCycle();
+    }
+}
@@ -0,0 +1,139 @@
+package aor.projetofinal.bean;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AfterCommitQueueBeanTest {
+
+    @Mock
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    @Mock
+    private ExecutorService executor;
+
+    @InjectMocks
+    private AfterCommitQueueBean afterCommitQueueBean;
+
+    @Captor
+    private ArgumentCaptor<Synchronization> synchronizationCaptor;
+
+    private final Map<Object, Object> resources = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // the executor runs tasks on the calling thread
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+        doAnswer(invocation -> resources.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(transactionRegistry).putResource(any(), any());
+        when(transactionRegistry.getResource(any())).thenAnswer(invocation -> resources.get(invocation.getArgument(0)));
+    }
+
+    @Test
+    void enqueue_insideTransaction_runsOnceInOrderAfterCommit() {
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        List<String> ran = new ArrayList<>();
+
+        afterCommitQueueBean.enqueue("evict", () -> ran.add("evict"));
+        afterCommitQueueBean.enqueue("email", () -> ran.add("email"));
+        afterCommitQueueBean.enqueue("evict", () -> ran.add("evict again"));
+
+        assertTrue(ran.isEmpty());
+        verify(transactionRegistry, times(1)).registerInterposedSynchronization(synchronizationCaptor.capture());
+
+        synchronizationCaptor.getValue().afterCompletion(Status.STATUS_COMMITTED);
+
+        assertEquals(List.of("evict", "email"), ran);
+        verify(executor, times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    void invalidate_insideTransaction_runsOnCommittingThreadBeforeSlowTasks() {
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        List<String> ran = new ArrayList<>();
+        // the executor holds on to slow tasks instead of running them
+        List<Runnable> handedOff = new ArrayList<>();
+        doAnswer(invocation -> handedOff.add(invocation.getArgument(0))).when(executor).execute(any(Runnable.class));
+
+        afterCommitQueueBean.enqueue("email", () -> ran.add("email"));
+        afterCommitQueueBean.invalidate("evict", () -> ran.add("evict"));
+        afterCommitQueueBean.invalidate("evict", () -> ran.add("evict again"));
+
+        verify(transactionRegistry, times(1)).registerInterposedSynchronization(synchronizationCaptor.capture());
+        synchronizationCaptor.getValue().afterCompletion(Status.STATUS_COMMITTED);
+
+        // the eviction is done when afterCompletion returns; the email is still on the executor
+        assertEquals(List.of("evict"), ran);
+        assertEquals(1, handedOff.size());
+        handedOff.get(0).run();
+        assertEquals(List.of("evict", "email"), ran);
+    }
+
+    @Test
+    void invalidate_rolledBack_isDiscarded() {
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        List<String> ran = new ArrayList<>();
+
+        afterCommitQueueBean.invalidate("evict", () -> ran.add("evict"));
+        verify(transactionRegistry).registerInterposedSynchronization(synchronizationCaptor.capture());
+        synchronizationCaptor.getValue().afterCompletion(Status.STATUS_ROLLEDBACK);
+
+        assertTrue(ran.isEmpty());
+        verifyNoInteractions(executor);
+    }
+
+    @Test
+    void enqueue_rolledBack_discardsTasks() {
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        List<String> ran = new ArrayList<>();
+
+        afterCommitQueueBean.enqueue("email", () -> ran.add("email"));
+        verify(transactionRegistry).registerInterposedSynchronization(synchronizationCaptor.capture());
+        synchronizationCaptor.getValue().afterCompletion(Status.STATUS_ROLLEDBACK);
+
+        assertTrue(ran.isEmpty());
+        verifyNoInteractions(executor);
+    }
+
+    @Test
+    void enqueue_failingTask_doesNotStopTheOthers() {
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+        List<String> ran = new ArrayList<>();
+
+        afterCommitQueueBean.enqueue("broken", () -> {
+            throw new IllegalStateException("mail server down");
+        });
+        afterCommitQueueBean.enqueue("evict", () -> ran.add("evict"));
+
+        assertEquals(List.of("evict"), ran);
+        verify(transactionRegistry, never()).registerInterposedSynchronization(any());
+    }
+
+    @Test
+    void dispatch_executorBusy_runsOnCallingThread() {
+        doThrow(new RejectedExecutionException()).when(executor).execute(any(Runnable.class));
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+        List<String> ran = new ArrayList<>();
+
+        afterCommitQueueBean.enqueue("evict", () -> ran.add("evict"));
+
+        assertEquals(List.of("evict"), ran);
+    }
+}
@@ -0,0 +1,193 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.dao.DashboardDao;
+import aor.projetofinal.dto.DashboardDto;
+import aor.projetofinal.entity.RoleEntity;
+import aor.projetofinal.entity.UserEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DashboardBeanTest {
+
+    @Mock
+    private DashboardDao dashboardDao;
+
+    @Mock
+    private DashboardCacheBean dashboardCacheBean;
+
+    @Mock
+    private ExecutorService executor;
+
+    @InjectMocks
+    private DashboardBean dashboardBean;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        // run every section inline so the tests stay deterministic
+        when(executor.invokeAll(anyList(), anyLong(), any())).thenAnswer(invocation -> {
+            List<Callable<DashboardDto>> tasks = invocation.getArgument(0);
+            List<Future<DashboardDto>> futures = new ArrayList<>();
+            for (Callable<DashboardDto> task : tasks) {
+                try {
+                    futures.add(CompletableFuture.completedFuture(task.call()));
+                } catch (Exception e) {
+                    futures.add(CompletableFuture.failedFuture(e));
+                }
+            }
+            return futures;
+        });
+    }
+
+    private DashboardDto userSection() {
+        DashboardDto section = new DashboardDto();
+        section.setActiveTrainings(2);
+        section.setTotalTrainingHours(10);
+        return section;
+    }
+
+    private UserEntity userWithRole(int id, String roleName) {
+        RoleEntity role = new RoleEntity();
+        role.setName(roleName);
+        UserEntity user = new UserEntity();
+        user.setId(id);
+        user.setRole(role);
+        return user;
+    }
+
+    @Test
+    void getDashboardForUser_regularUser_loadsOnlyUserSection() {
+        UserEntity user = userWithRole(1, "USER");
+        when(dashboardDao.findUserSection(1)).thenReturn(userSection());
+
+        DashboardDto result = dashboardBean.getDashboardForUser(user);
+
+        assertEquals(2, result.getActiveTrainings());
+        assertEquals(10, result.getTotalTrainingHours());
+        assertFalse(result.isPartial());
+        verify(dashboardDao, times(1)).findUserSection(1);
+        verifyNoMoreInteractions(dashboardDao);
+    }
+
+    @Test
+    void getDashboardForUser_manager_mergesTeamSection() {
+        UserEntity manager = userWithRole(2, "manager");
+        DashboardDto team = new DashboardDto();
+        team.setTeamSize(5);
+        team.setTeamPendingEvaluations(3);
+        when(dashboardDao.findUserSection(2)).thenReturn(userSection());
+        when(dashboardDao.findManagerSection(2)).thenReturn(team);
+
+        DashboardDto result = dashboardBean.getDashboardForUser(manager);
+
+        assertEquals(2, result.getActiveTrainings());
+        assertEquals(5, result.getTeamSize());
+        assertEquals(3, result.getTeamPendingEvaluations());
+        verify(dashboardDao, never()).findAdminSection();
+    }
+
+    @Test
+    void getDashboardForUser_admin_mergesAdminSection() {
+        UserEntity admin = userWithRole(3, "ADMIN");
+        DashboardDto organisation = new DashboardDto();
+        organisation.setTotalUsers(100);
+        organisation.setTotalPendingEvaluations(40);
+        when(dashboardDao.findUserSection(3)).thenReturn(userSection());
+        when(dashboardDao.findAdminSection()).thenReturn(organisation);
+
+        DashboardDto result = dashboardBean.getDashboardForUser(admin);
+
+        assertEquals(100, result.getTotalUsers());
+        assertEquals(40, result.getTotalPendingEvaluations());
+        verify(dashboardDao, never()).findManagerSection(anyInt());
+    }
+
+    @Test
+    void getDashboardForUser_sectionTimedOut_returnsPartialResult() throws Exception {
+        UserEntity admin = userWithRole(3, "ADMIN");
+        Future<DashboardDto> timedOut = new CompletableFuture<>();
+        timedOut.cancel(true);
+        doReturn(List.of(CompletableFuture.completedFuture(userSection()), timedOut))
+                .when(executor).invokeAll(anyList(), anyLong(), any());
+
+        DashboardDto result = dashboardBean.getDashboardForUser(admin);
+
+        assertTrue(result.isPartial());
+        assertEquals(2, result.getActiveTrainings());
+        assertEquals(0, result.getTotalUsers());
+    }
+
+    @Test
+    void getDashboardForUser_sectionStillRunningAtDeadline_isCancelled() throws Exception {
+        UserEntity admin = userWithRole(3, "ADMIN");
+        @SuppressWarnings("unchecked")
+        Future<DashboardDto> late = mock(Future.class);
+        when(late.get(anyLong(), any())).thenThrow(new TimeoutException());
+        doReturn(List.of(CompletableFuture.completedFuture(userSection()), late))
+                .when(executor).invokeAll(anyList(), anyLong(), any());
+
+        DashboardDto result = dashboardBean.getDashboardForUser(admin);
+
+        assertTrue(result.isPartial());
+        verify(late).cancel(true);
+    }
+
+    @Test
+    void getDashboardForUser_sectionFailed_returnsPartialResult() {
+        UserEntity user = userWithRole(1, "USER");
+        when(dashboardDao.findUserSection(1)).thenThrow(new RuntimeException("db down"));
+
+        DashboardDto result = dashboardBean.getDashboardForUser(user);
+
+        assertTrue(result.isPartial());
+    }
+
+    @Test
+    void getDashboardSnapshotForUser_cacheHit_skipsQuery() {
+        UserEntity user = userWithRole(1, "USER");
+        DashboardCacheBean.CachedDashboard cached =
+                new DashboardCacheBean.CachedDashboard(new DashboardDto(), "\"etag\"", false, Long.MAX_VALUE);
+        when(dashboardCacheBean.get(1)).thenReturn(cached);
+
+        DashboardCacheBean.CachedDashboard result = dashboardBean.getDashboardSnapshotForUser(user);
+
+        assertSame(cached, result);
+        verifyNoInteractions(dashboardDao);
+    }
+
+    @Test
+    void getDashboardSnapshotForUser_cacheMiss_computesAndStores() {
+        UserEntity admin = userWithRole(3, "ADMIN");
+        when(dashboardCacheBean.get(3)).thenReturn(null);
+        when(dashboardDao.findUserSection(3)).thenReturn(userSection());
+        when(dashboardDao.findAdminSection()).thenReturn(new DashboardDto());
+
+        dashboardBean.getDashboardSnapshotForUser(admin);
+
+        verify(dashboardCacheBean).put(eq(3), any(DashboardDto.class), eq(true));
+    }
+
+    @Test
+    void getDashboardSnapshotForUser_partialResult_notCached() {
+        UserEntity user = userWithRole(1, "USER");
+        when(dashboardCacheBean.get(1)).thenReturn(null);
+        when(dashboardDao.findUserSection(1)).thenThrow(new RuntimeException("db down"));
+
+        DashboardCacheBean.CachedDashboard result = dashboardBean.getDashboardSnapshotForUser(user);
+
+        assertTrue(result.dashboard().isPartial());
+        verify(dashboardCacheBean, never()).put(anyInt(), any(), anyBoolean());
+    }
+}
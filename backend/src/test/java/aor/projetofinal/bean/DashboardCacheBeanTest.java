@@ -0,0 +1,86 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.dto.DashboardCacheStatsDto;
+import aor.projetofinal.dto.DashboardDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DashboardCacheBeanTest {
+
+    private DashboardCacheBean dashboardCacheBean;
+
+    @BeforeEach
+    void setUp() {
+        dashboardCacheBean = new DashboardCacheBean();
+    }
+
+    private DashboardDto dashboard(int pending) {
+        DashboardDto dto = new DashboardDto();
+        dto.setPendingEvaluations(pending);
+        return dto;
+    }
+
+    @Test
+    void get_afterPut_returnsSnapshotAndCountsHit() {
+        DashboardCacheBean.CachedDashboard stored = dashboardCacheBean.put(1, dashboard(2), false);
+
+        DashboardCacheBean.CachedDashboard result = dashboardCacheBean.get(1);
+
+        assertSame(stored, result);
+        assertEquals(1, dashboardCacheBean.getStats().getHits());
+    }
+
+    @Test
+    void get_missingUser_countsMiss() {
+        assertNull(dashboardCacheBean.get(42));
+
+        DashboardCacheStatsDto stats = dashboardCacheBean.getStats();
+        assertEquals(0, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.0, stats.getHitRatio());
+    }
+
+    @Test
+    void computeETag_sameContentSameTag_differentContentDifferentTag() {
+        String first = DashboardCacheBean.computeETag(dashboard(2));
+
+        assertEquals(first, DashboardCacheBean.computeETag(dashboard(2)));
+        assertNotEquals(first, DashboardCacheBean.computeETag(dashboard(3)));
+        assertTrue(first.startsWith("\"") && first.endsWith("\""));
+    }
+
+    @Test
+    void evict_removesOnlyGivenUsers() {
+        dashboardCacheBean.put(1, dashboard(1), false);
+        dashboardCacheBean.put(2, dashboard(1), false);
+
+        dashboardCacheBean.evict(1, null);
+
+        assertNull(dashboardCacheBean.get(1));
+        assertNotNull(dashboardCacheBean.get(2));
+    }
+
+    @Test
+    void evictOrganisationWide_removesOnlyAdminSnapshots() {
+        dashboardCacheBean.put(1, dashboard(1), true);
+        dashboardCacheBean.put(2, dashboard(1), false);
+
+        dashboardCacheBean.evictOrganisationWide();
+
+        assertNull(dashboardCacheBean.get(1));
+        assertNotNull(dashboardCacheBean.get(2));
+        assertEquals(1, dashboardCacheBean.getStats().getEvictions());
+    }
+
+    @Test
+    void evictAll_clearsEverySnapshot() {
+        dashboardCacheBean.put(1, dashboard(1), true);
+        dashboardCacheBean.put(2, dashboard(1), false);
+
+        dashboardCacheBean.evictAll();
+
+        assertEquals(0, dashboardCacheBean.getStats().getSize());
+    }
+}
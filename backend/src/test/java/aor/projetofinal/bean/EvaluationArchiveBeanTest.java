@@ -0,0 +1,125 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.dao.EvaluationDao;
+import aor.projetofinal.dto.EvaluationPdfDto;
+import aor.projetofinal.entity.enums.GradeEvaluationEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EvaluationArchiveBeanTest {
+
+    @Mock
+    private EvaluationDao evaluationDao;
+
+    @Mock
+    private EvaluationPdfCacheBean evaluationPdfCacheBean;
+
+    @Mock
+    private ExecutorService executor;
+
+    @InjectMocks
+    private EvaluationArchiveBean evaluationArchiveBean;
+
+    private Path pdfFile;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        pdfFile = Files.createTempFile("evaluation", ".pdf");
+        Files.writeString(pdfFile, "%PDF-test");
+        when(evaluationPdfCacheBean.getOrRender(any(EvaluationPdfDto.class)))
+                .thenReturn(new EvaluationPdfCacheBean.CachedPdf(pdfFile, "\"etag\""));
+        // run every render task inline so the tests stay deterministic
+        when(executor.invokeAll(anyList())).thenAnswer(invocation -> {
+            List<Callable<Object>> tasks = invocation.getArgument(0);
+            List<Future<Object>> futures = new ArrayList<>();
+            for (Callable<Object> task : tasks) {
+                futures.add(CompletableFuture.completedFuture(task.call()));
+            }
+            return futures;
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Files.deleteIfExists(pdfFile);
+    }
+
+    private List<EvaluationPdfDto> rows(long fromId, int count) {
+        List<EvaluationPdfDto> rows = new ArrayList<>();
+        for (long id = fromId; id < fromId + count; id++) {
+            rows.add(new EvaluationPdfDto(id, "Ana", "Silva", "ana@example.com", 3L,
+                    LocalDateTime.of(2025, 6, 30, 23, 59), GradeEvaluationEnum.AS_EXPECTED, "Rui", "Costa", null));
+        }
+        return rows;
+    }
+
+    @Test
+    void writeCyclePdfArchive_readsInChunksAndWritesOneEntryPerEvaluation() throws Exception {
+        int chunk = EvaluationArchiveBean.CHUNK_SIZE;
+        when(evaluationDao.findClosedEvaluationPdfRows(3L, null, chunk)).thenReturn(rows(1, chunk));
+        when(evaluationDao.findClosedEvaluationPdfRows(3L, (long) chunk, chunk)).thenReturn(rows(chunk + 1, 2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int written = evaluationArchiveBean.writeCyclePdfArchive(3L, out);
+
+        assertEquals(chunk + 2, written);
+        verify(evaluationDao, times(2)).findClosedEvaluationPdfRows(eq(3L), any(), eq(chunk));
+        verify(evaluationPdfCacheBean, times(chunk + 2)).getOrRender(any(EvaluationPdfDto.class));
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+                assertEquals("%PDF-test", new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(chunk + 2, names.size());
+        assertEquals("evaluation_1.pdf", names.get(0));
+        assertEquals("evaluation_" + (chunk + 2) + ".pdf", names.get(names.size() - 1));
+    }
+
+    @Test
+    void writeCyclePdfArchive_renderingBoundedToParallelism() throws Exception {
+        when(evaluationDao.findClosedEvaluationPdfRows(3L, null, EvaluationArchiveBean.CHUNK_SIZE))
+                .thenReturn(rows(1, 10));
+
+        evaluationArchiveBean.writeCyclePdfArchive(3L, new ByteArrayOutputStream());
+
+        ArgumentCaptor<List<Callable<Object>>> tasks = ArgumentCaptor.forClass(List.class);
+        verify(executor).invokeAll(tasks.capture());
+        assertTrue(tasks.getValue().size() <= EvaluationArchiveBean.RENDER_PARALLELISM);
+    }
+
+    @Test
+    void writeCyclePdfArchive_emptyCycle_writesEmptyArchive() throws Exception {
+        when(evaluationDao.findClosedEvaluationPdfRows(3L, null, EvaluationArchiveBean.CHUNK_SIZE))
+                .thenReturn(List.of());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, evaluationArchiveBean.writeCyclePdfArchive(3L, out));
+        verifyNoInteractions(executor);
+        assertTrue(out.size() > 0); // end-of-central-directory record
+    }
+}
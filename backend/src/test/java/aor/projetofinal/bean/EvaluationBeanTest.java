@@ -2,18 +2,25 @@ package aor.projetofinal.bean;
 
 import aor.projetofinal.context.RequestContext;
 import aor.projetofinal.dao.EvaluationDao;
+import aor.projetofinal.dao.EvaluationHistoryDao;
 import aor.projetofinal.dto.*;
 import aor.projetofinal.entity.*;
 import aor.projetofinal.entity.enums.*;
 import aor.projetofinal.util.JavaConversionUtil;
 import jakarta.ejb.Stateless;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,9 +30,18 @@ class EvaluationBeanTest {
     @Mock
     private EvaluationDao evaluationDao;
 
+    @Mock
+    private EvaluationHistoryDao evaluationHistoryDao;
+
     @Mock
     private EvaluationCycleBean evaluationCycleBean;
 
+    @Mock
+    private EvaluationCountCacheBean evaluationCountCacheBean;
+
+    @Mock
+    private EvaluationTransitionBean evaluationTransitionBean;
+
     @InjectMocks
     private EvaluationBean evaluationBean;
 
@@ -117,12 +133,37 @@ class EvaluationBeanTest {
     void testFindEvaluationById_CallsDao() {
         Long id = 5L;
         EvaluationEntity entity = new EvaluationEntity();
-        when(evaluationDao.findById(id)).thenReturn(entity);
+        when(evaluationDao.findById(id, EvaluationEntity.GRAPH_CLOSE)).thenReturn(entity);
 
-        EvaluationEntity result = evaluationBean.findEvaluationById(id);
+        EvaluationEntity result = evaluationBean.findEvaluationById(id, EvaluationEntity.GRAPH_CLOSE);
 
         assertEquals(entity, result);
-        verify(evaluationDao).findById(id);
+        verify(evaluationDao).findById(id, EvaluationEntity.GRAPH_CLOSE);
+    }
+
+    @Test
+    void evaluationEntityGraphs_onlyFollowToOneAssociations() throws Exception {
+        NamedEntityGraph[] graphs = EvaluationEntity.class.getAnnotationsByType(NamedEntityGraph.class);
+        Set<String> names = new HashSet<>();
+
+        for (NamedEntityGraph graph : graphs) {
+            names.add(graph.name());
+            // every node must be a single-valued association, so one lookup joins exactly one row per table
+            for (NamedAttributeNode node : graph.attributeNodes()) {
+                Class<?> type = EvaluationEntity.class.getDeclaredField(node.value()).getType();
+                assertFalse(Collection.class.isAssignableFrom(type),
+                        graph.name() + " fetches collection " + node.value());
+            }
+            for (NamedSubgraph subgraph : graph.subgraphs()) {
+                for (NamedAttributeNode node : subgraph.attributeNodes()) {
+                    Class<?> type = UserEntity.class.getDeclaredField(node.value()).getType();
+                    assertFalse(Collection.class.isAssignableFrom(type),
+                            graph.name() + " fetches collection " + subgraph.name() + "." + node.value());
+                }
+            }
+        }
+
+        assertEquals(Set.of(EvaluationEntity.GRAPH_EXPORT, EvaluationEntity.GRAPH_CLOSE, EvaluationEntity.GRAPH_EDIT), names);
     }
 
     @Test
@@ -176,8 +217,9 @@ class EvaluationBeanTest {
         UsersWithIncompleteEvaluationsDto dto = evaluationBean.listUsersWithIncompleteEvaluationsFromLastCycle();
 
         assertNotNull(dto);
-        assertTrue(dto.getUsers() == null || dto.getUsers().isEmpty());
+        assertTrue(dto.getManagers().isEmpty());
         assertEquals(0, dto.getTotalUsersWithIncompleteEvaluations());
+        verifyNoInteractions(evaluationDao);
     }
 
     @Test
@@ -186,84 +228,129 @@ class EvaluationBeanTest {
         cycle.setId(1L);
 
         when(evaluationCycleBean.findActiveCycle()).thenReturn(cycle);
+        when(evaluationDao.countUsersWithIncompleteEvaluationsByCycle(1L)).thenReturn(5L);
+
+        // rows arrive ordered by manager
+        List<IncompleteEvaluationUserDto> rows = List.of(
+                new IncompleteEvaluationUserDto(1, "Ana", "Silva", "u1@example.com", 10, "Rui", "Costa", "m10@example.com"),
+                new IncompleteEvaluationUserDto(2, "Bruno", "Reis", "u2@example.com", 10, "Rui", "Costa", "m10@example.com"),
+                new IncompleteEvaluationUserDto(3, null, null, "u3@example.com", 20, "Eva", "Lopes", "m20@example.com"));
+        when(evaluationDao.findUsersWithIncompleteEvaluationsByCycle(1L, 2, 3)).thenReturn(rows);
+
+        UsersWithIncompleteEvaluationsDto dto = evaluationBean.listUsersWithIncompleteEvaluationsFromLastCycle(2, 3);
+
+        assertEquals(5, dto.getTotalUsersWithIncompleteEvaluations());
+        assertEquals(2, dto.getPage());
+        assertEquals(3, dto.getPageSize());
+        assertEquals(2, dto.getManagers().size());
+
+        ManagerIncompleteEvaluationsDto first = dto.getManagers().get(0);
+        assertEquals(10, first.getManagerId());
+        assertEquals("Rui Costa", first.getManagerName());
+        assertEquals(List.of("Ana Silva", "Bruno Reis"),
+                first.getUsers().stream().map(IncompleteEvaluationUserDto::getName).toList());
+        assertNull(dto.getManagers().get(1).getUsers().get(0).getName());
+        verify(evaluationDao, never()).findIncompleteEvaluationsByCycle(any());
+    }
 
-        UserEntity user1 = new UserEntity();
-        user1.setId(1);
-        user1.setEmail("u1@example.com");
-
-        UserEntity user2 = new UserEntity();
-        user2.setId(2);
-        user2.setEmail("u2@example.com");
-
-        EvaluationEntity eval1 = new EvaluationEntity();
-        eval1.setEvaluated(user1);
-        EvaluationEntity eval2 = new EvaluationEntity();
-        eval2.setEvaluated(user2);
-
-        List<EvaluationEntity> incompleteList = List.of(eval1, eval2);
-        when(evaluationBean.getIncompleteEvaluationsForCycle(cycle)).thenReturn(incompleteList);
-
-        // Mock JavaConversionUtil.convertUserEntityToUserDto
-        try (MockedStatic<JavaConversionUtil> utilities = mockStatic(JavaConversionUtil.class)) {
-            utilities.when(() -> JavaConversionUtil.convertUserEntityToUserDto(user1))
-                    .thenReturn(new UserDto());
-            utilities.when(() -> JavaConversionUtil.convertUserEntityToUserDto(user2))
-                    .thenReturn(new UserDto());
-
-            UsersWithIncompleteEvaluationsDto dto = evaluationBean.listUsersWithIncompleteEvaluationsFromLastCycle();
+    @Test
+    void testUpdateEvaluationsInBatch_checksEachItemAndSavesValidOnesTogether() {
+        EvaluationCycleEntity cycle = new EvaluationCycleEntity();
+        cycle.setId(1L);
+        when(evaluationCycleBean.findActiveCycle()).thenReturn(cycle);
 
-            assertEquals(2, dto.getTotalUsersWithIncompleteEvaluations());
-            assertEquals(2, dto.getUsers().size());
-        }
+        RoleEntity role = new RoleEntity();
+        role.setName("MANAGER");
+        UserEntity manager = new UserEntity();
+        manager.setEmail("m@example.com");
+        manager.setRole(role);
+        UserEntity otherManager = new UserEntity();
+        otherManager.setEmail("other@example.com");
+
+        EvaluationEntity ok = batchEvaluation(1L, "a@example.com", manager, EvaluationStateEnum.IN_EVALUATION);
+        EvaluationEntity stale = batchEvaluation(2L, "b@example.com", manager, EvaluationStateEnum.IN_EVALUATION);
+        stale.setVersion(5L);
+        EvaluationEntity notMine = batchEvaluation(3L, "c@example.com", otherManager, EvaluationStateEnum.IN_EVALUATION);
+        EvaluationEntity done = batchEvaluation(4L, "d@example.com", manager, EvaluationStateEnum.EVALUATED);
+        when(evaluationDao.findForGradingByCycleAndEmails(eq(1L), anyList()))
+                .thenReturn(List.of(ok, stale, notMine, done));
+
+        List<UpdateEvaluationDto> dtos = List.of(
+                batchDto("a@example.com", 3, null),
+                batchDto("b@example.com", 3, 4L),
+                batchDto("c@example.com", 3, null),
+                batchDto("d@example.com", 3, null),
+                batchDto("x@example.com", 3, null),
+                batchDto("a@example.com", 2, null));
+
+        EvaluationBatchResultDto result = evaluationBean.updateEvaluationsInBatch(dtos, manager);
+
+        assertEquals(List.of(200, 409, 403, 409, 404, 400),
+                result.getResults().stream().map(EvaluationBatchItemResultDto::getStatus).toList());
+        assertEquals(5L, result.getResults().get(1).getVersion());
+        assertEquals(1, result.getUpdatedCount());
+        assertEquals(5, result.getFailedCount());
+        // one query for the whole batch, one save for the valid items
+        verify(evaluationDao, times(1)).findForGradingByCycleAndEmails(eq(1L), anyList());
+        verify(evaluationTransitionBean).gradeAll(eq(Map.of(ok, dtos.get(0))), same(manager));
     }
 
     @Test
-    void testRevertEvaluationToInEvaluation_Fail() {
-        EvaluationEntity eval = new EvaluationEntity();
-        eval.setId(1L);
-        eval.setState(EvaluationStateEnum.IN_EVALUATION);
-
-        boolean result = evaluationBean.revertEvaluationToInEvaluation(eval);
+    void testUpdateEvaluationsInBatch_noActiveCycle_returnsNull() {
+        when(evaluationCycleBean.findActiveCycle()).thenReturn(null);
 
-        assertFalse(result);
-        verify(evaluationDao, never()).save(any());
+        assertNull(evaluationBean.updateEvaluationsInBatch(List.of(new UpdateEvaluationDto()), new UserEntity()));
+        verifyNoInteractions(evaluationDao, evaluationTransitionBean);
     }
 
-    @Test
-    void testUpdateEvaluationWithGradeAndFeedback_WithFeedback() {
-        EvaluationEntity eval = new EvaluationEntity();
-        UserEntity evaluator = new UserEntity();
+    private EvaluationEntity batchEvaluation(long id, String email, UserEntity manager, EvaluationStateEnum state) {
         UserEntity evaluated = new UserEntity();
-        evaluated.setEmail("eval@example.com");
-        eval.setEvaluated(evaluated);
+        evaluated.setEmail(email);
+        evaluated.setManager(manager);
+        EvaluationEntity evaluation = new EvaluationEntity();
+        evaluation.setId(id);
+        evaluation.setEvaluated(evaluated);
+        evaluation.setState(state);
+        return evaluation;
+    }
 
+    private UpdateEvaluationDto batchDto(String email, int grade, Long version) {
         UpdateEvaluationDto dto = new UpdateEvaluationDto();
-        dto.setGrade(3);
-        dto.setFeedback("Good");
-        dto.setEvaluatedEmail("eval@example.com");
-
-        evaluationBean.updateEvaluationWithGradeAndFeedback(dto, eval, evaluator);
-
-        assertEquals(EvaluationStateEnum.EVALUATED, eval.getState());
-        verify(evaluationDao).save(eval);
+        dto.setEvaluatedEmail(email);
+        dto.setGrade(grade);
+        dto.setVersion(version);
+        return dto;
     }
 
     @Test
-    void testUpdateEvaluationWithGradeAndFeedback_WithoutFeedback() {
-        EvaluationEntity eval = new EvaluationEntity();
-        UserEntity evaluator = new UserEntity();
-        UserEntity evaluated = new UserEntity();
-        evaluated.setEmail("eval@example.com");
-        eval.setEvaluated(evaluated);
+    void testSearchFeedback_totalTravelsWithThePage() {
+        UserEntity requester = new UserEntity();
+        FeedbackSearchResultDto hit = new FeedbackSearchResultDto();
+        hit.setSnippet("shows great [[leadership]] in the team");
+        when(evaluationDao.searchFeedback("leadership", requester, 2, EvaluationBean.FEEDBACK_SEARCH_PAGE_SIZE))
+                .thenReturn(new EvaluationDao.FeedbackSearchPage(List.of(hit), 11L));
+
+        PaginatedFeedbackSearchDto dto = evaluationBean.searchFeedback("leadership", requester, 2);
+
+        assertEquals(11L, dto.getTotalCount());
+        assertEquals(2, dto.getTotalPages());
+        assertEquals(2, dto.getCurrentPage());
+        assertSame(hit, dto.getResults().get(0));
+        verify(evaluationDao, never()).countFeedbackMatches(any(), any());
+    }
 
-        UpdateEvaluationDto dto = new UpdateEvaluationDto();
-        dto.setGrade(3);
-        dto.setFeedback("  ");  // blank feedback
+    @Test
+    void testSearchFeedback_emptyPageCountsSeparately() {
+        UserEntity requester = new UserEntity();
+        when(evaluationDao.searchFeedback(eq("leadership"), same(requester), eq(5), anyInt()))
+                .thenReturn(new EvaluationDao.FeedbackSearchPage(List.of(), null));
+        when(evaluationDao.countFeedbackMatches("leadership", requester)).thenReturn(3L);
 
-        evaluationBean.updateEvaluationWithGradeAndFeedback(dto, eval, evaluator);
+        PaginatedFeedbackSearchDto dto = evaluationBean.searchFeedback("leadership", requester, 5);
 
-        assertEquals(EvaluationStateEnum.IN_EVALUATION, eval.getState());
-        verify(evaluationDao).save(eval);
+        assertEquals(3L, dto.getTotalCount());
+        assertEquals(1, dto.getTotalPages());
+        assertTrue(dto.getResults().isEmpty());
     }
 
     @Test
@@ -279,4 +366,181 @@ class EvaluationBeanTest {
         assertTrue(result);
         verify(evaluationDao).alreadyEvaluatedAtCurrentCycle(cycle, user);
     }
+
+    @Test
+    void writeEvaluationsCsv_streamsRowsAndClosesStream() throws Exception {
+        UserEntity admin = new UserEntity();
+        EvaluationCsvRowDto row = new EvaluationCsvRowDto("Ana", "Silva", "ana@mail.com",
+                EvaluationStateEnum.EVALUATED, GradeEvaluationEnum.getEnumfromGrade(3),
+                "Rui", "Costa", LocalDateTime.of(2025, 8, 31, 23, 59));
+        boolean[] closed = {false};
+        when(evaluationDao.streamEvaluationCsvRowsWithFilters(null, null, null, null, admin))
+                .thenReturn(Stream.of(row).onClose(() -> closed[0] = true));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int count = evaluationBean.writeEvaluationsCsv(null, null, null, null, admin, out);
+
+        assertEquals(1, count);
+        assertTrue(closed[0]);
+        assertEquals(JavaConversionUtil.EVALUATIONS_CSV_HEADER +
+                        "\"Ana Silva\",ana@mail.com,EVALUATED,3,Rui Costa,2025-08-31 23:59\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    private UserEntity requesterWithRole(String roleName) {
+        RoleEntity role = new RoleEntity();
+        role.setName(roleName);
+        UserEntity requester = new UserEntity();
+        requester.setRole(role);
+        return requester;
+    }
+
+    private List<FlatEvaluationDto> evaluationsWithIds(long from, int count) {
+        List<FlatEvaluationDto> list = new ArrayList<>();
+        for (long id = from; id < from + count; id++) {
+            list.add(new FlatEvaluationDto(id, (int) id * 10, "user" + id + "@example.com", "First" + id, "Last" + id,
+                    null, EvaluationStateEnum.IN_EVALUATION, null, null, null, null, 0L));
+        }
+        return list;
+    }
+
+    @Test
+    void findEvaluationsWithFiltersPaginated_firstPage_readsTotalFromSameQueryAndReturnsCursor() {
+        UserEntity manager = requesterWithRole("MANAGER");
+        when(evaluationDao.findEvaluationsWithFiltersPaginated("ana", null, null, null, manager, null, 1, 10, true))
+                .thenReturn(new EvaluationDao.Page(evaluationsWithIds(1, 10), 25L));
+
+        PaginatedEvaluationsDto result = evaluationBean.findEvaluationsWithFiltersPaginated(
+                "ana", null, null, null, manager, 1, null);
+
+        assertEquals(25, result.getTotalCount());
+        assertEquals(3, result.getTotalPages());
+        assertNotNull(result.getNextCursor());
+        verify(evaluationDao, never()).countEvaluationsWithFilters(any(), any(), any(), any(), any());
+
+        EvaluationBean.Cursor cursor = EvaluationBean.decodeCursor(result.getNextCursor(),
+                EvaluationBean.cursorScope("ana", null, null, null, manager));
+        assertEquals(new EvaluationDao.Keyset("Last10", "First10", 10L), cursor.keyset());
+        assertEquals(25L, cursor.totalCount());
+    }
+
+    @Test
+    void findEvaluationsWithFiltersPaginated_withCursor_seeksAndReusesTotal() {
+        UserEntity manager = requesterWithRole("MANAGER");
+        String cursor = EvaluationBean.encodeCursor(new EvaluationDao.Keyset("Last10", "First10", 10L), 25L,
+                EvaluationBean.cursorScope(null, null, null, null, manager));
+        EvaluationDao.Keyset expected = new EvaluationDao.Keyset("Last10", "First10", 10L);
+        when(evaluationDao.findEvaluationsWithFiltersPaginated(null, null, null, null, manager, expected, 2, 10, false))
+                .thenReturn(new EvaluationDao.Page(evaluationsWithIds(11, 10), null));
+
+        PaginatedEvaluationsDto result = evaluationBean.findEvaluationsWithFiltersPaginated(
+                null, null, null, null, manager, 2, cursor);
+
+        assertEquals(25, result.getTotalCount());
+        assertEquals(10, result.getEvaluations().size());
+        assertNotNull(result.getNextCursor());
+    }
+
+    @Test
+    void findEvaluationsWithFiltersPaginated_cursorWithTamperedTotal_countsAgain() {
+        UserEntity manager = requesterWithRole("MANAGER");
+        String scope = EvaluationBean.cursorScope(null, null, null, null, manager);
+        String signed = new String(Base64.getUrlDecoder().decode(
+                EvaluationBean.encodeCursor(new EvaluationDao.Keyset("Last10", "First10", 10L), 25L, scope)), StandardCharsets.UTF_8);
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                signed.replace("\u000025\u0000", "\u00009999\u0000").getBytes(StandardCharsets.UTF_8));
+        EvaluationDao.Keyset expected = new EvaluationDao.Keyset("Last10", "First10", 10L);
+        when(evaluationDao.countEvaluationsWithFilters(null, null, null, null, manager)).thenReturn(25L);
+        when(evaluationDao.findEvaluationsWithFiltersPaginated(null, null, null, null, manager, expected, 2, 10, false))
+                .thenReturn(new EvaluationDao.Page(evaluationsWithIds(11, 10), null));
+
+        PaginatedEvaluationsDto result = evaluationBean.findEvaluationsWithFiltersPaginated(
+                null, null, null, null, manager, 2, tampered);
+
+        // the full listing is counted, not the window of rows after the cursor
+        assertEquals(25, result.getTotalCount());
+        assertEquals(3, result.getTotalPages());
+        assertEquals(25L, EvaluationBean.decodeCursor(result.getNextCursor(), scope).totalCount());
+    }
+
+    @Test
+    void findEvaluationsWithFiltersPaginated_cursorFromAnotherListing_countsAgain() {
+        UserEntity manager = requesterWithRole("MANAGER");
+        manager.setId(7);
+        String otherFilter = EvaluationBean.encodeCursor(new EvaluationDao.Keyset("Last10", "First10", 10L), 3L,
+                EvaluationBean.cursorScope("rui", null, null, null, manager));
+        when(evaluationDao.countEvaluationsWithFilters("ana", null, null, null, manager)).thenReturn(25L);
+        when(evaluationDao.findEvaluationsWithFiltersPaginated(eq("ana"), any(), any(), any(), eq(manager), any(), eq(2), eq(10), eq(false)))
+                .thenReturn(new EvaluationDao.Page(evaluationsWithIds(11, 10), null));
+
+        PaginatedEvaluationsDto result = evaluationBean.findEvaluationsWithFiltersPaginated(
+                "ana", null, null, null, manager, 2, otherFilter);
+
+        assertEquals(25, result.getTotalCount());
+        assertNotNull(result.getNextCursor());
+
+        UserEntity otherManager = requesterWithRole("MANAGER");
+        otherManager.setId(8);
+        assertNull(EvaluationBean.decodeCursor(result.getNextCursor(),
+                EvaluationBean.cursorScope("ana", null, null, null, otherManager)).totalCount());
+    }
+
+    @Test
+    void findEvaluationsWithFiltersPaginated_unfilteredAdmin_usesCachedTotal() {
+        UserEntity admin = requesterWithRole("ADMIN");
+        when(evaluationCountCacheBean.getUnfilteredTotal()).thenReturn(5L);
+        when(evaluationDao.findEvaluationsWithFiltersPaginated(null, null, null, null, admin, null, 1, 10, false))
+                .thenReturn(new EvaluationDao.Page(evaluationsWithIds(1, 5), null));
+
+        PaginatedEvaluationsDto result = evaluationBean.findEvaluationsWithFiltersPaginated(
+                null, null, null, null, admin, 1, null);
+
+        assertEquals(5, result.getTotalCount());
+        assertNull(result.getNextCursor());
+        verify(evaluationCountCacheBean, never()).putUnfilteredTotal(anyLong());
+    }
+
+    @Test
+    void findEvaluationsWithFiltersPaginated_returnsProjectedRowsFromSingleDaoCall() {
+        UserEntity manager = requesterWithRole("MANAGER");
+        List<FlatEvaluationDto> rows = evaluationsWithIds(1, 100);
+        when(evaluationDao.findEvaluationsWithFiltersPaginated(any(), any(), any(), any(), any(), any(), anyInt(), anyInt(), anyBoolean()))
+                .thenReturn(new EvaluationDao.Page(rows, 100L));
+
+        PaginatedEvaluationsDto result = evaluationBean.findEvaluationsWithFiltersPaginated(
+                "ana", null, null, null, manager, 1, null);
+
+        // the projected rows are the response: nothing is loaded or converted per row
+        assertSame(rows, result.getEvaluations());
+        verify(evaluationDao, times(1)).findEvaluationsWithFiltersPaginated(any(), any(), any(), any(), any(), any(), anyInt(), anyInt(), anyBoolean());
+        verifyNoMoreInteractions(evaluationDao);
+    }
+
+    @Test
+    void findEvaluationsWithFiltersPaginated_malformedCursor_throws() {
+        UserEntity admin = requesterWithRole("ADMIN");
+
+        assertThrows(IllegalArgumentException.class, () -> evaluationBean.findEvaluationsWithFiltersPaginated(
+                null, null, null, null, admin, 2, "not-a-cursor"));
+    }
+
+    @Test
+    void getFilteredEvaluationHistory_readsFromHistoryProjection() {
+        UserEntity evaluated = new UserEntity();
+        evaluated.setId(5);
+        evaluated.setEmail("user@example.com");
+        List<FlatEvaluationHistoryDto> page = List.of(
+                new FlatEvaluationHistoryDto(11L, 3L, LocalDateTime.of(2025, 6, 30, 18, 0), GradeEvaluationEnum.AS_EXPECTED));
+        when(evaluationHistoryDao.findHistoryPage(5, 2, 10, 3, null, null)).thenReturn(page);
+        when(evaluationHistoryDao.countHistory(5, 3, null, null)).thenReturn(11L);
+
+        PaginatedEvaluationHistoryDto result = evaluationBean.getFilteredEvaluationHistory(evaluated, 2, 3, null, null);
+
+        assertEquals(1, result.getEvaluations().size());
+        assertEquals("2025-06-30", result.getEvaluations().get(0).getEvaluationDate());
+        assertEquals(3, result.getEvaluations().get(0).getGrade());
+        assertEquals(3, result.getEvaluations().get(0).getCycleNumber());
+        assertEquals(2, result.getTotalPages());
+        verifyNoInteractions(evaluationDao);
+    }
 }
@@ -3,9 +3,15 @@ package aor.projetofinal.bean;
 import aor.projetofinal.context.RequestContext;
 import aor.projetofinal.dao.EvaluationCycleDao;
 import aor.projetofinal.dao.EvaluationDao;
+import aor.projetofinal.dao.EvaluationHistoryDao;
 import aor.projetofinal.dao.UserDao;
+import aor.projetofinal.dto.CycleAnalyticsDto;
+import aor.projetofinal.dto.GradeCountRowDto;
 import aor.projetofinal.entity.*;
 import aor.projetofinal.entity.enums.EvaluationStateEnum;
+import aor.projetofinal.entity.enums.GradeEvaluationEnum;
+import aor.projetofinal.entity.enums.UsualWorkPlaceEnum;
+import aor.projetofinal.exception.ConcurrentUpdateException;
 
 import aor.projetofinal.util.EmailUtil;
 import jakarta.transaction.Transactional;
@@ -33,9 +39,33 @@ class EvaluationCycleBeanTest {
     @Mock
     private EvaluationDao evaluationDao;
 
+    @Mock
+    private EvaluationHistoryDao evaluationHistoryDao;
+
     @Mock
     private NotificationBean notificationBean;
 
+    @Mock
+    private DashboardCacheBean dashboardCacheBean;
+
+    @Mock
+    private EvaluationCountCacheBean evaluationCountCacheBean;
+
+    @Mock
+    private OrganisationCounterBean organisationCounterBean;
+
+    @Mock
+    private EvaluationTransitionBean evaluationTransitionBean;
+
+    @Mock
+    private AfterCommitQueueBean afterCommitQueueBean;
+
+    @Mock
+    private ActiveCycleCacheBean activeCycleCacheBean;
+
+    @Spy
+    private CycleAnalyticsCacheBean cycleAnalyticsCacheBean = new CycleAnalyticsCacheBean();
+
     @InjectMocks
     private EvaluationCycleBean evaluationCycleBean;
 
@@ -51,26 +81,28 @@ class EvaluationCycleBeanTest {
     }
 
     @Test
-    void findActiveCycle_returnsCycle_whenFound() {
+    void findActiveCycle_returnsCachedCycleReference_withoutQuerying() {
         EvaluationCycleEntity cycle = new EvaluationCycleEntity();
         cycle.setId(1L);
-        when(evaluationCycleDao.findActiveCycle()).thenReturn(cycle);
+        when(activeCycleCacheBean.get()).thenReturn(new ActiveCycleCacheBean.ActiveCycle(1L, null));
+        when(evaluationCycleDao.getReference(1L)).thenReturn(cycle);
 
         EvaluationCycleEntity result = evaluationCycleBean.findActiveCycle();
 
         assertNotNull(result);
         assertEquals(1L, result.getId());
-        verify(evaluationCycleDao).findActiveCycle();
+        verify(evaluationCycleDao, never()).findActiveCycle();
+        verify(evaluationCycleDao, never()).findById(any());
     }
 
     @Test
     void findActiveCycle_returnsNull_whenNoneActive() {
-        when(evaluationCycleDao.findActiveCycle()).thenReturn(null);
+        when(activeCycleCacheBean.get()).thenReturn(null);
 
         EvaluationCycleEntity result = evaluationCycleBean.findActiveCycle();
 
         assertNull(result);
-        verify(evaluationCycleDao).findActiveCycle();
+        verifyNoInteractions(evaluationCycleDao);
     }
 
 
@@ -78,22 +110,198 @@ class EvaluationCycleBeanTest {
     void createCycleAndCreateBlankEvaluations_createsCycleAndEvaluations() {
         LocalDate endDate = LocalDate.now().plusDays(30);
 
-        UserEntity user = new UserEntity();
-        UserEntity manager = new UserEntity();
-        user.setManager(manager);
-        user.setProfile(new ProfileEntity());
-        user.getProfile().setFirstName("John");
-        user.getProfile().setLastName("Doe");
-        manager.setId(2);
-
-        when(userDao.findConfirmedUsersWithManager()).thenReturn(List.of(user));
+        doAnswer(invocation -> {
+            invocation.<EvaluationCycleEntity>getArgument(0).setId(9L);
+            return null;
+        }).when(evaluationCycleDao).create(any(EvaluationCycleEntity.class));
+        when(evaluationDao.createBlankEvaluationsForCycle(any(EvaluationCycleEntity.class))).thenReturn(10_000);
 
         evaluationCycleBean.createCycleAndCreateBlankEvaluations(endDate);
 
-        verify(evaluationCycleDao).create(any(EvaluationCycleEntity.class));
-        verify(evaluationDao).create(any(EvaluationEntity.class));
-        verify(notificationBean).createNotification(eq(manager.getId()), eq("SYSTEM"), anyString());
+        verify(evaluationCycleDao).create(cycleCaptor.capture());
+        assertEquals(endDate.atTime(LocalTime.MAX), cycleCaptor.getValue().getEndDate());
+        // evaluations and notifications are inserted set-based, never row by row
+        verify(evaluationDao, times(1)).createBlankEvaluationsForCycle(cycleCaptor.getValue());
+        verify(evaluationDao, never()).create(any(EvaluationEntity.class));
+        verify(notificationBean, times(1)).createCycleAssignmentNotifications(9L);
+        verify(notificationBean, never()).createNotification(anyInt(), anyString(), anyString());
+        verify(evaluationCycleDao).adjustStateCounters(9L, null, EvaluationStateEnum.IN_EVALUATION, 10_000);
+        verify(organisationCounterBean).evaluationsCreated(10_000);
+        verify(afterCommitQueueBean).enqueue(eq("cycle-created-emails:9"), any());
+        verify(afterCommitQueueBean).invalidate(eq("active-cycle"), any());
+    }
+
+
+
+    @Test
+    void bulkCloseEvaluationsAndCycle_usesSingleBulkUpdate_andKeepsCycleOpenWhenPendingRemain() {
+        EvaluationCycleEntity cycle = new EvaluationCycleEntity();
+        cycle.setId(7L);
+        cycle.setActive(true);
+        when(activeCycleCacheBean.get()).thenReturn(new ActiveCycleCacheBean.ActiveCycle(7L, null));
+        when(evaluationCycleDao.findById(7L)).thenReturn(cycle);
+        when(evaluationTransitionBean.closeAllEvaluated(eq(cycle), any(LocalDateTime.class))).thenReturn(50_000);
+        when(evaluationCycleDao.countOpenEvaluations(7L)).thenReturn(3L);
+
+        evaluationCycleBean.bulkCloseEvaluationsAndCycle();
+
+        verify(evaluationTransitionBean, times(1)).closeAllEvaluated(eq(cycle), any(LocalDateTime.class));
+        verify(evaluationDao, never()).save(any());
+        verify(evaluationDao, never()).findAllEvaluationsByCycle(any());
+        verify(evaluationCycleDao, never()).deactivateCycle(any(), any());
+        verify(evaluationHistoryDao, never()).materializeCycle(any());
+        verify(afterCommitQueueBean, never()).enqueue(startsWith("cycle-closed"), any());
+        assertTrue(cycle.isActive());
+    }
+
+    @Test
+    void bulkCloseEvaluationsAndCycle_lastEvaluationsClosed_writesHistoryOnceAndNotifiesAfterCommit() {
+        EvaluationCycleEntity cycle = new EvaluationCycleEntity();
+        cycle.setId(7L);
+        cycle.setActive(true);
+        when(activeCycleCacheBean.get()).thenReturn(new ActiveCycleCacheBean.ActiveCycle(7L, null));
+        when(evaluationCycleDao.findById(7L)).thenReturn(cycle);
+        when(evaluationTransitionBean.closeAllEvaluated(eq(cycle), any(LocalDateTime.class))).thenReturn(10);
+        when(evaluationCycleDao.countOpenEvaluations(7L)).thenReturn(0L);
+        when(evaluationCycleDao.deactivateCycle(eq(cycle), any(LocalDateTime.class))).thenReturn(true);
+        when(evaluationCycleDao.findParticipantEmails(7L)).thenReturn(List.of("a@test.com"));
+
+        evaluationCycleBean.bulkCloseEvaluationsAndCycle();
+
+        InOrder inOrder = inOrder(evaluationCycleDao, evaluationHistoryDao);
+        inOrder.verify(evaluationCycleDao).deactivateCycle(eq(cycle), any(LocalDateTime.class));
+        inOrder.verify(evaluationHistoryDao, times(1)).materializeCycle(cycle);
+        // participants are told only once the closure is committed
+        verify(afterCommitQueueBean).enqueue(eq("cycle-closed-notifications:7"), any());
+        verify(afterCommitQueueBean).enqueue(eq("cycle-closed-emails:7"), any());
+        verify(afterCommitQueueBean).invalidate(eq("active-cycle"), any());
+        verify(notificationBean, never()).createCycleClosureNotifications(any());
+        verify(notificationBean, never()).createNotification(anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void bulkCloseEvaluationsAndCycle_archivesCycleOnlyAfterCommit() {
+        EvaluationCycleEntity cycle = new EvaluationCycleEntity();
+        cycle.setId(7L);
+        cycle.setActive(true);
+        when(activeCycleCacheBean.get()).thenReturn(new ActiveCycleCacheBean.ActiveCycle(7L, null));
+        when(evaluationCycleDao.findById(7L)).thenReturn(cycle);
+        when(evaluationCycleDao.countOpenEvaluations(7L)).thenReturn(0L);
+        when(evaluationCycleDao.deactivateCycle(eq(cycle), any(LocalDateTime.class))).thenReturn(true);
+        ArgumentCaptor<Runnable> archive = ArgumentCaptor.forClass(Runnable.class);
+
+        evaluationCycleBean.bulkCloseEvaluationsAndCycle();
+
+        verify(evaluationDao, never()).archiveCycle(any());
+        verify(afterCommitQueueBean).enqueue(eq("cycle-archive:7"), archive.capture());
+
+        archive.getValue().run();
+        verify(evaluationDao).archiveCycle(7L);
+    }
+
+    @Test
+    void closeEvaluationAndCheckCycle_countsOpenEvaluationsInsteadOfLoadingCycle() {
+        EvaluationCycleEntity cycle = mock(EvaluationCycleEntity.class);
+        when(cycle.getId()).thenReturn(4L);
+        EvaluationEntity evaluation = new EvaluationEntity();
+        evaluation.setState(EvaluationStateEnum.EVALUATED);
+        evaluation.setCycle(cycle);
+        when(evaluationCycleDao.countOpenEvaluations(4L)).thenReturn(12L);
+
+        evaluationCycleBean.closeEvaluationAndCheckCycle(evaluation);
+
+        verify(evaluationTransitionBean).close(evaluation, null);
+        verify(cycle, never()).getEvaluations();
+        verify(evaluationDao, never()).stampEvaluationDatesByCycle(any(), any());
+        verify(evaluationDao, never()).save(any());
+        verify(evaluationCycleDao, never()).deactivateCycle(any(), any());
+    }
+
+    @Test
+    void bulkCloseEvaluationsAndCycle_cycleClosedConcurrently_throwsConflictWithoutNotifying() {
+        EvaluationCycleEntity cycle = new EvaluationCycleEntity();
+        cycle.setId(7L);
+        cycle.setActive(true);
+        when(activeCycleCacheBean.get()).thenReturn(new ActiveCycleCacheBean.ActiveCycle(7L, null));
+        when(evaluationCycleDao.findById(7L)).thenReturn(cycle);
+        when(evaluationCycleDao.countOpenEvaluations(7L)).thenReturn(0L);
+        when(evaluationCycleDao.deactivateCycle(eq(cycle), any(LocalDateTime.class))).thenReturn(false);
+        when(evaluationCycleDao.findVersion(7L)).thenReturn(5L);
+
+        ConcurrentUpdateException e = assertThrows(ConcurrentUpdateException.class,
+                () -> evaluationCycleBean.bulkCloseEvaluationsAndCycle());
+
+        assertEquals(5L, e.getCurrentVersion());
+        verify(activeCycleCacheBean).evict();
+        verify(evaluationHistoryDao, never()).materializeCycle(any());
+        verify(afterCommitQueueBean, never()).enqueue(startsWith("cycle-closed"), any());
     }
 
+    private List<GradeCountRowDto> gradeRows() {
+        return List.of(
+                new GradeCountRowDto(7, "Ana", "Silva", UsualWorkPlaceEnum.LISBOA, GradeEvaluationEnum.AS_EXPECTED, 3L),
+                new GradeCountRowDto(7, "Ana", "Silva", UsualWorkPlaceEnum.PORTO, GradeEvaluationEnum.EXCEEDED_CONTRIBUTION, 1L),
+                new GradeCountRowDto(8, "Bruno", "Costa", UsualWorkPlaceEnum.LISBOA, GradeEvaluationEnum.LOW_CONTRIBUTION, 2L),
+                new GradeCountRowDto(8, "Bruno", "Costa", UsualWorkPlaceEnum.LISBOA, null, 1L));
+    }
+
+    @Test
+    void getCycleAnalytics_foldsAggregatedRowsIntoHistograms() {
+        EvaluationCycleEntity cycle = new EvaluationCycleEntity();
+        cycle.setId(4L);
+        cycle.setActive(true);
+        when(evaluationCycleDao.findById(4L)).thenReturn(cycle);
+        when(evaluationDao.countGradesByCycle(4L)).thenReturn(gradeRows());
+
+        CycleAnalyticsDto result = evaluationCycleBean.getCycleAnalytics(4L);
 
+        assertEquals(7, result.getOverall().getTotal());
+        assertArrayEquals(new long[]{2, 0, 3, 1}, result.getOverall().getCounts());
+        assertEquals(1, result.getOverall().getUngraded());
+        assertEquals(List.of("Ana Silva", "Bruno Costa"),
+                result.getByEvaluator().stream().map(h -> h.getLabel()).toList());
+        assertArrayEquals(new long[]{2, 0, 0, 0}, result.getByEvaluator().get(1).getCounts());
+        assertEquals(6, result.getByWorkplace().get(0).getTotal()); // LISBOA
+        assertEquals(4, result.getGradeLabels().size());
+        assertFalse(result.isClosed());
+    }
+
+    @Test
+    void getCycleAnalytics_activeCycle_isRecomputedEveryTime() {
+        EvaluationCycleEntity cycle = new EvaluationCycleEntity();
+        cycle.setId(4L);
+        cycle.setActive(true);
+        when(evaluationCycleDao.findById(4L)).thenReturn(cycle);
+        when(evaluationDao.countGradesByCycle(4L)).thenReturn(gradeRows());
+
+        evaluationCycleBean.getCycleAnalytics(4L);
+        evaluationCycleBean.getCycleAnalytics(4L);
+
+        verify(evaluationDao, times(2)).countGradesByCycle(4L);
+    }
+
+    @Test
+    void getCycleAnalytics_closedCycle_isComputedOnce() {
+        EvaluationCycleEntity cycle = new EvaluationCycleEntity();
+        cycle.setId(3L);
+        cycle.setActive(false);
+        when(evaluationCycleDao.findById(3L)).thenReturn(cycle);
+        when(evaluationDao.countGradesByCycle(3L)).thenReturn(gradeRows());
+
+        CycleAnalyticsDto first = evaluationCycleBean.getCycleAnalytics(3L);
+        CycleAnalyticsDto second = evaluationCycleBean.getCycleAnalytics(3L);
+
+        assertSame(first, second);
+        assertTrue(second.isClosed());
+        verify(evaluationDao, times(1)).countGradesByCycle(3L);
+        verify(evaluationCycleDao, times(1)).findById(3L);
+    }
+
+    @Test
+    void getCycleAnalytics_unknownCycle_returnsNull() {
+        when(evaluationCycleDao.findById(99L)).thenReturn(null);
+
+        assertNull(evaluationCycleBean.getCycleAnalytics(99L));
+        verify(evaluationDao, never()).countGradesByCycle(any());
+    }
 }
@@ -0,0 +1,108 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.dto.EvaluationPdfDto;
+import aor.projetofinal.entity.EvaluationCycleEntity;
+import aor.projetofinal.entity.EvaluationEntity;
+import aor.projetofinal.entity.ProfileEntity;
+import aor.projetofinal.entity.UserEntity;
+import aor.projetofinal.entity.enums.EvaluationStateEnum;
+import aor.projetofinal.entity.enums.GradeEvaluationEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluationPdfCacheBeanTest {
+
+    private Path dataDir;
+
+    private EvaluationPdfCacheBean evaluationPdfCacheBean;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataDir = Files.createTempDirectory("pdf-cache-test");
+        System.setProperty("jboss.server.data.dir", dataDir.toString());
+        evaluationPdfCacheBean = new EvaluationPdfCacheBean();
+        evaluationPdfCacheBean.init();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        System.clearProperty("jboss.server.data.dir");
+        try (Stream<Path> files = Files.walk(dataDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private EvaluationEntity closedEvaluation(String feedback) {
+        ProfileEntity evaluatedProfile = new ProfileEntity();
+        evaluatedProfile.setFirstName("Ana");
+        evaluatedProfile.setLastName("Silva");
+        UserEntity evaluated = new UserEntity();
+        evaluated.setEmail("ana@example.com");
+        evaluated.setProfile(evaluatedProfile);
+
+        ProfileEntity evaluatorProfile = new ProfileEntity();
+        evaluatorProfile.setFirstName("Rui");
+        evaluatorProfile.setLastName("Costa");
+        UserEntity evaluator = new UserEntity();
+        evaluator.setProfile(evaluatorProfile);
+
+        EvaluationCycleEntity cycle = new EvaluationCycleEntity();
+        cycle.setId(2L);
+        cycle.setActive(false);
+        cycle.setEndDate(LocalDateTime.of(2025, 6, 30, 23, 59));
+
+        EvaluationEntity evaluation = new EvaluationEntity();
+        evaluation.setId(15L);
+        evaluation.setState(EvaluationStateEnum.CLOSED);
+        evaluation.setGrade(GradeEvaluationEnum.AS_EXPECTED);
+        evaluation.setFeedback(feedback);
+        evaluation.setCycle(cycle);
+        evaluation.setEvaluated(evaluated);
+        evaluation.setEvaluator(evaluator);
+        return evaluation;
+    }
+
+    @Test
+    void getOrRender_firstCall_rendersPdfOnce() throws Exception {
+        EvaluationEntity evaluation = closedEvaluation("Great work.");
+
+        EvaluationPdfCacheBean.CachedPdf first = evaluationPdfCacheBean.getOrRender(evaluation);
+        Files.setLastModifiedTime(first.file(), FileTime.fromMillis(0));
+        EvaluationPdfCacheBean.CachedPdf second = evaluationPdfCacheBean.getOrRender(evaluation);
+
+        assertEquals(first, second);
+        assertTrue(first.size() > 0);
+        assertEquals(0, Files.getLastModifiedTime(second.file()).toMillis());
+        assertTrue(first.etag().startsWith("\"") && first.etag().endsWith("\""));
+    }
+
+    @Test
+    void fingerprint_changesWithPrintedContent() {
+        String original = EvaluationPdfCacheBean.fingerprint(EvaluationPdfDto.from(closedEvaluation("Great work.")));
+
+        assertEquals(original, EvaluationPdfCacheBean.fingerprint(EvaluationPdfDto.from(closedEvaluation("Great work."))));
+        assertNotEquals(original, EvaluationPdfCacheBean.fingerprint(EvaluationPdfDto.from(closedEvaluation("Good work."))));
+    }
+
+    @Test
+    void transferTo_copiesTheCachedFile() throws Exception {
+        EvaluationPdfCacheBean.CachedPdf pdf = evaluationPdfCacheBean.getOrRender(closedEvaluation("Great work."));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        EvaluationPdfCacheBean.transferTo(pdf, out);
+
+        assertArrayEquals(Files.readAllBytes(pdf.file()), out.toByteArray());
+        assertEquals("%PDF", new String(out.toByteArray(), 0, 4));
+    }
+}
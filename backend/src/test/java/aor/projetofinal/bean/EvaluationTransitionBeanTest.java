@@ -0,0 +1,242 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.dao.EvaluationCycleDao;
+import aor.projetofinal.dao.EvaluationDao;
+import aor.projetofinal.dto.UpdateEvaluationDto;
+import aor.projetofinal.entity.EvaluationCycleEntity;
+import aor.projetofinal.entity.EvaluationEntity;
+import aor.projetofinal.entity.UserEntity;
+import aor.projetofinal.entity.enums.EvaluationStateEnum;
+import aor.projetofinal.entity.enums.GradeEvaluationEnum;
+import aor.projetofinal.exception.ConcurrentUpdateException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EvaluationTransitionBeanTest {
+
+    @Mock
+    private EvaluationDao evaluationDao;
+
+    @Mock
+    private EvaluationCycleDao evaluationCycleDao;
+
+    @Mock
+    private OrganisationCounterBean organisationCounterBean;
+
+    @Mock
+    private DashboardCacheBean dashboardCacheBean;
+
+    @Mock
+    private AfterCommitQueueBean afterCommitQueueBean;
+
+    @InjectMocks
+    private EvaluationTransitionBean evaluationTransitionBean;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private EvaluationEntity evaluation(long id, EvaluationStateEnum state, EvaluationCycleEntity cycle) {
+        EvaluationEntity evaluation = new EvaluationEntity();
+        evaluation.setId(id);
+        evaluation.setState(state);
+        evaluation.setCycle(cycle);
+        UserEntity evaluated = new UserEntity();
+        evaluated.setId((int) id * 10);
+        evaluated.setEmail("eval" + id + "@example.com");
+        evaluation.setEvaluated(evaluated);
+        return evaluation;
+    }
+
+    private EvaluationCycleEntity cycle(long id) {
+        EvaluationCycleEntity cycle = new EvaluationCycleEntity();
+        cycle.setId(id);
+        return cycle;
+    }
+
+    @Test
+    void grade_withFeedback_movesToEvaluatedAndQueuesEvictions() {
+        EvaluationEntity eval = evaluation(1L, EvaluationStateEnum.IN_EVALUATION, cycle(4L));
+        UserEntity evaluator = new UserEntity();
+        evaluator.setId(2);
+
+        UpdateEvaluationDto dto = new UpdateEvaluationDto();
+        dto.setGrade(3);
+        dto.setFeedback("Good");
+        when(evaluationDao.updateGradeAndFeedback(any(), anyLong(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(true);
+
+        evaluationTransitionBean.grade(eval, dto, evaluator);
+
+        assertEquals(EvaluationStateEnum.EVALUATED, eval.getState());
+        assertEquals(1L, eval.getVersion());
+        verify(evaluationDao).updateGradeAndFeedback(eq(1L), eq(0L), eq(EvaluationStateEnum.IN_EVALUATION),
+                eq(GradeEvaluationEnum.AS_EXPECTED), eq("Good"), any(), same(evaluator), eq(EvaluationStateEnum.EVALUATED));
+        verify(evaluationCycleDao).adjustStateCounters(4L, EvaluationStateEnum.IN_EVALUATION, EvaluationStateEnum.EVALUATED, 1);
+        verify(organisationCounterBean).evaluationStatesChanged(EvaluationStateEnum.IN_EVALUATION, EvaluationStateEnum.EVALUATED, 1);
+        // caches are only touched after commit
+        verify(afterCommitQueueBean).invalidate(eq("dashboard:10"), any());
+        verify(afterCommitQueueBean).invalidate(eq("dashboard:2"), any());
+        verify(afterCommitQueueBean).invalidate(eq("dashboards:organisation"), any());
+        verifyNoInteractions(dashboardCacheBean);
+    }
+
+    @Test
+    void grade_withoutFeedback_staysInEvaluation() {
+        EvaluationEntity eval = evaluation(1L, EvaluationStateEnum.IN_EVALUATION, null);
+        UpdateEvaluationDto dto = new UpdateEvaluationDto();
+        dto.setGrade(3);
+        dto.setFeedback("  ");  // blank feedback
+        when(evaluationDao.updateGradeAndFeedback(any(), anyLong(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(true);
+
+        evaluationTransitionBean.grade(eval, dto, new UserEntity());
+
+        assertEquals(EvaluationStateEnum.IN_EVALUATION, eval.getState());
+        verify(evaluationDao).updateGradeAndFeedback(any(), anyLong(), any(), any(), any(), any(), any(),
+                eq(EvaluationStateEnum.IN_EVALUATION));
+        verify(evaluationDao, never()).save(any());
+    }
+
+    @Test
+    void grade_staleVersion_throwsConflictAndLeavesEntityUntouched() {
+        EvaluationEntity eval = evaluation(9L, EvaluationStateEnum.IN_EVALUATION, cycle(4L));
+        eval.setVersion(3L);
+
+        UpdateEvaluationDto dto = new UpdateEvaluationDto();
+        dto.setGrade(3);
+        dto.setFeedback("Good");
+        dto.setVersion(2L);  // read before someone else saved the evaluation
+
+        when(evaluationDao.updateGradeAndFeedback(eq(9L), eq(2L), eq(EvaluationStateEnum.IN_EVALUATION),
+                any(), any(), any(), any(), any())).thenReturn(false);
+        when(evaluationDao.findVersion(9L)).thenReturn(3L);
+
+        ConcurrentUpdateException e = assertThrows(ConcurrentUpdateException.class,
+                () -> evaluationTransitionBean.grade(eval, dto, new UserEntity()));
+
+        assertEquals(3L, e.getCurrentVersion());
+        assertEquals(EvaluationStateEnum.IN_EVALUATION, eval.getState());
+        assertNull(eval.getFeedback());
+        verifyNoInteractions(evaluationCycleDao, organisationCounterBean, afterCommitQueueBean);
+    }
+
+    @Test
+    void grade_closedEvaluation_isRejectedBeforeWriting() {
+        EvaluationEntity eval = evaluation(1L, EvaluationStateEnum.CLOSED, null);
+        UpdateEvaluationDto dto = new UpdateEvaluationDto();
+        dto.setGrade(3);
+        dto.setFeedback("Good");
+
+        // reported as a retryable conflict, not as a server error
+        assertThrows(ConcurrentUpdateException.class, () -> evaluationTransitionBean.grade(eval, dto, new UserEntity()));
+        verifyNoInteractions(evaluationDao);
+    }
+
+    @Test
+    void reopen_notEvaluated_returnsFalse() {
+        EvaluationEntity eval = evaluation(1L, EvaluationStateEnum.IN_EVALUATION, null);
+
+        assertFalse(evaluationTransitionBean.reopen(eval, null));
+        verify(evaluationDao, never()).transitionState(any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void close_usesConditionalUpdateAndCounters() {
+        EvaluationEntity eval = evaluation(1L, EvaluationStateEnum.EVALUATED, cycle(4L));
+        eval.setVersion(5L);
+        when(evaluationDao.transitionState(1L, 5L, EvaluationStateEnum.EVALUATED, EvaluationStateEnum.CLOSED))
+                .thenReturn(true);
+
+        evaluationTransitionBean.close(eval, null);
+
+        assertEquals(EvaluationStateEnum.CLOSED, eval.getState());
+        assertEquals(6L, eval.getVersion());
+        verify(evaluationCycleDao).adjustStateCounters(4L, EvaluationStateEnum.EVALUATED, EvaluationStateEnum.CLOSED, 1);
+    }
+
+    @Test
+    void gradeAll_changesEntitiesFlushesOnceAndAdjustsCountersPerMove() {
+        EvaluationCycleEntity cycle = cycle(4L);
+        EvaluationEntity a = evaluation(1L, EvaluationStateEnum.IN_EVALUATION, cycle);
+        EvaluationEntity b = evaluation(2L, EvaluationStateEnum.IN_EVALUATION, cycle);
+        EvaluationEntity c = evaluation(3L, EvaluationStateEnum.IN_EVALUATION, cycle);
+        UserEntity evaluator = new UserEntity();
+        evaluator.setId(2);
+
+        Map<EvaluationEntity, UpdateEvaluationDto> grades = new LinkedHashMap<>();
+        grades.put(a, gradeDto(3, "Good"));
+        grades.put(b, gradeDto(4, "Great"));
+        grades.put(c, gradeDto(2, null));  // no feedback: stays in evaluation
+
+        evaluationTransitionBean.gradeAll(grades, evaluator);
+
+        assertEquals(EvaluationStateEnum.EVALUATED, a.getState());
+        assertEquals(GradeEvaluationEnum.EXCEEDED_CONTRIBUTION, b.getGrade());
+        assertEquals(EvaluationStateEnum.IN_EVALUATION, c.getState());
+        assertSame(evaluator, c.getEvaluator());
+        // written by dirty checking, not by one conditional UPDATE per row
+        verify(evaluationDao, times(1)).flush();
+        verify(evaluationDao, never()).updateGradeAndFeedback(any(), anyLong(), any(), any(), any(), any(), any(), any());
+        verify(evaluationCycleDao, times(1)).adjustStateCounters(4L, EvaluationStateEnum.IN_EVALUATION, EvaluationStateEnum.EVALUATED, 2);
+        verify(organisationCounterBean, times(1)).evaluationStatesChanged(EvaluationStateEnum.IN_EVALUATION, EvaluationStateEnum.EVALUATED, 2);
+        verify(afterCommitQueueBean).invalidate(eq("dashboard:30"), any());
+    }
+
+    @Test
+    void gradeAll_rowChangedBeforeFlush_throwsConflictWithoutTouchingCounters() {
+        EvaluationEntity a = evaluation(1L, EvaluationStateEnum.IN_EVALUATION, cycle(4L));
+        Map<EvaluationEntity, UpdateEvaluationDto> grades = new LinkedHashMap<>();
+        grades.put(a, gradeDto(3, "Good"));
+        doThrow(new jakarta.persistence.OptimisticLockException()).when(evaluationDao).flush();
+
+        assertThrows(ConcurrentUpdateException.class,
+                () -> evaluationTransitionBean.gradeAll(grades, new UserEntity()));
+        verifyNoInteractions(evaluationCycleDao, organisationCounterBean);
+    }
+
+    private UpdateEvaluationDto gradeDto(int grade, String feedback) {
+        UpdateEvaluationDto dto = new UpdateEvaluationDto();
+        dto.setGrade(grade);
+        dto.setFeedback(feedback);
+        return dto;
+    }
+
+    @Test
+    void grade_managedEvaluation_isRefreshedInsteadOfPatched() {
+        EvaluationEntity eval = evaluation(1L, EvaluationStateEnum.IN_EVALUATION, cycle(4L));
+        UpdateEvaluationDto dto = gradeDto(3, "Good");
+        when(evaluationDao.updateGradeAndFeedback(any(), anyLong(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(true);
+        when(evaluationDao.refreshIfManaged(eval)).thenReturn(true);
+
+        evaluationTransitionBean.grade(eval, dto, new UserEntity());
+
+        // the entity is reloaded from the row, not patched to a version the context would flush again
+        assertEquals(EvaluationStateEnum.IN_EVALUATION, eval.getState());
+        assertEquals(0L, eval.getVersion());
+        assertNull(eval.getFeedback());
+    }
+
+    @Test
+    void closeAllEvaluated_bulkClosesAndQueuesOneFullEviction() {
+        EvaluationCycleEntity cycle = cycle(7L);
+        LocalDateTime now = LocalDateTime.now();
+        when(evaluationDao.closeEvaluatedEvaluationsByCycle(cycle, now)).thenReturn(50_000);
+
+        assertEquals(50_000, evaluationTransitionBean.closeAllEvaluated(cycle, now));
+
+        verify(evaluationCycleDao).adjustStateCounters(7L, EvaluationStateEnum.EVALUATED, EvaluationStateEnum.CLOSED, 50_000);
+        verify(organisationCounterBean).evaluationStatesChanged(EvaluationStateEnum.EVALUATED, EvaluationStateEnum.CLOSED, 50_000);
+        verify(afterCommitQueueBean).invalidate(eq("dashboards:all"), any());
+    }
+}
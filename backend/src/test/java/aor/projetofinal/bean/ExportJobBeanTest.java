@@ -0,0 +1,175 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.dao.EvaluationDao;
+import aor.projetofinal.dao.ExportJobDao;
+import aor.projetofinal.dao.UserDao;
+import aor.projetofinal.dto.CourseDto;
+import aor.projetofinal.dto.ExportJobDto;
+import aor.projetofinal.entity.EvaluationCycleEntity;
+import aor.projetofinal.entity.ExportJobEntity;
+import aor.projetofinal.entity.RoleEntity;
+import aor.projetofinal.entity.UserEntity;
+import aor.projetofinal.entity.enums.CourseCategoryEnum;
+import aor.projetofinal.entity.enums.ExportJobStatusEnum;
+import aor.projetofinal.entity.enums.ExportJobTypeEnum;
+import aor.projetofinal.entity.enums.LanguageEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ExportJobBeanTest {
+
+    @Mock private ExportJobDao exportJobDao;
+    @Mock private EvaluationDao evaluationDao;
+    @Mock private UserDao userDao;
+    @Mock private EvaluationBean evaluationBean;
+    @Mock private EvaluationArchiveBean evaluationArchiveBean;
+    @Mock private EvaluationCycleBean evaluationCycleBean;
+    @Mock private ProfileBean profileBean;
+    @Mock private CourseBean courseBean;
+    @Mock private UserCourseBean userCourseBean;
+
+    @InjectMocks
+    private ExportJobBean exportJobBean;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private UserEntity userWithRole(int id, String roleName) {
+        RoleEntity role = new RoleEntity();
+        role.setName(roleName);
+        UserEntity user = new UserEntity();
+        user.setId(id);
+        user.setRole(role);
+        user.setEmail("user" + id + "@test.com");
+        return user;
+    }
+
+    @Test
+    void createJob_validParameters_persistsQueuedJob() {
+        UserEntity owner = userWithRole(1, "USER");
+
+        ExportJobDto dto = exportJobBean.createJob(owner, ExportJobTypeEnum.COURSES_CSV,
+                Map.of("language", "pt", "active", "true"));
+
+        ArgumentCaptor<ExportJobEntity> captor = ArgumentCaptor.forClass(ExportJobEntity.class);
+        verify(exportJobDao).create(captor.capture());
+        ExportJobEntity job = captor.getValue();
+        assertEquals(ExportJobStatusEnum.QUEUED, job.getStatus());
+        assertSame(owner, job.getOwner());
+        assertTrue(job.getParameters().contains("\"active\":\"true\""));
+        assertEquals(job.getId(), dto.getJobId());
+        assertEquals("QUEUED", dto.getStatus());
+        assertEquals("courses.csv", dto.getFileName());
+    }
+
+    @Test
+    void createJob_invalidParameter_throwsAndDoesNotPersist() {
+        UserEntity owner = userWithRole(1, "USER");
+
+        assertThrows(IllegalArgumentException.class, () -> exportJobBean.createJob(owner,
+                ExportJobTypeEnum.COURSES_CSV, Map.of("minTimeSpan", "ten")));
+        assertThrows(IllegalArgumentException.class, () -> exportJobBean.createJob(owner,
+                ExportJobTypeEnum.EVALUATIONS_CSV, Map.of("cycleEnd", "31/12/2025")));
+        verify(exportJobDao, never()).create(any());
+    }
+
+    @Test
+    void createJob_archiveOfActiveCycle_isRejected() {
+        UserEntity admin = userWithRole(1, "ADMIN");
+        EvaluationCycleEntity cycle = new EvaluationCycleEntity();
+        cycle.setId(5L);
+        cycle.setActive(true);
+        when(evaluationCycleBean.findCycleById(5L)).thenReturn(cycle);
+
+        assertThrows(IllegalArgumentException.class, () -> exportJobBean.createJob(admin,
+                ExportJobTypeEnum.CYCLE_PDF_ARCHIVE, Map.of("cycleId", "5")));
+        verify(exportJobDao, never()).create(any());
+    }
+
+    @Test
+    void canSubmit_appliesSynchronousExportRules() {
+        UserEntity user = userWithRole(1, "USER");
+        UserEntity manager = userWithRole(2, "MANAGER");
+        UserEntity teamMember = userWithRole(3, "USER");
+        teamMember.setManager(manager);
+        when(userDao.findById(3)).thenReturn(teamMember);
+
+        assertFalse(exportJobBean.canSubmit(user, ExportJobTypeEnum.EVALUATIONS_CSV, Map.of()));
+        assertTrue(exportJobBean.canSubmit(manager, ExportJobTypeEnum.EVALUATIONS_CSV, Map.of()));
+        assertFalse(exportJobBean.canSubmit(manager, ExportJobTypeEnum.CYCLE_PDF_ARCHIVE, Map.of()));
+        assertTrue(exportJobBean.canSubmit(user, ExportJobTypeEnum.USER_COURSES_CSV, Map.of("userId", "1")));
+        assertFalse(exportJobBean.canSubmit(user, ExportJobTypeEnum.USER_COURSES_CSV, Map.of("userId", "3")));
+        assertTrue(exportJobBean.canSubmit(manager, ExportJobTypeEnum.USER_COURSES_CSV, Map.of("userId", "3")));
+    }
+
+    @Test
+    void writeResult_coursesCsv_writesFileAndReportsProgress() throws Exception {
+        ExportJobEntity job = new ExportJobEntity();
+        job.setId("job-1");
+        job.setOwner(userWithRole(1, "USER"));
+        job.setType(ExportJobTypeEnum.COURSES_CSV);
+        job.setParameters("{\"language\":\"PT\"}");
+
+        CourseDto course = new CourseDto();
+        course.setName("Java");
+        course.setTimeSpan(10);
+        course.setLanguage(LanguageEnum.PT);
+        course.setCourseCategory(CourseCategoryEnum.values()[0]);
+        course.setActive(true);
+        when(courseBean.filterCourses(null, null, null, LanguageEnum.PT, null, null)).thenReturn(List.of(course));
+
+        List<long[]> reports = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long items = exportJobBean.writeResult(job, out,
+                (processed, total) -> reports.add(new long[]{processed, total}));
+
+        assertEquals(1, items);
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("Name,Duration,Language,Category,Active\n"));
+        assertTrue(csv.contains("Java,10.0,PT,"));
+        assertEquals(1, reports.size());
+        assertArrayEquals(new long[]{1, 1}, reports.get(0));
+    }
+
+    @Test
+    void percent_isBoundedAndZeroWhenTotalUnknown() {
+        assertEquals(0, ExportJobBean.percent(10, null));
+        assertEquals(0, ExportJobBean.percent(10, 0L));
+        assertEquals(25, ExportJobBean.percent(1, 4L));
+        assertEquals(100, ExportJobBean.percent(5, 4L));
+    }
+
+    @Test
+    void expireJobs_marksJobsExpiredAndReturnsTheirFiles() {
+        ExportJobEntity completed = new ExportJobEntity();
+        completed.setStatus(ExportJobStatusEnum.COMPLETED);
+        completed.setFilePath(Paths.get("export-jobs", "job-1").toString());
+        ExportJobEntity failed = new ExportJobEntity();
+        failed.setStatus(ExportJobStatusEnum.FAILED);
+        LocalDateTime now = LocalDateTime.now();
+        when(exportJobDao.findExpired(now)).thenReturn(List.of(completed, failed));
+
+        List<Path> files = exportJobBean.expireJobs(now);
+
+        assertEquals(List.of(Paths.get("export-jobs", "job-1")), files);
+        assertEquals(ExportJobStatusEnum.EXPIRED, completed.getStatus());
+        assertEquals(ExportJobStatusEnum.EXPIRED, failed.getStatus());
+        assertNull(completed.getFilePath());
+        verify(exportJobDao).deleteExpiredFinishedBefore(now.minusDays(ExportJobBean.EXPIRED_RETENTION_DAYS));
+    }
+}
@@ -87,6 +87,48 @@ class NotificationBeanTest {
         verify(notificationDao, never()).save(any());
     }
 
+    @Test
+    void createOrCoalesceNotification_unreadExists_coalescesWithoutInsert() {
+        UserEntity user = new UserEntity();
+        UserEntity sender = new UserEntity();
+        when(userDao.findById(1)).thenReturn(user);
+        when(userDao.findById(2)).thenReturn(sender);
+        when(notificationDao.upsertUnread(user, sender, NotificationEnum.MESSAGE, "New message")).thenReturn(false);
+
+        boolean result = notificationBean.createOrCoalesceNotification(1, 2, "MESSAGE", "New message");
+
+        assertTrue(result);
+        verify(notificationDao, never()).save(any());
+    }
+
+    @Test
+    void createOrCoalesceNotification_noUnread_insertsWithTheSameStatement() {
+        UserEntity user = new UserEntity();
+        UserEntity sender = new UserEntity();
+        when(userDao.findById(1)).thenReturn(user);
+        when(userDao.findById(2)).thenReturn(sender);
+        when(notificationDao.upsertUnread(user, sender, NotificationEnum.MESSAGE, "New message")).thenReturn(true);
+
+        boolean result = notificationBean.createOrCoalesceNotification(1, 2, "MESSAGE", "New message");
+
+        // one upsert decides between insert and coalesce: no separate INSERT that could race
+        assertTrue(result);
+        verify(notificationDao, times(1)).upsertUnread(user, sender, NotificationEnum.MESSAGE, "New message");
+        verify(notificationDao, never()).save(any());
+    }
+
+    @Test
+    void createOrCoalesceNotification_senderNotFound_returnsFalse() {
+        when(userDao.findById(1)).thenReturn(new UserEntity());
+        when(userDao.findById(2)).thenReturn(null);
+
+        boolean result = notificationBean.createOrCoalesceNotification(1, 2, "MESSAGE", "New message");
+
+        assertFalse(result);
+        verify(notificationDao, never()).upsertUnread(any(), any(), any(), any());
+        verify(notificationDao, never()).save(any());
+    }
+
     @Test
     void getNotificationsForUser_userNotFound_returnsEmptyList() {
         when(userDao.findById(1)).thenReturn(null);
@@ -0,0 +1,76 @@
+package aor.projetofinal.bean;
+
+import aor.projetofinal.dao.OrganisationCounterDao;
+import aor.projetofinal.entity.enums.EvaluationStateEnum;
+import aor.projetofinal.entity.enums.OrganisationCounterEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import static org.mockito.Mockito.*;
+
+class OrganisationCounterBeanTest {
+
+    @Mock
+    private OrganisationCounterDao organisationCounterDao;
+
+    @InjectMocks
+    private OrganisationCounterBean organisationCounterBean;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void userCreated_incrementsTotalUsers() {
+        organisationCounterBean.userCreated();
+
+        verify(organisationCounterDao).increment(OrganisationCounterEnum.TOTAL_USERS, 1);
+    }
+
+    @Test
+    void evaluationsCreated_incrementsPendingByCount() {
+        organisationCounterBean.evaluationsCreated(42);
+
+        verify(organisationCounterDao).increment(OrganisationCounterEnum.PENDING_EVALUATIONS, 42);
+    }
+
+    @Test
+    void evaluationsCreated_zero_doesNothing() {
+        organisationCounterBean.evaluationsCreated(0);
+
+        verifyNoInteractions(organisationCounterDao);
+    }
+
+    @Test
+    void evaluationStateChanged_leavingInEvaluation_decrementsPending() {
+        organisationCounterBean.evaluationStateChanged(EvaluationStateEnum.IN_EVALUATION, EvaluationStateEnum.EVALUATED);
+
+        verify(organisationCounterDao).increment(OrganisationCounterEnum.PENDING_EVALUATIONS, -1);
+    }
+
+    @Test
+    void evaluationStateChanged_revertedToInEvaluation_incrementsPending() {
+        organisationCounterBean.evaluationStateChanged(EvaluationStateEnum.EVALUATED, EvaluationStateEnum.IN_EVALUATION);
+
+        verify(organisationCounterDao).increment(OrganisationCounterEnum.PENDING_EVALUATIONS, 1);
+    }
+
+    @Test
+    void evaluationStatesChanged_evaluatedToClosed_doesNotTouchCounters() {
+        organisationCounterBean.evaluationStatesChanged(EvaluationStateEnum.EVALUATED, EvaluationStateEnum.CLOSED, 10);
+        organisationCounterBean.evaluationStateChanged(EvaluationStateEnum.IN_EVALUATION, EvaluationStateEnum.IN_EVALUATION);
+
+        verifyNoInteractions(organisationCounterDao);
+    }
+
+    @Test
+    void evaluationDeleted_pending_decrementsPending() {
+        organisationCounterBean.evaluationDeleted(EvaluationStateEnum.IN_EVALUATION);
+        organisationCounterBean.evaluationDeleted(EvaluationStateEnum.CLOSED);
+
+        verify(organisationCounterDao, times(1)).increment(OrganisationCounterEnum.PENDING_EVALUATIONS, -1);
+        verifyNoMoreInteractions(organisationCounterDao);
+    }
+}
@@ -10,7 +10,6 @@ import aor.projetofinal.entity.UserEntity;
 import aor.projetofinal.entity.enums.UsualWorkPlaceEnum;
 import aor.projetofinal.util.JavaConversionUtil;
 import aor.projetofinal.util.ProfileValidator;
-import aor.projetofinal.util.StringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
@@ -67,42 +66,29 @@ class ProfileBeanTest {
 
 
     @Test
-    void findProfilesWithFilters_returnsConvertedList() {
-        List<ProfileEntity> entities = List.of(new ProfileEntity());
-        when(profileDao.findProfilesWithFilters("name", UsualWorkPlaceEnum.COIMBRA, "manager@example.com")).thenReturn(entities);
-
-        // Mock static utility conversion
-        try (MockedStatic<JavaConversionUtil> util = mockStatic(JavaConversionUtil.class)) {
-            util.when(() -> JavaConversionUtil.convertProfileEntityListToFlatProfileDtoList(entities))
-                    .thenReturn(new ArrayList<>());
-
-            var result = profileBean.findProfilesWithFilters("name", UsualWorkPlaceEnum.COIMBRA, "manager@example.com");
-            assertNotNull(result);
-            util.verify(() -> JavaConversionUtil.convertProfileEntityListToFlatProfileDtoList(entities));
-        }
+    void findProfilesWithFilters_returnsProjectedList() {
+        List<FlatProfileDto> rows = List.of(new FlatProfileDto());
+        when(profileDao.findProfilesWithFilters("name", UsualWorkPlaceEnum.COIMBRA, "manager@example.com")).thenReturn(rows);
+
+        var result = profileBean.findProfilesWithFilters("name", UsualWorkPlaceEnum.COIMBRA, "manager@example.com");
+
+        assertEquals(rows, result);
     }
 
     @Test
     void findProfilesWithFiltersPaginated_returnsPaginatedDto() {
-        List<ProfileEntity> entities = List.of(new ProfileEntity());
-        when(profileDao.findProfilesWithFiltersPaginated("name", UsualWorkPlaceEnum.COIMBRA, "manager@example.com", 1)).thenReturn(entities);
+        List<FlatProfileDto> rows = List.of(new FlatProfileDto());
+        when(profileDao.findProfilesWithFiltersPaginated("name", UsualWorkPlaceEnum.COIMBRA, "manager@example.com", 1)).thenReturn(rows);
         when(profileDao.countProfilesWithFilters("name", UsualWorkPlaceEnum.COIMBRA, "manager@example.com")).thenReturn(15L);
 
-        try (MockedStatic<JavaConversionUtil> util = mockStatic(JavaConversionUtil.class)) {
-            util.when(() -> JavaConversionUtil.convertProfileEntityListToFlatProfileDtoList(entities))
-                    .thenReturn(new ArrayList<>());
+        PaginatedProfilesDto result = profileBean.findProfilesWithFiltersPaginated("name", UsualWorkPlaceEnum.COIMBRA, "manager@example.com", 1);
 
-            PaginatedProfilesDto result = profileBean.findProfilesWithFiltersPaginated("name", UsualWorkPlaceEnum.COIMBRA, "manager@example.com", 1);
-
-            assertNotNull(result);
-            assertEquals(15L, result.getTotalCount());
-            assertEquals(2, result.getTotalPages());
-            util.verify(() -> JavaConversionUtil.convertProfileEntityListToFlatProfileDtoList(entities));
-        }
+        assertNotNull(result);
+        assertEquals(15L, result.getTotalCount());
+        assertEquals(2, result.getTotalPages());
+        assertSame(rows, result.getProfiles());
     }
 
-
-
     @Test
     void updateProfile_userNotFound_returnsFalse() {
         when(userDao.findByEmail("unknown@example.com")).thenReturn(null);
@@ -136,6 +122,24 @@ class ProfileBeanTest {
     }
 
 
+    @Test
+    void updateProfile_success_storesNormalizedSearchName() {
+        String email = "user@example.com";
+        UserEntity user = new UserEntity();
+        when(userDao.findByEmail(email)).thenReturn(user);
+        ProfileDto dto = new ProfileDto();
+        dto.setFirstName("José");
+        dto.setLastName("Da  Silva");
+        dto.setUsualWorkplace("LISBOA");
+
+        boolean result = profileBean.updateProfile(dto, email);
+
+        assertTrue(result);
+        ArgumentCaptor<ProfileEntity> captor = ArgumentCaptor.forClass(ProfileEntity.class);
+        verify(profileDao).save(captor.capture());
+        assertEquals(" jose da silva ", captor.getValue().getSearchName());
+    }
+
     @Test
     void updateProfilePhoto_success() {
         UserEntity user = new UserEntity();
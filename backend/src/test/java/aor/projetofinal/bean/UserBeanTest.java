@@ -46,6 +46,18 @@ class UserBeanTest {
     @Mock
     SettingsBean settingsBean;
 
+    @Mock
+    DashboardCacheBean dashboardCacheBean;
+
+    @Mock
+    OrganisationCounterBean organisationCounterBean;
+
+    @Mock
+    ActiveCycleCacheBean activeCycleCacheBean;
+
+    @Mock
+    AfterCommitQueueBean afterCommitQueueBean;
+
     @InjectMocks
     UserBean userBean;
 
@@ -63,6 +75,32 @@ class UserBeanTest {
         assertFalse(userBean.assignManagerToUser("user@example.com", "manager@example.com"));
     }
 
+    @Test
+    void assignManagerToUser_evictsUserAndBothManagersAfterCommit() {
+        RoleEntity managerRole = new RoleEntity();
+        managerRole.setName("MANAGER");
+        UserEntity previousManager = new UserEntity();
+        previousManager.setId(3);
+        UserEntity manager = new UserEntity();
+        manager.setId(2);
+        manager.setEmail("manager@example.com");
+        manager.setRole(managerRole);
+        UserEntity user = new UserEntity();
+        user.setId(1);
+        user.setEmail("user@example.com");
+        user.setManager(previousManager);
+        when(userDao.findByEmail("user@example.com")).thenReturn(user);
+        when(userDao.findByEmail("manager@example.com")).thenReturn(manager);
+
+        assertTrue(userBean.assignManagerToUser("user@example.com", "manager@example.com"));
+
+        verify(afterCommitQueueBean).invalidate(eq("dashboard:1"), any());
+        verify(afterCommitQueueBean).invalidate(eq("dashboard:2"), any());
+        verify(afterCommitQueueBean).invalidate(eq("dashboard:3"), any());
+        // nothing is evicted before the transaction commits
+        verifyNoInteractions(dashboardCacheBean);
+    }
+
     @Test
     void authorization_returnsTrueWhenValid() {
         UserEntity user = new UserEntity();
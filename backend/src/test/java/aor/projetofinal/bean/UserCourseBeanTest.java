@@ -33,6 +33,9 @@ class UserCourseBeanTest {
     @Mock
     private UserCourseDao userCourseDao;
 
+    @Mock
+    private DashboardCacheBean dashboardCacheBean;
+
     @InjectMocks
     private UserCourseBean userCourseBean;
 
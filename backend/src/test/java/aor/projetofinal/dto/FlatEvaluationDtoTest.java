@@ -0,0 +1,30 @@
+package aor.projetofinal.dto;
+
+import aor.projetofinal.dao.EvaluationDao;
+import aor.projetofinal.entity.enums.EvaluationStateEnum;
+import aor.projetofinal.entity.enums.GradeEvaluationEnum;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlatEvaluationDtoTest {
+
+    @Test
+    void projectionConstructor_formatsLikeTheListing() {
+        FlatEvaluationDto dto = new FlatEvaluationDto(7L, 3, "ana@example.com", "Ana", "Silva", "ana.png",
+                EvaluationStateEnum.EVALUATED, GradeEvaluationEnum.AS_EXPECTED, "Rui", "Costa",
+                LocalDateTime.of(2026, 12, 31, 23, 59), 4L, 42L);
+
+        assertEquals(3L, dto.getEvaluatedId());
+        assertEquals("Ana Silva", dto.getEvaluatedName());
+        assertEquals("EVALUATED", dto.getState());
+        assertEquals("3", dto.getGrade());
+        assertEquals("Rui Costa", dto.getEvaluatorName());
+        assertEquals("2026-12-31 23:59", dto.getCycleEndDate());
+        assertEquals(4L, dto.getVersion());
+        assertEquals(42L, dto.getTotalCount());
+        assertEquals(new EvaluationDao.Keyset("Silva", "Ana", 7L), EvaluationDao.Keyset.of(dto));
+    }
+}
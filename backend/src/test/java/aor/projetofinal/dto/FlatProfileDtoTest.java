@@ -0,0 +1,36 @@
+package aor.projetofinal.dto;
+
+import aor.projetofinal.entity.enums.UsualWorkPlaceEnum;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlatProfileDtoTest {
+
+    @Test
+    void projectionConstructor_formatsLikeTheConverter() {
+        FlatProfileDto withManager = new FlatProfileDto(5, "Ana", "Silva", "ana@example.com", UsualWorkPlaceEnum.COIMBRA,
+                9, null, null, "boss@example.com", "ana.png", null);
+        FlatProfileDto withoutManager = new FlatProfileDto(6, "Rui", "Costa", "rui@example.com", null,
+                null, null, null, null, null, "ADMIN");
+
+        assertEquals(5L, withManager.getUserId());
+        assertEquals("COIMBRA", withManager.getUsualWorkplace());
+        assertEquals(9L, withManager.getManagerId());
+        assertEquals("boss@example.com", withManager.getManagerName());
+        assertEquals("USER", withManager.getRole());
+        assertEquals("", withoutManager.getUsualWorkplace());
+        assertNull(withoutManager.getManagerId());
+        assertEquals("", withoutManager.getManagerName());
+    }
+
+    @Test
+    void projectionConstructor_managerWithoutProfile_hasNoName() {
+        // the listing query only passes the manager's email when the manager has a profile
+        FlatProfileDto dto = new FlatProfileDto(5, "Ana", "Silva", "ana@example.com", null,
+                9, null, null, null, null, null);
+
+        assertEquals(9L, dto.getManagerId());
+        assertEquals("", dto.getManagerName());
+    }
+}
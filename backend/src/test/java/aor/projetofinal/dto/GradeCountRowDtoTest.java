@@ -0,0 +1,23 @@
+package aor.projetofinal.dto;
+
+import aor.projetofinal.entity.enums.GradeEvaluationEnum;
+import aor.projetofinal.entity.enums.UsualWorkPlaceEnum;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradeCountRowDtoTest {
+
+    @Test
+    void evaluatorName_joinsOnlyTheNamesThatExist() {
+        assertEquals("Ana Silva", row("Ana", "Silva").getEvaluatorName());
+        assertEquals("Silva", row(null, "Silva").getEvaluatorName());
+        assertEquals("Ana", row("Ana", null).getEvaluatorName());
+        assertNull(row(null, null).getEvaluatorName());
+    }
+
+    private GradeCountRowDto row(String firstName, String lastName) {
+        return new GradeCountRowDto(1, firstName, lastName, UsualWorkPlaceEnum.values()[0],
+                GradeEvaluationEnum.AS_EXPECTED, 3L);
+    }
+}
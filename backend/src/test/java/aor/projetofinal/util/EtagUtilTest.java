@@ -0,0 +1,25 @@
+package aor.projetofinal.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EtagUtilTest {
+
+    @Test
+    void matchesIfNoneMatch_acceptsListsWeakTagsAndWildcard() {
+        String etag = "\"abc\"";
+
+        assertTrue(EtagUtil.matchesIfNoneMatch("\"abc\"", etag));
+        assertTrue(EtagUtil.matchesIfNoneMatch("W/\"abc\"", etag));
+        assertTrue(EtagUtil.matchesIfNoneMatch("\"old\", W/\"abc\"", etag));
+        assertTrue(EtagUtil.matchesIfNoneMatch("*", etag));
+        assertFalse(EtagUtil.matchesIfNoneMatch("\"old\"", etag));
+        assertFalse(EtagUtil.matchesIfNoneMatch(null, etag));
+    }
+
+    @Test
+    void toEntityTag_stripsTheQuotes() {
+        assertEquals("abc", EtagUtil.toEntityTag("\"abc\"").getValue());
+    }
+}
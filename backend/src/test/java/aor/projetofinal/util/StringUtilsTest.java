@@ -0,0 +1,19 @@
+package aor.projetofinal.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringUtilsTest {
+
+    @Test
+    void toSearchName_normalizesAndDelimitsFullName() {
+        assertEquals(" jose da silva ", StringUtils.toSearchName("José", "Da  Silva"));
+    }
+
+    @Test
+    void toSearchNamePattern_matchesTermAsWholeWords() {
+        assertEquals("% silva %", StringUtils.toSearchNamePattern(" Silva "));
+        assertNull(StringUtils.toSearchNamePattern(null));
+    }
+}
@@ -117,6 +117,8 @@ evaluations: {
   load: (userId) => `${API_BASE_URL}/evaluations/load-evaluation?userId=${userId}`,
   /** @type {string} Update an evaluation with grade and feedback */
   update: `${API_BASE_URL}/evaluations/update-evaluation`,
+  /** @type {string} Update many evaluations at once (admin or manager) */
+  updateMany: `${API_BASE_URL}/evaluations/update-evaluations`,
   /** @function Reopen an evaluation by ID */
   reopen: (evaluationId) => `${API_BASE_URL}/evaluations/reopen-for-editing/${evaluationId}`,
   /** @function Close an individual evaluation by ID */
@@ -12,6 +12,7 @@
  * await evaluationAPI.getGradeOptions(sessionToken);
  * await evaluationAPI.loadEvaluation(email, sessionToken);
  * await evaluationAPI.updateEvaluation(payload, sessionToken);
+ * await evaluationAPI.updateEvaluations(payloads, sessionToken);
  * await evaluationAPI.reopenEvaluation(evaluationId, sessionToken);
  * await evaluationAPI.closeEvaluation(evaluationId, sessionToken);
  * await evaluationAPI.bulkCloseEvaluations(sessionToken);
@@ -125,6 +126,21 @@ const updateEvaluation = async (payload, sessionToken) => {
   });
 };
 
+/**
+ * Updates many evaluations with grade and feedback in one request.
+ * Resolves to { results, updatedCount, failedCount }, with one result (status, message) per payload.
+ */
+const updateEvaluations = async (payloads, sessionToken) => {
+  return apiCall(API_ENDPOINTS.evaluations.updateMany, {
+    method: 'PUT',
+    headers: {
+      "Content-Type": "application/json",
+      sessionToken,
+    },
+    body: JSON.stringify(payloads),
+  });
+};
+
 /**
  * Reopens an evaluation for editing (admin only).
  */
@@ -233,6 +249,7 @@ export const evaluationAPI = {
   getGradeOptions,
   loadEvaluation,
   updateEvaluation,
+  updateEvaluations,
   reopenEvaluation,
   closeEvaluation,
   bulkCloseEvaluations,
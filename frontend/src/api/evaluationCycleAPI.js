@@ -57,7 +57,9 @@ const getUsersWithoutManager = async (sessionToken) => {
  * @returns {Promise<object>} - API response containing:
  *   {
  *     totalUsersWithIncompleteEvaluations: number,
- *     users: UserDto[]
+ *     managers: { managerId, managerName, managerEmail, users: { id, name, email }[] }[],
+ *     page: number,
+ *     pageSize: number
  *   }
  */
 const getIncompleteEvaluations = async (sessionToken) => {